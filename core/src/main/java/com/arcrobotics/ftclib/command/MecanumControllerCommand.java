@@ -10,6 +10,8 @@ import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveKinematics
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveMotorVoltages;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveWheelSpeeds;
 import com.arcrobotics.ftclib.trajectory.Trajectory;
+import com.arcrobotics.ftclib.trajectory.TrajectorySample;
+import com.arcrobotics.ftclib.trajectory.TrajectorySampler;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
 import java.util.function.Consumer;
@@ -43,6 +45,8 @@ public class MecanumControllerCommand extends CommandBase {
     private final boolean m_usePID;
 
     private final Trajectory m_trajectory;
+    private final TrajectorySampler m_sampler;
+    private final TrajectorySample m_sample = new TrajectorySample();
     private final Supplier<Pose2d> m_pose;
     private final SimpleMotorFeedforward m_feedforward;
     private final MecanumDriveKinematics m_kinematics;
@@ -112,6 +116,7 @@ public class MecanumControllerCommand extends CommandBase {
 
                                     Consumer<MecanumDriveMotorVoltages> outputDriveVoltages) {
         m_trajectory = trajectory;
+        m_sampler = new TrajectorySampler(trajectory);
         m_pose = pose;
         m_feedforward = feedforward;
         m_kinematics = kinematics;
@@ -179,6 +184,7 @@ public class MecanumControllerCommand extends CommandBase {
                                     Consumer<MecanumDriveWheelSpeeds> outputWheelSpeeds) {
 
         m_trajectory = trajectory;
+        m_sampler = new TrajectorySampler(trajectory);
         m_pose = pose;
         m_feedforward = new SimpleMotorFeedforward(0, 0, 0);
         m_kinematics = kinematics;
@@ -209,6 +215,7 @@ public class MecanumControllerCommand extends CommandBase {
 
     @Override
     public void initialize() {
+        m_sampler.reset();
         Trajectory.State initialState = m_trajectory.sample(0);
 
         // Sample final pose to get robot rotation
@@ -232,18 +239,18 @@ public class MecanumControllerCommand extends CommandBase {
         double curTime = m_timer.seconds();
         double dt = curTime - m_prevTime;
 
-        Trajectory.State desiredState = m_trajectory.sample(curTime);
-        Pose2d desiredPose = desiredState.poseMeters;
+        TrajectorySample desiredState = m_sampler.sample(curTime, m_sample);
 
-        Pose2d poseError = desiredPose.relativeTo(m_pose.get());
+        // Read the desired pose from the sample, so that no pose is allocated for it.
+        double headingError = desiredState.headingRadians - m_pose.get().getRotation().getRadians();
 
         double targetXVel = m_xController.calculate(
                 m_pose.get().getTranslation().getX(),
-                desiredPose.getTranslation().getX());
+                desiredState.xMeters);
 
         double targetYVel = m_yController.calculate(
                 m_pose.get().getTranslation().getY(),
-                desiredPose.getTranslation().getY());
+                desiredState.yMeters);
 
         // The robot will go to the desired rotation of the final pose in the trajectory,
         // not following the poses at individual states.
@@ -253,8 +260,8 @@ public class MecanumControllerCommand extends CommandBase {
 
         double vRef = desiredState.velocityMetersPerSecond;
 
-        targetXVel += vRef * poseError.getRotation().getCos();
-        targetYVel += vRef * poseError.getRotation().getSin();
+        targetXVel += vRef * Math.cos(headingError);
+        targetYVel += vRef * Math.sin(headingError);
 
         ChassisSpeeds targetChassisSpeeds = new ChassisSpeeds(targetXVel, targetYVel, targetAngularVel);
 
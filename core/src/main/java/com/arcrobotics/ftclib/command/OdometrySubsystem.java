@@ -3,6 +3,11 @@ package com.arcrobotics.ftclib.command;
 import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.kinematics.Odometry;
 
+/**
+ * Keeps the pose of the robot up to date. The pose may be read and updated from
+ * more than one thread, for example by the async follower of a
+ * {@link PurePursuitCommand}.
+ */
 public class OdometrySubsystem extends SubsystemBase {
 
     protected Odometry m_odometry;
@@ -16,14 +21,14 @@ public class OdometrySubsystem extends SubsystemBase {
         m_odometry = odometry;
     }
 
-    public Pose2d getPose() {
+    public synchronized Pose2d getPose() {
         return m_odometry.getPose();
     }
 
     /**
      * Call this at the end of every loop
      */
-    public void update() {
+    public synchronized void update() {
         m_odometry.updatePose();
     }
 
@@ -31,7 +36,7 @@ public class OdometrySubsystem extends SubsystemBase {
      * Updates the pose every cycle
      */
     @Override
-    public void periodic() {
+    public synchronized void periodic() {
         m_odometry.updatePose();
     }
 
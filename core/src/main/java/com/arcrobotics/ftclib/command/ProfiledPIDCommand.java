@@ -23,6 +23,10 @@ import static com.arcrobotics.ftclib.trajectory.TrapezoidProfile.State;
  * default - to add
  * exit conditions and/or other behavior, subclass this class.  The controller calculation and
  * output are performed synchronously in the command's execute() method.
+ *
+ * <p>Give the controller {@link com.arcrobotics.ftclib.trajectory.SCurveProfile.Constraints}
+ * to follow a jerk-limited profile; the setpoint passed to the output is then an
+ * {@link com.arcrobotics.ftclib.trajectory.SCurveProfile.State} carrying the acceleration.
  */
 public class ProfiledPIDCommand extends CommandBase {
 
@@ -69,7 +73,13 @@ public class ProfiledPIDCommand extends CommandBase {
         m_controller = controller;
         m_useOutput = useOutput;
         m_measurement = measurementSource;
-        m_goal = () -> new State(goalSource.getAsDouble(), 0);
+        // Reuse one goal, so that the supplier does not allocate every cycle.
+        State goal = new State();
+        m_goal = () -> {
+            goal.position = goalSource.getAsDouble();
+            goal.velocity = 0;
+            return goal;
+        };
         m_requirements.addAll(Arrays.asList(requirements));
     }
 
@@ -5,7 +5,20 @@ import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.purepursuit.Path;
 import com.arcrobotics.ftclib.purepursuit.Waypoint;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
+ * Follows a {@link Path} with a mecanum drive.
+ *
+ * <p>By default the path is advanced in {@link #execute()}, once per scheduler
+ * cycle. With {@link #enableAsyncFollower(long)} the odometry update, the path
+ * loop and the drive output run on a dedicated thread at a fixed rate instead, so
+ * the tracking does not depend on how long the rest of the loop takes. The
+ * scheduler then only reads the completion flag. Triggered and interrupt actions
+ * of the path run on the follower thread in that mode.
+ *
  * @see Path
  * @author Jackson
  */
@@ -14,6 +27,15 @@ public class PurePursuitCommand extends CommandBase {
     private MecanumDrive m_drive;
     private OdometrySubsystem m_odometry;
     private Path m_path;
+    private final double[] m_motorSpeeds = new double[3];
+
+    private long m_asyncPeriodMillis;
+    private ScheduledExecutorService m_follower;
+    // Written by the follower thread and read by the scheduler.
+    private volatile boolean m_finished;
+    private volatile Throwable m_followerError;
+    // Written by the scheduler in end(), so that a pending update does not drive.
+    private volatile boolean m_stopped;
 
     public PurePursuitCommand(MecanumDrive drive, OdometrySubsystem odometry, Waypoint... waypoints) {
         m_path = new Path(waypoints);
@@ -21,9 +43,48 @@ public class PurePursuitCommand extends CommandBase {
         m_odometry = odometry;
     }
 
+    /**
+     * Runs the follower on its own thread, every given number of milliseconds, from
+     * the next time this command is initialized. The odometry is updated by the
+     * follower, so the pose stays current even if the odometry subsystem's periodic
+     * runs less often.
+     *
+     * @param periodMillis The time between follower updates in milliseconds.
+     * @return This command, used for chaining methods.
+     * @throws IllegalArgumentException If the period is not positive.
+     */
+    public PurePursuitCommand enableAsyncFollower(long periodMillis) {
+        if (periodMillis <= 0)
+            throw new IllegalArgumentException("The follower period must be positive.");
+        m_asyncPeriodMillis = periodMillis;
+        return this;
+    }
+
+    /**
+     * Advances the path from {@link #execute()} again, once per scheduler cycle.
+     *
+     * @return This command, used for chaining methods.
+     */
+    public PurePursuitCommand disableAsyncFollower() {
+        m_asyncPeriodMillis = 0;
+        return this;
+    }
+
     @Override
     public void initialize() {
         m_path.init();
+        m_finished = false;
+        m_followerError = null;
+        m_stopped = false;
+        if (m_asyncPeriodMillis > 0) {
+            m_follower = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "PurePursuitFollower");
+                // Never keep the robot controller app alive because of a running path.
+                thread.setDaemon(true);
+                return thread;
+            });
+            m_follower.scheduleAtFixedRate(this::follow, 0, m_asyncPeriodMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     public void addWaypoint(Waypoint waypoint) {
@@ -43,19 +104,73 @@ public class PurePursuitCommand extends CommandBase {
      */
     @Override
     public void execute() {
+        if (m_follower == null) {
+            step();
+        } else if (m_followerError != null) {
+            // Surface failures of the follower thread on the scheduler's thread.
+            Throwable error = m_followerError;
+            if (error instanceof Error)
+                throw (Error) error;
+            if (error instanceof RuntimeException)
+                throw (RuntimeException) error;
+            throw new RuntimeException(error);
+        }
+    }
+
+    /**
+     * One update of the async follower. Stops the follower once the path is
+     * finished or an update fails. A failure, including an {@link Error}, is
+     * caught so that it does not silently cancel the follower, and is rethrown by
+     * the next call to {@link #execute()}, before the command can be reported as
+     * finished.
+     */
+    private void follow() {
+        if (m_stopped || m_finished || m_followerError != null)
+            return;
+        try {
+            m_odometry.update();
+            step();
+            if (m_path.isFinished()) {
+                m_drive.stop();
+                m_finished = true;
+            }
+        } catch (Throwable e) {
+            m_followerError = e;
+            m_drive.stop();
+        }
+    }
+
+    private void step() {
         Pose2d robotPose = m_odometry.getPose();
-        double[] motorSpeeds = m_path.loop(robotPose.getTranslation().getX(), robotPose.getTranslation().getY(), robotPose.getHeading());
-        m_drive.driveRobotCentric(motorSpeeds[0], motorSpeeds[1], motorSpeeds[2]);
+        m_path.loop(robotPose.getTranslation().getX(), robotPose.getTranslation().getY(), robotPose.getHeading(), m_motorSpeeds);
+        m_drive.driveRobotCentric(m_motorSpeeds[0], m_motorSpeeds[1], m_motorSpeeds[2]);
     }
-    
+
     @Override
     public void end(boolean interrupted) {
+        if (m_follower != null) {
+            m_stopped = true;
+            // Not shutdownNow(): interrupting an update could break a hardware call.
+            m_follower.shutdown();
+            // Wait for an update in progress, so that it can't drive after the stop below.
+            boolean interruptedWhileWaiting = false;
+            while (!m_follower.isTerminated()) {
+                try {
+                    m_follower.awaitTermination(m_asyncPeriodMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    interruptedWhileWaiting = true;
+                }
+            }
+            if (interruptedWhileWaiting)
+                Thread.currentThread().interrupt();
+            m_follower = null;
+        }
         m_drive.stop();
     }
 
     @Override
     public boolean isFinished() {
-        return m_path.isFinished();
+        return m_follower == null ? m_path.isFinished() : m_finished;
     }
-    
+
 }
@@ -8,6 +8,8 @@ import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveWheelSpeeds;
 import com.arcrobotics.ftclib.trajectory.Trajectory;
+import com.arcrobotics.ftclib.trajectory.TrajectorySample;
+import com.arcrobotics.ftclib.trajectory.TrajectorySampler;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
 import java.util.function.BiConsumer;
@@ -31,6 +33,8 @@ public class RamseteCommand extends CommandBase {
     private final ElapsedTime m_timer;
     private final boolean m_usePID;
     private final Trajectory m_trajectory;
+    private final TrajectorySampler m_sampler;
+    private final TrajectorySample m_sample = new TrajectorySample();
     private final Supplier<Pose2d> m_pose;
     private final RamseteController m_follower;
     private final SimpleMotorFeedforward m_feedforward;
@@ -74,6 +78,7 @@ public class RamseteCommand extends CommandBase {
                           PIDController rightController,
                           BiConsumer<Double, Double> outputVolts) {
         m_trajectory = trajectory;
+        m_sampler = new TrajectorySampler(trajectory);
         m_pose = pose;
         m_follower = controller;
         m_feedforward = feedforward;
@@ -107,6 +112,7 @@ public class RamseteCommand extends CommandBase {
                           DifferentialDriveKinematics kinematics,
                           BiConsumer<Double, Double> outputMetersPerSecond) {
         m_trajectory = trajectory;
+        m_sampler = new TrajectorySampler(trajectory);
         m_pose = pose;
         m_follower = follower;
         m_kinematics = kinematics;
@@ -125,6 +131,7 @@ public class RamseteCommand extends CommandBase {
     @Override
     public void initialize() {
         m_prevTime = 0;
+        m_sampler.reset();
         Trajectory.State initialState = m_trajectory.sample(0);
         m_prevSpeeds = m_kinematics.toWheelSpeeds(
                 new ChassisSpeeds(initialState.velocityMetersPerSecond,
@@ -143,8 +150,12 @@ public class RamseteCommand extends CommandBase {
         double curTime = m_timer.seconds();
         double dt = curTime - m_prevTime;
 
+        TrajectorySample desiredState = m_sampler.sample(curTime, m_sample);
         DifferentialDriveWheelSpeeds targetWheelSpeeds = m_kinematics.toWheelSpeeds(
-                m_follower.calculate(m_pose.get(), m_trajectory.sample(curTime)));
+                m_follower.calculate(m_pose.get(), desiredState.xMeters, desiredState.yMeters,
+                        desiredState.headingRadians, desiredState.velocityMetersPerSecond,
+                        desiredState.velocityMetersPerSecond
+                                * desiredState.curvatureRadPerMeter));
 
         double leftSpeedSetpoint = targetWheelSpeeds.leftMetersPerSecond;
         double rightSpeedSetpoint = targetWheelSpeeds.rightMetersPerSecond;
@@ -8,11 +8,24 @@
 package com.arcrobotics.ftclib.controller.wpilibcontroller;
 
 import com.arcrobotics.ftclib.controller.PIDController;
+import com.arcrobotics.ftclib.trajectory.SCurveProfile;
 import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
 
 /**
  * Implements a PID control loop whose setpoint is constrained by a trapezoid
  * profile.
+ *
+ * <p>Given {@link SCurveProfile.Constraints}, the setpoint follows a jerk-limited
+ * {@link SCurveProfile} instead, and {@link #getSetpoint()} returns an
+ * {@link SCurveProfile.State} that also holds the acceleration. The S-curve is
+ * built when the goal or constraints change and then sampled by the time since.
+ * It is rebuilt from the setpoint, acceleration included, so a goal that changes
+ * every cycle is followed as smoothly as a fixed one.
+ *
+ * <p>Trapezoid profiles can be followed the same way with
+ * {@link #setPrecomputedProfile(boolean)}. The profile is then only rebuilt when
+ * the goal or constraints change, and the setpoint is written into the same
+ * {@link TrapezoidProfile.State} every cycle, so the loop does not allocate.
  */
 @SuppressWarnings("PMD.TooManyMethods")
 public class ProfiledPIDController {
@@ -21,6 +34,19 @@ public class ProfiledPIDController {
   private TrapezoidProfile.State m_setpoint = new TrapezoidProfile.State();
   private TrapezoidProfile.Constraints m_constraints;
 
+  // The profile being followed by time, if it is precomputed, and the goal it
+  // was built for. Null when it needs to be rebuilt.
+  private boolean m_precomputed;
+  private TrapezoidProfile m_profile;
+  private SCurveProfile m_sCurve;
+  private double m_profileTime;
+  private final TrapezoidProfile.State m_profileGoal = new TrapezoidProfile.State();
+
+  // The states that are reused, rather than allocated every cycle.
+  private final TrapezoidProfile.State m_goalPosition = new TrapezoidProfile.State();
+  private final TrapezoidProfile.State m_profiledSetpoint = new TrapezoidProfile.State();
+  private final SCurveProfile.State m_sCurveSetpoint = new SCurveProfile.State();
+
   /**
    * Allocates a ProfiledPIDController with the given constants for Kp, Ki, and
    * Kd.
@@ -127,12 +153,16 @@ public class ProfiledPIDController {
   }
 
   /**
-   * Sets the goal for the ProfiledPIDController.
+   * Sets the goal for the ProfiledPIDController. The goal is written into a
+   * state owned by the controller, so a goal returned by {@link #getGoal()}
+   * after an earlier call to this method changes with it.
    *
    * @param goal The desired goal position.
    */
   public void setGoal(double goal) {
-    m_goal = new TrapezoidProfile.State(goal, 0);
+    m_goalPosition.position = goal;
+    m_goalPosition.velocity = 0;
+    m_goal = m_goalPosition;
   }
 
   /**
@@ -154,12 +184,41 @@ public class ProfiledPIDController {
   /**
    * Set velocity and acceleration constraints for goal.
    *
+   * <p>A precomputed or S-curve profile is rebuilt on the next cycle, even if the
+   * same constraints object is passed again. Call this after changing the fields
+   * of the constraints in place, or the controller keeps following the old profile.
+   *
    * @param constraints Velocity and acceleration constraints for goal.
    */
   public void setConstraints(TrapezoidProfile.Constraints constraints) {
+    invalidateProfile();
     m_constraints = constraints;
   }
 
+  /**
+   * Sets whether a trapezoid profile is built once per goal and followed by
+   * time, instead of being rebuilt from the setpoint every cycle. This is
+   * always the case for an S-curve profile.
+   *
+   * <p>When enabled, {@link #getSetpoint()} returns the same state object every
+   * cycle, updated in place.
+   *
+   * @param precomputed Whether to precompute the profile.
+   */
+  public void setPrecomputedProfile(boolean precomputed) {
+    m_precomputed = precomputed;
+    invalidateProfile();
+  }
+
+  /**
+   * Returns whether a trapezoid profile is built once per goal and followed by time.
+   *
+   * @return Whether the profile is precomputed.
+   */
+  public boolean isPrecomputedProfile() {
+    return m_precomputed;
+  }
+
   /**
    * Returns the current setpoint of the ProfiledPIDController.
    *
@@ -219,11 +278,41 @@ public class ProfiledPIDController {
    * @param measurement The current measurement of the process variable.
    */
   public double calculate(double measurement) {
-    TrapezoidProfile profile = new TrapezoidProfile(m_constraints, m_goal, m_setpoint);
-    m_setpoint = profile.calculate(getPeriod());
+    if (m_constraints instanceof SCurveProfile.Constraints) {
+      if (m_sCurve == null || !m_profileGoal.equals(m_goal)) {
+        // The setpoint is an SCurveProfile.State unless the controller was just
+        // reset, so the new profile continues with its acceleration.
+        m_sCurve = new SCurveProfile((SCurveProfile.Constraints) m_constraints, m_goal,
+            m_setpoint);
+        startProfile();
+      }
+      m_profileTime += getPeriod();
+      m_setpoint = m_sCurve.calculate(m_profileTime, m_sCurveSetpoint);
+    } else if (m_precomputed) {
+      if (m_profile == null || !m_profileGoal.equals(m_goal)) {
+        m_profile = new TrapezoidProfile(m_constraints, m_goal, m_setpoint);
+        startProfile();
+      }
+      m_profileTime += getPeriod();
+      m_setpoint = m_profile.calculate(m_profileTime, m_profiledSetpoint);
+    } else {
+      TrapezoidProfile profile = new TrapezoidProfile(m_constraints, m_goal, m_setpoint);
+      m_setpoint = profile.calculate(getPeriod());
+    }
     return m_controller.calculate(measurement, m_setpoint.position);
   }
 
+  private void startProfile() {
+    m_profileTime = 0;
+    m_profileGoal.position = m_goal.position;
+    m_profileGoal.velocity = m_goal.velocity;
+  }
+
+  private void invalidateProfile() {
+    m_profile = null;
+    m_sCurve = null;
+  }
+
   /**
    * Returns the next output of the PID controller.
    *
@@ -249,13 +338,18 @@ public class ProfiledPIDController {
   /**
    * Returns the next output of the PID controller.
    *
+   * <p>Passing the same constraints object every cycle keeps the current profile.
+   * After changing its fields in place, call {@link #setConstraints} instead.
+   *
    * @param measurement The current measurement of the process variable.
    * @param goal        The new goal of the controller.
    * @param constraints Velocity and acceleration constraints for goal.
    */
   public double calculate(double measurement, TrapezoidProfile.State goal,
                    TrapezoidProfile.Constraints constraints) {
-    setConstraints(constraints);
+    if (constraints != m_constraints) {
+      setConstraints(constraints);
+    }
     return calculate(measurement, goal);
   }
 
@@ -264,6 +358,7 @@ public class ProfiledPIDController {
    */
   public void reset() {
     m_controller.reset();
+    invalidateProfile();
   }
 
   /**
@@ -274,6 +369,7 @@ public class ProfiledPIDController {
   public void reset(TrapezoidProfile.State measurement) {
     m_controller.reset();
     m_setpoint = measurement;
+    invalidateProfile();
   }
 
   /**
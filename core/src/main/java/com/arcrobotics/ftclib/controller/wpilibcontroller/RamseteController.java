@@ -49,7 +49,10 @@ public class RamseteController {
   @SuppressWarnings("MemberName")
   private final double m_zeta;
 
-  private Pose2d m_poseError = new Pose2d();
+  // The error of the last calculate() call, in the frame of the current pose.
+  private double m_errorX;
+  private double m_errorY;
+  private double m_errorRadians;
   private Pose2d m_poseTolerance = new Pose2d();
 
   /**
@@ -70,13 +73,11 @@ public class RamseteController {
    * Returns true if the pose error is within tolerance of the reference.
    */
   public boolean atReference() {
-    final Translation2d eTranslate = m_poseError.getTranslation();
-    final Rotation2d eRotate = m_poseError.getRotation();
     final Translation2d tolTranslate = m_poseTolerance.getTranslation();
     final Rotation2d tolRotate = m_poseTolerance.getRotation();
-    return Math.abs(eTranslate.getX()) < tolTranslate.getX()
-           && Math.abs(eTranslate.getY()) < tolTranslate.getY()
-           && Math.abs(eRotate.getRadians()) < tolRotate.getRadians();
+    return Math.abs(m_errorX) < tolTranslate.getX()
+           && Math.abs(m_errorY) < tolTranslate.getY()
+           && Math.abs(m_errorRadians) < tolRotate.getRadians();
   }
 
   /**
@@ -105,18 +106,59 @@ public class RamseteController {
                                  Pose2d poseRef,
                                  double linearVelocityRefMeters,
                                  double angularVelocityRefRadiansPerSecond) {
-    m_poseError = poseRef.relativeTo(currentPose);
+    final Pose2d poseError = poseRef.relativeTo(currentPose);
+    return calculate(poseError.getTranslation().getX(), poseError.getTranslation().getY(),
+        poseError.getRotation().getRadians(), poseError.getRotation().getCos(),
+        linearVelocityRefMeters, angularVelocityRefRadiansPerSecond);
+  }
+
+  /**
+   * Returns the next output of the Ramsete controller, with the desired pose given
+   * as x, y and heading so that no pose has to be built for it. This suits samples
+   * of a {@link com.arcrobotics.ftclib.trajectory.TrajectorySample}.
+   *
+   * @param currentPose                        The current pose.
+   * @param xRefMeters                         The desired x position.
+   * @param yRefMeters                         The desired y position.
+   * @param headingRefRadians                  The desired heading in radians.
+   * @param linearVelocityRefMeters            The desired linear velocity in meters.
+   * @param angularVelocityRefRadiansPerSecond The desired angular velocity in meters.
+   */
+  public ChassisSpeeds calculate(Pose2d currentPose,
+                                 double xRefMeters,
+                                 double yRefMeters,
+                                 double headingRefRadians,
+                                 double linearVelocityRefMeters,
+                                 double angularVelocityRefRadiansPerSecond) {
+    final Rotation2d rotation = currentPose.getRotation();
+    final double dx = xRefMeters - currentPose.getTranslation().getX();
+    final double dy = yRefMeters - currentPose.getTranslation().getY();
+    final double dtheta = headingRefRadians - rotation.getRadians();
+    final double eTheta = Math.atan2(Math.sin(dtheta), Math.cos(dtheta));
+    // Rotate the global error into the frame of the current pose.
+    return calculate(dx * rotation.getCos() + dy * rotation.getSin(),
+        dy * rotation.getCos() - dx * rotation.getSin(),
+        eTheta, Math.cos(eTheta), linearVelocityRefMeters, angularVelocityRefRadiansPerSecond);
+  }
+
+  /**
+   * Stores the pose error and returns the output for it.
+   */
+  @SuppressWarnings("ParameterName")
+  private ChassisSpeeds calculate(double eX, double eY, double eTheta, double cosETheta,
+                                  double linearVelocityRefMeters,
+                                  double angularVelocityRefRadiansPerSecond) {
+    m_errorX = eX;
+    m_errorY = eY;
+    m_errorRadians = eTheta;
 
     // Aliases for equation readability
-    final double eX = m_poseError.getTranslation().getX();
-    final double eY = m_poseError.getTranslation().getY();
-    final double eTheta = m_poseError.getRotation().getRadians();
     final double vRef = linearVelocityRefMeters;
     final double omegaRef = angularVelocityRefRadiansPerSecond;
 
     double k = 2.0 * m_zeta * Math.sqrt(Math.pow(omegaRef, 2) + m_b * Math.pow(vRef, 2));
 
-    return new ChassisSpeeds(vRef * m_poseError.getRotation().getCos() + k * eX,
+    return new ChassisSpeeds(vRef * cosETheta + k * eX,
                              0.0,
                              omegaRef + k * eTheta + m_b * vRef * sinc(eTheta) * eY);
   }
@@ -7,6 +7,8 @@
 
 package com.arcrobotics.ftclib.controller.wpilibcontroller;
 
+import java.util.Objects;
+
 /**
  * A helper class that computes feedforward outputs for a simple permanent-magnet DC motor.
  */
@@ -127,4 +129,23 @@ public class SimpleMotorFeedforward {
   public double minAchievableAcceleration(double maxVoltage, double velocity) {
     return maxAchievableAcceleration(-maxVoltage, velocity);
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SimpleMotorFeedforward)) {
+      return false;
+    }
+    SimpleMotorFeedforward other = (SimpleMotorFeedforward) obj;
+    return Double.compare(other.ks, ks) == 0
+        && Double.compare(other.kv, kv) == 0
+        && Double.compare(other.ka, ka) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(ks, kv, ka);
+  }
 }
@@ -8,6 +8,8 @@ package com.arcrobotics.ftclib.geometry;
 /*----------------------------------------------------------------------------*/
 
 
+import com.arcrobotics.ftclib.util.MathUtils;
+
 import java.io.IOException;
 import java.util.Objects;
 
@@ -38,8 +40,7 @@ public class Rotation2d {
      * @param value The value of the angle in radians.
      */
     public Rotation2d(double value) {
-        while (value > Math.PI) value -= 2 * Math.PI;
-        while (value < -Math.PI) value += 2 * Math.PI;
+        value = MathUtils.normalizeRadians(value);
         m_value = value;
         m_cos = Math.cos(value);
         m_sin = Math.sin(value);
@@ -2,10 +2,6 @@ package com.arcrobotics.ftclib.kinematics;
 
 import com.arcrobotics.ftclib.drivebase.DifferentialDrive;
 import com.arcrobotics.ftclib.geometry.Pose2d;
-import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Transform2d;
-import com.arcrobotics.ftclib.geometry.Translation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
 
 import java.util.function.DoubleSupplier;
 
@@ -15,8 +11,7 @@ import java.util.function.DoubleSupplier;
  */
 public class DifferentialOdometry extends Odometry {
 
-    private double prevLeftEncoder, prevRightEncoder;
-    private Rotation2d previousAngle;
+    private final OdometryEngine m_engine;
 
     // the suppliers
     DoubleSupplier m_left, m_right;
@@ -46,7 +41,7 @@ public class DifferentialOdometry extends Odometry {
      */
     public DifferentialOdometry(Pose2d initialPose, double trackWidth) {
         super(initialPose, trackWidth);
-        previousAngle = initialPose.getRotation();
+        m_engine = new OdometryEngine(new DifferentialOdometryModel(trackWidth), initialPose);
     }
 
     /**
@@ -56,11 +51,8 @@ public class DifferentialOdometry extends Odometry {
      */
     @Override
     public void updatePose(Pose2d newPose) {
-        previousAngle = newPose.getRotation();
+        m_engine.resetPose(newPose);
         robotPose = newPose;
-
-        prevLeftEncoder = 0;
-        prevRightEncoder = 0;
     }
 
     /**
@@ -80,26 +72,24 @@ public class DifferentialOdometry extends Odometry {
      * @param rightEncoderPos the encoder position of the right encoder.
      */
     public void updatePosition(double leftEncoderPos, double rightEncoderPos) {
-        double deltaLeftDistance = leftEncoderPos - prevLeftEncoder;
-        double deltaRightDistance = rightEncoderPos - prevRightEncoder;
-
-        prevLeftEncoder = leftEncoderPos;
-        prevRightEncoder = rightEncoderPos;
-
-        double dx = (deltaLeftDistance + deltaRightDistance) / 2.0;
-
-        Rotation2d angle = previousAngle.plus(
-                new Rotation2d(
-                        (deltaLeftDistance - deltaRightDistance) / trackWidth
-                )
-        );
+        m_engine.update(leftEncoderPos, rightEncoderPos);
+    }
 
-        Pose2d newPose = robotPose.exp(
-                new Twist2d(dx, 0.0, angle.minus(previousAngle).getRadians())
-        );
+    @Override
+    public Pose2d getPose() {
+        robotPose = m_engine.getPose();
+        return robotPose;
+    }
 
-        previousAngle = angle;
+    @Override
+    public void rotatePose(double byAngle) {
+        m_engine.rotate(byAngle);
+    }
 
-        robotPose = new Pose2d(newPose.getTranslation(), angle);
+    /**
+     * @return the engine that integrates the pose
+     */
+    public OdometryEngine getEngine() {
+        return m_engine;
     }
-}
\ No newline at end of file
+}
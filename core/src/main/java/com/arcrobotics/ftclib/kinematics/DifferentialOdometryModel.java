@@ -0,0 +1,63 @@
+package com.arcrobotics.ftclib.kinematics;
+
+/**
+ * The measurement model for a differential drivetrain. The heading either comes
+ * from the difference of the two encoders or, when constructed without a track
+ * width, from a gyro reading.
+ *
+ * <p>Readings: {left encoder position, right encoder position} when using
+ * the encoders for heading, or {left encoder position, right encoder position,
+ * heading in radians} when using a gyro.
+ */
+public class DifferentialOdometryModel implements OdometryModel {
+
+    private final double trackWidth;
+    private final boolean useGyro;
+
+    private double prevLeftEncoder, prevRightEncoder;
+
+    /**
+     * Constructs a model that measures the heading using the encoders.
+     *
+     * @param trackWidth the distance between the left and right encoders
+     */
+    public DifferentialOdometryModel(double trackWidth) {
+        this.trackWidth = trackWidth;
+        useGyro = false;
+    }
+
+    /**
+     * Constructs a model that takes the heading from a gyro
+     * as the third reading.
+     */
+    public DifferentialOdometryModel() {
+        trackWidth = Double.NaN;
+        useGyro = true;
+    }
+
+    @Override
+    public int getInputCount() {
+        return useGyro ? 3 : 2;
+    }
+
+    @Override
+    public void measure(double[] readings, double heading, double[] output) {
+        double deltaLeftDistance = readings[0] - prevLeftEncoder;
+        double deltaRightDistance = readings[1] - prevRightEncoder;
+
+        prevLeftEncoder = readings[0];
+        prevRightEncoder = readings[1];
+
+        output[0] = (deltaLeftDistance + deltaRightDistance) / 2.0;
+        output[1] = 0.0;
+        output[2] = useGyro ? readings[2]
+                : heading + (deltaLeftDistance - deltaRightDistance) / trackWidth;
+    }
+
+    @Override
+    public void reset() {
+        prevLeftEncoder = 0;
+        prevRightEncoder = 0;
+    }
+
+}
@@ -1,16 +1,12 @@
 package com.arcrobotics.ftclib.kinematics;
 
 import com.arcrobotics.ftclib.geometry.Pose2d;
-import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
 
 import java.util.function.DoubleSupplier;
 
 public class HolonomicOdometry extends Odometry {
 
-    private double prevLeftEncoder, prevRightEncoder, prevHorizontalEncoder;
-    private Rotation2d previousAngle;
-    private double centerWheelOffset;
+    private final OdometryEngine m_engine;
 
     // the suppliers
     DoubleSupplier m_left, m_right, m_horizontal;
@@ -25,8 +21,9 @@ public class HolonomicOdometry extends Odometry {
 
     public HolonomicOdometry(Pose2d initialPose, double trackwidth, double centerWheelOffset) {
         super(initialPose, trackwidth);
-        previousAngle = initialPose.getRotation();
-        this.centerWheelOffset = centerWheelOffset;
+        m_engine = new OdometryEngine(
+                new ThreeWheelOdometryModel(trackwidth, centerWheelOffset), initialPose
+        );
     }
 
     public HolonomicOdometry(double trackwidth, double centerWheelOffset) {
@@ -43,41 +40,30 @@ public class HolonomicOdometry extends Odometry {
 
     @Override
     public void updatePose(Pose2d pose) {
-        previousAngle = pose.getRotation();
+        m_engine.resetPose(pose);
         robotPose = pose;
-
-        prevLeftEncoder = 0;
-        prevRightEncoder = 0;
-        prevHorizontalEncoder = 0;
     }
 
     public void update(double leftEncoderPos, double rightEncoderPos, double horizontalEncoderPos) {
-        double deltaLeftEncoder = leftEncoderPos - prevLeftEncoder;
-        double deltaRightEncoder = rightEncoderPos - prevRightEncoder;
-        double deltaHorizontalEncoder = horizontalEncoderPos - prevHorizontalEncoder;
-
-        Rotation2d angle = previousAngle.plus(
-                new Rotation2d(
-                        (deltaLeftEncoder - deltaRightEncoder) / trackWidth
-                )
-        );
-
-        prevLeftEncoder = leftEncoderPos;
-        prevRightEncoder = rightEncoderPos;
-        prevHorizontalEncoder = horizontalEncoderPos;
-
-        double dw = (angle.minus(previousAngle).getRadians());
-        
-        double dx = (deltaLeftEncoder + deltaRightEncoder) / 2;
-        double dy = deltaHorizontalEncoder - (centerWheelOffset * dw);
-        
-        Twist2d twist2d = new Twist2d(dx, dy, dw);
+        m_engine.update(leftEncoderPos, rightEncoderPos, horizontalEncoderPos);
+    }
 
-        Pose2d newPose = robotPose.exp(twist2d);
+    @Override
+    public Pose2d getPose() {
+        robotPose = m_engine.getPose();
+        return robotPose;
+    }
 
-        previousAngle = angle;
+    @Override
+    public void rotatePose(double byAngle) {
+        m_engine.rotate(byAngle);
+    }
 
-        robotPose = new Pose2d(newPose.getTranslation(), angle);
+    /**
+     * @return the engine that integrates the pose
+     */
+    public OdometryEngine getEngine() {
+        return m_engine;
     }
 
 }
@@ -0,0 +1,199 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.util.MathUtils;
+
+/**
+ * The shared pose integrator behind every odometry class in FTCLib.
+ * The drivetrain-specific math lives in an {@link OdometryModel}; the engine
+ * only integrates the resulting twist with the pose exponential.
+ *
+ * <p>The pose is kept as primitives, so {@link #update()} does not allocate.
+ * A {@link Pose2d} is only built when {@link #getPose()} is called, and it is
+ * cached until the next update.
+ *
+ * <p>This class is not thread-safe. If the engine is updated on one thread
+ * and read on another, the caller is responsible for synchronizing.
+ */
+public class OdometryEngine {
+
+    private final OdometryModel m_model;
+    private final double[] m_readings;
+    private final double[] m_twist = new double[3];
+
+    private double m_x, m_y, m_heading;
+    private Pose2d m_pose;
+
+    private long m_updateCount;
+
+    /**
+     * Constructs an engine starting at the origin.
+     *
+     * @param model the measurement model of the drivetrain
+     */
+    public OdometryEngine(OdometryModel model) {
+        this(model, new Pose2d());
+    }
+
+    /**
+     * Constructs an engine starting at the given pose.
+     *
+     * @param model       the measurement model of the drivetrain
+     * @param initialPose the starting position of the robot
+     */
+    public OdometryEngine(OdometryModel model, Pose2d initialPose) {
+        m_model = model;
+        m_readings = new double[model.getInputCount()];
+        resetPose(initialPose);
+    }
+
+    /**
+     * Returns the buffer that {@link #update()} reads from. Fill it in
+     * the order defined by the model to update without allocating.
+     *
+     * @return the readings buffer
+     */
+    public double[] getReadings() {
+        return m_readings;
+    }
+
+    /**
+     * Updates the pose using the values currently in the readings buffer.
+     */
+    public void update() {
+        update(m_readings);
+    }
+
+    /**
+     * Updates the pose from two readings.
+     */
+    public void update(double first, double second) {
+        m_readings[0] = first;
+        m_readings[1] = second;
+        update(m_readings);
+    }
+
+    /**
+     * Updates the pose from three readings.
+     */
+    public void update(double first, double second, double third) {
+        m_readings[0] = first;
+        m_readings[1] = second;
+        m_readings[2] = third;
+        update(m_readings);
+    }
+
+    /**
+     * Updates the pose from the given readings.
+     *
+     * @param readings the raw sensor readings, in the order defined by the model
+     */
+    public void update(double[] readings) {
+        m_model.measure(readings, m_heading, m_twist);
+        integrate(m_twist[0], m_twist[1], m_twist[2]);
+    }
+
+    /**
+     * Moves the pose by a robot-relative displacement along a constant curvature arc.
+     * This is {@link Pose2d#exp(com.arcrobotics.ftclib.geometry.Twist2d)} written
+     * out with primitives.
+     *
+     * @param dx         the change in x relative to the robot
+     * @param dy         the change in y relative to the robot
+     * @param newHeading the heading of the robot after the displacement, in radians
+     */
+    public void integrate(double dx, double dy, double newHeading) {
+        newHeading = MathUtils.normalizeRadians(newHeading);
+        double dtheta = MathUtils.normalizeRadians(newHeading - m_heading);
+
+        double sinTheta = Math.sin(dtheta);
+        double cosTheta = Math.cos(dtheta);
+
+        double s;
+        double c;
+        if (Math.abs(dtheta) < 1E-9) {
+            s = 1.0 - 1.0 / 6.0 * dtheta * dtheta;
+            c = 0.5 * dtheta;
+        } else {
+            s = sinTheta / dtheta;
+            c = (1 - cosTheta) / dtheta;
+        }
+
+        double tx = dx * s - dy * c;
+        double ty = dx * c + dy * s;
+
+        double cos = Math.cos(m_heading);
+        double sin = Math.sin(m_heading);
+
+        m_x += tx * cos - ty * sin;
+        m_y += tx * sin + ty * cos;
+        m_heading = newHeading;
+
+        m_pose = null;
+        m_updateCount++;
+    }
+
+    /**
+     * Sets the pose of the robot and zeros the previous readings of the model.
+     *
+     * @param pose the new pose
+     */
+    public void resetPose(Pose2d pose) {
+        m_x = pose.getX();
+        m_y = pose.getY();
+        m_heading = pose.getHeading();
+        m_pose = pose;
+        m_model.reset();
+    }
+
+    /**
+     * Rotates the pose in place without touching the model.
+     *
+     * @param byAngle the angle to rotate by, in radians
+     */
+    public void rotate(double byAngle) {
+        m_heading = MathUtils.normalizeRadians(m_heading + byAngle);
+        m_pose = null;
+    }
+
+    /**
+     * @return the current pose, cached until the next update
+     */
+    public Pose2d getPose() {
+        if (m_pose == null) {
+            m_pose = new Pose2d(m_x, m_y, new Rotation2d(m_heading));
+        }
+        return m_pose;
+    }
+
+    public double getX() {
+        return m_x;
+    }
+
+    public double getY() {
+        return m_y;
+    }
+
+    /**
+     * @return the heading of the robot in radians, in [-pi, pi]
+     */
+    public double getHeading() {
+        return m_heading;
+    }
+
+    /**
+     * @return the number of updates integrated since construction
+     */
+    public long getUpdateCount() {
+        return m_updateCount;
+    }
+
+    /**
+     * @return the measurement model of this engine
+     */
+    public OdometryModel getModel() {
+        return m_model;
+    }
+
+}
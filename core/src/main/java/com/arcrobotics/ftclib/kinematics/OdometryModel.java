@@ -0,0 +1,35 @@
+package com.arcrobotics.ftclib.kinematics;
+
+/**
+ * A measurement model converts raw sensor readings from a drivetrain into
+ * a robot-relative displacement for the {@link OdometryEngine}.
+ *
+ * <p>Each model defines the layout of the readings array it expects
+ * (for example, the left, right, and horizontal encoder positions for
+ * a three-wheel setup). Implementations must not allocate in
+ * {@link #measure(double[], double, double[])}, since it is called every loop.
+ */
+public interface OdometryModel {
+
+    /**
+     * @return the number of readings this model expects per update
+     */
+    int getInputCount();
+
+    /**
+     * Computes the change in pose since the previous call.
+     *
+     * @param readings the raw sensor readings, in the order defined by the model
+     * @param heading  the current heading of the robot in radians
+     * @param output   the array to write the result into:
+     *                 {robot-relative dx, robot-relative dy, new heading in radians}
+     */
+    void measure(double[] readings, double heading, double[] output);
+
+    /**
+     * Zeros the previous readings that the model differences against.
+     * This is called whenever the pose of the engine is reset.
+     */
+    void reset();
+
+}
@@ -0,0 +1,63 @@
+package com.arcrobotics.ftclib.kinematics;
+
+/**
+ * The measurement model for three dead wheels: two parallel encoders
+ * separated by the track width and one horizontal encoder.
+ *
+ * <p>Readings: {left encoder position, right encoder position, horizontal encoder position}
+ */
+public class ThreeWheelOdometryModel implements OdometryModel {
+
+    private final double trackWidth;
+    private final double centerWheelOffset;
+
+    private double prevLeftEncoder, prevRightEncoder, prevHorizontalEncoder;
+
+    /**
+     * @param trackWidth        the distance between the two parallel encoders
+     * @param centerWheelOffset the distance from the center of rotation to the
+     *                          horizontal encoder, positive towards the front
+     */
+    public ThreeWheelOdometryModel(double trackWidth, double centerWheelOffset) {
+        this.trackWidth = trackWidth;
+        this.centerWheelOffset = centerWheelOffset;
+    }
+
+    @Override
+    public int getInputCount() {
+        return 3;
+    }
+
+    @Override
+    public void measure(double[] readings, double heading, double[] output) {
+        double deltaLeftEncoder = readings[0] - prevLeftEncoder;
+        double deltaRightEncoder = readings[1] - prevRightEncoder;
+        double deltaHorizontalEncoder = readings[2] - prevHorizontalEncoder;
+
+        prevLeftEncoder = readings[0];
+        prevRightEncoder = readings[1];
+        prevHorizontalEncoder = readings[2];
+
+        double dw = (deltaLeftEncoder - deltaRightEncoder) / trackWidth;
+
+        output[0] = (deltaLeftEncoder + deltaRightEncoder) / 2;
+        output[1] = deltaHorizontalEncoder - (centerWheelOffset * dw);
+        output[2] = heading + dw;
+    }
+
+    @Override
+    public void reset() {
+        prevLeftEncoder = 0;
+        prevRightEncoder = 0;
+        prevHorizontalEncoder = 0;
+    }
+
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    public double getCenterWheelOffset() {
+        return centerWheelOffset;
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.util.MathUtils;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Odometry for two dead wheels and an IMU. The IMU is usually read less often
+ * than the encoders, and not necessarily on the same thread, so heading samples
+ * are stored with their timestamps. Each encoder update uses the heading
+ * interpolated at the time the encoders were read.
+ *
+ * <p>Headings are in radians and timestamps are in seconds. The timestamps only
+ * need to come from the same clock; the supplier constructor uses
+ * {@link System#nanoTime()}.
+ *
+ * <p>See {@link TwoWheelOdometryModel} for the meaning of the wheel offsets.
+ */
+public class TwoWheelImuOdometry extends Odometry {
+
+    /**
+     * The default number of heading samples kept for interpolation.
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 16;
+
+    private final OdometryEngine m_engine;
+
+    private final Object m_historyLock = new Object();
+    private final double[] m_sampleTimes;
+    private final double[] m_sampleHeadings;
+    private int m_newestSample = -1;
+    private int m_sampleCount;
+
+    private double m_headingOffset;
+    private boolean m_offsetPending = true;
+    // The heading of the engine, copied under the history lock every time the
+    // engine changes, so the IMU thread never reads the engine itself.
+    private double m_engineHeading;
+
+    // the suppliers
+    DoubleSupplier m_parallel, m_perpendicular, m_heading;
+
+    /**
+     * Constructs odometry that reads the IMU every time the pose is updated.
+     * Use {@link #addHeadingSample(double, double)} and
+     * {@link #update(double, double, double)} to read the IMU at a different rate.
+     *
+     * @param parallelEncoder          the position of the parallel encoder
+     * @param perpendicularEncoder     the position of the perpendicular encoder
+     * @param heading                  the heading of the IMU in radians
+     * @param parallelWheelOffset      the lateral offset of the parallel encoder
+     * @param perpendicularWheelOffset the forward offset of the perpendicular encoder
+     */
+    public TwoWheelImuOdometry(DoubleSupplier parallelEncoder, DoubleSupplier perpendicularEncoder,
+                               DoubleSupplier heading, double parallelWheelOffset,
+                               double perpendicularWheelOffset) {
+        this(parallelEncoder, perpendicularEncoder, parallelWheelOffset, perpendicularWheelOffset);
+        m_heading = heading;
+    }
+
+    /**
+     * Constructs odometry that reads the encoders from suppliers, while the heading
+     * is pushed separately through {@link #addHeadingSample(double, double)}.
+     *
+     * @param parallelEncoder          the position of the parallel encoder
+     * @param perpendicularEncoder     the position of the perpendicular encoder
+     * @param parallelWheelOffset      the lateral offset of the parallel encoder
+     * @param perpendicularWheelOffset the forward offset of the perpendicular encoder
+     */
+    public TwoWheelImuOdometry(DoubleSupplier parallelEncoder, DoubleSupplier perpendicularEncoder,
+                               double parallelWheelOffset, double perpendicularWheelOffset) {
+        this(parallelWheelOffset, perpendicularWheelOffset);
+        m_parallel = parallelEncoder;
+        m_perpendicular = perpendicularEncoder;
+    }
+
+    public TwoWheelImuOdometry(double parallelWheelOffset, double perpendicularWheelOffset) {
+        this(new Pose2d(), parallelWheelOffset, perpendicularWheelOffset);
+    }
+
+    public TwoWheelImuOdometry(Pose2d initialPose, double parallelWheelOffset,
+                               double perpendicularWheelOffset) {
+        this(initialPose, parallelWheelOffset, perpendicularWheelOffset, DEFAULT_HISTORY_SIZE);
+    }
+
+    /**
+     * @param initialPose              the starting position of the robot
+     * @param parallelWheelOffset      the lateral offset of the parallel encoder
+     * @param perpendicularWheelOffset the forward offset of the perpendicular encoder
+     * @param historySize              the number of heading samples kept for interpolation
+     */
+    public TwoWheelImuOdometry(Pose2d initialPose, double parallelWheelOffset,
+                               double perpendicularWheelOffset, int historySize) {
+        super(initialPose);
+        if (historySize < 2) {
+            throw new IllegalArgumentException("The heading history must hold at least 2 samples");
+        }
+        m_engine = new OdometryEngine(
+                new TwoWheelOdometryModel(parallelWheelOffset, perpendicularWheelOffset), initialPose
+        );
+        m_sampleTimes = new double[historySize];
+        m_sampleHeadings = new double[historySize];
+        m_engineHeading = m_engine.getHeading();
+    }
+
+    /**
+     * Reads the suppliers and updates the pose. If a heading supplier was given,
+     * the IMU is sampled at the same time as the encoders.
+     */
+    @Override
+    public void updatePose() {
+        double timestamp = System.nanoTime() / 1E9;
+        if (m_heading != null) {
+            addHeadingSample(timestamp, m_heading.getAsDouble());
+        }
+        update(timestamp, m_parallel.getAsDouble(), m_perpendicular.getAsDouble());
+    }
+
+    /**
+     * Sets the pose of the robot. The IMU does not need to be reset, the next
+     * heading sample is offset to match the new pose.
+     *
+     * @param pose the new pose
+     */
+    @Override
+    public void updatePose(Pose2d pose) {
+        m_engine.resetPose(pose);
+        robotPose = pose;
+        synchronized (m_historyLock) {
+            m_engineHeading = m_engine.getHeading();
+            if (m_sampleCount > 0) {
+                m_headingOffset = pose.getHeading() - m_sampleHeadings[m_newestSample];
+                m_offsetPending = false;
+            } else {
+                m_offsetPending = true;
+            }
+        }
+    }
+
+    /**
+     * Records a reading of the IMU. This may be called from a different
+     * thread than {@link #update(double, double, double)}.
+     *
+     * @param timestamp the time the IMU was read, in seconds
+     * @param heading   the heading reported by the IMU, in radians
+     */
+    public void addHeadingSample(double timestamp, double heading) {
+        synchronized (m_historyLock) {
+            if (m_sampleCount > 0) {
+                // unwrap so that interpolation never crosses the -pi/pi seam
+                double previous = m_sampleHeadings[m_newestSample];
+                heading = previous + MathUtils.normalizeRadians(heading - previous);
+            } else if (m_offsetPending) {
+                m_headingOffset = m_engineHeading - heading;
+                m_offsetPending = false;
+            }
+
+            m_newestSample = (m_newestSample + 1) % m_sampleTimes.length;
+            m_sampleTimes[m_newestSample] = timestamp;
+            m_sampleHeadings[m_newestSample] = heading;
+            m_sampleCount = Math.min(m_sampleCount + 1, m_sampleTimes.length);
+        }
+    }
+
+    /**
+     * Updates the pose with encoder positions read at the given time.
+     *
+     * @param timestamp               the time the encoders were read, in seconds
+     * @param parallelEncoderPos      the position of the parallel encoder
+     * @param perpendicularEncoderPos the position of the perpendicular encoder
+     */
+    public void update(double timestamp, double parallelEncoderPos, double perpendicularEncoderPos) {
+        m_engine.update(parallelEncoderPos, perpendicularEncoderPos, getHeadingAt(timestamp));
+        synchronized (m_historyLock) {
+            m_engineHeading = m_engine.getHeading();
+        }
+    }
+
+    /**
+     * Returns the field-relative heading at the given time, linearly interpolated
+     * between the two IMU samples around it. Times outside of the stored samples
+     * are clamped to the oldest or newest sample.
+     *
+     * @param timestamp the time in seconds
+     * @return the heading in radians
+     */
+    public double getHeadingAt(double timestamp) {
+        synchronized (m_historyLock) {
+            if (m_sampleCount == 0) {
+                return m_engineHeading;
+            }
+
+            int capacity = m_sampleTimes.length;
+            int newer = m_newestSample;
+            if (timestamp >= m_sampleTimes[newer]) {
+                return m_sampleHeadings[newer] + m_headingOffset;
+            }
+
+            // walk back from the newest sample, since updates are usually recent
+            for (int i = 1; i < m_sampleCount; i++) {
+                int older = (m_newestSample - i + capacity) % capacity;
+                if (timestamp >= m_sampleTimes[older]) {
+                    double span = m_sampleTimes[newer] - m_sampleTimes[older];
+                    double fraction = span > 0 ? (timestamp - m_sampleTimes[older]) / span : 1;
+                    return m_sampleHeadings[older]
+                            + (m_sampleHeadings[newer] - m_sampleHeadings[older]) * fraction
+                            + m_headingOffset;
+                }
+                newer = older;
+            }
+            return m_sampleHeadings[newer] + m_headingOffset;
+        }
+    }
+
+    @Override
+    public Pose2d getPose() {
+        robotPose = m_engine.getPose();
+        return robotPose;
+    }
+
+    @Override
+    public void rotatePose(double byAngle) {
+        m_engine.rotate(byAngle);
+        synchronized (m_historyLock) {
+            m_engineHeading = m_engine.getHeading();
+            m_headingOffset += byAngle;
+        }
+    }
+
+    /**
+     * @return the engine that integrates the pose
+     */
+    public OdometryEngine getEngine() {
+        return m_engine;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.util.MathUtils;
+
+/**
+ * The measurement model for two dead wheels and a gyro: one encoder parallel
+ * to the direction of travel, one perpendicular to it, and the heading from
+ * an IMU such as the {@link com.arcrobotics.ftclib.hardware.RevIMU}.
+ *
+ * <p>Since the heading is measured directly, the offsets of the encoders are
+ * only used to remove the distance they travel while the robot turns.
+ * A turn of dtheta reads as {@code parallelWheelOffset * dtheta} on the
+ * parallel encoder and {@code perpendicularWheelOffset * dtheta} on the
+ * perpendicular encoder.
+ *
+ * <p>Readings: {parallel encoder position, perpendicular encoder position, heading in radians}
+ */
+public class TwoWheelOdometryModel implements OdometryModel {
+
+    private final double parallelWheelOffset;
+    private final double perpendicularWheelOffset;
+
+    private double prevParallelEncoder, prevPerpendicularEncoder;
+
+    /**
+     * @param parallelWheelOffset      the lateral distance from the center of rotation
+     *                                 to the parallel encoder
+     * @param perpendicularWheelOffset the distance from the center of rotation to the
+     *                                 perpendicular encoder, positive towards the front
+     */
+    public TwoWheelOdometryModel(double parallelWheelOffset, double perpendicularWheelOffset) {
+        this.parallelWheelOffset = parallelWheelOffset;
+        this.perpendicularWheelOffset = perpendicularWheelOffset;
+    }
+
+    @Override
+    public int getInputCount() {
+        return 3;
+    }
+
+    @Override
+    public void measure(double[] readings, double heading, double[] output) {
+        double deltaParallelEncoder = readings[0] - prevParallelEncoder;
+        double deltaPerpendicularEncoder = readings[1] - prevPerpendicularEncoder;
+
+        prevParallelEncoder = readings[0];
+        prevPerpendicularEncoder = readings[1];
+
+        double dw = MathUtils.normalizeRadians(readings[2] - heading);
+
+        output[0] = deltaParallelEncoder - (parallelWheelOffset * dw);
+        output[1] = deltaPerpendicularEncoder - (perpendicularWheelOffset * dw);
+        output[2] = readings[2];
+    }
+
+    @Override
+    public void reset() {
+        prevParallelEncoder = 0;
+        prevPerpendicularEncoder = 0;
+    }
+
+    public double getParallelWheelOffset() {
+        return parallelWheelOffset;
+    }
+
+    public double getPerpendicularWheelOffset() {
+        return perpendicularWheelOffset;
+    }
+
+}
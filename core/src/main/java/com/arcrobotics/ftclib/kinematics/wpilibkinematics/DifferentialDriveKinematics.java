@@ -62,4 +62,21 @@ public class DifferentialDriveKinematics {
           * chassisSpeeds.omegaRadiansPerSecond
     );
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DifferentialDriveKinematics)) {
+      return false;
+    }
+    DifferentialDriveKinematics other = (DifferentialDriveKinematics) obj;
+    return Double.compare(other.trackWidthMeters, trackWidthMeters) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Double.hashCode(trackWidthMeters);
+  }
 }
@@ -9,7 +9,8 @@ package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
 import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
+import com.arcrobotics.ftclib.kinematics.DifferentialOdometryModel;
+import com.arcrobotics.ftclib.kinematics.OdometryEngine;
 
 
 /**
@@ -25,13 +26,9 @@ import com.arcrobotics.ftclib.geometry.Twist2d;
  * Any subsequent pose resets also require the encoders to be reset to zero.
  */
 public class DifferentialDriveOdometry {
-  private Pose2d m_poseMeters;
+  private final OdometryEngine m_engine;
 
-  private Rotation2d m_gyroOffset;
-  private Rotation2d m_previousAngle;
-
-  private double m_prevLeftDistance;
-  private double m_prevRightDistance;
+  private double m_gyroOffset;
 
   /**
    * Constructs a DifferentialDriveOdometry object.
@@ -41,9 +38,8 @@ public class DifferentialDriveOdometry {
    */
   public DifferentialDriveOdometry(Rotation2d gyroAngle,
                                    Pose2d initialPoseMeters) {
-    m_poseMeters = initialPoseMeters;
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
-    m_previousAngle = initialPoseMeters.getRotation();
+    m_engine = new OdometryEngine(new DifferentialOdometryModel(), initialPoseMeters);
+    m_gyroOffset = initialPoseMeters.getHeading() - gyroAngle.getRadians();
   }
 
   /**
@@ -67,12 +63,8 @@ public class DifferentialDriveOdometry {
    * @param gyroAngle  The angle reported by the gyroscope.
    */
   public void resetPosition(Pose2d poseMeters, Rotation2d gyroAngle) {
-    m_poseMeters = poseMeters;
-    m_previousAngle = poseMeters.getRotation();
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
-
-    m_prevLeftDistance = 0.0;
-    m_prevRightDistance = 0.0;
+    m_engine.resetPose(poseMeters);
+    m_gyroOffset = poseMeters.getHeading() - gyroAngle.getRadians();
   }
 
   /**
@@ -81,7 +73,7 @@ public class DifferentialDriveOdometry {
    * @return The pose of the robot (x and y are in meters).
    */
   public Pose2d getPoseMeters() {
-    return m_poseMeters;
+    return m_engine.getPose();
   }
 
 
@@ -97,21 +89,17 @@ public class DifferentialDriveOdometry {
    */
   public Pose2d update(Rotation2d gyroAngle, double leftDistanceMeters,
                        double rightDistanceMeters) {
-    double deltaLeftDistance = leftDistanceMeters - m_prevLeftDistance;
-    double deltaRightDistance = rightDistanceMeters - m_prevRightDistance;
-
-    m_prevLeftDistance = leftDistanceMeters;
-    m_prevRightDistance = rightDistanceMeters;
-
-    double averageDeltaDistance = (deltaLeftDistance + deltaRightDistance) / 2.0;
-    Rotation2d angle = gyroAngle.plus(m_gyroOffset);
-
-    Pose2d newPose = m_poseMeters.exp(
-        new Twist2d(averageDeltaDistance, 0.0, angle.minus(m_previousAngle).getRadians()));
-
-    m_previousAngle = angle;
+    m_engine.update(leftDistanceMeters, rightDistanceMeters,
+        gyroAngle.getRadians() + m_gyroOffset);
+    return m_engine.getPose();
+  }
 
-    m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
-    return m_poseMeters;
+  /**
+   * Returns the engine that integrates the pose.
+   *
+   * @return The odometry engine.
+   */
+  public OdometryEngine getEngine() {
+    return m_engine;
   }
 }
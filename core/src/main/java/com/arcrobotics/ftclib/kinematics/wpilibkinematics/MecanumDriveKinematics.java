@@ -10,6 +10,7 @@ package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 import com.arcrobotics.ftclib.geometry.Translation2d;
 
 import org.ejml.simple.SimpleMatrix;
+import java.util.Objects;
 
 
 
@@ -132,6 +133,29 @@ public class MecanumDriveKinematics {
     return toWheelSpeeds(chassisSpeeds, new Translation2d());
   }
 
+  /**
+   * Performs inverse kinematics about the physical center of the robot without
+   * allocating. The speeds match {@link #toWheelSpeeds(ChassisSpeeds)}.
+   *
+   * @param vxMetersPerSecond     The forward velocity of the chassis.
+   * @param vyMetersPerSecond     The sideways velocity of the chassis.
+   * @param omegaRadiansPerSecond The angular velocity of the chassis.
+   * @param output                The array to write the wheel speeds into, in the order
+   *                              front left, front right, rear left, rear right.
+   */
+  public void toWheelSpeeds(double vxMetersPerSecond, double vyMetersPerSecond,
+                            double omegaRadiansPerSecond, double[] output) {
+    final double scale = 1.0 / Math.sqrt(2);
+    output[0] = (vxMetersPerSecond - vyMetersPerSecond - (m_frontLeftWheelMeters.getX()
+        + m_frontLeftWheelMeters.getY()) * omegaRadiansPerSecond) * scale;
+    output[1] = (vxMetersPerSecond + vyMetersPerSecond + (m_frontRightWheelMeters.getX()
+        - m_frontRightWheelMeters.getY()) * omegaRadiansPerSecond) * scale;
+    output[2] = (vxMetersPerSecond + vyMetersPerSecond + (m_rearLeftWheelMeters.getX()
+        - m_rearLeftWheelMeters.getY()) * omegaRadiansPerSecond) * scale;
+    output[3] = (vxMetersPerSecond - vyMetersPerSecond - (m_rearRightWheelMeters.getX()
+        + m_rearRightWheelMeters.getY()) * omegaRadiansPerSecond) * scale;
+  }
+
   /**
    * Performs forward kinematics to return the resulting chassis state from the given wheel speeds.
    * This method is often used for odometry -- determining the robot's position on the field using
@@ -152,6 +176,16 @@ public class MecanumDriveKinematics {
         chassisSpeedsVector.get(2, 0));
   }
 
+  /**
+   * Returns the forward kinematics matrix, which maps the wheel speeds
+   * (front left, front right, rear left, rear right) to the chassis speeds.
+   *
+   * @return The 3x4 forward kinematics matrix.
+   */
+  SimpleMatrix getForwardKinematics() {
+    return m_forwardKinematics;
+  }
+
   /**
    * Construct inverse kinematics matrix from wheel locations.
    *
@@ -168,4 +202,31 @@ public class MecanumDriveKinematics {
     m_inverseKinematics.setRow(3, 0, 1, -1, -(rr.getX() + rr.getY()));
     m_inverseKinematics = m_inverseKinematics.scale(1.0 / Math.sqrt(2));
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MecanumDriveKinematics)) {
+      return false;
+    }
+    MecanumDriveKinematics other = (MecanumDriveKinematics) obj;
+    return sameLocation(other.m_frontLeftWheelMeters, m_frontLeftWheelMeters)
+        && sameLocation(other.m_frontRightWheelMeters, m_frontRightWheelMeters)
+        && sameLocation(other.m_rearLeftWheelMeters, m_rearLeftWheelMeters)
+        && sameLocation(other.m_rearRightWheelMeters, m_rearRightWheelMeters);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(m_frontLeftWheelMeters.getX(), m_frontLeftWheelMeters.getY(),
+        m_frontRightWheelMeters.getX(), m_frontRightWheelMeters.getY(),
+        m_rearLeftWheelMeters.getX(), m_rearLeftWheelMeters.getY(),
+        m_rearRightWheelMeters.getX(), m_rearRightWheelMeters.getY());
+  }
+
+  private static boolean sameLocation(Translation2d a, Translation2d b) {
+    return Double.compare(a.getX(), b.getX()) == 0 && Double.compare(a.getY(), b.getY()) == 0;
+  }
 }
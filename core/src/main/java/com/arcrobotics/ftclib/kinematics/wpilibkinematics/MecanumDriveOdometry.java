@@ -9,10 +9,7 @@ package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
 import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
-
-import org.firstinspires.ftc.robotcore.external.navigation.Rotation;
-import org.firstinspires.ftc.robotcore.internal.tfod.Timer;
+import com.arcrobotics.ftclib.kinematics.OdometryEngine;
 
 
 /**
@@ -26,11 +23,10 @@ import org.firstinspires.ftc.robotcore.internal.tfod.Timer;
  */
 public class MecanumDriveOdometry {
   private final MecanumDriveKinematics m_kinematics;
-  private Pose2d m_poseMeters;
+  private final OdometryEngine m_engine;
   private double m_prevTimeSeconds = -1;
 
-  private Rotation2d m_gyroOffset;
-  private Rotation2d m_previousAngle;
+  private double m_gyroOffset;
 
   /**
    * Constructs a MecanumDriveOdometry object.
@@ -42,9 +38,8 @@ public class MecanumDriveOdometry {
   public MecanumDriveOdometry(MecanumDriveKinematics kinematics, Rotation2d gyroAngle,
                               Pose2d initialPoseMeters) {
     m_kinematics = kinematics;
-    m_poseMeters = initialPoseMeters;
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
-    m_previousAngle = initialPoseMeters.getRotation();
+    m_engine = new OdometryEngine(new MecanumOdometryModel(kinematics), initialPoseMeters);
+    m_gyroOffset = initialPoseMeters.getHeading() - gyroAngle.getRadians();
   }
 
   /**
@@ -67,9 +62,8 @@ public class MecanumDriveOdometry {
    * @param gyroAngle  The angle reported by the gyroscope.
    */
   public void resetPosition(Pose2d poseMeters, Rotation2d gyroAngle) {
-    m_poseMeters = poseMeters;
-    m_previousAngle = poseMeters.getRotation();
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
+    m_engine.resetPose(poseMeters);
+    m_gyroOffset = poseMeters.getHeading() - gyroAngle.getRadians();
   }
 
   /**
@@ -78,7 +72,7 @@ public class MecanumDriveOdometry {
    * @return The pose of the robot (x and y are in meters).
    */
   public Pose2d getPoseMeters() {
-    return m_poseMeters;
+    return m_engine.getPose();
   }
 
   /**
@@ -99,17 +93,25 @@ public class MecanumDriveOdometry {
     double period = m_prevTimeSeconds >= 0 ? currentTimeSeconds - m_prevTimeSeconds : 0.0;
     m_prevTimeSeconds = currentTimeSeconds;
 
-    Rotation2d angle = gyroAngle.plus(m_gyroOffset);
+    double[] readings = m_engine.getReadings();
+    readings[0] = period;
+    readings[1] = gyroAngle.getRadians() + m_gyroOffset;
+    readings[2] = wheelSpeeds.frontLeftMetersPerSecond;
+    readings[3] = wheelSpeeds.frontRightMetersPerSecond;
+    readings[4] = wheelSpeeds.rearLeftMetersPerSecond;
+    readings[5] = wheelSpeeds.rearRightMetersPerSecond;
+    m_engine.update();
 
-    ChassisSpeeds chassisState = m_kinematics.toChassisSpeeds(wheelSpeeds);
-    Pose2d newPose = m_poseMeters.exp(
-        new Twist2d(chassisState.vxMetersPerSecond * period,
-            chassisState.vyMetersPerSecond * period,
-            angle.minus(m_previousAngle).getRadians()));
+    return m_engine.getPose();
+  }
 
-    m_previousAngle = angle;
-    m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
-    return m_poseMeters;
+  /**
+   * Returns the engine that integrates the pose.
+   *
+   * @return The odometry engine.
+   */
+  public OdometryEngine getEngine() {
+    return m_engine;
   }
 
 }
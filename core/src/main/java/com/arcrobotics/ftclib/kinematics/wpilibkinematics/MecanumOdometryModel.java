@@ -0,0 +1,55 @@
+package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
+
+import com.arcrobotics.ftclib.kinematics.OdometryModel;
+
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * The measurement model for a mecanum drivetrain with a gyro. The wheel speeds
+ * are converted to chassis speeds with the forward kinematics of
+ * {@link MecanumDriveKinematics} and integrated over the period.
+ *
+ * <p>Readings: {period in seconds, heading in radians, front left speed,
+ * front right speed, rear left speed, rear right speed}
+ */
+public class MecanumOdometryModel implements OdometryModel {
+
+    private final double[] m_forwardKinematics;
+
+    /**
+     * @param kinematics the mecanum drive kinematics for the drivetrain
+     */
+    public MecanumOdometryModel(MecanumDriveKinematics kinematics) {
+        SimpleMatrix forward = kinematics.getForwardKinematics();
+        m_forwardKinematics = new double[12];
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 4; col++) {
+                m_forwardKinematics[row * 4 + col] = forward.get(row, col);
+            }
+        }
+    }
+
+    @Override
+    public int getInputCount() {
+        return 6;
+    }
+
+    @Override
+    public void measure(double[] readings, double heading, double[] output) {
+        double period = readings[0];
+        double vx = 0, vy = 0;
+        for (int col = 0; col < 4; col++) {
+            vx += m_forwardKinematics[col] * readings[2 + col];
+            vy += m_forwardKinematics[4 + col] * readings[2 + col];
+        }
+
+        output[0] = vx * period;
+        output[1] = vy * period;
+        output[2] = readings[1];
+    }
+
+    @Override
+    public void reset() {
+    }
+
+}
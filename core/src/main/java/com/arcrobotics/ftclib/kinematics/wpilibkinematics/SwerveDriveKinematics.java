@@ -171,6 +171,23 @@ public class SwerveDriveKinematics {
 
   }
 
+  /**
+   * Returns the forward kinematics matrix, which maps the x and y velocity
+   * components of each module to the chassis speeds.
+   *
+   * @return The 3x(2 * number of modules) forward kinematics matrix.
+   */
+  SimpleMatrix getForwardKinematics() {
+    return m_forwardKinematics;
+  }
+
+  /**
+   * @return The number of swerve modules.
+   */
+  int getNumModules() {
+    return m_numModules;
+  }
+
   /**
    * Normalizes the wheel speeds using some max attainable speed. Sometimes,
    * after inverse kinematics, the requested speed from a/several modules may be
@@ -193,4 +210,33 @@ public class SwerveDriveKinematics {
       }
     }
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SwerveDriveKinematics)) {
+      return false;
+    }
+    SwerveDriveKinematics other = (SwerveDriveKinematics) obj;
+    return Arrays.equals(other.locationsAsArray(), locationsAsArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(locationsAsArray());
+  }
+
+  /**
+   * Returns the module locations as {x0, y0, x1, y1, ...} for equality checks.
+   */
+  private double[] locationsAsArray() {
+    double[] locations = new double[m_numModules * 2];
+    for (int i = 0; i < m_numModules; i++) {
+      locations[i * 2] = m_modules[i].getX();
+      locations[i * 2 + 1] = m_modules[i].getY();
+    }
+    return locations;
+  }
 }
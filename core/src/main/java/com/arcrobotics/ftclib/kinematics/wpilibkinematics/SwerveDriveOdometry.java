@@ -9,9 +9,7 @@ package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
 import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
-
-import org.firstinspires.ftc.robotcore.external.navigation.Rotation;
+import com.arcrobotics.ftclib.kinematics.OdometryEngine;
 
 
 /**
@@ -25,11 +23,10 @@ import org.firstinspires.ftc.robotcore.external.navigation.Rotation;
  */
 public class SwerveDriveOdometry {
   private final SwerveDriveKinematics m_kinematics;
-  private Pose2d m_poseMeters;
+  private final OdometryEngine m_engine;
   private double m_prevTimeSeconds = -1;
 
-  private Rotation2d m_gyroOffset;
-  private Rotation2d m_previousAngle;
+  private double m_gyroOffset;
 
   /**
    * Constructs a SwerveDriveOdometry object.
@@ -41,9 +38,8 @@ public class SwerveDriveOdometry {
   public SwerveDriveOdometry(SwerveDriveKinematics kinematics, Rotation2d gyroAngle,
                              Pose2d initialPose) {
     m_kinematics = kinematics;
-    m_poseMeters = initialPose;
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
-    m_previousAngle = initialPose.getRotation();
+    m_engine = new OdometryEngine(new SwerveOdometryModel(kinematics), initialPose);
+    m_gyroOffset = initialPose.getHeading() - gyroAngle.getRadians();
   }
 
   /**
@@ -66,9 +62,8 @@ public class SwerveDriveOdometry {
    * @param gyroAngle The angle reported by the gyroscope.
    */
   public void resetPosition(Pose2d pose, Rotation2d gyroAngle) {
-    m_poseMeters = pose;
-    m_previousAngle = pose.getRotation();
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
+    m_engine.resetPose(pose);
+    m_gyroOffset = pose.getHeading() - gyroAngle.getRadians();
   }
 
   /**
@@ -77,7 +72,7 @@ public class SwerveDriveOdometry {
    * @return The pose of the robot (x and y are in meters).
    */
   public Pose2d getPoseMeters() {
-    return m_poseMeters;
+    return m_engine.getPose();
   }
 
   /**
@@ -100,18 +95,32 @@ public class SwerveDriveOdometry {
     double period = m_prevTimeSeconds >= 0 ? currentTimeSeconds - m_prevTimeSeconds : 0.0;
     m_prevTimeSeconds = currentTimeSeconds;
 
-    Rotation2d angle = gyroAngle.plus(m_gyroOffset);
-
-    ChassisSpeeds chassisState = m_kinematics.toChassisSpeeds(moduleStates);
-    Pose2d newPose = m_poseMeters.exp(
-        new Twist2d(chassisState.vxMetersPerSecond * period,
-            chassisState.vyMetersPerSecond * period,
-            angle.minus(m_previousAngle).getRadians()));
-
-    m_previousAngle = angle;
-    m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
+    if (moduleStates.length != m_kinematics.getNumModules()) {
+      throw new IllegalArgumentException(
+          "Number of modules is not consistent with number of wheel locations provided in "
+              + "constructor"
+      );
+    }
+
+    double[] readings = m_engine.getReadings();
+    readings[0] = period;
+    readings[1] = gyroAngle.getRadians() + m_gyroOffset;
+    for (int i = 0; i < moduleStates.length; i++) {
+      readings[2 + i * 2] = moduleStates[i].speedMetersPerSecond;
+      readings[3 + i * 2] = moduleStates[i].angle.getRadians();
+    }
+    m_engine.update();
+
+    return m_engine.getPose();
+  }
 
-    return m_poseMeters;
+  /**
+   * Returns the engine that integrates the pose.
+   *
+   * @return The odometry engine.
+   */
+  public OdometryEngine getEngine() {
+    return m_engine;
   }
 
 
@@ -0,0 +1,67 @@
+package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
+
+import com.arcrobotics.ftclib.kinematics.OdometryModel;
+
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * The measurement model for a swerve drivetrain with a gyro. The module states
+ * are converted to chassis speeds with the forward kinematics of
+ * {@link SwerveDriveKinematics} and integrated over the period.
+ *
+ * <p>Readings: {period in seconds, heading in radians, then the speed and
+ * angle in radians of each module, in the order the modules were passed
+ * to the kinematics}
+ */
+public class SwerveOdometryModel implements OdometryModel {
+
+    private final int m_numModules;
+    private final double[] m_forwardKinematics;
+
+    /**
+     * @param kinematics the swerve drive kinematics for the drivetrain
+     */
+    public SwerveOdometryModel(SwerveDriveKinematics kinematics) {
+        m_numModules = kinematics.getNumModules();
+
+        SimpleMatrix forward = kinematics.getForwardKinematics();
+        int cols = m_numModules * 2;
+        m_forwardKinematics = new double[2 * cols];
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < cols; col++) {
+                m_forwardKinematics[row * cols + col] = forward.get(row, col);
+            }
+        }
+    }
+
+    @Override
+    public int getInputCount() {
+        return 2 + m_numModules * 2;
+    }
+
+    @Override
+    public void measure(double[] readings, double heading, double[] output) {
+        double period = readings[0];
+        int cols = m_numModules * 2;
+        double vx = 0, vy = 0;
+        for (int i = 0; i < m_numModules; i++) {
+            double speed = readings[2 + i * 2];
+            double angle = readings[3 + i * 2];
+            double moduleX = speed * Math.cos(angle);
+            double moduleY = speed * Math.sin(angle);
+
+            vx += m_forwardKinematics[i * 2] * moduleX + m_forwardKinematics[i * 2 + 1] * moduleY;
+            vy += m_forwardKinematics[cols + i * 2] * moduleX
+                    + m_forwardKinematics[cols + i * 2 + 1] * moduleY;
+        }
+
+        output[0] = vx * period;
+        output[1] = vy * period;
+        output[2] = readings[1];
+    }
+
+    @Override
+    public void reset() {
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+/**
+ * This class is an adaptive lookahead policy for a Path. Instead of each waypoint's fixed follow radius, the path
+ * follows a radius that grows with the robot's measured speed, for stable straights, and shrinks ahead of curves,
+ * so the robot does not cut tight corners. The radius is computed as
+ * 
+ * (minRadius + speedGain * speed) / (1 + curvatureGain * curvature)
+ * 
+ * and clamped to [minRadius, maxRadius]. The curvature is the highest curvature at the waypoints within the preview
+ * distance ahead of the robot's segment. It is precomputed for every segment when the path is initiated, so each
+ * loop only needs a table lookup.
+ * 
+ * A policy holds no state of its own, so one policy can be shared between paths.
+ * 
+ * @see Path
+ * @version 1.0
+ *
+ */
+public class AdaptiveLookahead {
+	
+	// Radius bounds.
+	private final double minRadius;
+	private final double maxRadius;
+	
+	// How much the radius grows with speed and shrinks with curvature.
+	private final double speedGain;
+	private final double curvatureGain;
+	
+	// How far ahead of the start of the robot's segment to look for curves.
+	private double previewDistance;
+	
+	/**
+	 * Constructs an AdaptiveLookahead with the given settings. The preview distance defaults to the max radius.
+	 * 
+	 * @param minRadius Smallest follow radius, used when the robot is stopped on a straight.
+	 * @param maxRadius Largest follow radius.
+	 * @param speedGain Follow radius added per unit of speed (units/second).
+	 * @param curvatureGain How strongly upcoming curvature shrinks the radius. This has units of distance; the radius
+	 *                      is halved where curvatureGain * curvature is 1.
+	 * @throws IllegalArgumentException If the radius bounds are not positive and ordered, or a gain is negative.
+	 */
+	public AdaptiveLookahead(double minRadius, double maxRadius, double speedGain, double curvatureGain) {
+		if (minRadius <= 0 || maxRadius < minRadius)
+			throw new IllegalArgumentException("The follow radius bounds must be positive, and the max radius must not be less than the min radius.");
+		if (speedGain < 0 || curvatureGain < 0)
+			throw new IllegalArgumentException("The lookahead gains must not be negative.");
+		this.minRadius = minRadius;
+		this.maxRadius = maxRadius;
+		this.speedGain = speedGain;
+		this.curvatureGain = curvatureGain;
+		previewDistance = maxRadius;
+	}
+	
+	/**
+	 * Sets how far ahead of the start of the robot's segment to look for curves.
+	 * @param previewDistance Preview distance to be set.
+	 * @return This AdaptiveLookahead, used for chaining methods.
+	 */
+	public AdaptiveLookahead setPreviewDistance(double previewDistance) {
+		this.previewDistance = Math.max(previewDistance, 0);
+		return this;
+	}
+	
+	/**
+	 * Returns the follow radius for the given speed and upcoming curvature.
+	 * 
+	 * @param speed Robot's measured speed, in units/second.
+	 * @param curvature Highest upcoming curvature.
+	 * @return The follow radius.
+	 */
+	public double getFollowRadius(double speed, double curvature) {
+		double radius = (minRadius + speedGain * speed) / (1 + curvatureGain * curvature);
+		return Math.max(minRadius, Math.min(maxRadius, radius));
+	}
+	
+	/**
+	 * Precomputes the highest curvature ahead of each segment of the given path. Element i of the result is the highest
+	 * curvature at the waypoints from i - 1 onwards that are within the preview distance of waypoint i - 1.
+	 * 
+	 * @param path Compiled path.
+	 * @return The upcoming curvature of each segment, indexed by the waypoint that ends the segment.
+	 */
+	public double[] upcomingCurvature(CompiledPath path) {
+		double[] upcoming = new double[path.size()];
+		// Sweep backwards. The window ends at the last waypoint within the preview distance, which only moves back.
+		int end = path.size() - 1;
+		for (int i = path.size() - 1; i >= 1; i--) {
+			int start = i - 1;
+			while (path.getDistance(end) - path.getDistance(start) > previewDistance)
+				end--;
+			double max = 0;
+			for (int j = start; j <= end; j++)
+				max = Math.max(max, path.getCurvature(j));
+			upcoming[i] = max;
+		}
+		return upcoming;
+	}
+	
+}
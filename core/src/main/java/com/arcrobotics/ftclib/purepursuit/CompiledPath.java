@@ -0,0 +1,319 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import java.util.List;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.purepursuit.types.WaypointType;
+import com.arcrobotics.ftclib.purepursuit.waypoints.PointTurnWaypoint;
+
+/**
+ * This class is a frozen, compiled form of a Path. It stores the path's geometry in primitive arrays
+ * so the follower does not have to go through the waypoints every loop. Segment i runs from waypoint
+ * i - 1 to waypoint i, so segment arrays are indexed by the waypoint that ends the segment and their
+ * first element is unused.
+ * 
+ * A CompiledPath is created by Path.compile() and does not change afterwards. Changes made to the
+ * path or its waypoints after it was compiled are not reflected in it.
+ * 
+ * @see Path
+ * @version 1.0
+ *
+ */
+public final class CompiledPath {
+	
+	// Waypoint positions. These are also the start points of the segments that follow them.
+	private final double[] x;
+	private final double[] y;
+	
+	// Segment direction vectors, lengths and squared lengths.
+	private final double[] dx;
+	private final double[] dy;
+	private final double[] length;
+	private final double[] lengthSquared;
+	
+	// Distance along the path from the first waypoint to each waypoint.
+	private final double[] distance;
+	
+	// Follow radius of each segment.
+	private final double[] followRadius;
+	
+	// Curvature of the path at each waypoint.
+	private final double[] curvature;
+	
+	// Waypoint types, and whether each waypoint is a point turn waypoint (or a subclass of one).
+	private final WaypointType[] types;
+	private final boolean[] pointTurn;
+	
+	// Index of the closest start or point turn waypoint before each waypoint. The robot accelerates away from it.
+	private final int[] awayIndex;
+	
+	/**
+	 * Compiles the given waypoints. The waypoints must already form a legal path.
+	 * @param waypoints Waypoints to compile.
+	 */
+	CompiledPath(List<Waypoint> waypoints) {
+		int n = waypoints.size();
+		x = new double[n];
+		y = new double[n];
+		dx = new double[n];
+		dy = new double[n];
+		length = new double[n];
+		lengthSquared = new double[n];
+		distance = new double[n];
+		followRadius = new double[n];
+		curvature = new double[n];
+		types = new WaypointType[n];
+		pointTurn = new boolean[n];
+		awayIndex = new int[n];
+		int away = -1;
+		for (int i = 0; i < n; i++) {
+			Waypoint waypoint = waypoints.get(i);
+			Translation2d translation = waypoint.getPose().getTranslation();
+			x[i] = translation.getX();
+			y[i] = translation.getY();
+			followRadius[i] = waypoint.getFollowDistance();
+			types[i] = waypoint.getType();
+			pointTurn[i] = waypoint instanceof PointTurnWaypoint;
+			awayIndex[i] = away;
+			if (types[i] == WaypointType.START || pointTurn[i])
+				away = i;
+			if (i > 0) {
+				dx[i] = x[i] - x[i - 1];
+				dy[i] = y[i] - y[i - 1];
+				lengthSquared[i] = dx[i] * dx[i] + dy[i] * dy[i];
+				length[i] = Math.sqrt(lengthSquared[i]);
+				distance[i] = distance[i - 1] + length[i];
+			}
+		}
+		for (int i = 1; i < n - 1; i++) {
+			// The turn angle at the waypoint over the mean length of the segments around it.
+			double meanLength = (length[i] + length[i + 1]) / 2;
+			if (length[i] > 0 && length[i + 1] > 0)
+				curvature[i] = Math.abs(Math.atan2(dx[i] * dy[i + 1] - dy[i] * dx[i + 1], dx[i] * dx[i + 1] + dy[i] * dy[i + 1])) / meanLength;
+		}
+	}
+	
+	/**
+	 * Finds the points where the follow circle of a segment, centered on the robot, intersects the segment.
+	 * The points are the same, in the same order, as PurePursuitUtil.lineCircleIntersection() returns.
+	 * 
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @param cx Robot's x position.
+	 * @param cy Robot's y position.
+	 * @param intersections Array of at least four elements. The intersections are written into it as {x0, y0, x1, y1}.
+	 * @return The number of intersections found, between 0 and 2.
+	 */
+	public int intersections(int segment, double cx, double cy, double[] intersections) {
+		return intersections(segment, cx, cy, followRadius[segment], intersections);
+	}
+	
+	/**
+	 * Finds the points where a circle centered on the robot intersects a segment. The points are the same, in the
+	 * same order, as PurePursuitUtil.lineCircleIntersection() returns.
+	 * 
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @param cx Robot's x position.
+	 * @param cy Robot's y position.
+	 * @param radius Radius of the circle.
+	 * @param intersections Array of at least four elements. The intersections are written into it as {x0, y0, x1, y1}.
+	 * @return The number of intersections found, between 0 and 2.
+	 */
+	public int intersections(int segment, double cx, double cy, double radius, double[] intersections) {
+		double x1 = x[segment - 1];
+		double y1 = y[segment - 1];
+		double baX = dx[segment];
+		double baY = dy[segment];
+		double caX = cx - x1;
+		double caY = cy - y1;
+		
+		double a = lengthSquared[segment];
+		double bBy2 = baX * caX + baY * caY;
+		double c = caX * caX + caY * caY - radius * radius;
+		
+		double pBy2 = bBy2 / a;
+		double q = c / a;
+		
+		double disc = pBy2 * pBy2 - q;
+		if (disc < 0)
+			return 0;
+		
+		double tmpSqrt = Math.sqrt(disc);
+		double maxX = Math.max(x1, x[segment]);
+		double maxY = Math.max(y1, y[segment]);
+		double minX = Math.min(x1, x[segment]);
+		double minY = Math.min(y1, y[segment]);
+		
+		int count = 0;
+		for (int i = 0; i < (disc == 0 ? 1 : 2); i++) {
+			double abScalingFactor = i == 0 ? -pBy2 + tmpSqrt : -pBy2 - tmpSqrt;
+			double px = x1 - baX * abScalingFactor;
+			double py = y1 - baY * abScalingFactor;
+			if (px <= maxX && px >= minX && py <= maxY && py >= minY) {
+				intersections[2 * count] = px;
+				intersections[2 * count + 1] = py;
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the distance from the given point to the closest point on a segment.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @param px X coordinate of the point.
+	 * @param py Y coordinate of the point.
+	 * @return the distance from the point to the segment.
+	 */
+	public double distanceToSegment(int segment, double px, double py) {
+		double t = project(segment, px, py);
+		return Math.hypot(px - (x[segment - 1] + t * dx[segment]), py - (y[segment - 1] + t * dy[segment]));
+	}
+	
+	/**
+	 * Projects a point onto a segment and returns the distance along the path to the projection.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @param px X coordinate of the point.
+	 * @param py Y coordinate of the point.
+	 * @return the distance along the path from the first waypoint to the projection of the point.
+	 */
+	public double distanceAlongPath(int segment, double px, double py) {
+		return distance[segment - 1] + project(segment, px, py) * length[segment];
+	}
+	
+	/**
+	 * Projects a point onto a segment, and returns how far along the segment the projection is, in the range [0, 1].
+	 */
+	private double project(int segment, double px, double py) {
+		if (lengthSquared[segment] == 0)
+			return 0;
+		// Project the point onto the line, and clamp it to the segment.
+		return Math.max(0, Math.min(1, ((px - x[segment - 1]) * dx[segment] + (py - y[segment - 1]) * dy[segment]) / lengthSquared[segment]));
+	}
+	
+	/**
+	 * Returns the number of waypoints in this path.
+	 * @return the number of waypoints in this path.
+	 */
+	public int size() {
+		return x.length;
+	}
+	
+	/**
+	 * Returns the x position of a waypoint.
+	 * @param i Index of the waypoint.
+	 * @return the x position of the waypoint.
+	 */
+	public double getX(int i) {
+		return x[i];
+	}
+	
+	/**
+	 * Returns the y position of a waypoint.
+	 * @param i Index of the waypoint.
+	 * @return the y position of the waypoint.
+	 */
+	public double getY(int i) {
+		return y[i];
+	}
+	
+	/**
+	 * Returns the x component of a segment's direction vector, from its start to its end.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @return the x component of the segment's direction vector.
+	 */
+	public double getDirectionX(int segment) {
+		return dx[segment];
+	}
+	
+	/**
+	 * Returns the y component of a segment's direction vector, from its start to its end.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @return the y component of the segment's direction vector.
+	 */
+	public double getDirectionY(int segment) {
+		return dy[segment];
+	}
+	
+	/**
+	 * Returns the length of a segment.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @return the length of the segment.
+	 */
+	public double getSegmentLength(int segment) {
+		return length[segment];
+	}
+	
+	/**
+	 * Returns the squared length of a segment.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @return the squared length of the segment.
+	 */
+	public double getSegmentLengthSquared(int segment) {
+		return lengthSquared[segment];
+	}
+	
+	/**
+	 * Returns the distance along the path from the first waypoint to the given waypoint.
+	 * @param i Index of the waypoint.
+	 * @return the distance along the path to the waypoint.
+	 */
+	public double getDistance(int i) {
+		return distance[i];
+	}
+	
+	/**
+	 * Returns the total length of the path.
+	 * @return the total length of the path.
+	 */
+	public double getLength() {
+		return distance[distance.length - 1];
+	}
+	
+	/**
+	 * Returns the follow radius of a segment.
+	 * @param segment Index of the waypoint that ends the segment.
+	 * @return the follow radius of the segment.
+	 */
+	public double getFollowRadius(int segment) {
+		return followRadius[segment];
+	}
+	
+	/**
+	 * Returns the curvature of the path at a waypoint, which is the angle the path turns through at the waypoint divided
+	 * by the mean length of the segments on either side. The first and last waypoints have zero curvature.
+	 * @param i Index of the waypoint.
+	 * @return the curvature at the waypoint.
+	 */
+	public double getCurvature(int i) {
+		return curvature[i];
+	}
+	
+	/**
+	 * Returns the type of a waypoint.
+	 * @param i Index of the waypoint.
+	 * @return the type of the waypoint.
+	 */
+	public WaypointType getType(int i) {
+		return types[i];
+	}
+	
+	/**
+	 * Returns true if a waypoint is a point turn waypoint, which includes interrupt and end waypoints.
+	 * @param i Index of the waypoint.
+	 * @return true if the waypoint is a point turn waypoint, false otherwise.
+	 */
+	public boolean isPointTurn(int i) {
+		return pointTurn[i];
+	}
+	
+	/**
+	 * Returns the index of the closest start or point turn waypoint before the given waypoint. This is the
+	 * point the robot accelerates away from while it travels towards the waypoint.
+	 * @param i Index of the waypoint.
+	 * @return the index of the waypoint the robot accelerates away from, or -1 for the first waypoint.
+	 */
+	public int getAwayIndex(int i) {
+		return awayIndex[i];
+	}
+	
+}
@@ -1,14 +1,14 @@
 package com.arcrobotics.ftclib.purepursuit;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 
 import com.arcrobotics.ftclib.drivebase.MecanumDrive;
 import com.arcrobotics.ftclib.geometry.Pose2d;
-import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Translation2d;
 import com.arcrobotics.ftclib.kinematics.Odometry;
 import com.arcrobotics.ftclib.purepursuit.actions.TriggeredAction;
 import com.arcrobotics.ftclib.purepursuit.types.PathType;
@@ -17,6 +17,7 @@ import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
 import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
 import com.arcrobotics.ftclib.purepursuit.waypoints.InterruptWaypoint;
 import com.arcrobotics.ftclib.purepursuit.waypoints.PointTurnWaypoint;
+import com.arcrobotics.ftclib.util.MathUtils;
 
 /**
  * This class represents a pure pursuit path. It is used to store a path's waypoints, and do all the
@@ -53,6 +54,22 @@ public class Path extends ArrayList<Waypoint> {
 	// Motion profile.
 	private PathMotionProfile motionProfile;
 	
+	// Velocity planning. The planned path is created by init() if a planner is set.
+	private PathPlanner velocityPlanner;
+	private PlannedPath plannedPath;
+	
+	// Adaptive lookahead. The policy in use and the upcoming curvature of each segment are set by init().
+	private AdaptiveLookahead lookahead;
+	private AdaptiveLookahead activeLookahead;
+	private double[] upcomingCurvature;
+	private double adaptiveRadius;
+	
+	// Fields used to measure the robot's speed between loops.
+	private double lastX;
+	private double lastY;
+	private long lastLoopTime;
+	private double measuredSpeed;
+	
 	// Timeout fields. 
 	private long timeoutMiliseconds;
 	private long timeSinceStart;
@@ -66,14 +83,46 @@ public class Path extends ArrayList<Waypoint> {
 	// True if the init() method has been run.
 	private boolean initComplete;
 	
+	// The path compiled by init(), and the modification count of the list when it was compiled.
+	private CompiledPath compiledPath;
+	private int compiledModCount;
+	
 	// Fields for the retrace feature.
 	private boolean retracing;
 	private double retraceMovementSpeed;
 	private double retraceTurnSpeed;
-	private Translation2d lastKnownIntersection;
+	private boolean hasLastKnownIntersection;
+	private double lastKnownIntersectionX;
+	private double lastKnownIntersectionY;
+	
+	// Fields for projection recovery. When enabled, it is used instead of retrace.
+	private boolean recoveryEnabled;
+	private int recoveryWindow;
+	
+	// Intersection buffers. These are reused by every loop() call so that following the path does not allocate.
+	private TaggedIntersection[] intersections;
+	private int intersectionCount;
+	private final double[] intersectionPoints;
+	
+	// True if windowed segment search is enabled, this is enabled by default.
+	private boolean windowedSearchEnabled;
+	
+	// Index of the waypoint that ends the segment the last best intersection was on.
+	private int lastSegment;
 	
 	// Action lists
 	private List<TriggeredAction> triggeredActions;
+	private List<ScheduledAction> scheduledActions;
+	
+	// Scheduled actions sorted by the distance along the path at which they become eligible, built by init().
+	// Actions before the cursor have been passed, and the eligible ones that have not been performed yet are polled.
+	private ScheduledAction[] schedule;
+	private int scheduleCursor;
+	private TriggeredAction[] eligibleActions;
+	private int eligibleCount;
+	private double progress;
+	// Index of the waypoint that ends the segment the robot was last projected onto to measure its progress.
+	private int progressSegment;
 	private Queue<InterruptWaypoint> interruptActionQueue;
 	
 	/**
@@ -97,12 +146,22 @@ public class Path extends ArrayList<Waypoint> {
 		retraceMovementSpeed = 1;
 		retraceTurnSpeed = 1;
 		retraceEnabled = true;
+		windowedSearchEnabled = true;
+		recoveryEnabled = false;
+		recoveryWindow = 8;
+		lastSegment = 1;
+		progressSegment = 1;
 		initComplete = false;
 		timedOut = false;
 		triggeredActions = new ArrayList<TriggeredAction>();
+		scheduledActions = new ArrayList<ScheduledAction>();
+		schedule = new ScheduledAction[0];
+		eligibleActions = new TriggeredAction[0];
 		interruptActionQueue = new LinkedList<InterruptWaypoint>();
 		motionProfile = getDefaultMotionProfile();
 		lastWaypoint = null;
+		intersections = new TaggedIntersection[0];
+		intersectionPoints = new double[4];
 	}
 	
 	/**
@@ -118,15 +177,40 @@ public class Path extends ArrayList<Waypoint> {
 	 * @throws IllegalStateException If the path is not legal.
 	 */
 	public void init() {
-		// Verify that the path is valid.
-		verifyLegality();
+		// Verify and compile the path.
+		compiledPath = compile();
+		compiledModCount = modCount;
+		// Plan the velocities.
+		plannedPath = velocityPlanner == null ? null : velocityPlanner.plan(compiledPath);
+		// Precompute the upcoming curvature for the adaptive lookahead.
+		activeLookahead = lookahead;
+		upcomingCurvature = lookahead == null ? null : lookahead.upcomingCurvature(compiledPath);
+		// Sort the scheduled actions.
+		buildSchedule();
 		// Reset the path.
 		reset();
+		// Allocate the intersection buffers.
+		ensureIntersectionCapacity();
+		// Mark the init as complete.
+		initComplete = true;
+	}
+	
+	/**
+	 * Verifies this path, configures unconfigured waypoints and compiles the path into a CompiledPath.
+	 * The path is checked once here, so the follower does not need to check it again. The init() method
+	 * calls this, and loop() runs against the compiled path. If waypoints are added, removed or changed
+	 * after the init, init() must be called again.
+	 * 
+	 * @return The compiled path.
+	 * @throws IllegalStateException If the path is not legal.
+	 */
+	public CompiledPath compile() {
+		// Verify that the path is valid.
+		verifyLegality();
 		// Configure unconfigured waypoints.
 		for (int i = 1; i < size(); i++) 
 			((GeneralWaypoint) get(i)).inherit(get(i - 1));
-		// Mark the init as complete.
-		initComplete = true;
+		return new CompiledPath(this);
 	}
 	
 	/**
@@ -145,12 +229,13 @@ public class Path extends ArrayList<Waypoint> {
 			throw new IllegalStateException("Path initiation failed. Odometry is not set.");
 		// Init the path.
 		init();
+		double[] motorPowers = new double[3];
 		// Next, begin the loop.
 		while(!isFinished()) {
 			// Get the robot's current position using the odometry.
 			Pose2d robotPosition = odometry.getPose();
 			// Call the loop function to get the motor powers.
-			double[] motorPowers = loop(robotPosition.getX(), robotPosition.getY(), robotPosition.getHeading());
+			loop(robotPosition.getX(), robotPosition.getY(), robotPosition.getHeading(), motorPowers);
 			// Update motor speeds.
 			mecanumDrive.driveRobotCentric(motorPowers[0], motorPowers[1], motorPowers[2]);
 			if (!isFinished()) {
@@ -182,12 +267,31 @@ public class Path extends ArrayList<Waypoint> {
 	 * @return A double array containing the motor powers. a[0] is the x power, a[1] is the y power, and a[2] is the turn power.
 	 */
 	public double[] loop(double vPosition, double hPosition, double rotation) {
+		return loop(vPosition, hPosition, rotation, new double[3]);
+	}
+	
+	/**
+	 * Allocation-free version of loop(double, double, double). The motor powers are written into the provided
+	 * array instead of a new one, and the intersections are stored in buffers owned by this path. Once the
+	 * path is initiated, calling this every cycle creates no garbage.
+	 *
+	 * @param vPosition Robot's current vertical position.
+	 * @param hPosition Robot's current horizontal position.
+	 * @param rotation Robot's current rotation.
+	 * @param motorPowers Array of at least three elements the motor powers are written into.
+	 * @return The motorPowers array. a[0] is the x power, a[1] is the y power, and a[2] is the turn power.
+	 */
+	public double[] loop(double vPosition, double hPosition, double rotation, double[] motorPowers) {
 		// First, make sure the init has been called. While this does not guarantee the program will run without errors, it is better than nothing.
 		if (!initComplete)
 			throw new IllegalStateException("You must call the init() function before calling loop()");
+		if (modCount != compiledModCount)
+			throw new IllegalStateException("The path has changed since init() was called. Call init() again before calling loop()");
+		// Compare headings in the same range as Rotation2d.
+		rotation = MathUtils.normalizeRadians(rotation);
 		if (timedOut)
 			// If this path has timed out, return no motor speeds.
-			return new double[] {0, 0, 0};
+			return stop(motorPowers);
 		if (timeoutMiliseconds != -1)
 			// If this path has a timeout.
 			if (timeSinceStart == -1)
@@ -196,62 +300,61 @@ public class Path extends ArrayList<Waypoint> {
 				if (timeSinceStart + timeoutMiliseconds < System.currentTimeMillis()) {
 					timedOut = true;
 					// If the path has timed out, return no speeds.
-					return new double[] {0, 0, 0};
+					return stop(motorPowers);
 				}
 		// Next, loop triggered and perform interrupted actions.
 		loopTriggeredActions();
+		loopScheduledActions(vPosition, hPosition);
 		runQueuedInterruptActions();
-		// Get all the intersections on the path.
-		ArrayList<TaggedIntersection> intersections = new ArrayList<TaggedIntersection>();
-		for (int i = 1; i < size(); i++) {
-			// Get the path line segment and circle.
-			Translation2d linePoint1 = get(i - 1).getPose().getTranslation();
-			Translation2d linePoint2 = get(i).getPose().getTranslation();
-			double radius = get(i).getFollowDistance();
-			Translation2d robotPosition = new Translation2d(vPosition, hPosition);
-			List<Translation2d> points = PurePursuitUtil.lineCircleIntersection(robotPosition, radius, linePoint1, linePoint2);
-			for (Translation2d point : points)
-				// Add results to list.
-				intersections.add(new TaggedIntersection(point, get(i), i));
-			if (get(i) instanceof PointTurnWaypoint) {
-				// If the second waypoint is a point turn waypoint, decrease the follow radius so the next point is always found.
-				double dx = linePoint2.getX() - vPosition;
-				double dy = linePoint2.getY() - hPosition;
-				double adjustedRadius = Math.hypot(dx, dy) - 1e-9;
-				if (adjustedRadius < radius) {
-					// Add the point to the list.
-					intersections.add(new TaggedIntersection(((PointTurnWaypoint) get(i)).getTranslation(), get(i), i));
-				}
-			}
-			// Now all intersections are recorded.
-		}
+		// Measure the robot's speed and update the adaptive follow radius.
+		updateMeasuredSpeed(vPosition, hPosition);
+		if (activeLookahead != null)
+			adaptiveRadius = activeLookahead.getFollowRadius(measuredSpeed, upcomingCurvature[Math.min(lastSegment, compiledPath.size() - 1)]);
+		// Get all the intersections near the robot.
+		intersectionCount = 0;
+		if (windowedSearchEnabled)
+			findIntersectionsNearLastSegment(vPosition, hPosition);
+		if (intersectionCount == 0)
+			// If the window is disabled or empty, search the whole path.
+			for (int i = 1; i < compiledPath.size(); i++)
+				findIntersections(vPosition, hPosition, i);
+		if (intersectionCount == 0 && recoveryEnabled)
+			// Rejoin the path ahead of the robot's projection onto it.
+			recover(vPosition, hPosition);
 		// If there are no intersections found, the path is lost.
-		if (intersections.size() == 0) {
+		if (intersectionCount == 0) {
 			if (retracing)
-				return retrace(vPosition, hPosition, rotation);
+				return retrace(vPosition, hPosition, rotation, motorPowers);
 			// If retrace is enabled, we can try to re-find the path.
 			if (retraceEnabled) { 
-				if (lastKnownIntersection == null)
-					lastKnownIntersection = get(0).getPose().getTranslation();
+				if (!hasLastKnownIntersection) {
+					hasLastKnownIntersection = true;
+					lastKnownIntersectionX = compiledPath.getX(0);
+					lastKnownIntersectionY = compiledPath.getY(0);
+				}
 				retracing = true;
-				return retrace(vPosition, hPosition, rotation);
+				return retrace(vPosition, hPosition, rotation, motorPowers);
 			} else 
-				return new double[] {0, 0, 0};
+				return stop(motorPowers);
 		} else
 			retracing = false;
 		// The intersections are handled differently depending on the path type.
-		TaggedIntersection bestIntersection = intersections.get(0);
+		TaggedIntersection bestIntersection = intersections[0];
 		switch(pathType) {
 		case HEADING_CONTROLLED:
-			bestIntersection = selectHeadingControlledIntersection(intersections, new Pose2d(vPosition, hPosition, new Rotation2d(rotation)));
+			bestIntersection = selectHeadingControlledIntersection(rotation);
 			break;
 		case WAYPOINT_ORDERING_CONTROLLED:
-			bestIntersection = selectWaypointOrderingControlledIntersection(intersections);
+			bestIntersection = selectWaypointOrderingControlledIntersection();
 			break;
 		}
-		if (retraceEnabled)
+		lastSegment = bestIntersection.waypointIndex;
+		if (retraceEnabled) {
 			// If retrace is enabled, store the intersection.
-			lastKnownIntersection = bestIntersection.intersection;
+			hasLastKnownIntersection = true;
+			lastKnownIntersectionX = bestIntersection.x;
+			lastKnownIntersectionY = bestIntersection.y;
+		}
 		if (bestIntersection.taggedPoint != lastWaypoint) {
 			// If this is the first intersection of a new waypoint, update timeout values.
 			lastWaypoint = bestIntersection.taggedPoint;
@@ -262,46 +365,116 @@ public class Path extends ArrayList<Waypoint> {
 			if (System.currentTimeMillis() > lastWaypointTimeStamp + bestIntersection.taggedPoint.getTimeout()) {
 				timedOut = true;
 				// If it has, return no motor speeds.
-				return new double[] {0, 0, 0};
+				return stop(motorPowers);
 			}
 		// After the best intersection is found, the robot behaves differently depending on the type of waypoint.
-		double[] motorPowers = new double[] {0, 0, 0};
-		Pose2d robotPos =  new Pose2d(vPosition, hPosition, new Rotation2d(rotation));
+		stop(motorPowers);
 		switch(bestIntersection.taggedPoint.getType()) {
 		case GENERAL:
-			motorPowers = handleGeneralIntersection(bestIntersection, robotPos);
+			handleGeneralIntersection(bestIntersection, vPosition, hPosition, rotation, motorPowers);
 			break;
 		case POINT_TURN:
-			motorPowers = handlePointTurnIntersection(bestIntersection, robotPos);
+			handlePointTurnIntersection(bestIntersection, vPosition, hPosition, rotation, motorPowers);
 			break;
 		case INTERRUPT:
-			motorPowers = handleInterruptIntersection(bestIntersection, robotPos);
+			handleInterruptIntersection(bestIntersection, vPosition, hPosition, rotation, motorPowers);
 			break;
 		case END:
-			motorPowers = handleEndIntersection(bestIntersection, robotPos);
+			handleEndIntersection(bestIntersection, vPosition, hPosition, rotation, motorPowers);
 			break;
 		case START:
 			// This should never happen.
 			throw new IllegalStateException("Path has lost integrity.");
 		}
 		// Adjust speeds.
-		adjustSpeedsWithProfile(motorPowers, bestIntersection, robotPos.getTranslation());
+		adjustSpeedsWithProfile(motorPowers, bestIntersection, vPosition, hPosition);
+		if (plannedPath != null)
+			adjustSpeedsWithPlan(motorPowers, bestIntersection, vPosition, hPosition);
 		normalizeMotorSpeeds(motorPowers);
 		// Return the motor powers.
 		return motorPowers;
 	}
 	
+	/**
+	 * Finds the intersections on the segments around the last best intersection. The search starts one
+	 * segment behind it and moves forward until it reaches a segment that lies entirely outside of the
+	 * follow circle. Because the path is continuous, the segments after that one can only meet the circle
+	 * if the path loops back on itself, which the robot should not shortcut to. The number of segments
+	 * searched depends on the follow radius and the waypoint spacing, not on the length of the path.
+	 * 
+	 * @param x Robot's x position.
+	 * @param y Robot's y position.
+	 */
+	private void findIntersectionsNearLastSegment(double x, double y) {
+		int last = lastSegment;
+		for (int i = Math.max(last - 1, 1); i < compiledPath.size(); i++) {
+			if (i > last && compiledPath.distanceToSegment(i, x, y) > followRadius(i))
+				break;
+			findIntersections(x, y, i);
+		}
+	}
+	
+	/**
+	 * Adds the intersections between the follow circle and the segment ending at the given waypoint to the intersection buffer.
+	 * 
+	 * @param x Robot's x position.
+	 * @param y Robot's y position.
+	 * @param i Index of the waypoint that ends the segment.
+	 */
+	private void findIntersections(double x, double y, int i) {
+		// Intersect the path line segment and circle.
+		int points = compiledPath.intersections(i, x, y, followRadius(i), intersectionPoints);
+		for (int j = 0; j < points; j++)
+			// Add results to the buffer.
+			intersections[intersectionCount++].set(intersectionPoints[2 * j], intersectionPoints[2 * j + 1], get(i), i);
+		if (compiledPath.isPointTurn(i)) {
+			// If the second waypoint is a point turn waypoint, decrease the follow radius so the next point is always found.
+			double dx = compiledPath.getX(i) - x;
+			double dy = compiledPath.getY(i) - y;
+			double adjustedRadius = Math.hypot(dx, dy) - 1e-9;
+			if (adjustedRadius < followRadius(i)) {
+				// Add the point to the buffer.
+				intersections[intersectionCount++].set(compiledPath.getX(i), compiledPath.getY(i), get(i), i);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the follow radius of a segment. This is the adaptive radius if an adaptive lookahead is set, and the
+	 * radius of the waypoint that ends the segment otherwise.
+	 * @param i Index of the waypoint that ends the segment.
+	 * @return the follow radius of the segment.
+	 */
+	private double followRadius(int i) {
+		return activeLookahead == null ? compiledPath.getFollowRadius(i) : adaptiveRadius;
+	}
+	
+	/**
+	 * Measures the robot's speed from the distance it moved since the last loop.
+	 * @param x Robot's x position.
+	 * @param y Robot's y position.
+	 */
+	private void updateMeasuredSpeed(double x, double y) {
+		long now = System.nanoTime();
+		if (lastLoopTime != -1 && now > lastLoopTime)
+			measuredSpeed = Math.hypot(x - lastX, y - lastY) / ((now - lastLoopTime) / 1e9);
+		lastX = x;
+		lastY = y;
+		lastLoopTime = now;
+	}
+	
 	/**
 	 * Retraces the robot's moves back to the path's last known location. 
 	 * 
 	 * @param xPosition Robot's x position.
 	 * @param yPosition Robot's y position.
 	 * @param rotation Robot's rotation.
-	 * @return A double array containing the motor powers. a[0] is the x power, a[1] is the y power, and a[2] is the turn power.
+	 * @param motorPowers Array the motor powers are written into.
+	 * @return The motorPowers array. a[0] is the x power, a[1] is the y power, and a[2] is the turn power.
 	 */
-	private double[] retrace(double xPosition, double yPosition, double rotation) {
+	private double[] retrace(double xPosition, double yPosition, double rotation, double[] motorPowers) {
 		// Move towards the last known intersection.
-		double[] motorPowers = PurePursuitUtil.moveToPosition(xPosition, yPosition, rotation, lastKnownIntersection.getX(), lastKnownIntersection.getY(), rotation, false);
+		PurePursuitUtil.moveToPosition(xPosition, yPosition, rotation, lastKnownIntersectionX, lastKnownIntersectionY, rotation, false, motorPowers);
 		motorPowers[0] *= retraceMovementSpeed;
 		motorPowers[1] *= retraceMovementSpeed;
 		motorPowers[2] *= retraceTurnSpeed;
@@ -309,22 +482,59 @@ public class Path extends ArrayList<Waypoint> {
 	}
 	
 	/**
-	 * Selects and returns the "best" intersection from the given list using heading 
+	 * Puts a point to rejoin the path at into the intersection buffer. The robot is projected onto the nearest
+	 * segment among those around the last segment it followed, and the point is one follow radius further
+	 * along the path. Neither the projection nor the point pass a waypoint that is not a general waypoint,
+	 * so point turns, interrupts and the end of the path are still reached. The number of segments searched
+	 * is bounded by the recovery window, regardless of the length of the path.
+	 * 
+	 * @param x Robot's x position.
+	 * @param y Robot's y position.
+	 */
+	private void recover(double x, double y) {
+		int first = Math.max(lastSegment - 1, 1);
+		int last = Math.min(lastSegment + recoveryWindow, compiledPath.size() - 1);
+		int nearest = first;
+		double nearestDistance = Double.POSITIVE_INFINITY;
+		for (int i = first; i <= last; i++) {
+			double distance = compiledPath.distanceToSegment(i, x, y);
+			if (distance < nearestDistance) {
+				nearest = i;
+				nearestDistance = distance;
+			}
+			if (i >= lastSegment && compiledPath.getType(i) != WaypointType.GENERAL)
+				// The robot must reach this waypoint before it follows the segments after it.
+				break;
+		}
+		// Walk forward to the segment holding the rejoin point.
+		double target = compiledPath.distanceAlongPath(nearest, x, y) + followRadius(nearest);
+		int segment = nearest;
+		while (segment < last && target > compiledPath.getDistance(segment) && compiledPath.getType(segment) == WaypointType.GENERAL)
+			segment++;
+		double t = 1;
+		if (compiledPath.getSegmentLength(segment) > 0)
+			t = Math.max(0, Math.min(1, (target - compiledPath.getDistance(segment - 1)) / compiledPath.getSegmentLength(segment)));
+		intersections[intersectionCount++].set(compiledPath.getX(segment - 1) + t * compiledPath.getDirectionX(segment),
+				compiledPath.getY(segment - 1) + t * compiledPath.getDirectionY(segment), get(segment), segment);
+	}
+	
+	/**
+	 * Selects and returns the "best" intersection from the intersection buffer using heading 
 	 * control. The intersection is chosen based on the following rules:
 	 * 1. If the list contains any untraversed waypoints, they are given priority and the best intersection is the point closest to the point turn waypoint.
 	 * 2. If the list contains no point turn points, then it chooses the intersection the robot is oriented most closely towards. 
 	 * 
-	 * @param intersections Intersection list.
-	 * @param robotPos Robot's current position/rotation.
+	 * @param heading Robot's current rotation.
 	 * @return The best intersection in the form of a TaggedIntersection.
 	 */
-	private TaggedIntersection selectHeadingControlledIntersection(List<TaggedIntersection> intersections, Pose2d robotPos) {
-		TaggedIntersection bestIntersection = intersections.get(0);
+	private TaggedIntersection selectHeadingControlledIntersection(double heading) {
+		TaggedIntersection bestIntersection = intersections[0];
 		boolean pointTurnPriority = false;
 		/**
 		 * In a heading controlled path, the intersection the robot is most closely oriented toward is considered the "best point".
 		 */
-		for (TaggedIntersection intersection : intersections) {
+		for (int i = 0; i < intersectionCount; i++) {
+			TaggedIntersection intersection = intersections[i];
 			// Check to see if a point turn waypoint is found.
 			if (intersection.taggedPoint instanceof PointTurnWaypoint) {
 				PointTurnWaypoint ptwaypoint = (PointTurnWaypoint) intersection.taggedPoint;
@@ -340,7 +550,7 @@ public class Path extends ArrayList<Waypoint> {
 							bestIntersection = intersection;
 						else if (bestIntersection.waypointIndex == intersection.waypointIndex)
 							// Check to see if it is in front.
-							if (PurePursuitUtil.isInFront(get(intersection.waypointIndex - 1).getPose().getTranslation(), intersection.taggedPoint.getPose().getTranslation(), intersection.intersection, bestIntersection.intersection))
+							if (isInFront(intersection, bestIntersection))
 								bestIntersection = intersection;
 					}
 				}
@@ -350,11 +560,11 @@ public class Path extends ArrayList<Waypoint> {
 			else {
 				// Normal case.
 				// Relative angle to intersection.
-				double absoluteAngleToIntersection = Math.atan2(intersection.intersection.getY(), intersection.intersection.getX());
-				double relativeAngleToIntersection = absoluteAngleToIntersection - robotPos.getHeading();
+				double absoluteAngleToIntersection = Math.atan2(intersection.y, intersection.x);
+				double relativeAngleToIntersection = absoluteAngleToIntersection - heading;
 				// Relative angle to best intersection.
-				double absoluteAngleToBestIntersection = Math.atan2(bestIntersection.intersection.getY(), bestIntersection.intersection.getX());
-				double relativeAngleToBestIntersection = absoluteAngleToBestIntersection - robotPos.getHeading();
+				double absoluteAngleToBestIntersection = Math.atan2(bestIntersection.y, bestIntersection.x);
+				double relativeAngleToBestIntersection = absoluteAngleToBestIntersection - heading;
 				if (relativeAngleToIntersection < relativeAngleToBestIntersection)
 					// Update bestIntersection.
 					bestIntersection = intersection;
@@ -365,21 +575,21 @@ public class Path extends ArrayList<Waypoint> {
 	}
 	
 	/**
-	 * Selects and returns the "best" intersection from the given list by choosing the intersection that is farthest along the path.
+	 * Selects and returns the "best" intersection from the intersection buffer by choosing the intersection that is farthest along the path.
 	 * The intersection is chosen based on the following rules:
 	 * 1. If the list contains any untraversed waypoints, they are given priority and the best intersection is the point closest to the point turn waypoint.
 	 * 2. If the list contains no point turn points, then it chooses the intersection that is farthest along the path. 
 	 * 
-	 * @param intersections Intersection list.
 	 * @return The best intersection in the form of a TaggedIntersection.
 	 */
-	private TaggedIntersection selectWaypointOrderingControlledIntersection(List<TaggedIntersection> intersections) {
-		TaggedIntersection bestIntersection = intersections.get(0);
+	private TaggedIntersection selectWaypointOrderingControlledIntersection() {
+		TaggedIntersection bestIntersection = intersections[0];
 		boolean pointTurnPriority = false;
 		/**
 		 * In a waypoint ordering controlled path, the intersection that is farthest along the path is considered the "best point".
 		 */
-		for (TaggedIntersection intersection : intersections) {
+		for (int i = 0; i < intersectionCount; i++) {
+			TaggedIntersection intersection = intersections[i];
 			// Check to see if a point turn waypoint is found.
 			if (intersection.taggedPoint instanceof PointTurnWaypoint) {
 				PointTurnWaypoint ptwaypoint = (PointTurnWaypoint) intersection.taggedPoint;
@@ -397,7 +607,7 @@ public class Path extends ArrayList<Waypoint> {
 							bestIntersection = intersection;
 						else if (bestIntersection.waypointIndex == intersection.waypointIndex)
 							// Check to see if it is in front.
-							if (PurePursuitUtil.isInFront(get(intersection.waypointIndex - 1).getPose().getTranslation(), intersection.taggedPoint.getPose().getTranslation(), intersection.intersection, bestIntersection.intersection))
+							if (isInFront(intersection, bestIntersection))
 								bestIntersection = intersection;
 					}
 				}
@@ -411,7 +621,7 @@ public class Path extends ArrayList<Waypoint> {
 					bestIntersection = intersection;
 				else if (bestIntersection.waypointIndex == intersection.waypointIndex)
 					// Check to see if it is in front.
-					if (PurePursuitUtil.isInFront(get(intersection.waypointIndex - 1).getPose().getTranslation(), intersection.taggedPoint.getPose().getTranslation(), intersection.intersection, bestIntersection.intersection))
+					if (isInFront(intersection, bestIntersection))
 						bestIntersection = intersection;
 			}
 		}
@@ -420,23 +630,34 @@ public class Path extends ArrayList<Waypoint> {
 	}
 	
 	/**
-	 * Returns the motor speeds required to approach the given intersection.
+	 * Returns true if the first intersection is further along its segment than the second. Both intersections must be tagged with the same waypoint.
+	 * 
+	 * @param intersection Intersection to be compared.
+	 * @param other Intersection that the first is compared to.
+	 * @return True if intersection is ahead of other.
+	 */
+	private boolean isInFront(TaggedIntersection intersection, TaggedIntersection other) {
+		int i = intersection.waypointIndex;
+		return PurePursuitUtil.isInFront(compiledPath.getX(i - 1), compiledPath.getY(i - 1), compiledPath.getX(i), compiledPath.getY(i), intersection.x, intersection.y, other.x, other.y);
+	}
+	
+	/**
+	 * Writes the motor speeds required to approach the given intersection.
 	 * 
 	 * @param intersection Intersection to approach. 
-	 * @param robotPos Robot's current position/rotation.
-	 * @return Final motor speeds.
+	 * @param cx Robot's current x position.
+	 * @param cy Robot's current y position.
+	 * @param ca Robot's current rotation.
+	 * @param motorPowers Array the motor speeds are written into.
 	 */
-	private double[] handleGeneralIntersection(TaggedIntersection intersection, Pose2d robotPos) {
+	private void handleGeneralIntersection(TaggedIntersection intersection, double cx, double cy, double ca, double[] motorPowers) {
 		/**
 		 * General intersections are handled like normal pure pursuit intersections. The robot simply moves towards them.
 		 */
 		GeneralWaypoint waypoint = (GeneralWaypoint) intersection.taggedPoint;
 		// Get necessary values.
-		double cx = robotPos.getTranslation().getX();
-		double cy = robotPos.getTranslation().getY();
-		double ca = robotPos.getHeading();
-		double tx = intersection.intersection.getX();
-		double ty = intersection.intersection.getY();
+		double tx = intersection.x;
+		double ty = intersection.y;
 		double ta;
 		if (waypoint.usingPreferredAngle())
 			// If this waypoint has a preferred angle, use it instead of the calculated angle.
@@ -445,54 +666,50 @@ public class Path extends ArrayList<Waypoint> {
 			// Calculate the target angle.
 			ta = Math.atan2(ty - cy, tx - cx);
 		// Get raw motor powers.
-		double[] motorPowers = PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, false);
-		// Return motor speeds.
-		return motorPowers;
+		PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, false, motorPowers);
 	}
 	
 	/**
-	 * Returns the motor speeds required to approach the given point turn intersection. 
+	 * Writes the motor speeds required to approach the given point turn intersection. 
 	 * This will cause the robot to behave as follows:
 	 * 1. Approach and decelerate to the waypoint.
 	 * 2. Perform a point turn.
 	 * 3. Continue to the next waypoint as normal.
 	 * 
 	 * @param intersection Intersection to approach. 
-	 * @param robotPos Robot's current position/rotation.
-	 * @return Final motor speeds.
+	 * @param cx Robot's current x position.
+	 * @param cy Robot's current y position.
+	 * @param ca Robot's current rotation.
+	 * @param motorPowers Array the motor speeds are written into.
 	 */
-	private double[] handlePointTurnIntersection(TaggedIntersection intersection, Pose2d robotPos) {
+	private void handlePointTurnIntersection(TaggedIntersection intersection, double cx, double cy, double ca, double[] motorPowers) {
 		/**
 		 * Point turn intersections are handled very differently than general intersections. Instead of "curving" around
 		 * the point, the robot will decelerate and perform a point turn.
 		 */
 		PointTurnWaypoint waypoint = (PointTurnWaypoint) intersection.taggedPoint;
 		// Get necessary values.
-		double cx = robotPos.getTranslation().getX();
-		double cy = robotPos.getTranslation().getY();
-		double ca = robotPos.getHeading();
-		double tx = intersection.intersection.getX();
-		double ty = intersection.intersection.getY();
+		double tx = intersection.x;
+		double ty = intersection.y;
 		double ta;
-		double[] motorPowers;
-		if (!waypoint.hasTraversed() && PurePursuitUtil.positionEqualsWithBuffer(robotPos.getTranslation(), waypoint.getTranslation(), waypoint.getPositionBuffer())) {
+		if (!waypoint.hasTraversed() && PurePursuitUtil.positionEqualsWithBuffer(cx, cy, waypoint.getX(), waypoint.getY(), waypoint.getPositionBuffer())) {
 			// If the robot has not reached the point.
 			if (((GeneralWaypoint) get(intersection.waypointIndex + 1)).usingPreferredAngle()) {
-				if (PurePursuitUtil.rotationEqualsWithBuffer(robotPos.getHeading(), ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPreferredAngle(), waypoint.getRotationBuffer()))
+				if (PurePursuitUtil.rotationEqualsWithBuffer(ca, ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPreferredAngle(), waypoint.getRotationBuffer()))
 					// If the robot has reached the point and is at the preferredAngle, then the point is traversed.
 					waypoint.setTraversed();
 				// Set the target angle.
 				ta = ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPreferredAngle();
 			} else {
-				double tempTy = ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPose().getTranslation().getY();
-				double tempTx = ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPose().getTranslation().getX();
+				double tempTy = compiledPath.getY(intersection.waypointIndex + 1);
+				double tempTx = compiledPath.getX(intersection.waypointIndex + 1);
 				// Calculate the target angle.
 				ta = Math.atan2(tempTy - cy, tempTx - cx);
-				if (PurePursuitUtil.rotationEqualsWithBuffer(robotPos.getHeading(), ta, waypoint.getRotationBuffer()))
+				if (PurePursuitUtil.rotationEqualsWithBuffer(ca, ta, waypoint.getRotationBuffer()))
 					// If the robot has reached the point and is at the target angle, then the point is traversed.
 					waypoint.setTraversed();
 			}
-			motorPowers = PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, true);
+			PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, true, motorPowers);
 		} else {
 			if (waypoint.usingPreferredAngle())
 				// If this waypoint has a preferred angle, use it instead of the calculated angle.
@@ -500,14 +717,12 @@ public class Path extends ArrayList<Waypoint> {
 			else
 				// Calculate the target angle.
 				ta = Math.atan2(ty - cy, tx - cx);
-			motorPowers = PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, false);
+			PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, false, motorPowers);
 		}
-		// Return motor speeds.
-		return motorPowers;
 	}
 	
 	/**
-	 * Returns the motor speeds required to approach the given interrupt intersection. 
+	 * Writes the motor speeds required to approach the given interrupt intersection. 
 	 * This will cause the robot to behave as follows:
 	 * 1. Approach and decelerate to the waypoint.
 	 * 2. Perform a point turn / align with the preferred angle.
@@ -515,58 +730,59 @@ public class Path extends ArrayList<Waypoint> {
 	 * 3. Continue to the next waypoint as normal.
 	 * 
 	 * @param intersection Intersection to approach. 
-	 * @param robotPos Robot's current position/rotation.
-	 * @return Final motor speeds.
+	 * @param cx Robot's current x position.
+	 * @param cy Robot's current y position.
+	 * @param ca Robot's current rotation.
+	 * @param motorPowers Array the motor speeds are written into.
 	 */
-	private double[] handleInterruptIntersection(TaggedIntersection intersection, Pose2d robotPos) {
+	private void handleInterruptIntersection(TaggedIntersection intersection, double cx, double cy, double ca, double[] motorPowers) {
 		/**
 		 * Interrupt intersections are handled similarly to point turn intersections. Instead of continuing directly
 		 * after it has turned, the robot will stop and perform the interrupt actions.
 		 */
 		InterruptWaypoint waypoint = (InterruptWaypoint) intersection.taggedPoint;
 		// Get necessary values.
-		double cx = robotPos.getTranslation().getX();
-		double cy = robotPos.getTranslation().getY();
-		double ca = robotPos.getHeading();
-		double tx = intersection.intersection.getX();
-		double ty = intersection.intersection.getY();
+		double tx = intersection.x;
+		double ty = intersection.y;
 		double ta;
-		double[] motorPowers;
-		if (!waypoint.hasTraversed() && PurePursuitUtil.positionEqualsWithBuffer(robotPos.getTranslation(), waypoint.getTranslation(), waypoint.getPositionBuffer())) {
+		if (!waypoint.hasTraversed() && PurePursuitUtil.positionEqualsWithBuffer(cx, cy, waypoint.getX(), waypoint.getY(), waypoint.getPositionBuffer())) {
 			// If the robot has not reached the point.
 			if (waypoint.getType() == WaypointType.END) {
-				if (waypoint.usingPreferredAngle() && !PurePursuitUtil.rotationEqualsWithBuffer(robotPos.getHeading(), waypoint.getPreferredAngle(), waypoint.getRotationBuffer()))
+				if (waypoint.usingPreferredAngle() && !PurePursuitUtil.rotationEqualsWithBuffer(ca, waypoint.getPreferredAngle(), waypoint.getRotationBuffer()))
 					ta = waypoint.getPreferredAngle();
 				else {
 					((EndWaypoint) waypoint).setTraversed();
-					return new double[] {0, 0, 0};
+					stop(motorPowers);
+					return;
 				}
 			} else if (((GeneralWaypoint) get(intersection.waypointIndex + 1)).usingPreferredAngle()) {
-				if (PurePursuitUtil.rotationEqualsWithBuffer(robotPos.getHeading(), ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPreferredAngle(), waypoint.getRotationBuffer())) {
+				if (PurePursuitUtil.rotationEqualsWithBuffer(ca, ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPreferredAngle(), waypoint.getRotationBuffer())) {
 					// If the robot has reached the point and is at the preferredAngle, then the point is traversed.
 					waypoint.setTraversed();
 					// Queue the action.
 					interruptActionQueue.add(waypoint);
 					// Stop the robot while it does the action.
-					return new double[] {0, 0, 0};
+					stop(motorPowers);
+					return;
 					}
 				// Set the target angle.
 				ta = ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPreferredAngle();
 			} else {
-				double tempTy = ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPose().getTranslation().getY();
-				double tempTx = ((GeneralWaypoint) get(intersection.waypointIndex + 1)).getPose().getTranslation().getX();
+				double tempTy = compiledPath.getY(intersection.waypointIndex + 1);
+				double tempTx = compiledPath.getX(intersection.waypointIndex + 1);
 				// Calculate the target angle.
 				ta = Math.atan2(tempTy - cy, tempTx - cx);
-				if (PurePursuitUtil.rotationEqualsWithBuffer(robotPos.getHeading(), ta, waypoint.getRotationBuffer())) {
+				if (PurePursuitUtil.rotationEqualsWithBuffer(ca, ta, waypoint.getRotationBuffer())) {
 					// If the robot has reached the point and is at the target angle, then the point is traversed.
 					waypoint.setTraversed();
 					// Queue the action.
 					interruptActionQueue.add(waypoint);
 					// Stop the robot while it does the action.
-					return new double[] {0, 0, 0};
+					stop(motorPowers);
+					return;
 				}
 			}
-			motorPowers = PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, true);
+			PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, true, motorPowers);
 		} else {
 			if (waypoint.usingPreferredAngle())
 				// If this waypoint has a preferred angle, use it instead of the calculated angle.
@@ -574,28 +790,28 @@ public class Path extends ArrayList<Waypoint> {
 			else
 				// Calculate the target angle.
 				ta = Math.atan2(ty - cy, tx - cx);
-			motorPowers = PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, false);
+			PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, false, motorPowers);
 		}
-		// Return motor speeds.
-		return motorPowers;
 	}
 	
 	/**
-	 * Returns the motor speeds required to approach the given end intersection. 
+	 * Writes the motor speeds required to approach the given end intersection. 
 	 * This will cause the robot to behave as follows:
 	 * 1. Approach and decelerate to the end point.
 	 * 2. Turn to face the preferred angle (if provided).
 	 * 3. Mark the path as complete.
 	 * 
 	 * @param intersection Intersection to approach. 
-	 * @param robotPos Robot's current position/rotation.
-	 * @return Final motor speeds.
+	 * @param cx Robot's current x position.
+	 * @param cy Robot's current y position.
+	 * @param ca Robot's current rotation.
+	 * @param motorPowers Array the motor speeds are written into.
 	 */
-	private double[] handleEndIntersection(TaggedIntersection intersection, Pose2d robotPos) {
+	private void handleEndIntersection(TaggedIntersection intersection, double cx, double cy, double ca, double[] motorPowers) {
 		/**
 		 * End intersections are handled the same way as interrupt intersections.
 		 */
-		return handleInterruptIntersection(intersection, robotPos);
+		handleInterruptIntersection(intersection, cx, cy, ca, motorPowers);
 	}
 	
 	/**
@@ -633,6 +849,38 @@ public class Path extends ArrayList<Waypoint> {
 		return this;
 	}
 	
+	/**
+	 * Sets the planner used to plan target velocities along this path. The velocities are planned by init(), and
+	 * the movement speed is then scaled by the planned velocity over the planner's max velocity. This lets the robot
+	 * slow down for sharp corners ahead of time. Velocity planning is disabled by default.
+	 * @param planner PathPlanner to be set, or null to disable velocity planning.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path setVelocityPlanner(PathPlanner planner) {
+		velocityPlanner = planner;
+		return this;
+	}
+	
+	/**
+	 * Sets an adaptive lookahead policy for this path. With a policy, the robot follows a radius that adapts to its
+	 * speed and the curvature ahead instead of each waypoint's follow radius. By default there is no policy and the
+	 * waypoints' radii are used. The policy takes effect at the next init().
+	 * @param lookahead AdaptiveLookahead to be set, or null to use the waypoints' follow radii.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path setAdaptiveLookahead(AdaptiveLookahead lookahead) {
+		this.lookahead = lookahead;
+		return this;
+	}
+	
+	/**
+	 * Returns the path planned by the velocity planner during the init, or null if there is no planner.
+	 * @return the planned path.
+	 */
+	public PlannedPath getPlannedPath() {
+		return plannedPath;
+	}
+	
 	/**
 	 * Sets the timeouts of n waypoints where n is the amount of arguments provided. 
 	 * The nth waypoint timeout is set the the nth argument given.
@@ -701,6 +949,61 @@ public class Path extends ArrayList<Waypoint> {
 		return this;
 	}
 	
+	/**
+	 * Enables projection recovery. If the robot loses the path and this is enabled, the robot is projected onto
+	 * the nearest segment and heads for a point one follow radius ahead of that projection, instead of retracing
+	 * its moves. The path is rejoined in the same loop, without backing up. This is disabled by default.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path enableProjectionRecovery() {
+		recoveryEnabled = true;
+		return this;
+	}
+	
+	/**
+	 * Disables projection recovery.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path disableProjectionRecovery() {
+		recoveryEnabled = false;
+		return this;
+	}
+	
+	/**
+	 * Sets how many segments past the last segment the robot followed are searched for the nearest segment when
+	 * recovering. The default is 8.
+	 * @param segments Number of segments to search ahead.
+	 * @return This path, used for chaining methods.
+	 * @throws IllegalArgumentException If the number of segments is negative.
+	 */
+	public Path setRecoveryWindow(int segments) {
+		if (segments < 0)
+			throw new IllegalArgumentException("The recovery window cannot be negative.");
+		recoveryWindow = segments;
+		return this;
+	}
+	
+	/**
+	 * Enables windowed segment search. Instead of testing every segment of the path each loop, the robot
+	 * only searches the segments around the last intersection it followed, and falls back to the whole
+	 * path if none of them intersect. This keeps the cost of loop() the same on long paths and stops the
+	 * robot from skipping ahead where the path passes close to itself. This is enabled by default.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path enableWindowedSearch() {
+		windowedSearchEnabled = true;
+		return this;
+	}
+	
+	/**
+	 * Disables windowed segment search. Every segment of the path is searched each loop.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path disableWindowedSearch() {
+		windowedSearchEnabled = false;
+		return this;
+	}
+	
 	/**
 	 * Adds the provided TriggeredActions to the path. These are handled automatically.
 	 * @param actions TriggeredActions to be added.
@@ -713,21 +1016,60 @@ public class Path extends ArrayList<Waypoint> {
 	}
 	
 	/**
-	 * Removes the first instance of the provided TriggeredAction from the path. 
+	 * Adds the provided TriggeredAction to the path, scheduled at a distance along the path. Unlike the actions added
+	 * with addTriggeredActions(), which are checked every loop, the action is not checked until the robot has
+	 * travelled the given distance along the path. It is then checked every loop until it has been performed once. The
+	 * robot's progress is measured by projecting it onto the nearest segment between the one it was last on and the
+	 * one it is following, and never moves backwards.
+	 * Scheduled actions take effect at the next init().
+	 * @param action TriggeredAction to be added.
+	 * @param distance Distance along the path at which the action becomes eligible.
+	 * @return This path, used for chaining methods.
+	 */
+	public Path addTriggeredAction(TriggeredAction action, double distance) {
+		scheduledActions.add(new ScheduledAction(action, distance, -1));
+		return this;
+	}
+	
+	/**
+	 * Adds the provided TriggeredAction to the path, scheduled at a waypoint. The action is not checked until the robot
+	 * has travelled along the path to the waypoint. See addTriggeredAction(TriggeredAction, double).
+	 * @param action TriggeredAction to be added.
+	 * @param waypointIndex Index of the waypoint at which the action becomes eligible.
+	 * @return This path, used for chaining methods.
+	 * @throws IllegalArgumentException If the waypoint index is negative.
+	 */
+	public Path addTriggeredActionAtWaypoint(TriggeredAction action, int waypointIndex) {
+		if (waypointIndex < 0)
+			throw new IllegalArgumentException("The waypoint index of a scheduled action cannot be negative.");
+		scheduledActions.add(new ScheduledAction(action, 0, waypointIndex));
+		return this;
+	}
+	
+	/**
+	 * Removes the first instance of the provided TriggeredAction from the path. Actions that are checked every loop
+	 * are removed before scheduled actions.
 	 * @param action TriggeredAction to be removed
 	 * @return This path, used for chaining methods.
 	 */
 	public Path removeTriggeredAction(TriggeredAction action) {
-		triggeredActions.remove(action);
+		if (triggeredActions.remove(action))
+			return this;
+		for (int i = 0; i < scheduledActions.size(); i++)
+			if (scheduledActions.get(i).action.equals(action)) {
+				scheduledActions.remove(i);
+				break;
+			}
 		return this;
 	}
 	
 	/**
-	 * Removes all TriggeredActions from the path.
+	 * Removes all TriggeredActions from the path, including scheduled actions.
 	 * @return This path, used for chaining methods.
 	 */
 	public Path clearTriggeredActions() {
 		triggeredActions.clear();
+		scheduledActions.clear();
 		return this;
 	}
 	
@@ -775,11 +1117,20 @@ public class Path extends ArrayList<Waypoint> {
 	 */
 	public void reset() {
 		resetTimeouts();
+		lastSegment = 1;
+		lastLoopTime = -1;
+		measuredSpeed = 0;
 		for (Waypoint waypoint : this)
 			if (waypoint instanceof GeneralWaypoint)
 				((GeneralWaypoint) waypoint).reset();
 		for (TriggeredAction actions : triggeredActions) 
 			actions.reset();
+		for (ScheduledAction scheduled : scheduledActions)
+			scheduled.action.reset();
+		scheduleCursor = 0;
+		eligibleCount = 0;
+		progress = 0;
+		progressSegment = 1;
 	}
 	
 	/**
@@ -822,8 +1173,67 @@ public class Path extends ArrayList<Waypoint> {
 	 * Calls the loop() method on all TriggeredActions in this path.
 	 */
 	private void loopTriggeredActions() {
-		for (TriggeredAction action : triggeredActions)
+		for (int i = 0; i < triggeredActions.size(); i++)
+			triggeredActions.get(i).loop();
+	}
+	
+	/**
+	 * Sorts the scheduled actions by the distance at which they become eligible, and allocates the eligible action buffer.
+	 * 
+	 * @throws IllegalStateException If an action is scheduled at a waypoint that is not in the path.
+	 */
+	private void buildSchedule() {
+		schedule = scheduledActions.toArray(new ScheduledAction[0]);
+		for (ScheduledAction scheduled : schedule) {
+			if (scheduled.waypointIndex >= compiledPath.size())
+				throw new IllegalStateException("An action is scheduled at waypoint " + scheduled.waypointIndex + ", but the path only has " + compiledPath.size() + " waypoints.");
+			if (scheduled.waypointIndex >= 0)
+				scheduled.distance = compiledPath.getDistance(scheduled.waypointIndex);
+		}
+		Arrays.sort(schedule, new Comparator<ScheduledAction>() {
+			@Override
+			public int compare(ScheduledAction a, ScheduledAction b) {
+				return Double.compare(a.distance, b.distance);
+			}
+		});
+		eligibleActions = new TriggeredAction[schedule.length];
+	}
+	
+	/**
+	 * Advances the robot's progress along the path, makes the scheduled actions it has passed eligible, and calls the
+	 * loop() method on the eligible actions that have not been performed yet. Only the actions that become eligible and
+	 * the actions waiting to be performed are touched, not every scheduled action.
+	 * @param x Robot's x position.
+	 * @param y Robot's y position.
+	 */
+	private void loopScheduledActions(double x, double y) {
+		if (schedule.length == 0)
+			return;
+		// The segment being followed holds the lookahead point, which can be a segment or more ahead of the robot. Project
+		// the robot onto the nearest segment from the one it was last on up to that one instead.
+		int last = Math.min(lastSegment, compiledPath.size() - 1);
+		double nearestDistance = Double.POSITIVE_INFINITY;
+		for (int i = progressSegment; i <= last; i++) {
+			double distance = compiledPath.distanceToSegment(i, x, y);
+			if (distance < nearestDistance) {
+				progressSegment = i;
+				nearestDistance = distance;
+			}
+		}
+		progress = Math.max(progress, compiledPath.distanceAlongPath(progressSegment, x, y));
+		while (scheduleCursor < schedule.length && schedule[scheduleCursor].distance <= progress)
+			eligibleActions[eligibleCount++] = schedule[scheduleCursor++].action;
+		int remaining = 0;
+		for (int i = 0; i < eligibleCount; i++) {
+			TriggeredAction action = eligibleActions[i];
 			action.loop();
+			if (!action.hasPerformed())
+				// Keep the action until it has been performed.
+				eligibleActions[remaining++] = action;
+		}
+		for (int i = remaining; i < eligibleCount; i++)
+			eligibleActions[i] = null;
+		eligibleCount = remaining;
 	}
 	
 	/**
@@ -838,24 +1248,21 @@ public class Path extends ArrayList<Waypoint> {
 	 * Adjusts the motor speeds based on this path's motion profile.
 	 * @param speeds Speeds to be adjusted.
 	 * @param intersection The tagged intersection.
+	 * @param x Robot's current x position.
+	 * @param y Robot's current y position.
 	 */
-	private void adjustSpeedsWithProfile(double[] speeds, TaggedIntersection intersection, Translation2d robotPos) {
+	private void adjustSpeedsWithProfile(double[] speeds, TaggedIntersection intersection, double x, double y) {
 		// Get closest away and to points.
-		Translation2d awayPoint = null;
-		for (int i = intersection.waypointIndex - 1; i >= 0; i--)
-			if (get(i).getType() == WaypointType.START || get(i) instanceof PointTurnWaypoint) {
-				awayPoint = get(i).getPose().getTranslation();
-				break;
-			} 
-		if (awayPoint == null) 
+		int awayIndex = compiledPath.getAwayIndex(intersection.waypointIndex);
+		if (awayIndex == -1) 
 			// This should never happen.
 			throw new IllegalStateException("Path has lost integrity.");
-		Translation2d toPoint = intersection.taggedPoint.getPose().getTranslation();
+		int toIndex = intersection.waypointIndex;
 		// Get delta values.
-		double adx = robotPos.getX() - awayPoint.getX();
-		double ady = robotPos.getY() - awayPoint.getY();
-		double tdx = toPoint.getX() - robotPos.getX();
-		double tdy = toPoint.getY() - robotPos.getY();
+		double adx = x - compiledPath.getX(awayIndex);
+		double ady = y - compiledPath.getY(awayIndex);
+		double tdx = compiledPath.getX(toIndex) - x;
+		double tdy = compiledPath.getY(toIndex) - y;
 		double ad = Math.hypot(adx, ady);
 		double td = Math.hypot(tdx, tdy);
 		if (ad < td)
@@ -866,6 +1273,21 @@ public class Path extends ArrayList<Waypoint> {
 			motionProfile.processDecelerate(speeds, td, ((GeneralWaypoint) intersection.taggedPoint).getMovementSpeed(), ((GeneralWaypoint) intersection.taggedPoint).getTurnSpeed());
 	}
 	
+	/**
+	 * Scales the movement speeds by the planned velocity at the robot's position on the path.
+	 * @param speeds Speeds to be adjusted.
+	 * @param intersection The tagged intersection.
+	 * @param x Robot's current x position.
+	 * @param y Robot's current y position.
+	 */
+	private void adjustSpeedsWithPlan(double[] speeds, TaggedIntersection intersection, double x, double y) {
+		// Find how far along the path the robot is on the segment it is following.
+		double distance = compiledPath.distanceAlongPath(intersection.waypointIndex, x, y);
+		double scale = plannedPath.getVelocityAt(distance) / plannedPath.getMaxVelocity();
+		speeds[0] *= scale;
+		speeds[1] *= scale;
+	}
+	
 	/**
 	 * Generates and returns the default PathMotionProfile.
 	 * @return the default PathMotionProfile.
@@ -904,6 +1326,32 @@ public class Path extends ArrayList<Waypoint> {
 			};
 	}
 	
+	/**
+	 * Sets the provided motor speeds to zero.
+	 * @param speeds Motor speeds to be set.
+	 * @return The motor speeds.
+	 */
+	private static double[] stop(double[] speeds) {
+		speeds[0] = 0;
+		speeds[1] = 0;
+		speeds[2] = 0;
+		return speeds;
+	}
+	
+	/**
+	 * Makes sure the intersection buffer can hold every intersection on the compiled path. Each segment
+	 * has at most two line-circle intersections, plus one for a point turn waypoint.
+	 */
+	private void ensureIntersectionCapacity() {
+		int capacity = 3 * (compiledPath.size() - 1);
+		if (intersections.length >= capacity)
+			return;
+		TaggedIntersection[] buffer = new TaggedIntersection[capacity];
+		for (int i = 0; i < capacity; i++)
+			buffer[i] = i < intersections.length ? intersections[i] : new TaggedIntersection();
+		intersections = buffer;
+	}
+	
 	/**
 	 * Normalizes the provided motor speeds to be in the range [-1, 1].
 	 * @param speeds Motor speeds to normalize.
@@ -921,15 +1369,48 @@ public class Path extends ArrayList<Waypoint> {
 	}
 	
 	/**
-	 * This private class is used to store additional information associated with an intersection.
+	 * This private class is used to store a TriggeredAction with the place on the path where it becomes eligible.
 	 * 
 	 * @version 1.0
 	 *
 	 */
+	private static class ScheduledAction {
+		
+		// The scheduled action.
+		public final TriggeredAction action;
+		
+		// Distance along the path at which the action becomes eligible. Resolved by init() for waypoint actions.
+		public double distance;
+		
+		// Index of the waypoint at which the action becomes eligible, or -1 if it is scheduled at a distance.
+		public final int waypointIndex;
+		
+		/**
+		 * Constructs a ScheduledAction object with the given values.
+		 * @param action The scheduled action.
+		 * @param distance Distance along the path at which the action becomes eligible.
+		 * @param waypointIndex Index of the waypoint at which the action becomes eligible, or -1.
+		 */
+		public ScheduledAction(TriggeredAction action, double distance, int waypointIndex) {
+			this.action = action;
+			this.distance = distance;
+			this.waypointIndex = waypointIndex;
+		}
+		
+	}
+	
+	/**
+	 * This private class is used to store additional information associated with an intersection.
+	 * Instances are kept in a buffer and reused by every loop, so the values are mutable.
+	 * 
+	 * @version 1.1
+	 *
+	 */
 	private static class TaggedIntersection {
 		
 		// Location of the intersection.
-		public Translation2d intersection;
+		public double x;
+		public double y;
 		
 		// Waypoint associated with the intersection.
 		public Waypoint taggedPoint;
@@ -938,13 +1419,15 @@ public class Path extends ArrayList<Waypoint> {
 		public int waypointIndex;
 		
 		/**
-		 * Constructs a TaggedIntersection object with the given values.
-		 * @param intersection Location of the intersection.
+		 * Sets this TaggedIntersection to the given values.
+		 * @param x X location of the intersection.
+		 * @param y Y location of the intersection.
 		 * @param taggedPoint Waypoint associated with the intersection.
 		 * @param waypointIndex The associated waypoint's index in the path.
 		 */
-		public TaggedIntersection(Translation2d intersection, Waypoint taggedPoint, int waypointIndex) {
-			this.intersection = intersection;
+		public void set(double x, double y, Waypoint taggedPoint, int waypointIndex) {
+			this.x = x;
+			this.y = y;
 			this.taggedPoint = taggedPoint;
 			this.waypointIndex = waypointIndex;
 		}
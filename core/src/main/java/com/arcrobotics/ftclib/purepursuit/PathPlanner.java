@@ -0,0 +1,209 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.purepursuit.types.WaypointType;
+
+/**
+ * This class plans target velocities along a path, so the robot can drive straight sections at full
+ * speed and slow down in time for sharp corners. Planning runs once, in four steps:
+ * 1. Points are injected evenly along every segment of the path, at most spacing units apart.
+ * 2. The points are smoothed with gradient descent, which rounds the corners the way the robot will drive them.
+ * 3. The curvature at every point is found from the circle through it and its neighbors.
+ * 4. Every point gets the highest velocity allowed by the centripetal acceleration limit at its curvature.
+ *    A backward pass then lowers the velocities so the robot can always decelerate to the next point.
+ *    The robot stops at point turn, interrupt and end waypoints.
+ * 
+ * The result is a PlannedPath. Give a planner to Path.setVelocityPlanner() to have the path follower
+ * scale its movement speed by the planned velocity.
+ * 
+ * @see PlannedPath
+ * @version 1.0
+ *
+ */
+public class PathPlanner {
+	
+	// Smoothing stops after this many iterations even if it has not converged.
+	private static final int MAX_SMOOTHING_ITERATIONS = 1000;
+	
+	// Max distance between injected points.
+	private final double spacing;
+	
+	// Velocity and acceleration limits.
+	private final double maxVelocity;
+	private final double maxAcceleration;
+	private final double maxCentripetalAcceleration;
+	private double minVelocity;
+	
+	// Smoothing settings.
+	private double weightSmooth;
+	private double tolerance;
+	
+	/**
+	 * Constructs a PathPlanner with the given limits. The units are up to the user, but must be consistent with the path's units.
+	 * By default, the smoothing weight is 0.8, the smoothing tolerance is 0.001, and the min velocity is a tenth of the max velocity.
+	 * 
+	 * @param spacing Max distance between the points injected into the path.
+	 * @param maxVelocity Max velocity of the robot.
+	 * @param maxAcceleration Max acceleration (and deceleration) of the robot along the path.
+	 * @param maxCentripetalAcceleration Max centripetal acceleration of the robot in corners.
+	 * @throws IllegalArgumentException If any of the values is not positive.
+	 */
+	public PathPlanner(double spacing, double maxVelocity, double maxAcceleration, double maxCentripetalAcceleration) {
+		if (spacing <= 0 || maxVelocity <= 0 || maxAcceleration <= 0 || maxCentripetalAcceleration <= 0)
+			throw new IllegalArgumentException("The spacing, velocity and acceleration limits of a path planner must be positive.");
+		this.spacing = spacing;
+		this.maxVelocity = maxVelocity;
+		this.maxAcceleration = maxAcceleration;
+		this.maxCentripetalAcceleration = maxCentripetalAcceleration;
+		minVelocity = maxVelocity / 10;
+		weightSmooth = 0.8;
+		tolerance = 0.001;
+	}
+	
+	/**
+	 * Configures the smoothing. Larger weights give smoother paths that stray further from the waypoints. A weight of 0 disables smoothing.
+	 * 
+	 * @param weightSmooth Smoothing weight, in the range [0, 1).
+	 * @param tolerance Smoothing stops once the points move less than this in total in one iteration.
+	 * @return This PathPlanner, used for chaining methods.
+	 * @throws IllegalArgumentException If the weight is not in the range [0, 1) or the tolerance is not positive.
+	 */
+	public PathPlanner setSmoothing(double weightSmooth, double tolerance) {
+		if (weightSmooth < 0 || weightSmooth >= 1)
+			throw new IllegalArgumentException("The smoothing weight must be in the range [0, 1).");
+		if (tolerance <= 0)
+			throw new IllegalArgumentException("The smoothing tolerance must be positive.");
+		this.weightSmooth = weightSmooth;
+		this.tolerance = tolerance;
+		return this;
+	}
+	
+	/**
+	 * Sets the lowest velocity that is planned. Without one, the robot would slow to a stop before it reaches a
+	 * stopping waypoint, so it should be high enough to keep the robot moving.
+	 * 
+	 * @param minVelocity Min velocity to be set.
+	 * @return This PathPlanner, used for chaining methods.
+	 */
+	public PathPlanner setMinVelocity(double minVelocity) {
+		this.minVelocity = Math.min(Math.max(minVelocity, 0), maxVelocity);
+		return this;
+	}
+	
+	/**
+	 * Plans the velocities along the given path.
+	 * 
+	 * @param path Compiled path to plan.
+	 * @return The planned path.
+	 */
+	public PlannedPath plan(CompiledPath path) {
+		// Count the points to inject. Zero length segments add no points.
+		int count = 1;
+		for (int i = 1; i < path.size(); i++)
+			count += (int) Math.ceil(path.getSegmentLength(i) / spacing);
+		double[] x = new double[count];
+		double[] y = new double[count];
+		double[] distance = new double[count];
+		boolean[] pinned = new boolean[count];
+		boolean[] stop = new boolean[count];
+		
+		// Inject the points. The point at the start of each segment is its first waypoint.
+		int point = 0;
+		boolean pinNext = false;
+		boolean stopNext = false;
+		for (int i = 1; i < path.size(); i++) {
+			pinNext |= path.getType(i - 1) != WaypointType.GENERAL;
+			stopNext |= path.isPointTurn(i - 1);
+			// Split the segment into even steps no longer than the spacing.
+			int steps = (int) Math.ceil(path.getSegmentLength(i) / spacing);
+			for (int j = 0; j < steps; j++) {
+				double t = j / (double) steps;
+				x[point] = path.getX(i - 1) + t * path.getDirectionX(i);
+				y[point] = path.getY(i - 1) + t * path.getDirectionY(i);
+				distance[point] = path.getDistance(i - 1) + t * path.getSegmentLength(i);
+				if (j == 0) {
+					pinned[point] = pinNext;
+					stop[point] = stopNext;
+					pinNext = false;
+					stopNext = false;
+				}
+				point++;
+			}
+		}
+		// The last point is the end waypoint.
+		x[point] = path.getX(path.size() - 1);
+		y[point] = path.getY(path.size() - 1);
+		distance[point] = path.getLength();
+		pinned[point] = true;
+		stop[point] = true;
+		
+		double[] smoothX = x.clone();
+		double[] smoothY = y.clone();
+		smooth(x, y, pinned, smoothX, smoothY);
+		double[] curvature = curvature(smoothX, smoothY);
+		double[] velocity = velocity(smoothX, smoothY, curvature, stop);
+		return new PlannedPath(smoothX, smoothY, distance, curvature, velocity, maxVelocity);
+	}
+	
+	/**
+	 * Smooths the points with gradient descent. Each point is pulled towards its original position and towards
+	 * the midpoint of its neighbors. Pinned points do not move.
+	 */
+	private void smooth(double[] x, double[] y, boolean[] pinned, double[] smoothX, double[] smoothY) {
+		double weightData = 1 - weightSmooth;
+		double change = tolerance;
+		for (int iteration = 0; iteration < MAX_SMOOTHING_ITERATIONS && change >= tolerance; iteration++) {
+			change = 0;
+			for (int i = 1; i < x.length - 1; i++) {
+				if (pinned[i])
+					continue;
+				double dx = weightData * (x[i] - smoothX[i]) + weightSmooth * (smoothX[i - 1] + smoothX[i + 1] - 2 * smoothX[i]);
+				double dy = weightData * (y[i] - smoothY[i]) + weightSmooth * (smoothY[i - 1] + smoothY[i + 1] - 2 * smoothY[i]);
+				smoothX[i] += dx;
+				smoothY[i] += dy;
+				change += Math.abs(dx) + Math.abs(dy);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the curvature at each point, the inverse radius of the circle through it and its neighbors.
+	 * The first and last points, and points with a duplicate neighbor, have zero curvature.
+	 */
+	private static double[] curvature(double[] x, double[] y) {
+		double[] curvature = new double[x.length];
+		for (int i = 1; i < x.length - 1; i++) {
+			double a = Math.hypot(x[i] - x[i - 1], y[i] - y[i - 1]);
+			double b = Math.hypot(x[i + 1] - x[i], y[i + 1] - y[i]);
+			double c = Math.hypot(x[i + 1] - x[i - 1], y[i + 1] - y[i - 1]);
+			double cross = (x[i] - x[i - 1]) * (y[i + 1] - y[i - 1]) - (y[i] - y[i - 1]) * (x[i + 1] - x[i - 1]);
+			// The radius of the circle is abc / 4A, and the cross product is twice the area A.
+			double product = a * b * c;
+			curvature[i] = product > 0 ? 2 * Math.abs(cross) / product : 0;
+		}
+		return curvature;
+	}
+	
+	/**
+	 * Returns the target velocity at each point. Velocities are limited by the curvature first, then lowered
+	 * from the end of the path backwards so that the robot can decelerate between each pair of points.
+	 */
+	private double[] velocity(double[] x, double[] y, double[] curvature, boolean[] stop) {
+		double[] velocity = new double[x.length];
+		for (int i = 0; i < x.length; i++) {
+			if (stop[i])
+				velocity[i] = 0;
+			else if (curvature[i] > 0)
+				velocity[i] = Math.min(maxVelocity, Math.sqrt(maxCentripetalAcceleration / curvature[i]));
+			else
+				velocity[i] = maxVelocity;
+		}
+		for (int i = x.length - 2; i >= 0; i--) {
+			double distance = Math.hypot(x[i + 1] - x[i], y[i + 1] - y[i]);
+			velocity[i] = Math.min(velocity[i], Math.sqrt(velocity[i + 1] * velocity[i + 1] + 2 * maxAcceleration * distance));
+		}
+		for (int i = 0; i < x.length; i++)
+			velocity[i] = Math.max(velocity[i], minVelocity);
+		return velocity;
+	}
+	
+}
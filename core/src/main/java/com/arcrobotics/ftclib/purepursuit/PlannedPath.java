@@ -0,0 +1,126 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+/**
+ * This class is a path whose velocities have been planned by a PathPlanner. It stores the smoothed points,
+ * their curvature and their target velocity in primitive arrays. Each point also keeps the distance along the
+ * original path at which it was injected, which is how the follower looks velocities up: it projects the robot
+ * onto the segment it is following and calls getVelocityAt() with the distance along the path.
+ * 
+ * @see PathPlanner
+ * @version 1.0
+ *
+ */
+public final class PlannedPath {
+	
+	// Smoothed point positions.
+	private final double[] x;
+	private final double[] y;
+	
+	// Distance along the original path at which each point was injected. This is strictly increasing.
+	private final double[] distance;
+	
+	// Curvature and target velocity of each point.
+	private final double[] curvature;
+	private final double[] velocity;
+	private final double maxVelocity;
+	
+	/**
+	 * Constructs a PlannedPath from the planner's arrays. The arrays are not copied.
+	 */
+	PlannedPath(double[] x, double[] y, double[] distance, double[] curvature, double[] velocity, double maxVelocity) {
+		this.x = x;
+		this.y = y;
+		this.distance = distance;
+		this.curvature = curvature;
+		this.velocity = velocity;
+		this.maxVelocity = maxVelocity;
+	}
+	
+	/**
+	 * Returns the target velocity the given distance along the original path. The velocity is interpolated
+	 * between the two points around the distance, which are found with a binary search.
+	 * 
+	 * @param pathDistance Distance along the original path, clamped to the length of the path.
+	 * @return the target velocity at that distance.
+	 */
+	public double getVelocityAt(double pathDistance) {
+		if (pathDistance <= distance[0])
+			return velocity[0];
+		int last = distance.length - 1;
+		if (pathDistance >= distance[last])
+			return velocity[last];
+		int low = 0;
+		int high = last;
+		while (high - low > 1) {
+			int mid = (low + high) >>> 1;
+			if (distance[mid] <= pathDistance)
+				low = mid;
+			else
+				high = mid;
+		}
+		double t = (pathDistance - distance[low]) / (distance[high] - distance[low]);
+		return velocity[low] + t * (velocity[high] - velocity[low]);
+	}
+	
+	/**
+	 * Returns the number of points in this path.
+	 * @return the number of points in this path.
+	 */
+	public int size() {
+		return x.length;
+	}
+	
+	/**
+	 * Returns the x position of a smoothed point.
+	 * @param i Index of the point.
+	 * @return the x position of the point.
+	 */
+	public double getX(int i) {
+		return x[i];
+	}
+	
+	/**
+	 * Returns the y position of a smoothed point.
+	 * @param i Index of the point.
+	 * @return the y position of the point.
+	 */
+	public double getY(int i) {
+		return y[i];
+	}
+	
+	/**
+	 * Returns the distance along the original path at which a point was injected.
+	 * @param i Index of the point.
+	 * @return the distance along the original path.
+	 */
+	public double getPathDistance(int i) {
+		return distance[i];
+	}
+	
+	/**
+	 * Returns the curvature of the smoothed path at a point.
+	 * @param i Index of the point.
+	 * @return the curvature at the point.
+	 */
+	public double getCurvature(int i) {
+		return curvature[i];
+	}
+	
+	/**
+	 * Returns the target velocity at a point.
+	 * @param i Index of the point.
+	 * @return the target velocity at the point.
+	 */
+	public double getVelocity(int i) {
+		return velocity[i];
+	}
+	
+	/**
+	 * Returns the max velocity this path was planned with.
+	 * @return the max velocity.
+	 */
+	public double getMaxVelocity() {
+		return maxVelocity;
+	}
+	
+}
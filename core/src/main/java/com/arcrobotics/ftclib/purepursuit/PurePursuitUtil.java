@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 
 import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.util.MathUtils;
 
 /**
  * This class contains various static methods that are used in the pure pursuit algorithm.
@@ -20,16 +21,13 @@ public final class PurePursuitUtil {
 	private PurePursuitUtil() {}
 	
 	/**
-	 * Wraps the able so it is always in the range [-180, 180].
+	 * Wraps the angle so it is always in the range (-pi, pi].
 	 * @param angle Angle to be wrapped, in radians.
 	 * @return The wrapped angle, in radians.
 	 */
 	public static double angleWrap(double angle) {
-        if (angle > 0)
-            return ((angle + Math.PI) % (Math.PI * 2)) - Math.PI;
-        else
-            return ((angle - Math.PI) % (Math.PI * 2)) + Math.PI;
-    }
+		return MathUtils.normalizeRadians(angle);
+	}
 	
 	/**
 	 * Calculates if a point is further along a line then another point. Useful for determining the best
@@ -49,6 +47,28 @@ public final class PurePursuitUtil {
 		return true;
 	}
 	
+	/**
+	 * Calculates if a point is further along a line then another point. This is the same as
+	 * isInFront(Translation2d, Translation2d, Translation2d, Translation2d), on primitive coordinates.
+	 * 
+	 * @param lineX1 X coordinate of the first point of the line.
+	 * @param lineY1 Y coordinate of the first point of the line.
+	 * @param lineX2 X coordinate of the second point of the line.
+	 * @param lineY2 Y coordinate of the second point of the line.
+	 * @param x1 X coordinate of the point to be compared.
+	 * @param y1 Y coordinate of the point to be compared.
+	 * @param x2 X coordinate of the point that point1 is compared too.
+	 * @param y2 Y coordinate of the point that point1 is compared too.
+	 * @return True if point1 is ahead of point2 on the given line.
+	 */
+	public static boolean isInFront(double lineX1, double lineY1, double lineX2, double lineY2, double x1, double y1, double x2, double y2) {
+		if (lineX1 < lineX2 && x1 < x2)
+			return false;
+		if (lineY1 < lineY2 && y1 < y2)
+			return false;
+		return true;
+	}
+	
 	/**
 	 * Calculates whether or not two points are equal within a margin of error.
 	 * 
@@ -64,6 +84,23 @@ public final class PurePursuitUtil {
 		return false;
 	}
 	
+	/**
+	 * Calculates whether or not two points are equal within a margin of error.
+	 * 
+	 * @param x1 X coordinate of point 1.
+	 * @param y1 Y coordinate of point 1.
+	 * @param x2 X coordinate of point 2.
+	 * @param y2 Y coordinate of point 2.
+	 * @param buffer Margin of error.
+	 * @return True if the point are equal within a margin or error, false otherwise. 
+	 */
+	public static boolean positionEqualsWithBuffer(double x1, double y1, double x2, double y2, double buffer) {
+		if (x1 - buffer < x2 && x1 + buffer > x2)
+			if (y1 - buffer < y2 && y1 + buffer > y2)
+				return true;
+		return false;
+	}
+	
 	/**
 	 * Calculates whether or not two angles are equal within a margin of error.
 	 * 
@@ -91,37 +128,110 @@ public final class PurePursuitUtil {
 	 * @return A double array containing raw motor powers. a[0] is strafe power, a[1] is vertical power and a[2] is turn power.
 	 */
 	public static double[] moveToPosition(double cx, double cy, double ca, double tx, double ty, double ta, boolean turnOnly) {
+		return moveToPosition(cx, cy, ca, tx, ty, ta, turnOnly, new double[3]);
+	}
+	
+	/**
+	 * Takes the robot's current position and rotation and calculates the motor powers for the robot to move to the target position.
+	 * The powers are written into the given array instead of a new one.
+	 * 
+	 * @param cx Robot's current X position.
+	 * @param cy Robot's current Y position.
+	 * @param ca Robot's current rotation (angle).
+	 * @param tx Target X position.
+	 * @param ty Target Y position.
+	 * @param ta Target rotation (angle).
+	 * @param turnOnly True if the robot should only turn.
+	 * @param rawMotorPowers Array of at least three elements the powers are written into.
+	 * @return The rawMotorPowers array. a[0] is strafe power, a[1] is vertical power and a[2] is turn power.
+	 */
+	public static double[] moveToPosition(double cx, double cy, double ca, double tx, double ty, double ta, boolean turnOnly, double[] rawMotorPowers) {
 		
-		double[] rawMotorPowers;
-		
-		if (turnOnly)
+		if (turnOnly) {
 			// If turnOnly is true, only return a turn power.
-			return new double[] {0, 0, angleWrap(ca + ta) / Math.PI};
-			
+			rawMotorPowers[0] = 0;
+			rawMotorPowers[1] = 0;
+			rawMotorPowers[2] = angleWrap(ca + ta) / Math.PI;
+			return rawMotorPowers;
+		}
 		
 		double absoluteXToPosition = tx - cx;
 		double absoluteYToPosition = ty - cy;
 		
 		double absoluteAngleToPosition = Math.atan2(absoluteYToPosition, absoluteXToPosition);
-        double distanceToPosition = Math.hypot(absoluteXToPosition, absoluteYToPosition);
-        
-        double relativeAngleToPosition = angleWrap(absoluteAngleToPosition + ca);
+		double distanceToPosition = Math.hypot(absoluteXToPosition, absoluteYToPosition);
+		
+		double relativeAngleToPosition = angleWrap(absoluteAngleToPosition + ca);
+		
+		double relativeXToPosition = distanceToPosition * Math.cos(relativeAngleToPosition);
+		double relativeYToPosition = distanceToPosition * Math.sin(relativeAngleToPosition);
 		
-        double relativeXToPosition = distanceToPosition * Math.cos(relativeAngleToPosition);
-        double relativeYToPosition = distanceToPosition * Math.sin(relativeAngleToPosition);
-        
-        double powerX = relativeXToPosition / (Math.abs(relativeXToPosition) + Math.abs(relativeYToPosition));
-        double powerY = relativeYToPosition / (Math.abs(relativeXToPosition) + Math.abs(relativeYToPosition));
-        double powerTurn = angleWrap(ca + ta) / Math.PI;
-        
-        rawMotorPowers = new double[3];
-        
-        // The x and y powers need to be swapped and have their signs flipped.
-        rawMotorPowers[0] = powerX;
-        rawMotorPowers[1] = powerY;
-        rawMotorPowers[2] = powerTurn;
-        
-        return rawMotorPowers;
+		double powerX = relativeXToPosition / (Math.abs(relativeXToPosition) + Math.abs(relativeYToPosition));
+		double powerY = relativeYToPosition / (Math.abs(relativeXToPosition) + Math.abs(relativeYToPosition));
+		double powerTurn = angleWrap(ca + ta) / Math.PI;
+		
+		// The x and y powers need to be swapped and have their signs flipped.
+		rawMotorPowers[0] = powerX;
+		rawMotorPowers[1] = powerY;
+		rawMotorPowers[2] = powerTurn;
+		
+		return rawMotorPowers;
+	}
+	
+	/**
+	 * Projects a point onto a line segment and returns how far along the segment the projection is.
+	 * 
+	 * @param x X coordinate of the point.
+	 * @param y Y coordinate of the point.
+	 * @param lineX1 X coordinate of the segment's start point.
+	 * @param lineY1 Y coordinate of the segment's start point.
+	 * @param lineX2 X coordinate of the segment's end point.
+	 * @param lineY2 Y coordinate of the segment's end point.
+	 * @return The progress along the segment, from 0 at the start point to 1 at the end point. A segment of zero length returns 0.
+	 */
+	public static double segmentProgress(double x, double y, double lineX1, double lineY1, double lineX2, double lineY2) {
+		double baX = lineX2 - lineX1;
+		double baY = lineY2 - lineY1;
+		double lengthSquared = baX * baX + baY * baY;
+		if (lengthSquared == 0)
+			return 0;
+		// Project the point onto the line, and clamp it to the segment.
+		return Math.max(0, Math.min(1, ((x - lineX1) * baX + (y - lineY1) * baY) / lengthSquared));
+	}
+	
+	/**
+	 * Finds the point on a line segment that is closest to the given point.
+	 * 
+	 * @param x X coordinate of the point.
+	 * @param y Y coordinate of the point.
+	 * @param lineX1 X coordinate of the segment's start point.
+	 * @param lineY1 Y coordinate of the segment's start point.
+	 * @param lineX2 X coordinate of the segment's end point.
+	 * @param lineY2 Y coordinate of the segment's end point.
+	 * @param closestPoint Array of at least two elements. The closest point is written into it as {x, y}.
+	 * @return The closestPoint array.
+	 */
+	public static double[] closestPointOnSegment(double x, double y, double lineX1, double lineY1, double lineX2, double lineY2, double[] closestPoint) {
+		double t = segmentProgress(x, y, lineX1, lineY1, lineX2, lineY2);
+		closestPoint[0] = lineX1 + t * (lineX2 - lineX1);
+		closestPoint[1] = lineY1 + t * (lineY2 - lineY1);
+		return closestPoint;
+	}
+	
+	/**
+	 * Calculates the distance from a point to the closest point on a line segment.
+	 * 
+	 * @param x X coordinate of the point.
+	 * @param y Y coordinate of the point.
+	 * @param lineX1 X coordinate of one of the segment's end points.
+	 * @param lineY1 Y coordinate of one of the segment's end points.
+	 * @param lineX2 X coordinate of the other end point of the segment.
+	 * @param lineY2 Y coordinate of the other end point of the segment.
+	 * @return The distance from the point to the segment.
+	 */
+	public static double distanceToSegment(double x, double y, double lineX1, double lineY1, double lineX2, double lineY2) {
+		double t = segmentProgress(x, y, lineX1, lineY1, lineX2, lineY2);
+		return Math.hypot(x - (lineX1 + t * (lineX2 - lineX1)), y - (lineY1 + t * (lineY2 - lineY1)));
 	}
 	
 	/**
@@ -187,4 +297,55 @@ public final class PurePursuitUtil {
         return boundedPoints;
     }
 	
+	/**
+	 * This method finds points where a line intersects with a circle, without allocating. It returns the
+	 * same points, in the same order, as lineCircleIntersection(Translation2d, double, Translation2d, Translation2d).
+	 * 
+	 * @param circleX X coordinate of the center of the circle.
+	 * @param circleY Y coordinate of the center of the circle.
+	 * @param radius Radius of the circle.
+	 * @param lineX1 X coordinate of one of the line's end points.
+	 * @param lineY1 Y coordinate of one of the line's end points.
+	 * @param lineX2 X coordinate of the other end point of the line.
+	 * @param lineY2 Y coordinate of the other end point of the line.
+	 * @param intersections Array of at least four elements. The intersections are written into it as {x0, y0, x1, y1}.
+	 * @return The number of intersections found, between 0 and 2.
+	 */
+	public static int lineCircleIntersection(double circleX, double circleY, double radius, double lineX1, double lineY1, double lineX2, double lineY2, double[] intersections) {
+		double baX = lineX2 - lineX1;
+		double baY = lineY2 - lineY1;
+		double caX = circleX - lineX1;
+		double caY = circleY - lineY1;
+		
+		double a = baX * baX + baY * baY;
+		double bBy2 = baX * caX + baY * caY;
+		double c = caX * caX + caY * caY - radius * radius;
+		
+		double pBy2 = bBy2 / a;
+		double q = c / a;
+		
+		double disc = pBy2 * pBy2 - q;
+		if (disc < 0)
+			return 0;
+		
+		double tmpSqrt = Math.sqrt(disc);
+		double maxX = Math.max(lineX1, lineX2);
+		double maxY = Math.max(lineY1, lineY2);
+		double minX = Math.min(lineX1, lineX2);
+		double minY = Math.min(lineY1, lineY2);
+		
+		int count = 0;
+		for (int i = 0; i < (disc == 0 ? 1 : 2); i++) {
+			double abScalingFactor = i == 0 ? -pBy2 + tmpSqrt : -pBy2 - tmpSqrt;
+			double x = lineX1 - baX * abScalingFactor;
+			double y = lineY1 - baY * abScalingFactor;
+			if (x <= maxX && x >= minX && y <= maxY && y >= minY) {
+				intersections[2 * count] = x;
+				intersections[2 * count + 1] = y;
+				count++;
+			}
+		}
+		return count;
+	}
+	
 }
@@ -27,6 +27,14 @@ public abstract class TriggeredAction {
 		}
 	}
 	
+	/**
+	 * Returns true if doAction() has been called since the last reset.
+	 * @return true if this action has been performed, false otherwise.
+	 */
+	public boolean hasPerformed() {
+		return alreadyPerformed;
+	}
+	
 	/**
 	 * Resets this actions.
 	 */
@@ -0,0 +1,144 @@
+package com.arcrobotics.ftclib.spline;
+
+/**
+ * Converts between the polynomial parameter t of a {@link Spline} and the distance
+ * traveled along it. The spline is split into equal steps of t, and the length of
+ * each step is integrated once with five-point Gauss-Legendre quadrature. The
+ * cumulative lengths are stored in a {@code double[]}.
+ *
+ * <p>Distance to t is a binary search over the table followed by a few Newton
+ * steps inside the step that was found. t to distance is a table lookup plus one
+ * quadrature over part of a step. Neither allocates.
+ *
+ * <p>Get the table of a spline with {@link Spline#getArcLengthTable()}.
+ */
+public final class ArcLengthTable {
+  /**
+   * The number of steps of t the spline is split into.
+   */
+  public static final int kSteps = 64;
+
+  // The nodes and weights of five-point Gauss-Legendre quadrature on [-1, 1].
+  private static final double[] kNodes = {
+      0.0,
+      -0.5384693101056831, 0.5384693101056831,
+      -0.9061798459386640, 0.9061798459386640
+  };
+  private static final double[] kWeights = {
+      0.5688888888888889,
+      0.4786286704993665, 0.4786286704993665,
+      0.2369268850561891, 0.2369268850561891
+  };
+
+  private static final int kNewtonIterations = 4;
+  private static final double kTolerance = 1E-12;
+
+  private final Spline m_spline;
+
+  // m_lengths[i] is the distance from t = 0 to t = i / kSteps.
+  private final double[] m_lengths = new double[kSteps + 1];
+
+  ArcLengthTable(Spline spline) {
+    m_spline = spline;
+    for (int i = 0; i < kSteps; i++) {
+      m_lengths[i + 1] = m_lengths[i] + integrate(i / (double) kSteps, (i + 1) / (double) kSteps);
+    }
+  }
+
+  /**
+   * Returns the length of the spline.
+   *
+   * @return The length of the spline in meters.
+   */
+  public double getLength() {
+    return m_lengths[kSteps];
+  }
+
+  /**
+   * Returns the distance along the spline from its start to some point t.
+   *
+   * @param t The point t, clamped to [0, 1].
+   * @return The distance in meters.
+   */
+  @SuppressWarnings("ParameterName")
+  public double getDistance(double t) {
+    if (t <= 0) {
+      return 0;
+    }
+    if (t >= 1) {
+      return getLength();
+    }
+    int step = (int) (t * kSteps);
+    return m_lengths[step] + integrate(step / (double) kSteps, t);
+  }
+
+  /**
+   * Returns the point t that lies the given distance along the spline.
+   *
+   * @param distance The distance in meters, clamped to the length of the spline.
+   * @return The point t.
+   */
+  public double getT(double distance) {
+    if (distance <= 0) {
+      return 0;
+    }
+    if (distance >= getLength()) {
+      return 1;
+    }
+
+    // Find the step holding the distance.
+    int low = 0;
+    int high = kSteps;
+    while (high - low > 1) {
+      int mid = (low + high) >>> 1;
+      if (m_lengths[mid] <= distance) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+
+    // Start from a linear guess and refine it with Newton's method, using the
+    // speed as the derivative of the distance. The step bounds keep it from
+    // wandering off where the speed is close to zero.
+    final double t0 = low / (double) kSteps;
+    final double t1 = high / (double) kSteps;
+    final double span = m_lengths[high] - m_lengths[low];
+    double t = span > 0 ? t0 + (distance - m_lengths[low]) / span * (t1 - t0) : t0;
+    for (int i = 0; i < kNewtonIterations; i++) {
+      double error = m_lengths[low] + integrate(t0, t) - distance;
+      if (Math.abs(error) < kTolerance) {
+        break;
+      }
+      double speed = m_spline.getSpeed(t);
+      if (speed < kTolerance) {
+        break;
+      }
+      t = Math.min(t1, Math.max(t0, t - error / speed));
+    }
+    return t;
+  }
+
+  /**
+   * Returns the pose and curvature the given distance along the spline.
+   *
+   * @param distance The distance in meters, clamped to the length of the spline.
+   * @return The pose and curvature at that distance.
+   */
+  public PoseWithCurvature getPoint(double distance) {
+    return m_spline.getPoint(getT(distance));
+  }
+
+  /**
+   * Integrates the speed of the spline from a to b, which must lie within one step.
+   */
+  private double integrate(double a, double b) {
+    final double halfWidth = (b - a) / 2;
+    final double center = (a + b) / 2;
+    double sum = 0;
+    for (int i = 0; i < kNodes.length; i++) {
+      sum += kWeights[i] * m_spline.getSpeed(center + halfWidth * kNodes[i]);
+    }
+    return sum * halfWidth;
+  }
+}
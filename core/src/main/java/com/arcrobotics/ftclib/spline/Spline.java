@@ -22,6 +22,14 @@ import java.util.Arrays;
 public abstract class Spline {
   private final int m_degree;
 
+  // The rows of the coefficient matrix, copied the first time they are needed.
+  // Volatile because the splines of a trajectory are parameterized on fork-join
+  // workers; a racing thread at worst copies the rows again.
+  private volatile double[][] m_rows;
+
+  // The arc length table, built the first time it is needed.
+  private volatile ArcLengthTable m_arcLengthTable;
+
   /**
    * Constructs a spline with the given degree.
    *
@@ -92,6 +100,101 @@ public abstract class Spline {
     );
   }
 
+  /**
+   * Evaluates the spline at some point t without allocating. Writes x, y, the
+   * first derivatives dx and dy, and the curvature into the output array,
+   * starting at the given offset. The values match {@link #getPoint(double)}.
+   *
+   * @param t      The point t.
+   * @param output The array to write the five values into.
+   * @param offset The index of the first value.
+   */
+  @SuppressWarnings("ParameterName")
+  void getPoint(double t, double[] output, int offset) {
+    final double[][] rows = getRows();
+
+    // Horner's method on each row. Rows 2 to 5 hold the derivative coefficients
+    // shifted into the columns of the original polynomial, so the derivative
+    // rows stop one or two columns early.
+    double x = 0;
+    double y = 0;
+    double dx = 0;
+    double dy = 0;
+    double ddx = 0;
+    double ddy = 0;
+    for (int i = 0; i <= m_degree; i++) {
+      x = x * t + rows[0][i];
+      y = y * t + rows[1][i];
+      if (i < m_degree) {
+        dx = dx * t + rows[2][i];
+        dy = dy * t + rows[3][i];
+      }
+      if (i < m_degree - 1) {
+        ddx = ddx * t + rows[4][i];
+        ddy = ddy * t + rows[5][i];
+      }
+    }
+
+    output[offset] = x;
+    output[offset + 1] = y;
+    output[offset + 2] = dx;
+    output[offset + 3] = dy;
+    output[offset + 4] = (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * Math.hypot(dx, dy));
+  }
+
+  /**
+   * Returns the speed of the spline at some point t, the length of the first
+   * derivative. This is the integrand of the arc length.
+   *
+   * @param t The point t.
+   * @return The speed at that point, in meters per unit of t.
+   */
+  @SuppressWarnings("ParameterName")
+  double getSpeed(double t) {
+    final double[][] rows = getRows();
+    double dx = 0;
+    double dy = 0;
+    for (int i = 0; i < m_degree; i++) {
+      dx = dx * t + rows[2][i];
+      dy = dy * t + rows[3][i];
+    }
+    return Math.hypot(dx, dy);
+  }
+
+  /**
+   * Returns the arc length table of the spline, which converts between t and
+   * the distance traveled along the spline. The table is built the first time
+   * this is called.
+   *
+   * @return The arc length table.
+   */
+  public ArcLengthTable getArcLengthTable() {
+    ArcLengthTable table = m_arcLengthTable;
+    if (table == null) {
+      table = new ArcLengthTable(this);
+      m_arcLengthTable = table;
+    }
+    return table;
+  }
+
+  /**
+   * Returns the rows of the coefficient matrix as primitive arrays.
+   */
+  private double[][] getRows() {
+    double[][] rows = m_rows;
+    if (rows == null) {
+      SimpleMatrix coefficients = getCoefficients();
+      rows = new double[coefficients.numRows()][coefficients.numCols()];
+      for (int row = 0; row < rows.length; row++) {
+        for (int col = 0; col < rows[row].length; col++) {
+          rows[row][col] = coefficients.get(row, col);
+        }
+      }
+      m_rows = rows;
+    }
+    return rows;
+  }
+
   /**
    * Represents a control vector for a spline.
    *
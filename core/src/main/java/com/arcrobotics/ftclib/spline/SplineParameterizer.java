@@ -31,10 +31,11 @@
 
 package com.arcrobotics.ftclib.spline;
 
-import com.arcrobotics.ftclib.geometry.Twist2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -53,16 +54,10 @@ public final class SplineParameterizer {
    */
   private static final int kMaxIterations = 5000;
 
-  @SuppressWarnings("MemberName")
-  private static class StackContents {
-    final double t1;
-    final double t0;
-
-    StackContents(double t0, double t1) {
-      this.t0 = t0;
-      this.t1 = t1;
-    }
-  }
+  // The values stored for each evaluated point: t, then x, y, dx, dy and curvature
+  // as written by Spline.getPoint(double, double[], int).
+  private static final int kStride = 6;
+  private static final int kInitialStackSize = 32;
 
   public static class MalformedSplineException extends RuntimeException {
     /**
@@ -109,34 +104,36 @@ public final class SplineParameterizer {
   public static List<PoseWithCurvature> parameterize(Spline spline, double t0, double t1) {
     ArrayList<PoseWithCurvature> splinePoints = new ArrayList<PoseWithCurvature>();
 
+    // The start of the interval being tested is always the last point that was
+    // added, so only the ends of the intervals are kept on the stack. Each entry
+    // holds the evaluated spline, so every t is evaluated exactly once.
+    double[] start = new double[kStride];
+    double[] stack = new double[kInitialStackSize * kStride];
+
     // The parameterization does not add the initial point. Let's add that.
-    splinePoints.add(spline.getPoint(t0));
+    evaluate(spline, t0, start, 0);
+    splinePoints.add(toPoseWithCurvature(start, 0));
 
     // We use an "explicit stack" to simulate recursion, instead of a recursive function call
     // This give us greater control, instead of a stack overflow
-    ArrayDeque<StackContents> stack = new ArrayDeque<StackContents>();
-    stack.push(new StackContents(t0, t1));
-
-    StackContents current;
-    PoseWithCurvature start;
-    PoseWithCurvature end;
+    evaluate(spline, t1, stack, 0);
+    int top = 1;
     int iterations = 0;
 
-    while (!stack.isEmpty()) {
-      current = stack.removeFirst();
-      start = spline.getPoint(current.t0);
-      end = spline.getPoint(current.t1);
-
-      final Twist2d twist = start.poseMeters.log(end.poseMeters);
-      if (
-          Math.abs(twist.dy) > kMaxDy
-          || Math.abs(twist.dx) > kMaxDx
-          || Math.abs(twist.dtheta) > kMaxDtheta
-      ) {
-        stack.addFirst(new StackContents((current.t0 + current.t1) / 2, current.t1));
-        stack.addFirst(new StackContents(current.t0, (current.t0 + current.t1) / 2));
+    while (top > 0) {
+      final int end = (top - 1) * kStride;
+
+      if (isWithinTolerance(start, stack, end)) {
+        splinePoints.add(toPoseWithCurvature(stack, end));
+        System.arraycopy(stack, end, start, 0, kStride);
+        top--;
       } else {
-        splinePoints.add(spline.getPoint(current.t1));
+        // Leave the end on the stack and test the first half of the interval next.
+        if ((top + 1) * kStride > stack.length) {
+          stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        evaluate(spline, (start[0] + stack[end]) / 2, stack, end + kStride);
+        top++;
       }
 
       iterations++;
@@ -151,4 +148,59 @@ public final class SplineParameterizer {
 
     return splinePoints;
   }
+
+  private static void evaluate(Spline spline, double t, double[] points, int offset) {
+    points[offset] = t;
+    spline.getPoint(t, points, offset + 1);
+  }
+
+  /**
+   * Returns whether the twist between two evaluated points is within the tolerances.
+   * This is {@link com.arcrobotics.ftclib.geometry.Pose2d#log} written out with primitives.
+   */
+  private static boolean isWithinTolerance(double[] start, double[] points, int end) {
+    // The headings, normalized the same way as Rotation2d(dx, dy).
+    double startMagnitude = Math.hypot(start[3], start[4]);
+    double startCos = startMagnitude > 1e-6 ? start[3] / startMagnitude : 1.0;
+    double startSin = startMagnitude > 1e-6 ? start[4] / startMagnitude : 0.0;
+    double endMagnitude = Math.hypot(points[end + 3], points[end + 4]);
+    double endCos = endMagnitude > 1e-6 ? points[end + 3] / endMagnitude : 1.0;
+    double endSin = endMagnitude > 1e-6 ? points[end + 4] / endMagnitude : 0.0;
+
+    // The end pose relative to the start pose.
+    double deltaX = points[end + 1] - start[1];
+    double deltaY = points[end + 2] - start[2];
+    double x = deltaX * startCos + deltaY * startSin;
+    double y = deltaY * startCos - deltaX * startSin;
+    double cos = endCos * startCos + endSin * startSin;
+    double sin = endSin * startCos - endCos * startSin;
+
+    double dtheta = Math.atan2(sin, cos);
+    if (Math.abs(dtheta) > kMaxDtheta) {
+      return false;
+    }
+
+    double halfDtheta = dtheta / 2.0;
+    double cosMinusOne = cos - 1;
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * sin) / cosMinusOne;
+    }
+
+    // Rotating by (a, -b) normalized and scaling by hypot(a, b) is a rotation by
+    // the unnormalized vector.
+    double dx = x * halfThetaByTanOfHalfDtheta + y * halfDtheta;
+    double dy = y * halfThetaByTanOfHalfDtheta - x * halfDtheta;
+    return Math.abs(dx) <= kMaxDx && Math.abs(dy) <= kMaxDy;
+  }
+
+  private static PoseWithCurvature toPoseWithCurvature(double[] points, int offset) {
+    return new PoseWithCurvature(
+        new Pose2d(points[offset + 1], points[offset + 2],
+            new Rotation2d(points[offset + 3], points[offset + 4])),
+        points[offset + 5]
+    );
+  }
 }
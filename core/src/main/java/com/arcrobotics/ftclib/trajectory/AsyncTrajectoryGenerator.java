@@ -0,0 +1,230 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import android.os.Build;
+import androidx.annotation.RequiresApi;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.spline.Spline;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Generates trajectories on background threads so that {@code init()} or a replan
+ * in the middle of a match does not block the loop. Results are kept in a
+ * least-recently-used cache keyed by a {@link TrajectoryKey}, so asking for the
+ * same path twice, for example on every run of an OpMode, only generates it once.
+ *
+ * <p>Requests for a trajectory that is still being generated share the same future.
+ * Cached trajectories are shared between callers and must not be modified.
+ * A generation that fails is not cached.
+ *
+ * <p>The executor is bounded: at most {@code threads} trajectories are generated at
+ * once and at most {@code queueCapacity} wait for a thread. When the queue is full
+ * the trajectory is generated on the calling thread instead.
+ */
+@RequiresApi(api = Build.VERSION_CODES.N)
+public class AsyncTrajectoryGenerator {
+  public static final int kDefaultCacheSize = 32;
+  public static final int kDefaultQueueCapacity = 16;
+
+  private static AsyncTrajectoryGenerator s_default;
+
+  private final ThreadPoolExecutor m_executor;
+  private final Map<TrajectoryKey, CompletableFuture<Trajectory>> m_cache;
+
+  /**
+   * Constructs a generator with one background thread and the default cache size.
+   */
+  public AsyncTrajectoryGenerator() {
+    this(1, kDefaultQueueCapacity, kDefaultCacheSize);
+  }
+
+  /**
+   * Constructs a generator.
+   *
+   * @param threads       The number of background threads.
+   * @param queueCapacity The number of requests that may wait for a thread.
+   * @param cacheSize     The number of trajectories to keep. Zero disables the cache.
+   */
+  public AsyncTrajectoryGenerator(int threads, int queueCapacity, final int cacheSize) {
+    if (threads < 1 || queueCapacity < 1 || cacheSize < 0) {
+      throw new IllegalArgumentException(
+          "The generator needs at least one thread, a queue, and a non-negative cache size");
+    }
+
+    final AtomicInteger threadCount = new AtomicInteger();
+    m_executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<Runnable>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable,
+              "TrajectoryGenerator-" + threadCount.incrementAndGet());
+          // Never keep the robot controller app alive because of a pending path.
+          thread.setDaemon(true);
+          return thread;
+        });
+
+    m_cache = new LinkedHashMap<TrajectoryKey, CompletableFuture<Trajectory>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(
+          Map.Entry<TrajectoryKey, CompletableFuture<Trajectory>> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Returns a generator shared by the whole app. Its cache lives as long as the
+   * app does, so trajectories generated in one OpMode are reused by the next.
+   *
+   * @return The shared generator.
+   */
+  public static synchronized AsyncTrajectoryGenerator getDefault() {
+    if (s_default == null) {
+      s_default = new AsyncTrajectoryGenerator();
+    }
+    return s_default;
+  }
+
+  /**
+   * Generates a trajectory from the given control vectors and config in the background.
+   *
+   * @see TrajectoryGenerator#generateTrajectory(Spline.ControlVector, List,
+   *      Spline.ControlVector, TrajectoryConfig)
+   */
+  public CompletableFuture<Trajectory> generateTrajectory(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config
+  ) {
+    return generate(TrajectoryKey.of(initial, interiorWaypoints, end, config),
+        () -> TrajectoryGenerator.generateTrajectory(initial, interiorWaypoints, end, config));
+  }
+
+  /**
+   * Generates a trajectory from the given waypoints and config in the background.
+   *
+   * @see TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d, TrajectoryConfig)
+   */
+  public CompletableFuture<Trajectory> generateTrajectory(
+      Pose2d start, List<Translation2d> interiorWaypoints, Pose2d end,
+      TrajectoryConfig config
+  ) {
+    return generate(TrajectoryKey.of(start, interiorWaypoints, end, config),
+        () -> TrajectoryGenerator.generateTrajectory(start, interiorWaypoints, end, config));
+  }
+
+  /**
+   * Generates a trajectory from the given quintic control vectors and config in the background.
+   *
+   * @see TrajectoryGenerator#generateTrajectory(TrajectoryGenerator.ControlVectorList,
+   *      TrajectoryConfig)
+   */
+  public CompletableFuture<Trajectory> generateTrajectory(
+      TrajectoryGenerator.ControlVectorList controlVectors,
+      TrajectoryConfig config
+  ) {
+    return generate(TrajectoryKey.of(controlVectors, config),
+        () -> TrajectoryGenerator.generateTrajectory(controlVectors, config));
+  }
+
+  /**
+   * Generates a trajectory from the given waypoints and config in the background.
+   *
+   * @see TrajectoryGenerator#generateTrajectory(List, TrajectoryConfig)
+   */
+  public CompletableFuture<Trajectory> generateTrajectory(List<Pose2d> waypoints,
+                                                          TrajectoryConfig config) {
+    return generate(TrajectoryKey.of(waypoints, config),
+        () -> TrajectoryGenerator.generateTrajectory(waypoints, config));
+  }
+
+  /**
+   * Returns the cached trajectory for the key, or starts generating it.
+   */
+  private CompletableFuture<Trajectory> generate(TrajectoryKey key,
+                                                 Supplier<Trajectory> generator) {
+    CompletableFuture<Trajectory> future;
+    synchronized (m_cache) {
+      future = m_cache.get(key);
+      if (future != null) {
+        return future;
+      }
+      future = new CompletableFuture<>();
+      m_cache.put(key, future);
+    }
+
+    final CompletableFuture<Trajectory> result = future;
+    Runnable task = () -> {
+      try {
+        result.complete(generator.get());
+      } catch (Throwable e) {
+        // Catch errors too, or the future would never complete and every later
+        // request for the key would wait on it forever.
+        synchronized (m_cache) {
+          m_cache.remove(key, result);
+        }
+        result.completeExceptionally(e);
+      }
+    };
+    try {
+      m_executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // The queue is full or the executor was shut down, possibly while this
+      // method was running. Either way the future must still complete.
+      task.run();
+    }
+    return result;
+  }
+
+  /**
+   * Returns whether a trajectory for the key is cached or being generated.
+   *
+   * @param key The key of the trajectory.
+   * @return Whether the trajectory is cached.
+   */
+  public boolean isCached(TrajectoryKey key) {
+    synchronized (m_cache) {
+      return m_cache.containsKey(key);
+    }
+  }
+
+  /**
+   * Returns the number of trajectories that are cached or being generated.
+   *
+   * @return The size of the cache.
+   */
+  public int getCacheSize() {
+    synchronized (m_cache) {
+      return m_cache.size();
+    }
+  }
+
+  /**
+   * Removes every trajectory from the cache. Trajectories that are being
+   * generated still complete their futures.
+   */
+  public void clearCache() {
+    synchronized (m_cache) {
+      m_cache.clear();
+    }
+  }
+
+  /**
+   * Stops the background threads once the pending trajectories are generated.
+   * Trajectories requested afterwards are generated on the calling thread.
+   */
+  public void shutdown() {
+    m_executor.shutdown();
+  }
+}
@@ -0,0 +1,494 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Transform2d;
+import com.arcrobotics.ftclib.util.MathUtils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A {@link Trajectory} that stores its states as parallel primitive arrays
+ * instead of a list of {@link Trajectory.State} objects. A regular trajectory
+ * holds about five objects per state; a packed trajectory holds seven doubles.
+ *
+ * <p>{@link #getStates()} returns a read-only view that builds each
+ * {@link Trajectory.State} when it is accessed, so code written against
+ * {@link Trajectory} keeps working; {@link #unpack()} converts back to a regular
+ * trajectory. Hot paths should use {@link #sample(double, TrajectorySample)} or a
+ * {@link TrajectorySampler}, which read the arrays directly.
+ */
+public class PackedTrajectory extends Trajectory {
+  private final Columns m_columns;
+
+  /**
+   * Packs a list of states.
+   *
+   * @param states The states of the trajectory.
+   */
+  public PackedTrajectory(List<State> states) {
+    this(new Columns(states));
+  }
+
+  /**
+   * Constructs a packed trajectory from columns that are already packed.
+   * The arrays are used directly, not copied, and must all be the same length.
+   *
+   * @param times         The time of each state.
+   * @param velocities    The velocity of each state.
+   * @param accelerations The acceleration of each state.
+   * @param xs            The x position of each state.
+   * @param ys            The y position of each state.
+   * @param headings      The heading of each state, in radians.
+   * @param curvatures    The curvature of each state.
+   */
+  @SuppressWarnings("ParameterName")
+  public PackedTrajectory(double[] times, double[] velocities, double[] accelerations,
+                          double[] xs, double[] ys, double[] headings, double[] curvatures) {
+    this(new Columns(times, velocities, accelerations, xs, ys, headings, curvatures));
+  }
+
+  private PackedTrajectory(Columns columns) {
+    super(new StateView(columns));
+    m_columns = columns;
+  }
+
+  /**
+   * Returns the given trajectory packed, or the trajectory itself if it is
+   * already packed.
+   *
+   * @param trajectory The trajectory to pack.
+   * @return The packed trajectory.
+   */
+  public static PackedTrajectory of(Trajectory trajectory) {
+    if (trajectory instanceof PackedTrajectory) {
+      return (PackedTrajectory) trajectory;
+    }
+    return new PackedTrajectory(trajectory.getStates());
+  }
+
+  /**
+   * Returns a regular trajectory with the same states, backed by a mutable list
+   * of {@link Trajectory.State} objects.
+   *
+   * @return The unpacked trajectory.
+   */
+  public Trajectory unpack() {
+    return new Trajectory(new ArrayList<>(getStates()));
+  }
+
+  /**
+   * Returns the number of states in the trajectory.
+   *
+   * @return The number of states.
+   */
+  public int size() {
+    return m_columns.times.length;
+  }
+
+  public double getTime(int index) {
+    return m_columns.times[index];
+  }
+
+  public double getVelocity(int index) {
+    return m_columns.velocities[index];
+  }
+
+  public double getAcceleration(int index) {
+    return m_columns.accelerations[index];
+  }
+
+  public double getX(int index) {
+    return m_columns.xs[index];
+  }
+
+  public double getY(int index) {
+    return m_columns.ys[index];
+  }
+
+  public double getHeading(int index) {
+    return m_columns.headings[index];
+  }
+
+  public double getCurvature(int index) {
+    return m_columns.curvatures[index];
+  }
+
+  @Override
+  public Pose2d getInitialPose() {
+    return new Pose2d(m_columns.xs[0], m_columns.ys[0], new Rotation2d(m_columns.headings[0]));
+  }
+
+  /**
+   * Sample the trajectory at a point in time.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+   * @return The state at that point in time.
+   */
+  @Override
+  public State sample(double timeSeconds) {
+    return sample(timeSeconds, new TrajectorySample()).toState();
+  }
+
+  /**
+   * Sample the trajectory at a point in time, writing the result into the given sample.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+   * @param output      The sample to write the state into.
+   * @return The output sample, for chaining.
+   */
+  public TrajectorySample sample(double timeSeconds, TrajectorySample output) {
+    if (timeSeconds <= m_columns.times[0]) {
+      return copy(0, output);
+    }
+    if (timeSeconds >= getTotalTimeSeconds()) {
+      return copy(size() - 1, output);
+    }
+    return interpolate(findSegment(timeSeconds), timeSeconds, output);
+  }
+
+  /**
+   * Appends another trajectory to this one, shifting its times so that it starts
+   * when this one ends. The first state of the other trajectory takes the place
+   * of the last state of this one, so that there are not two states at the same
+   * time and the acceleration out of the joint is the one the other trajectory
+   * starts with. Nothing is regenerated, so the end of this trajectory should
+   * match the start of the other.
+   *
+   * @param other The trajectory to append.
+   * @return The concatenated trajectory.
+   */
+  @Override
+  public PackedTrajectory concatenate(Trajectory other) {
+    final Columns a = m_columns;
+    final Columns b = of(other).m_columns;
+    final int sizeA = a.times.length - 1;
+    final double offset = getTotalTimeSeconds();
+
+    double[] times = join(a.times, b.times);
+    for (int i = sizeA; i < times.length; i++) {
+      times[i] += offset;
+    }
+
+    return new PackedTrajectory(times,
+        join(a.velocities, b.velocities), join(a.accelerations, b.accelerations),
+        join(a.xs, b.xs), join(a.ys, b.ys), join(a.headings, b.headings),
+        join(a.curvatures, b.curvatures));
+  }
+
+  /**
+   * Returns all but the last element of the first array followed by the second.
+   */
+  private static double[] join(double[] first, double[] second) {
+    double[] result = new double[first.length - 1 + second.length];
+    System.arraycopy(first, 0, result, 0, first.length - 1);
+    System.arraycopy(second, 0, result, first.length - 1, second.length);
+    return result;
+  }
+
+  /**
+   * Transforms all poses in the trajectory by the given transform, with respect
+   * to the first pose in the trajectory. The trajectory is rotated about its
+   * first pose and moved so that it starts at the first pose plus the transform.
+   *
+   * @param transform The transform to transform the trajectory by.
+   * @return The transformed trajectory.
+   */
+  @Override
+  public PackedTrajectory transformBy(Transform2d transform) {
+    final Columns c = m_columns;
+    final int size = c.times.length;
+    final Pose2d newFirstPose = getInitialPose().plus(transform);
+    final double cos = transform.getRotation().getCos();
+    final double sin = transform.getRotation().getSin();
+    final double angle = transform.getRotation().getRadians();
+
+    double[] xs = new double[size];
+    double[] ys = new double[size];
+    double[] headings = new double[size];
+    for (int i = 0; i < size; i++) {
+      final double dx = c.xs[i] - c.xs[0];
+      final double dy = c.ys[i] - c.ys[0];
+      xs[i] = newFirstPose.getX() + dx * cos - dy * sin;
+      ys[i] = newFirstPose.getY() + dx * sin + dy * cos;
+      headings[i] = MathUtils.normalizeRadians(c.headings[i] + angle);
+    }
+    return new PackedTrajectory(c.times, c.velocities, c.accelerations,
+        xs, ys, headings, c.curvatures);
+  }
+
+  /**
+   * Mirrors the trajectory across the x axis of the field, negating every y
+   * coordinate. Turns to the left become turns to the right.
+   *
+   * @return The mirrored trajectory.
+   */
+  @Override
+  public PackedTrajectory mirrorAcrossXAxis() {
+    final Columns c = m_columns;
+    final int size = c.times.length;
+    double[] ys = new double[size];
+    double[] headings = new double[size];
+    double[] curvatures = new double[size];
+    for (int i = 0; i < size; i++) {
+      ys[i] = -c.ys[i];
+      headings[i] = -c.headings[i];
+      curvatures[i] = -c.curvatures[i];
+    }
+    return new PackedTrajectory(c.times, c.velocities, c.accelerations,
+        c.xs, ys, headings, curvatures);
+  }
+
+  /**
+   * Mirrors the trajectory across the y axis of the field, negating every x
+   * coordinate. Turns to the left become turns to the right.
+   *
+   * @return The mirrored trajectory.
+   */
+  @Override
+  public PackedTrajectory mirrorAcrossYAxis() {
+    final Columns c = m_columns;
+    final int size = c.times.length;
+    double[] xs = new double[size];
+    double[] headings = new double[size];
+    double[] curvatures = new double[size];
+    for (int i = 0; i < size; i++) {
+      xs[i] = -c.xs[i];
+      headings[i] = MathUtils.normalizeRadians(Math.PI - c.headings[i]);
+      curvatures[i] = -c.curvatures[i];
+    }
+    return new PackedTrajectory(c.times, c.velocities, c.accelerations,
+        xs, c.ys, headings, curvatures);
+  }
+
+  /**
+   * Returns the part of the trajectory between two times, shifted to start at
+   * time zero. The first and last states are sampled at the given times, and
+   * the states in between are copied.
+   *
+   * @param startTimeSeconds The time to start the slice at.
+   * @param endTimeSeconds   The time to end the slice at.
+   * @return The slice.
+   */
+  @Override
+  public PackedTrajectory slice(double startTimeSeconds, double endTimeSeconds) {
+    final Columns c = m_columns;
+    final double start = Math.max(startTimeSeconds, c.times[0]);
+    final double end = Math.max(Math.min(endTimeSeconds, getTotalTimeSeconds()), start);
+
+    // The states strictly between the two times are copied as they are.
+    int first = start <= c.times[0] ? 1 : findSegment(start);
+    if (first < c.times.length && c.times[first] <= start) {
+      first++;
+    }
+    int last = end >= getTotalTimeSeconds() ? c.times.length - 1 : findSegment(end);
+    if (c.times[last] >= end) {
+      last--;
+    }
+    final int inner = Math.max(last - first + 1, 0);
+    final int size = end > start ? inner + 2 : 1;
+
+    double[] times = new double[size];
+    double[] velocities = new double[size];
+    double[] accelerations = new double[size];
+    double[] xs = new double[size];
+    double[] ys = new double[size];
+    double[] headings = new double[size];
+    double[] curvatures = new double[size];
+
+    final TrajectorySample sample = new TrajectorySample();
+    put(sample(start, sample), 0, times, velocities, accelerations, xs, ys, headings,
+        curvatures);
+    if (size > 1) {
+      System.arraycopy(c.times, first, times, 1, inner);
+      System.arraycopy(c.velocities, first, velocities, 1, inner);
+      System.arraycopy(c.accelerations, first, accelerations, 1, inner);
+      System.arraycopy(c.xs, first, xs, 1, inner);
+      System.arraycopy(c.ys, first, ys, 1, inner);
+      System.arraycopy(c.headings, first, headings, 1, inner);
+      System.arraycopy(c.curvatures, first, curvatures, 1, inner);
+      put(sample(end, sample), size - 1, times, velocities, accelerations, xs, ys, headings,
+          curvatures);
+    }
+
+    for (int i = 0; i < size; i++) {
+      times[i] -= start;
+    }
+    return new PackedTrajectory(times, velocities, accelerations, xs, ys, headings, curvatures);
+  }
+
+  @SuppressWarnings("ParameterName")
+  private static void put(TrajectorySample sample, int index, double[] times,
+                          double[] velocities, double[] accelerations, double[] xs,
+                          double[] ys, double[] headings, double[] curvatures) {
+    times[index] = sample.timeSeconds;
+    velocities[index] = sample.velocityMetersPerSecond;
+    accelerations[index] = sample.accelerationMetersPerSecondSq;
+    xs[index] = sample.xMeters;
+    ys[index] = sample.yMeters;
+    headings[index] = sample.headingRadians;
+    curvatures[index] = sample.curvatureRadPerMeter;
+  }
+
+  /**
+   * Returns the index of the first state whose timestamp is at least the given
+   * time, using a binary search. The time must be after the first state.
+   */
+  int findSegment(double timeSeconds) {
+    final double[] times = m_columns.times;
+
+    // This starts at 1 because we use the previous state later on for
+    // interpolation.
+    int low = 1;
+    int high = times.length - 1;
+
+    while (low != high) {
+      int mid = (low + high) / 2;
+      if (times[mid] < timeSeconds) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Copies a state into the output sample.
+   */
+  TrajectorySample copy(int index, TrajectorySample output) {
+    output.timeSeconds = m_columns.times[index];
+    output.velocityMetersPerSecond = m_columns.velocities[index];
+    output.accelerationMetersPerSecondSq = m_columns.accelerations[index];
+    output.xMeters = m_columns.xs[index];
+    output.yMeters = m_columns.ys[index];
+    output.headingRadians = m_columns.headings[index];
+    output.curvatureRadPerMeter = m_columns.curvatures[index];
+    return output;
+  }
+
+  /**
+   * Interpolates between the state before the given index and the state at the index.
+   * This is the primitive form of {@link Trajectory.State#interpolate(Trajectory.State, double)}.
+   */
+  TrajectorySample interpolate(int index, double timeSeconds, TrajectorySample output) {
+    final Columns c = m_columns;
+    final int prev = index - 1;
+
+    // If the difference in states is negligible, then we are spot on!
+    final double span = c.times[index] - c.times[prev];
+    if (Math.abs(span) < 1E-9) {
+      return copy(index, output);
+    }
+
+    final double deltaT = timeSeconds - c.times[prev];
+    final double velocity = c.velocities[prev];
+    final double acceleration = c.accelerations[prev];
+
+    // Check whether the robot is reversing at this stage.
+    final boolean reversing = velocity < 0
+        || Math.abs(velocity) < 1E-9 && acceleration < 0;
+
+    // delta_s = v_0 t + 0.5 at^2
+    final double newS = (velocity * deltaT + 0.5 * acceleration * deltaT * deltaT)
+        * (reversing ? -1.0 : 1.0);
+
+    final double dx = c.xs[index] - c.xs[prev];
+    final double dy = c.ys[index] - c.ys[prev];
+    final double interpolationFrac = newS / Math.hypot(dx, dy);
+
+    output.timeSeconds = timeSeconds;
+    output.velocityMetersPerSecond = velocity + acceleration * deltaT;
+    output.accelerationMetersPerSecondSq = acceleration;
+    output.xMeters = c.xs[prev] + dx * interpolationFrac;
+    output.yMeters = c.ys[prev] + dy * interpolationFrac;
+    output.headingRadians = MathUtils.normalizeRadians(c.headings[prev]
+        + MathUtils.normalizeRadians(
+            MathUtils.normalizeRadians(c.headings[index] - c.headings[prev]) * interpolationFrac));
+    output.curvatureRadPerMeter = c.curvatures[prev]
+        + (c.curvatures[index] - c.curvatures[prev]) * interpolationFrac;
+    return output;
+  }
+
+  /**
+   * The parallel arrays that back the trajectory.
+   */
+  private static final class Columns {
+    final double[] times;
+    final double[] velocities;
+    final double[] accelerations;
+    final double[] xs;
+    final double[] ys;
+    final double[] headings;
+    final double[] curvatures;
+
+    Columns(List<State> states) {
+      int size = states.size();
+      times = new double[size];
+      velocities = new double[size];
+      accelerations = new double[size];
+      xs = new double[size];
+      ys = new double[size];
+      headings = new double[size];
+      curvatures = new double[size];
+
+      for (int i = 0; i < size; i++) {
+        State state = states.get(i);
+        times[i] = state.timeSeconds;
+        velocities[i] = state.velocityMetersPerSecond;
+        accelerations[i] = state.accelerationMetersPerSecondSq;
+        xs[i] = state.poseMeters.getX();
+        ys[i] = state.poseMeters.getY();
+        headings[i] = state.poseMeters.getHeading();
+        curvatures[i] = state.curvatureRadPerMeter;
+      }
+    }
+
+    @SuppressWarnings("ParameterName")
+    Columns(double[] times, double[] velocities, double[] accelerations,
+            double[] xs, double[] ys, double[] headings, double[] curvatures) {
+      int size = times.length;
+      if (size == 0 || velocities.length != size || accelerations.length != size
+          || xs.length != size || ys.length != size || headings.length != size
+          || curvatures.length != size) {
+        throw new IllegalArgumentException(
+            "The columns of a packed trajectory must be non-empty and the same length");
+      }
+      this.times = times;
+      this.velocities = velocities;
+      this.accelerations = accelerations;
+      this.xs = xs;
+      this.ys = ys;
+      this.headings = headings;
+      this.curvatures = curvatures;
+    }
+  }
+
+  /**
+   * A read-only list that builds each state from the columns on access.
+   */
+  private static final class StateView extends AbstractList<State> implements RandomAccess {
+    private final Columns m_columns;
+
+    StateView(Columns columns) {
+      m_columns = columns;
+    }
+
+    @Override
+    public State get(int index) {
+      return new State(m_columns.times[index], m_columns.velocities[index],
+          m_columns.accelerations[index],
+          new Pose2d(m_columns.xs[index], m_columns.ys[index],
+              new Rotation2d(m_columns.headings[index])),
+          m_columns.curvatures[index]);
+    }
+
+    @Override
+    public int size() {
+      return m_columns.times.length;
+    }
+  }
+}
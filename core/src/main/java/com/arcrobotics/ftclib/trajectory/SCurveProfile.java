@@ -0,0 +1,438 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.util.MathUtils;
+
+import java.util.Objects;
+
+/**
+ * A jerk-limited, S-curve velocity profile.
+ *
+ * <p>Where a {@link TrapezoidProfile} steps the acceleration between zero and its
+ * maximum, this profile ramps it at a limited jerk, so the velocity follows an S
+ * instead of a straight line. A full profile has seven segments: jerk up, constant
+ * acceleration, jerk down, cruise, and the mirror image to slow down. Short moves
+ * drop the constant acceleration or cruise segments.
+ *
+ * <p>The boundaries of the segments, and the state at each of them, are computed
+ * once in the constructor. {@link #calculate(double)} then finds the segment with
+ * a scan over at most eight entries and evaluates the cubic in closed form.
+ *
+ * <p>The profile ends with zero acceleration. It starts with the acceleration of
+ * the initial state if that is a {@link State}, and with zero acceleration
+ * otherwise, so a profile rebuilt from the state of another continues it smoothly.
+ * Before the first ramp, an eighth segment brings an initial acceleration that
+ * points away from the peak velocity back to zero. The initial and goal
+ * velocities may be nonzero, but a goal too close to the initial state to change
+ * velocity within the constraints is reached with a jump at the end, like the
+ * trapezoid profile.
+ *
+ * <p>Passing {@link Constraints} to a
+ * {@link com.arcrobotics.ftclib.controller.wpilibcontroller.ProfiledPIDController}
+ * makes it follow an S-curve instead of a trapezoid.
+ */
+public class SCurveProfile {
+  private static final int kSegments = 8;
+  private static final int kSearchIterations = 64;
+  private static final double kDistanceTolerance = 1E-9;
+
+  // The direction of the profile, either 1 for forwards or -1 for inverted
+  private final int m_direction;
+
+  private final Constraints m_constraints;
+  private final TrapezoidProfile.State m_goal;
+
+  // m_times[i] is the start of segment i, and m_times[kSegments] the end of the
+  // profile. Segment 0 brings the initial acceleration to zero, and has no length
+  // when the profile starts on its first ramp. The state at the start of each
+  // segment is in the columns below, in the direction of the profile.
+  private final double[] m_times = new double[kSegments + 1];
+  private final double[] m_jerks = new double[kSegments];
+  private final double[] m_positions = new double[kSegments + 1];
+  private final double[] m_velocities = new double[kSegments + 1];
+  private final double[] m_accelerations = new double[kSegments + 1];
+
+  /**
+   * The constraints on an S-curve profile. These are also
+   * {@link TrapezoidProfile.Constraints}, so they can be given to anything that
+   * takes those.
+   */
+  public static class Constraints extends TrapezoidProfile.Constraints {
+    @SuppressWarnings("MemberName")
+    public double maxJerk;
+
+    public Constraints() {
+    }
+
+    /**
+     * Construct constraints for an SCurveProfile.
+     *
+     * @param maxVelocity     maximum velocity
+     * @param maxAcceleration maximum acceleration
+     * @param maxJerk         maximum jerk
+     */
+    public Constraints(double maxVelocity, double maxAcceleration, double maxJerk) {
+      super(maxVelocity, maxAcceleration);
+      this.maxJerk = maxJerk;
+    }
+  }
+
+  /**
+   * A state of an S-curve profile, which adds the acceleration to the position
+   * and velocity. The acceleration can be used for feedforward.
+   */
+  public static class State extends TrapezoidProfile.State {
+    @SuppressWarnings("MemberName")
+    public double acceleration;
+
+    public State() {
+    }
+
+    /**
+     * Construct a state.
+     *
+     * @param position     the position
+     * @param velocity     the velocity
+     * @param acceleration the acceleration
+     */
+    public State(double position, double velocity, double acceleration) {
+      super(position, velocity);
+      this.acceleration = acceleration;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other instanceof State) {
+        return super.equals(other) && this.acceleration == ((State) other).acceleration;
+      } else {
+        return super.equals(other);
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(position, velocity, acceleration);
+    }
+  }
+
+  /**
+   * Construct an SCurveProfile.
+   *
+   * @param constraints The constraints on the profile, like maximum jerk.
+   * @param goal        The desired state when the profile is complete.
+   * @param initial     The initial state (usually the current state). If it is a
+   *                    {@link State}, the profile starts with its acceleration.
+   */
+  public SCurveProfile(Constraints constraints, TrapezoidProfile.State goal,
+                       TrapezoidProfile.State initial) {
+    m_direction = initial.position > goal.position ? -1 : 1;
+    m_constraints = constraints;
+    m_goal = new TrapezoidProfile.State(goal.position, goal.velocity);
+
+    final double initialPosition = initial.position * m_direction;
+    final double initialVelocity = Math.min(initial.velocity * m_direction,
+        constraints.maxVelocity);
+    final double initialAcceleration = initial instanceof State
+        ? MathUtils.clamp(((State) initial).acceleration * m_direction,
+            -constraints.maxAcceleration, constraints.maxAcceleration)
+        : 0;
+    final double goalVelocity = Math.min(goal.velocity * m_direction, constraints.maxVelocity);
+    final double distance = goal.position * m_direction - initialPosition;
+
+    // The velocity reached by bringing the initial acceleration straight to zero.
+    // While accelerating, slower peaks can not be reached without overshooting;
+    // while decelerating, a slower peak keeps decelerating towards the goal.
+    final double settledVelocity = initialVelocity
+        + initialAcceleration * Math.abs(initialAcceleration) / (2 * constraints.maxJerk);
+
+    // Find the peak velocity. The distance covered by the two ramps grows with
+    // the peak velocity, so if the ramps to and from the max velocity are too
+    // long, search for the peak that covers the distance exactly.
+    double peakVelocity = Math.max(constraints.maxVelocity, settledVelocity);
+    double cruiseDistance = distance
+        - firstRampDistance(initialVelocity, initialAcceleration, peakVelocity)
+        - rampDistance(peakVelocity, goalVelocity);
+    if (cruiseDistance < 0) {
+      double low = initialAcceleration < 0 ? goalVelocity
+          : Math.max(settledVelocity, goalVelocity);
+      double high = peakVelocity;
+      // Within rounding error of the slowest peak, take it. Bisecting would land a
+      // hair above it, adding a ramp whose duration grows with the square root of
+      // the excess.
+      if (firstRampDistance(initialVelocity, initialAcceleration, low)
+          + rampDistance(low, goalVelocity) >= distance - kDistanceTolerance) {
+        high = low;
+      }
+      for (int i = 0; i < kSearchIterations; i++) {
+        double mid = (low + high) / 2;
+        if (firstRampDistance(initialVelocity, initialAcceleration, mid)
+            + rampDistance(mid, goalVelocity) > distance) {
+          high = mid;
+        } else {
+          low = mid;
+        }
+      }
+      peakVelocity = low;
+      cruiseDistance = 0;
+    }
+
+    m_positions[0] = initialPosition;
+    m_velocities[0] = initialVelocity;
+    m_accelerations[0] = initialAcceleration;
+    int segment = addFirstRamp(initialVelocity, initialAcceleration, peakVelocity);
+    m_jerks[segment] = 0;
+    addSegment(segment, peakVelocity > 0 ? cruiseDistance / peakVelocity : 0);
+    addRamp(segment + 1, peakVelocity, goalVelocity);
+  }
+
+  /**
+   * Construct an SCurveProfile.
+   *
+   * @param constraints The constraints on the profile, like maximum jerk.
+   * @param goal        The desired state when the profile is complete.
+   */
+  public SCurveProfile(Constraints constraints, TrapezoidProfile.State goal) {
+    this(constraints, goal, new TrapezoidProfile.State(0, 0));
+  }
+
+  /**
+   * Returns the duration of the jerk-limited ramp between two velocities, which
+   * starts and ends with zero acceleration.
+   */
+  private double rampTime(double fromVelocity, double toVelocity) {
+    final double change = Math.abs(toVelocity - fromVelocity);
+    final double jerkTime = m_constraints.maxAcceleration / m_constraints.maxJerk;
+    if (change >= m_constraints.maxAcceleration * jerkTime) {
+      return change / m_constraints.maxAcceleration + jerkTime;
+    } else {
+      return 2 * Math.sqrt(change / m_constraints.maxJerk);
+    }
+  }
+
+  /**
+   * Returns the distance covered by a ramp between two velocities. The ramp is
+   * symmetric, so its mean velocity is halfway between them.
+   */
+  private double rampDistance(double fromVelocity, double toVelocity) {
+    return rampTime(fromVelocity, toVelocity) * (fromVelocity + toVelocity) / 2;
+  }
+
+  /**
+   * Returns whether the first ramp to a peak velocity continues the initial
+   * acceleration, rather than bringing it to zero first.
+   */
+  private boolean continuesAcceleration(double initialVelocity, double initialAcceleration,
+                                        double peakVelocity) {
+    final double settledVelocity = initialVelocity
+        + initialAcceleration * Math.abs(initialAcceleration) / (2 * m_constraints.maxJerk);
+    return initialAcceleration > 0 ? peakVelocity >= settledVelocity
+        : initialAcceleration < 0 && peakVelocity <= settledVelocity;
+  }
+
+  /**
+   * Returns the distance covered from the initial state until the peak velocity is
+   * reached with zero acceleration.
+   */
+  private double firstRampDistance(double initialVelocity, double initialAcceleration,
+                                   double peakVelocity) {
+    final double jerk = m_constraints.maxJerk;
+    final double settleTime = Math.abs(initialAcceleration) / jerk;
+    final double sign = Math.signum(initialAcceleration);
+    if (continuesAcceleration(initialVelocity, initialAcceleration, peakVelocity)) {
+      // Part of a ramp from the velocity at which the acceleration was zero.
+      final double startVelocity = initialVelocity
+          - initialAcceleration * Math.abs(initialAcceleration) / (2 * jerk);
+      return rampDistance(startVelocity, peakVelocity)
+          - settleTime * (startVelocity + sign * jerk * settleTime * settleTime / 6);
+    }
+    final double settledVelocity = initialVelocity
+        + initialAcceleration * Math.abs(initialAcceleration) / (2 * jerk);
+    return settleTime * (initialVelocity + settleTime * (initialAcceleration / 2
+        - sign * jerk * settleTime / 6))
+        + rampDistance(settledVelocity, peakVelocity);
+  }
+
+  /**
+   * Fills in the segment that brings the initial acceleration to zero and the
+   * first ramp, and returns the segment after them.
+   */
+  private int addFirstRamp(double initialVelocity, double initialAcceleration,
+                           double peakVelocity) {
+    final double jerk = m_constraints.maxJerk;
+    final double settleTime = Math.abs(initialAcceleration) / jerk;
+    if (continuesAcceleration(initialVelocity, initialAcceleration, peakVelocity)) {
+      // Start the ramp part way through its first segment, at the initial acceleration.
+      m_jerks[0] = 0;
+      addSegment(0, 0);
+      final double startVelocity = initialVelocity
+          - initialAcceleration * Math.abs(initialAcceleration) / (2 * jerk);
+      return addRamp(1, startVelocity, peakVelocity, settleTime);
+    }
+    m_jerks[0] = -Math.signum(initialAcceleration) * jerk;
+    addSegment(0, settleTime);
+    m_accelerations[1] = 0;
+    return addRamp(1, m_velocities[1], peakVelocity, 0);
+  }
+
+  /**
+   * Fills in the three segments of a ramp starting at the given segment, and
+   * returns the segment after it.
+   */
+  private int addRamp(int segment, double fromVelocity, double toVelocity) {
+    return addRamp(segment, fromVelocity, toVelocity, 0);
+  }
+
+  /**
+   * Fills in the three segments of a ramp starting at the given segment, leaving
+   * out the given time from the start of the ramp, and returns the segment after it.
+   */
+  private int addRamp(int segment, double fromVelocity, double toVelocity, double skippedTime) {
+    final double sign = Math.signum(toVelocity - fromVelocity);
+    final double duration = rampTime(fromVelocity, toVelocity);
+    final double jerkTime = Math.min(m_constraints.maxAcceleration / m_constraints.maxJerk,
+        duration / 2);
+
+    m_jerks[segment] = sign * m_constraints.maxJerk;
+    addSegment(segment, Math.max(jerkTime - skippedTime, 0));
+    m_jerks[segment + 1] = 0;
+    addSegment(segment + 1, duration - 2 * jerkTime);
+    m_jerks[segment + 2] = -sign * m_constraints.maxJerk;
+    addSegment(segment + 2, jerkTime);
+
+    // Land exactly on the target, rather than on the sum of rounding errors.
+    m_velocities[segment + 3] = toVelocity;
+    m_accelerations[segment + 3] = 0;
+    return segment + 3;
+  }
+
+  /**
+   * Sets the duration of a segment whose start state and jerk are known, and
+   * integrates the state at its end.
+   */
+  private void addSegment(int segment, double duration) {
+    final State end = integrate(segment, duration, new State());
+    m_times[segment + 1] = m_times[segment] + duration;
+    m_positions[segment + 1] = end.position;
+    m_velocities[segment + 1] = end.velocity;
+    m_accelerations[segment + 1] = end.acceleration;
+  }
+
+  /**
+   * Writes the state a time after the start of a segment into the given state,
+   * in the direction of the profile.
+   */
+  private State integrate(int segment, double time, State output) {
+    final double jerk = m_jerks[segment];
+    final double acceleration = m_accelerations[segment];
+    final double velocity = m_velocities[segment];
+    output.position = m_positions[segment]
+        + time * (velocity + time * (acceleration / 2 + time * jerk / 6));
+    output.velocity = velocity + time * (acceleration + time * jerk / 2);
+    output.acceleration = acceleration + time * jerk;
+    return output;
+  }
+
+  /**
+   * Calculate the correct position, velocity and acceleration for the profile at
+   * a time t where the beginning of the profile was at time t = 0.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return The state at that time.
+   */
+  @SuppressWarnings("ParameterName")
+  public State calculate(double t) {
+    return calculate(t, new State());
+  }
+
+  /**
+   * Calculate the correct position, velocity and acceleration for the profile at
+   * a time t, writing them into an existing state instead of allocating one.
+   *
+   * @param t      The time since the beginning of the profile.
+   * @param output The state to write into.
+   * @return The output state.
+   */
+  @SuppressWarnings("ParameterName")
+  public State calculate(double t, State output) {
+    if (t >= m_times[kSegments]) {
+      output.position = m_goal.position;
+      output.velocity = m_goal.velocity;
+      output.acceleration = 0;
+      return output;
+    }
+
+    int segment = 0;
+    while (segment < kSegments - 1 && t >= m_times[segment + 1]) {
+      segment++;
+    }
+    integrate(segment, Math.max(t - m_times[segment], 0), output);
+
+    output.position *= m_direction;
+    output.velocity *= m_direction;
+    output.acceleration *= m_direction;
+    return output;
+  }
+
+  /**
+   * Returns the time left until a target distance in the profile is reached.
+   *
+   * @param target The target distance.
+   * @return The time from the beginning of the profile until the target is
+   *     first reached, or the total time if it is never reached.
+   */
+  public double timeLeftUntil(double target) {
+    final double directed = target * m_direction;
+    final State state = new State();
+    for (int segment = 0; segment < kSegments; segment++) {
+      double low = 0;
+      double high = m_times[segment + 1] - m_times[segment];
+      double start = m_positions[segment] - directed;
+      double end = m_positions[segment + 1] - directed;
+      if (Math.abs(start) < 1e-9) {
+        return m_times[segment];
+      }
+      if (start * end > 0) {
+        continue;
+      }
+      if (Math.abs(end) < 1e-9) {
+        // Reached at the end of the segment, where the position may be flat.
+        return m_times[segment + 1];
+      }
+
+      // The target is crossed in this segment. Bisect for the crossing.
+      final boolean rising = end > start;
+      for (int i = 0; i < kSearchIterations; i++) {
+        double mid = (low + high) / 2;
+        if (integrate(segment, mid, state).position - directed < 0 == rising) {
+          low = mid;
+        } else {
+          high = mid;
+        }
+      }
+      return m_times[segment] + (low + high) / 2;
+    }
+    return totalTime();
+  }
+
+  /**
+   * Returns the total time the profile takes to reach the goal.
+   *
+   * @return The total time.
+   */
+  public double totalTime() {
+    return m_times[kSegments];
+  }
+
+  /**
+   * Returns true if the profile has reached the goal.
+   *
+   * <p>The profile has reached the goal if the time since the profile started
+   * has exceeded the profile's total time.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return Whether the profile is finished.
+   */
+  @SuppressWarnings("ParameterName")
+  public boolean isFinished(double t) {
+    return t >= totalTime();
+  }
+}
@@ -197,6 +197,51 @@ public class Trajectory {
         .collect(Collectors.toList()));
   }
 
+  /**
+   * Appends another trajectory to this one, shifting its times so that it starts
+   * when this one ends. The first state of the other trajectory takes the place
+   * of the last state of this one. Nothing is regenerated, so the end of this
+   * trajectory should match the start of the other.
+   *
+   * @param other The trajectory to append.
+   * @return The concatenated trajectory.
+   */
+  public Trajectory concatenate(Trajectory other) {
+    return PackedTrajectory.of(this).concatenate(other);
+  }
+
+  /**
+   * Mirrors the trajectory across the x axis of the field, negating every y
+   * coordinate. This turns a path for one alliance into a path for the other.
+   *
+   * @return The mirrored trajectory.
+   */
+  public Trajectory mirrorAcrossXAxis() {
+    return PackedTrajectory.of(this).mirrorAcrossXAxis();
+  }
+
+  /**
+   * Mirrors the trajectory across the y axis of the field, negating every x
+   * coordinate.
+   *
+   * @return The mirrored trajectory.
+   */
+  public Trajectory mirrorAcrossYAxis() {
+    return PackedTrajectory.of(this).mirrorAcrossYAxis();
+  }
+
+  /**
+   * Returns the part of the trajectory between two times, shifted to start at
+   * time zero.
+   *
+   * @param startTimeSeconds The time to start the slice at.
+   * @param endTimeSeconds   The time to end the slice at.
+   * @return The slice.
+   */
+  public Trajectory slice(double startTimeSeconds, double endTimeSeconds) {
+    return PackedTrajectory.of(this).slice(startTimeSeconds, endTimeSeconds);
+  }
+
   /**
    * Represents a time-parameterized trajectory. The trajectory contains of
    * various States that represent the pose, curvature, time elapsed, velocity,
@@ -34,6 +34,7 @@ public class TrajectoryConfig {
   private double m_startVelocity;
   private double m_endVelocity;
   private boolean m_reversed;
+  private boolean m_parallel;
 
   /**
    * Constructs the trajectory configuration class.
@@ -191,4 +192,26 @@ public class TrajectoryConfig {
     m_reversed = reversed;
     return this;
   }
+
+  /**
+   * Returns whether the splines of the trajectory are parameterized in parallel.
+   *
+   * @return whether the splines are parameterized in parallel.
+   */
+  public boolean isParallel() {
+    return m_parallel;
+  }
+
+  /**
+   * Sets whether the splines of the trajectory are parameterized in parallel.
+   * This speeds up paths with many waypoints on multi-core machines and does not
+   * change the generated trajectory.
+   *
+   * @param parallel Whether the splines should be parameterized in parallel.
+   * @return Instance of the current config object.
+   */
+  public TrajectoryConfig setParallel(boolean parallel) {
+    m_parallel = parallel;
+    return this;
+  }
 }
@@ -0,0 +1,200 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import android.os.Build;
+import androidx.annotation.RequiresApi;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveKinematics;
+import com.arcrobotics.ftclib.trajectory.constraint.CentripetalAccelerationConstraint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The waypoints and configuration of a trajectory, read from a plain text file so
+ * that it can be generated ahead of time by {@link TrajectoryPrecompiler}.
+ *
+ * <p>Each line holds a keyword followed by its values, separated by whitespace.
+ * Blank lines and everything after a {@code #} are ignored. Distances are in
+ * meters and headings in degrees.
+ * <pre>
+ *   maxVelocity 1.5              # required
+ *   maxAcceleration 1.0          # required
+ *   startVelocity 0
+ *   endVelocity 0
+ *   reversed false
+ *   centripetalAcceleration 1.2  # adds a CentripetalAccelerationConstraint
+ *   differentialDrive 0.4        # track width, adds a kinematics constraint
+ *   mecanumDrive 0.15 0.15 0.15 -0.15 -0.15 0.15 -0.15 -0.15
+ *   pose 0 0 0                   # x y heading, at least two
+ *   pose 1.2 0.6 90
+ * </pre>
+ * The constraints are added in the order they appear, which is part of the
+ * {@link TrajectoryKey}. A robot that builds the same waypoints and config in
+ * code gets the same key, and so can load the precompiled trajectory.
+ */
+public class TrajectoryDefinition {
+  private final List<Pose2d> m_waypoints;
+  private final TrajectoryConfig m_config;
+
+  /**
+   * Constructs a definition.
+   *
+   * @param waypoints The waypoints of the trajectory.
+   * @param config    The configuration of the trajectory.
+   */
+  public TrajectoryDefinition(List<Pose2d> waypoints, TrajectoryConfig config) {
+    m_waypoints = Collections.unmodifiableList(new ArrayList<>(waypoints));
+    m_config = config;
+  }
+
+  /**
+   * Parses a definition.
+   *
+   * @param reader The text of the definition.
+   * @return The definition.
+   * @throws IOException If the text can not be read.
+   * @throws IllegalArgumentException If the text is not a valid definition.
+   */
+  public static TrajectoryDefinition parse(Reader reader) throws IOException {
+    BufferedReader lines = new BufferedReader(reader);
+    List<Pose2d> waypoints = new ArrayList<>();
+    List<String[]> settings = new ArrayList<>();
+    List<Integer> settingLines = new ArrayList<>();
+    double maxVelocity = Double.NaN;
+    double maxAcceleration = Double.NaN;
+
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      int comment = line.indexOf('#');
+      if (comment >= 0) {
+        line = line.substring(0, comment);
+      }
+      line = line.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+
+      String[] tokens = line.split("\\s+");
+      switch (tokens[0]) {
+        case "maxVelocity":
+          maxVelocity = values(tokens, 1, lineNumber)[0];
+          break;
+        case "maxAcceleration":
+          maxAcceleration = values(tokens, 1, lineNumber)[0];
+          break;
+        case "pose":
+          double[] pose = values(tokens, 3, lineNumber);
+          waypoints.add(new Pose2d(pose[0], pose[1], Rotation2d.fromDegrees(pose[2])));
+          break;
+        default:
+          // Everything else needs the max velocity, which may come later in the file.
+          settings.add(tokens);
+          settingLines.add(lineNumber);
+          break;
+      }
+    }
+
+    if (Double.isNaN(maxVelocity) || Double.isNaN(maxAcceleration)) {
+      throw new IllegalArgumentException(
+          "A trajectory definition needs a maxVelocity and a maxAcceleration");
+    }
+    if (waypoints.size() < 2) {
+      throw new IllegalArgumentException("A trajectory definition needs at least two poses");
+    }
+
+    TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAcceleration);
+    for (int i = 0; i < settings.size(); i++) {
+      apply(config, settings.get(i), settingLines.get(i));
+    }
+    return new TrajectoryDefinition(waypoints, config);
+  }
+
+  private static void apply(TrajectoryConfig config, String[] tokens, int lineNumber) {
+    switch (tokens[0]) {
+      case "startVelocity":
+        config.setStartVelocity(values(tokens, 1, lineNumber)[0]);
+        break;
+      case "endVelocity":
+        config.setEndVelocity(values(tokens, 1, lineNumber)[0]);
+        break;
+      case "reversed":
+        if (tokens.length != 2 || !("true".equals(tokens[1]) || "false".equals(tokens[1]))) {
+          // Boolean.parseBoolean would read a typo as false.
+          throw error("reversed takes true or false", lineNumber);
+        }
+        config.setReversed("true".equals(tokens[1]));
+        break;
+      case "centripetalAcceleration":
+        config.addConstraint(
+            new CentripetalAccelerationConstraint(values(tokens, 1, lineNumber)[0]));
+        break;
+      case "differentialDrive":
+        config.setKinematics(new DifferentialDriveKinematics(values(tokens, 1, lineNumber)[0]));
+        break;
+      case "mecanumDrive":
+        double[] wheels = values(tokens, 8, lineNumber);
+        config.setKinematics(new MecanumDriveKinematics(
+            new Translation2d(wheels[0], wheels[1]), new Translation2d(wheels[2], wheels[3]),
+            new Translation2d(wheels[4], wheels[5]), new Translation2d(wheels[6], wheels[7])));
+        break;
+      default:
+        throw error("unknown keyword " + tokens[0], lineNumber);
+    }
+  }
+
+  private static double[] values(String[] tokens, int count, int lineNumber) {
+    if (tokens.length != count + 1) {
+      throw error(tokens[0] + " takes " + count + " value(s)", lineNumber);
+    }
+    double[] values = new double[count];
+    for (int i = 0; i < count; i++) {
+      try {
+        values[i] = Double.parseDouble(tokens[i + 1]);
+      } catch (NumberFormatException e) {
+        throw error("not a number: " + tokens[i + 1], lineNumber);
+      }
+    }
+    return values;
+  }
+
+  private static IllegalArgumentException error(String message, int lineNumber) {
+    return new IllegalArgumentException("Line " + lineNumber + ": " + message);
+  }
+
+  public List<Pose2d> getWaypoints() {
+    return m_waypoints;
+  }
+
+  public TrajectoryConfig getConfig() {
+    return m_config;
+  }
+
+  /**
+   * Returns the key of the trajectory this definition generates.
+   *
+   * @return The key.
+   */
+  public TrajectoryKey getKey() {
+    return TrajectoryKey.of(m_waypoints, m_config);
+  }
+
+  /**
+   * Generates the trajectory.
+   *
+   * @return The trajectory.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  public Trajectory generate() {
+    return TrajectoryGenerator.generateTrajectory(m_waypoints, m_config);
+  }
+}
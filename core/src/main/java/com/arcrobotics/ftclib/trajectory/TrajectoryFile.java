@@ -0,0 +1,283 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import android.os.Build;
+import androidx.annotation.RequiresApi;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes trajectories in a compact binary format, so that autonomous
+ * paths can be generated ahead of time and loaded at init instead of regenerated.
+ *
+ * <p>All values are little-endian. The file is a 24 byte header followed by the
+ * states, stored column by column in the order of {@link PackedTrajectory}:
+ * <pre>
+ *   int    magic        'FTCT'
+ *   int    version      {@link #kVersion}
+ *   long   fingerprint  {@link TrajectoryKey#fingerprint()} of the inputs, or 0
+ *   int    count        the number of states
+ *   int    reserved     0
+ *   double times[count], velocities[count], accelerations[count],
+ *          xs[count], ys[count], headings[count], curvatures[count]
+ * </pre>
+ * Storing columns instead of one record per state lets the reader copy each
+ * column out of the memory-mapped file in a single bulk read.
+ */
+public final class TrajectoryFile {
+  public static final int kMagic = 'F' | 'T' << 8 | 'C' << 16 | 'T' << 24;
+  public static final int kVersion = 1;
+
+  private static final int kHeaderBytes = 24;
+  private static final int kColumns = 7;
+
+  /**
+   * Private constructor because this is a utility class.
+   */
+  private TrajectoryFile() {
+  }
+
+  /**
+   * Writes a trajectory to a file, replacing it if it exists.
+   *
+   * @param trajectory  The trajectory to write.
+   * @param fingerprint The fingerprint of the inputs the trajectory was generated from.
+   * @param file        The file to write to.
+   * @throws IOException If the file can not be written.
+   */
+  public static void write(Trajectory trajectory, long fingerprint, File file)
+      throws IOException {
+    PackedTrajectory packed = PackedTrajectory.of(trajectory);
+    int count = packed.size();
+
+    ByteBuffer buffer = ByteBuffer.allocate(kHeaderBytes + count * kColumns * 8)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(kMagic);
+    buffer.putInt(kVersion);
+    buffer.putLong(fingerprint);
+    buffer.putInt(count);
+    buffer.putInt(0);
+
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getTime(i));
+    }
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getVelocity(i));
+    }
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getAcceleration(i));
+    }
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getX(i));
+    }
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getY(i));
+    }
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getHeading(i));
+    }
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(packed.getCurvature(i));
+    }
+    buffer.flip();
+
+    try (FileOutputStream stream = new FileOutputStream(file);
+         FileChannel channel = stream.getChannel()) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Reads the fingerprint stored in a trajectory file without loading the states.
+   *
+   * @param file The file to read.
+   * @return The fingerprint.
+   * @throws IOException If the file can not be read or is not a trajectory file.
+   */
+  public static long readFingerprint(File file) throws IOException {
+    try (FileInputStream stream = new FileInputStream(file);
+         FileChannel channel = stream.getChannel()) {
+      ByteBuffer header = ByteBuffer.allocate(kHeaderBytes).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header) < 0) {
+          throw new IOException("Trajectory file is truncated: " + file);
+        }
+      }
+      header.flip();
+      checkHeader(header, file);
+      return header.getLong(8);
+    }
+  }
+
+  /**
+   * Reads a trajectory from a file.
+   *
+   * @param file The file to read.
+   * @return The trajectory.
+   * @throws IOException If the file can not be read or is not a trajectory file.
+   */
+  public static PackedTrajectory read(File file) throws IOException {
+    try (FileInputStream stream = new FileInputStream(file);
+         FileChannel channel = stream.getChannel()) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+    }
+  }
+
+  /**
+   * Reads a trajectory from a Java resource, such as one packaged by
+   * {@link TrajectoryPrecompiler}. Resources can not be memory-mapped, so the
+   * resource is read into a buffer first.
+   *
+   * @param name The name of the resource, for example {@code "trajectories/red.traj"}.
+   * @return The trajectory.
+   * @throws IOException If the resource is missing or is not a trajectory file.
+   */
+  public static PackedTrajectory readResource(String name) throws IOException {
+    return read(readResourceBytes(name), name);
+  }
+
+  private static ByteBuffer readResourceBytes(String name) throws IOException {
+    try (InputStream stream = TrajectoryFile.class.getClassLoader().getResourceAsStream(name)) {
+      if (stream == null) {
+        throw new FileNotFoundException("No trajectory resource named " + name);
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      byte[] chunk = new byte[8192];
+      int read;
+      while ((read = stream.read(chunk)) >= 0) {
+        bytes.write(chunk, 0, read);
+      }
+      return ByteBuffer.wrap(bytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+  }
+
+  private static PackedTrajectory read(ByteBuffer buffer, Object source) throws IOException {
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < kHeaderBytes) {
+      throw new IOException("Trajectory file is truncated: " + source);
+    }
+    checkHeader(buffer, source);
+
+    int count = buffer.getInt(16);
+    if (count < 1 || (buffer.remaining() - kHeaderBytes) / 8 / kColumns < count) {
+      throw new IOException("Trajectory file is truncated: " + source);
+    }
+
+    buffer.position(kHeaderBytes);
+    DoubleBuffer values = buffer.asDoubleBuffer();
+    double[] times = new double[count];
+    double[] velocities = new double[count];
+    double[] accelerations = new double[count];
+    double[] xs = new double[count];
+    double[] ys = new double[count];
+    double[] headings = new double[count];
+    double[] curvatures = new double[count];
+    values.get(times);
+    values.get(velocities);
+    values.get(accelerations);
+    values.get(xs);
+    values.get(ys);
+    values.get(headings);
+    values.get(curvatures);
+
+    return new PackedTrajectory(times, velocities, accelerations, xs, ys, headings, curvatures);
+  }
+
+  /**
+   * Loads a trajectory from a file if it was generated from the given inputs,
+   * and otherwise generates it and writes it to the file for next time. A file
+   * that is missing, unreadable or out of date is never an error; failing to
+   * write the new file is ignored as well.
+   *
+   * @param file      The file the trajectory is stored in.
+   * @param key       The inputs the trajectory is generated from.
+   * @param generator Generates the trajectory when the file can not be used.
+   * @return The trajectory.
+   */
+  public static Trajectory loadOrGenerate(File file, TrajectoryKey key,
+                                          Supplier<Trajectory> generator) {
+    long fingerprint = key.fingerprint();
+    if (file.isFile()) {
+      try {
+        if (readFingerprint(file) == fingerprint) {
+          return read(file);
+        }
+      } catch (IOException e) {
+        // Fall through and regenerate.
+      }
+    }
+
+    Trajectory trajectory = generator.get();
+    try {
+      write(trajectory, fingerprint, file);
+    } catch (IOException e) {
+      // The trajectory is still usable, it will just be generated again next time.
+    }
+    return trajectory;
+  }
+
+  /**
+   * Loads a precompiled trajectory from a Java resource if it was generated from the
+   * given inputs, and otherwise generates it. Resources are read-only, so a trajectory
+   * that had to be generated is not saved.
+   *
+   * @param resource  The name of the resource, for example {@code "trajectories/red.traj"}.
+   * @param key       The inputs the trajectory is generated from.
+   * @param generator Generates the trajectory when the resource can not be used.
+   * @return The trajectory.
+   */
+  public static Trajectory loadOrGenerate(String resource, TrajectoryKey key,
+                                          Supplier<Trajectory> generator) {
+    try {
+      ByteBuffer bytes = readResourceBytes(resource);
+      if (bytes.remaining() >= kHeaderBytes && bytes.getLong(8) == key.fingerprint()) {
+        return read(bytes, resource);
+      }
+    } catch (IOException e) {
+      // Fall through and regenerate.
+    }
+    return generator.get();
+  }
+
+  /**
+   * Loads a trajectory through a list of poses from a file, or generates it if
+   * the file is missing or was generated from different inputs.
+   *
+   * @param file      The file the trajectory is stored in.
+   * @param waypoints The waypoints of the trajectory.
+   * @param config    The configuration of the trajectory.
+   * @return The trajectory.
+   * @see #loadOrGenerate(File, TrajectoryKey, Supplier)
+   */
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  public static Trajectory loadOrGenerate(File file, List<Pose2d> waypoints,
+                                          TrajectoryConfig config) {
+    return loadOrGenerate(file, TrajectoryKey.of(waypoints, config),
+        () -> TrajectoryGenerator.generatePackedTrajectory(waypoints, config));
+  }
+
+  private static void checkHeader(ByteBuffer header, Object file) throws IOException {
+    if (header.getInt(0) != kMagic) {
+      throw new IOException("Not a trajectory file: " + file);
+    }
+    int version = header.getInt(4);
+    if (version != kVersion) {
+      throw new IOException("Unsupported trajectory file version " + version + ": " + file);
+    }
+  }
+}
@@ -22,7 +22,10 @@ import com.arcrobotics.ftclib.spline.SplineParameterizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiConsumer;
 
 public final class TrajectoryGenerator {
@@ -72,6 +75,39 @@ public final class TrajectoryGenerator {
       List<Translation2d> interiorWaypoints,
       Spline.ControlVector end,
       TrajectoryConfig config
+  ) {
+    return generate(initial, interiorWaypoints, end, config, false);
+  }
+
+  /**
+   * Generates a packed trajectory from the given control vectors and config. The
+   * trajectory is the same as the one from
+   * {@link #generateTrajectory(Spline.ControlVector, List, Spline.ControlVector, TrajectoryConfig)},
+   * but its states are kept in primitive arrays; see {@link PackedTrajectory}.
+   *
+   * @param initial           The initial control vector.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end               The ending control vector.
+   * @param config            The configuration for the trajectory.
+   * @return The generated trajectory.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  public static PackedTrajectory generatePackedTrajectory(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config
+  ) {
+    return PackedTrajectory.of(generate(initial, interiorWaypoints, end, config, true));
+  }
+
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  private static Trajectory generate(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config,
+      boolean packed
   ) {
     final Transform2d flip = new Transform2d(new Translation2d(), Rotation2d.fromDegrees(180.0));
 
@@ -91,7 +127,7 @@ public final class TrajectoryGenerator {
     List<PoseWithCurvature> points;
     try {
       points = splinePointsFromSplines(SplineHelper.getCubicSplinesFromControlVectors(newInitial,
-          interiorWaypoints.toArray(new Translation2d[0]), newEnd));
+          interiorWaypoints.toArray(new Translation2d[0]), newEnd), config.isParallel());
     } catch (SplineParameterizer.MalformedSplineException ex) {
       if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
         reportError(ex.getMessage(), ex.getStackTrace());
@@ -108,9 +144,10 @@ public final class TrajectoryGenerator {
     }
 
     // Generate and return trajectory.
-    return TrajectoryParameterizer.timeParameterizeTrajectory(points, config.getConstraints(),
-        config.getStartVelocity(), config.getEndVelocity(), config.getMaxVelocity(),
-        config.getMaxAcceleration(), config.isReversed());
+    PackedTrajectory trajectory = TrajectoryParameterizer.timeParameterizePackedTrajectory(
+        points, config.getConstraints(), config.getStartVelocity(), config.getEndVelocity(),
+        config.getMaxVelocity(), config.getMaxAcceleration(), config.isReversed());
+    return packed ? trajectory : trajectory.unpack();
   }
 
   /**
@@ -138,6 +175,28 @@ public final class TrajectoryGenerator {
     return generateTrajectory(controlVectors[0], interiorWaypoints, controlVectors[1], config);
   }
 
+  /**
+   * Generates a packed trajectory from the given waypoints and config; see
+   * {@link #generateTrajectory(Pose2d, List, Pose2d, TrajectoryConfig)}.
+   *
+   * @param start             The starting pose.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end               The ending pose.
+   * @param config            The configuration for the trajectory.
+   * @return The generated trajectory.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  public static PackedTrajectory generatePackedTrajectory(
+      Pose2d start, List<Translation2d> interiorWaypoints, Pose2d end,
+      TrajectoryConfig config
+  ) {
+    Spline.ControlVector[] controlVectors = SplineHelper.getCubicControlVectorsFromWaypoints(
+        start, interiorWaypoints.toArray(new Translation2d[0]), end
+    );
+    return generatePackedTrajectory(controlVectors[0], interiorWaypoints, controlVectors[1],
+        config);
+  }
+
   /**
    * Generates a trajectory from the given quintic control vectors and config. This method
    * uses quintic hermite splines -- therefore, all points must be represented by control
@@ -148,10 +207,35 @@ public final class TrajectoryGenerator {
    * @return The generated trajectory.
    */
   @RequiresApi(api = Build.VERSION_CODES.N)
-  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
   public static Trajectory generateTrajectory(
       ControlVectorList controlVectors,
       TrajectoryConfig config
+  ) {
+    return generate(controlVectors, config, false);
+  }
+
+  /**
+   * Generates a packed trajectory from the given quintic control vectors and config;
+   * see {@link #generateTrajectory(ControlVectorList, TrajectoryConfig)}.
+   *
+   * @param controlVectors List of quintic control vectors.
+   * @param config         The configuration for the trajectory.
+   * @return The generated trajectory.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  public static PackedTrajectory generatePackedTrajectory(
+      ControlVectorList controlVectors,
+      TrajectoryConfig config
+  ) {
+    return PackedTrajectory.of(generate(controlVectors, config, true));
+  }
+
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  private static Trajectory generate(
+      ControlVectorList controlVectors,
+      TrajectoryConfig config,
+      boolean packed
   ) {
     final Transform2d flip = new Transform2d(new Translation2d(), Rotation2d.fromDegrees(180.0));
     final ArrayList<Spline.ControlVector> newControlVectors = new ArrayList<Spline.ControlVector>(controlVectors.size());
@@ -171,7 +255,7 @@ public final class TrajectoryGenerator {
     try {
       points = splinePointsFromSplines(SplineHelper.getQuinticSplinesFromControlVectors(
           newControlVectors.toArray(new Spline.ControlVector[]{})
-      ));
+      ), config.isParallel());
     } catch (SplineParameterizer.MalformedSplineException ex) {
       if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
         reportError(ex.getMessage(), ex.getStackTrace());
@@ -188,9 +272,10 @@ public final class TrajectoryGenerator {
     }
 
     // Generate and return trajectory.
-    return TrajectoryParameterizer.timeParameterizeTrajectory(points, config.getConstraints(),
-        config.getStartVelocity(), config.getEndVelocity(), config.getMaxVelocity(),
-        config.getMaxAcceleration(), config.isReversed());
+    PackedTrajectory trajectory = TrajectoryParameterizer.timeParameterizePackedTrajectory(
+        points, config.getConstraints(), config.getStartVelocity(), config.getEndVelocity(),
+        config.getMaxVelocity(), config.getMaxAcceleration(), config.isReversed());
+    return packed ? trajectory : trajectory.unpack();
 
   }
 
@@ -211,6 +296,23 @@ public final class TrajectoryGenerator {
     return generateTrajectory(newList, config);
   }
 
+  /**
+   * Generates a packed trajectory from the given waypoints and config; see
+   * {@link #generateTrajectory(List, TrajectoryConfig)}. Use it when the trajectory
+   * is sampled in a loop or stored, since it holds seven doubles per state.
+   *
+   * @param waypoints List of waypoints.
+   * @param config    The configuration for the trajectory.
+   * @return The generated trajectory.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  public static PackedTrajectory generatePackedTrajectory(List<Pose2d> waypoints,
+                                                          TrajectoryConfig config) {
+    return generatePackedTrajectory(
+        new ControlVectorList(SplineHelper.getQuinticControlVectorsFromWaypoints(waypoints)),
+        config);
+  }
+
   /**
    * Generate spline points from a vector of splines by parameterizing the
    * splines.
@@ -222,25 +324,84 @@ public final class TrajectoryGenerator {
    */
   public static List<PoseWithCurvature> splinePointsFromSplines(
       Spline[] splines) {
-    // Create the vector of spline points.
-    ArrayList<PoseWithCurvature> splinePoints = new ArrayList<PoseWithCurvature>();
+    return splinePointsFromSplines(splines, false);
+  }
+
+  /**
+   * Generate spline points from a vector of splines by parameterizing the
+   * splines. Each spline is parameterized independently, so in parallel mode the
+   * splines are split across the common fork-join pool. The result is the same
+   * in either mode.
+   *
+   * @param splines  The splines to parameterize.
+   * @param parallel Whether to parameterize the splines concurrently.
+   * @return The spline points for use in time parameterization of a trajectory.
+   * @throws SplineParameterizer.MalformedSplineException When the spline is malformed (e.g. has close adjacent points
+   *                                  with approximately opposing headings)
+   */
+  public static List<PoseWithCurvature> splinePointsFromSplines(
+      Spline[] splines, boolean parallel) {
+    // Parameterize every spline into its own slot.
+    List<List<PoseWithCurvature>> segments =
+        new ArrayList<>(Collections.<List<PoseWithCurvature>>nCopies(splines.length, null));
+    if (parallel && splines.length > 1) {
+      ForkJoinPool.commonPool().invoke(new ParameterizeTask(splines, segments, 0, splines.length));
+    } else {
+      for (int i = 0; i < splines.length; i++) {
+        segments.set(i, SplineParameterizer.parameterize(splines[i]));
+      }
+    }
+
+    // Each segment starts with the last point of the previous one, so the
+    // duplicates are left out.
+    int size = 1;
+    for (List<PoseWithCurvature> segment : segments) {
+      size += segment.size() - 1;
+    }
+
+    // Create the vector of spline points, presized for every segment.
+    ArrayList<PoseWithCurvature> splinePoints = new ArrayList<PoseWithCurvature>(size);
 
     // Add the first point to the vector.
     splinePoints.add(splines[0].getPoint(0.0));
 
-    // Iterate through the vector and parameterize each spline, adding the
-    // parameterized points to the final vector.
-    for (final Spline spline : splines) {
-      List<PoseWithCurvature> points = SplineParameterizer.parameterize(spline);
-
-      // Append the array of poses to the vector. We are removing the first
-      // point because it's a duplicate of the last point from the previous
-      // spline.
-      splinePoints.addAll(points.subList(1, points.size()));
+    for (List<PoseWithCurvature> segment : segments) {
+      splinePoints.addAll(segment.subList(1, segment.size()));
     }
     return splinePoints;
   }
 
+  /**
+   * Parameterizes a range of splines, splitting it in half until one spline is left.
+   */
+  private static final class ParameterizeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Spline[] m_splines;
+    private final List<List<PoseWithCurvature>> m_segments;
+    private final int m_from;
+    private final int m_to;
+
+    ParameterizeTask(Spline[] splines, List<List<PoseWithCurvature>> segments, int from, int to) {
+      m_splines = splines;
+      m_segments = segments;
+      m_from = from;
+      m_to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (m_to - m_from == 1) {
+        // Each task writes its own index, and invokeAll publishes the writes.
+        m_segments.set(m_from, SplineParameterizer.parameterize(m_splines[m_from]));
+        return;
+      }
+      int mid = (m_from + m_to) >>> 1;
+      invokeAll(new ParameterizeTask(m_splines, m_segments, m_from, mid),
+          new ParameterizeTask(m_splines, m_segments, mid, m_to));
+    }
+  }
+
   // Work around type erasure signatures
   public static class ControlVectorList extends ArrayList<Spline.ControlVector> {
     public ControlVectorList(int initialCapacity) {
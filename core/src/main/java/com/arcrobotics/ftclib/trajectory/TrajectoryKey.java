@@ -0,0 +1,218 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.spline.Spline;
+import com.arcrobotics.ftclib.trajectory.constraint.TrajectoryConstraint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the inputs to {@link TrajectoryGenerator}: the waypoints
+ * and every setting of the {@link TrajectoryConfig}, including its constraints.
+ * Two keys are equal when the generator would produce the same trajectory from them.
+ *
+ * <p>The waypoints and config are copied when the key is built, so changing the
+ * config afterwards does not change the key. Constraints are compared with
+ * {@code equals}. The constraints in FTCLib compare by value; a custom constraint
+ * that does not override {@code equals} only matches itself.
+ */
+public final class TrajectoryKey {
+  // Which generateTrajectory overload the waypoints are for.
+  private static final int kPoses = 0;
+  private static final int kInteriorTranslations = 1;
+  private static final int kCubicControlVectors = 2;
+  private static final int kQuinticControlVectors = 3;
+
+  // The fingerprint rounds values to multiples of one over this scale.
+  private static final double kFingerprintScale = 1E9;
+
+  private final int m_kind;
+  private final double[] m_waypoints;
+  private final double[] m_settings;
+  private final List<TrajectoryConstraint> m_constraints;
+  private final int m_hashCode;
+
+  private TrajectoryKey(int kind, double[] waypoints, TrajectoryConfig config) {
+    m_kind = kind;
+    m_waypoints = waypoints;
+    m_settings = new double[] {
+        config.getMaxVelocity(),
+        config.getMaxAcceleration(),
+        config.getStartVelocity(),
+        config.getEndVelocity(),
+        config.isReversed() ? 1 : 0
+    };
+    m_constraints = new ArrayList<>(config.getConstraints());
+    m_hashCode = 31 * (31 * (31 * m_kind + Arrays.hashCode(m_waypoints))
+        + Arrays.hashCode(m_settings)) + m_constraints.hashCode();
+  }
+
+  /**
+   * Builds the key for a trajectory through a list of poses.
+   *
+   * @param waypoints The waypoints of the trajectory.
+   * @param config    The configuration of the trajectory.
+   * @return The key.
+   */
+  public static TrajectoryKey of(List<Pose2d> waypoints, TrajectoryConfig config) {
+    double[] values = new double[waypoints.size() * 3];
+    for (int i = 0; i < waypoints.size(); i++) {
+      Pose2d pose = waypoints.get(i);
+      values[i * 3] = pose.getX();
+      values[i * 3 + 1] = pose.getY();
+      values[i * 3 + 2] = pose.getHeading();
+    }
+    return new TrajectoryKey(kPoses, values, config);
+  }
+
+  /**
+   * Builds the key for a clamped cubic trajectory between two poses.
+   *
+   * @param start             The starting pose.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end               The ending pose.
+   * @param config            The configuration of the trajectory.
+   * @return The key.
+   */
+  public static TrajectoryKey of(Pose2d start, List<Translation2d> interiorWaypoints,
+                                 Pose2d end, TrajectoryConfig config) {
+    double[] values = new double[6 + interiorWaypoints.size() * 2];
+    values[0] = start.getX();
+    values[1] = start.getY();
+    values[2] = start.getHeading();
+    values[3] = end.getX();
+    values[4] = end.getY();
+    values[5] = end.getHeading();
+    for (int i = 0; i < interiorWaypoints.size(); i++) {
+      values[6 + i * 2] = interiorWaypoints.get(i).getX();
+      values[7 + i * 2] = interiorWaypoints.get(i).getY();
+    }
+    return new TrajectoryKey(kInteriorTranslations, values, config);
+  }
+
+  /**
+   * Builds the key for a clamped cubic trajectory defined by control vectors.
+   *
+   * @param initial           The initial control vector.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end               The ending control vector.
+   * @param config            The configuration of the trajectory.
+   * @return The key.
+   */
+  public static TrajectoryKey of(Spline.ControlVector initial,
+                                 List<Translation2d> interiorWaypoints,
+                                 Spline.ControlVector end, TrajectoryConfig config) {
+    double[] values = new double[size(initial) + size(end) + interiorWaypoints.size() * 2];
+    int index = put(values, 0, initial);
+    index = put(values, index, end);
+    for (Translation2d waypoint : interiorWaypoints) {
+      values[index++] = waypoint.getX();
+      values[index++] = waypoint.getY();
+    }
+    return new TrajectoryKey(kCubicControlVectors, values, config);
+  }
+
+  /**
+   * Builds the key for a quintic trajectory defined by control vectors.
+   *
+   * @param controlVectors The control vectors.
+   * @param config         The configuration of the trajectory.
+   * @return The key.
+   */
+  public static TrajectoryKey of(TrajectoryGenerator.ControlVectorList controlVectors,
+                                 TrajectoryConfig config) {
+    int size = 0;
+    for (Spline.ControlVector vector : controlVectors) {
+      size += size(vector);
+    }
+    double[] values = new double[size];
+    int index = 0;
+    for (Spline.ControlVector vector : controlVectors) {
+      index = put(values, index, vector);
+    }
+    return new TrajectoryKey(kQuinticControlVectors, values, config);
+  }
+
+  private static int size(Spline.ControlVector vector) {
+    return 1 + vector.x.length + vector.y.length;
+  }
+
+  /**
+   * Flattens a control vector into the array, returning the next free index.
+   */
+  private static int put(double[] values, int index, Spline.ControlVector vector) {
+    // The length keeps differently shaped vectors from flattening to the same values.
+    values[index++] = vector.x.length;
+    for (double x : vector.x) {
+      values[index++] = x;
+    }
+    for (double y : vector.y) {
+      values[index++] = y;
+    }
+    return index;
+  }
+
+  /**
+   * Returns a 64-bit fingerprint of the key. Unlike {@link #hashCode()}, the fingerprint
+   * is the same on every run of the program, as long as the constraints have a
+   * value-based {@code hashCode}, so it can be stored alongside a saved trajectory.
+   * Values are rounded before they are hashed, so keys whose values differ by a
+   * few ulps, for example when built on a different JVM, share a fingerprint.
+   *
+   * @return The fingerprint.
+   */
+  public long fingerprint() {
+    // FNV-1a over every value, rounded to a multiple of 1e-9. Rounding keeps the
+    // last bits out of the fingerprint, which differ between platforms for values
+    // like the radians of Rotation2d.fromDegrees: JDK 9+ and Java 8 compute
+    // Math.toRadians differently.
+    long hash = 0xcbf29ce484222325L;
+    hash = mix(hash, m_kind);
+    for (double value : m_waypoints) {
+      hash = mix(hash, quantize(value));
+    }
+    for (double value : m_settings) {
+      hash = mix(hash, quantize(value));
+    }
+    for (TrajectoryConstraint constraint : m_constraints) {
+      hash = mix(hash, constraint.getClass().getName().hashCode());
+      hash = mix(hash, constraint.hashCode());
+    }
+    return hash;
+  }
+
+  private static long quantize(double value) {
+    return Math.round(value * kFingerprintScale);
+  }
+
+  private static long mix(long hash, long value) {
+    for (int i = 0; i < 8; i++) {
+      hash ^= (value >>> (i * 8)) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof TrajectoryKey)) {
+      return false;
+    }
+    TrajectoryKey other = (TrajectoryKey) obj;
+    return m_kind == other.m_kind
+        && Arrays.equals(m_waypoints, other.m_waypoints)
+        && Arrays.equals(m_settings, other.m_settings)
+        && m_constraints.equals(other.m_constraints);
+  }
+
+  @Override
+  public int hashCode() {
+    return m_hashCode;
+  }
+}
@@ -31,15 +31,28 @@
 
 package com.arcrobotics.ftclib.trajectory;
 
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
 import com.arcrobotics.ftclib.spline.PoseWithCurvature;
+import com.arcrobotics.ftclib.trajectory.constraint.BatchTrajectoryConstraint;
 import com.arcrobotics.ftclib.trajectory.constraint.TrajectoryConstraint;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
 /**
  * Class used to parameterize a trajectory by time.
+ *
+ * <p>The state of every point is kept in primitive arrays. The
+ * {@code timeParameterizePackedTrajectory} methods return a {@link PackedTrajectory}
+ * built directly from them; {@code timeParameterizeTrajectory} returns a regular
+ * {@link Trajectory} with the same states. Constraints that implement
+ * {@link BatchTrajectoryConstraint} and are
+ * {@link BatchTrajectoryConstraint#isBatchable() batchable} have their velocity
+ * limits evaluated for the whole path in one call before the passes begin, and their acceleration limits
+ * evaluated without allocating. Other constraints are called point by point.
  */
 public final class TrajectoryParameterizer {
   /**
@@ -69,9 +82,6 @@ public final class TrajectoryParameterizer {
    *                                         waypoints.
    * @return The trajectory.
    */
-  @SuppressWarnings({"PMD.ExcessiveMethodLength", "PMD.CyclomaticComplexity",
-      "PMD.NPathComplexity", "PMD.AvoidInstantiatingObjectsInLoops",
-      "PMD.AvoidThrowingRawExceptionTypes"})
   public static Trajectory timeParameterizeTrajectory(
       List<PoseWithCurvature> points,
       List<TrajectoryConstraint> constraints,
@@ -81,224 +91,378 @@ public final class TrajectoryParameterizer {
       double maxAccelerationMetersPerSecondSq,
       boolean reversed
   ) {
-    ArrayList<ConstrainedState> constrainedStates = new ArrayList<ConstrainedState>(points.size());
-    ConstrainedState predecessor = new ConstrainedState(points.get(0), 0, startVelocityMetersPerSecond,
-        -maxAccelerationMetersPerSecondSq, maxAccelerationMetersPerSecondSq);
-
-    // Forward pass
-    for (int i = 0; i < points.size(); i++) {
-      constrainedStates.add(new ConstrainedState());
-      ConstrainedState constrainedState = constrainedStates.get(i);
-      constrainedState.pose = points.get(i);
-
-      // Begin constraining based on predecessor.
-      double ds = constrainedState.pose.poseMeters.getTranslation().getDistance(
-          predecessor.pose.poseMeters.getTranslation());
-      constrainedState.distanceMeters = predecessor.distanceMeters + ds;
-
-      // We may need to iterate to find the maximum end velocity and common
-      // acceleration, since acceleration limits may be a function of velocity.
-      while (true) {
-        // Enforce global max velocity and max reachable velocity by global
-        // acceleration limit. vf = std::sqrt(vi^2 + 2*a*d).
-        constrainedState.maxVelocityMetersPerSecond = Math.min(
-            maxVelocityMetersPerSecond,
-            Math.sqrt(predecessor.maxVelocityMetersPerSecond
-                * predecessor.maxVelocityMetersPerSecond
-                + predecessor.maxAccelerationMetersPerSecondSq * ds * 2.0)
-        );
-
-        constrainedState.minAccelerationMetersPerSecondSq = -maxAccelerationMetersPerSecondSq;
-        constrainedState.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
-
-        // At this point, the constrained state is fully constructed apart from
-        // all the custom-defined user constraints.
-        for (final TrajectoryConstraint constraint : constraints) {
-          constrainedState.maxVelocityMetersPerSecond = Math.min(
-              constrainedState.maxVelocityMetersPerSecond,
-              constraint.getMaxVelocityMetersPerSecond(
-                  constrainedState.pose.poseMeters, constrainedState.pose.curvatureRadPerMeter,
-                  constrainedState.maxVelocityMetersPerSecond)
-          );
-        }
+    return timeParameterizePackedTrajectory(points, constraints, startVelocityMetersPerSecond,
+        endVelocityMetersPerSecond, maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq,
+        reversed).unpack();
+  }
 
-        // Now enforce all acceleration limits.
-        enforceAccelerationLimits(reversed, constraints, constrainedState);
+  /**
+   * Parameterize the trajectory by time, keeping the states in primitive arrays.
+   * The trajectory is the same as the one from
+   * {@link #timeParameterizeTrajectory(List, List, double, double, double, double, boolean)}.
+   *
+   * @param points                           Reference to the spline points.
+   * @param constraints                      A vector of various velocity and acceleration.
+   *                                         constraints.
+   * @param startVelocityMetersPerSecond     The start velocity for the trajectory.
+   * @param endVelocityMetersPerSecond       The end velocity for the trajectory.
+   * @param maxVelocityMetersPerSecond       The max velocity for the trajectory.
+   * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+   * @param reversed                         Whether the robot should move backwards.
+   * @return The trajectory.
+   */
+  public static PackedTrajectory timeParameterizePackedTrajectory(
+      List<PoseWithCurvature> points,
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed
+  ) {
+    final int size = points.size();
+    double[] xs = new double[size];
+    double[] ys = new double[size];
+    double[] headings = new double[size];
+    double[] curvatures = new double[size];
+    Pose2d[] poses = new Pose2d[size];
+    for (int i = 0; i < size; i++) {
+      PoseWithCurvature point = points.get(i);
+      poses[i] = point.poseMeters;
+      xs[i] = point.poseMeters.getX();
+      ys[i] = point.poseMeters.getY();
+      headings[i] = point.poseMeters.getHeading();
+      curvatures[i] = point.curvatureRadPerMeter;
+    }
 
-        if (ds < 1E-6) {
-          break;
-        }
+    return new Parameterization(xs, ys, headings, curvatures, poses, constraints, reversed)
+        .run(startVelocityMetersPerSecond, endVelocityMetersPerSecond,
+            maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq);
+  }
 
-        // If the actual acceleration for this state is higher than the max
-        // acceleration that we applied, then we need to reduce the max
-        // acceleration of the predecessor and try again.
-        double actualAcceleration = (constrainedState.maxVelocityMetersPerSecond
-            * constrainedState.maxVelocityMetersPerSecond
-            - predecessor.maxVelocityMetersPerSecond * predecessor.maxVelocityMetersPerSecond)
-            / (ds * 2.0);
-
-        // If we violate the max acceleration constraint, let's modify the
-        // predecessor.
-        if (constrainedState.maxAccelerationMetersPerSecondSq < actualAcceleration - 1E-6) {
-          predecessor.maxAccelerationMetersPerSecondSq
-              = constrainedState.maxAccelerationMetersPerSecondSq;
-        } else {
-          // Constrain the predecessor's max acceleration to the current
-          // acceleration.
-          if (actualAcceleration > predecessor.minAccelerationMetersPerSecondSq) {
-            predecessor.maxAccelerationMetersPerSecondSq = actualAcceleration;
+  /**
+   * Parameterize a path given as primitive arrays by time. The arrays become the
+   * columns of the returned trajectory and must not be modified afterwards.
+   *
+   * @param xs                               The x position of each point.
+   * @param ys                               The y position of each point.
+   * @param headings                         The heading of each point, in radians.
+   * @param curvatures                       The curvature of each point.
+   * @param constraints                      A vector of various velocity and acceleration.
+   *                                         constraints.
+   * @param startVelocityMetersPerSecond     The start velocity for the trajectory.
+   * @param endVelocityMetersPerSecond       The end velocity for the trajectory.
+   * @param maxVelocityMetersPerSecond       The max velocity for the trajectory.
+   * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+   * @param reversed                         Whether the robot should move backwards.
+   * @return The trajectory.
+   * @see #timeParameterizePackedTrajectory(List, List, double, double, double, double, boolean)
+   */
+  @SuppressWarnings("ParameterName")
+  public static PackedTrajectory timeParameterizePackedTrajectory(
+      double[] xs, double[] ys, double[] headings, double[] curvatures,
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed
+  ) {
+    return new Parameterization(xs, ys, headings, curvatures, null, constraints, reversed)
+        .run(startVelocityMetersPerSecond, endVelocityMetersPerSecond,
+            maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq);
+  }
+
+  /**
+   * The working state of one parameterization. Index 0 of the state arrays is the
+   * predecessor of the first point, which carries the start velocity, and index
+   * {@code size + 1} is the successor of the last point, which carries the end
+   * velocity. Point i of the path is at index i + 1.
+   */
+  @SuppressWarnings("MemberName")
+  private static final class Parameterization {
+    private final double[] m_xs;
+    private final double[] m_ys;
+    private final double[] m_headings;
+    private final double[] m_curvatures;
+    private Pose2d[] m_poses;
+    private final boolean m_reversed;
+    private final int m_size;
+
+    private final List<BatchTrajectoryConstraint> m_batchConstraints = new ArrayList<>();
+    private final List<BatchTrajectoryConstraint> m_accelerationConstraints = new ArrayList<>();
+    private final List<TrajectoryConstraint> m_constraints = new ArrayList<>();
+
+    private final double[] m_distance;
+    private final double[] m_maxVelocity;
+    private final double[] m_minAcceleration;
+    private final double[] m_maxAcceleration;
+
+    // The velocity limit of each point from the batch constraints.
+    private final double[] m_velocityLimit;
+
+    // Scratch arrays for batch acceleration limits, indexed like the points.
+    private final double[] m_signedVelocity;
+    private final double[] m_constraintMinAcceleration;
+    private final double[] m_constraintMaxAcceleration;
+
+    Parameterization(double[] xs, double[] ys, double[] headings, double[] curvatures,
+                     Pose2d[] poses, List<TrajectoryConstraint> constraints, boolean reversed) {
+      m_xs = xs;
+      m_ys = ys;
+      m_headings = headings;
+      m_curvatures = curvatures;
+      m_poses = poses;
+      m_reversed = reversed;
+      m_size = xs.length;
+
+      for (TrajectoryConstraint constraint : constraints) {
+        if (constraint instanceof BatchTrajectoryConstraint
+            && ((BatchTrajectoryConstraint) constraint).isBatchable()) {
+          BatchTrajectoryConstraint batch = (BatchTrajectoryConstraint) constraint;
+          m_batchConstraints.add(batch);
+          if (batch.limitsAcceleration()) {
+            m_accelerationConstraints.add(batch);
           }
-          // If the actual acceleration is less than the predecessor's min
-          // acceleration, it will be repaired in the backward pass.
-          break;
+        } else {
+          m_constraints.add(constraint);
         }
       }
-      predecessor = constrainedState;
-    }
 
-    ConstrainedState successor = new ConstrainedState(points.get(points.size() - 1),
-        constrainedStates.get(constrainedStates.size() - 1).distanceMeters,
-        endVelocityMetersPerSecond,
-        -maxAccelerationMetersPerSecondSq, maxAccelerationMetersPerSecondSq);
-
-    // Backward pass
-    for (int i = points.size() - 1; i >= 0; i--) {
-      ConstrainedState constrainedState = constrainedStates.get(i);
-      double ds = constrainedState.distanceMeters - successor.distanceMeters; // negative
-
-      while (true) {
-        // Enforce max velocity limit (reverse)
-        // vf = std::sqrt(vi^2 + 2*a*d), where vi = successor.
-        double newMaxVelocity = Math.sqrt(
-            successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond
-                + successor.minAccelerationMetersPerSecondSq * ds * 2.0
-        );
-
-        // No more limits to impose! This state can be finalized.
-        if (newMaxVelocity >= constrainedState.maxVelocityMetersPerSecond) {
-          break;
-        }
+      m_distance = new double[m_size + 2];
+      m_maxVelocity = new double[m_size + 2];
+      m_minAcceleration = new double[m_size + 2];
+      m_maxAcceleration = new double[m_size + 2];
 
-        constrainedState.maxVelocityMetersPerSecond = newMaxVelocity;
+      m_velocityLimit = new double[m_size];
+      Arrays.fill(m_velocityLimit, Double.POSITIVE_INFINITY);
+      for (BatchTrajectoryConstraint constraint : m_batchConstraints) {
+        constraint.constrainVelocities(m_xs, m_ys, m_headings, m_curvatures, 0, m_size,
+            m_velocityLimit);
+      }
 
-        // Check all acceleration constraints with the new max velocity.
-        enforceAccelerationLimits(reversed, constraints, constrainedState);
+      boolean batchAcceleration = !m_accelerationConstraints.isEmpty();
+      m_signedVelocity = batchAcceleration ? new double[m_size] : null;
+      m_constraintMinAcceleration = batchAcceleration ? new double[m_size] : null;
+      m_constraintMaxAcceleration = batchAcceleration ? new double[m_size] : null;
 
-        if (ds > -1E-6) {
-          break;
-        }
-
-        // If the actual acceleration for this state is lower than the min
-        // acceleration, then we need to lower the min acceleration of the
-        // successor and try again.
-        double actualAcceleration = (constrainedState.maxVelocityMetersPerSecond
-            * constrainedState.maxVelocityMetersPerSecond
-            - successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond)
-            / (ds * 2.0);
-
-        if (constrainedState.minAccelerationMetersPerSecondSq > actualAcceleration + 1E-6) {
-          successor.minAccelerationMetersPerSecondSq
-              = constrainedState.minAccelerationMetersPerSecondSq;
-        } else {
-          successor.minAccelerationMetersPerSecondSq = actualAcceleration;
-          break;
+      // Only constraints without a batch implementation need the poses.
+      if (m_poses == null && !m_constraints.isEmpty()) {
+        m_poses = new Pose2d[m_size];
+        for (int i = 0; i < m_size; i++) {
+          m_poses[i] = new Pose2d(m_xs[i], m_ys[i], new Rotation2d(m_headings[i]));
         }
       }
-      successor = constrainedState;
     }
 
-    // Now we can integrate the constrained states forward in time to obtain our
-    // trajectory states.
-    ArrayList<Trajectory.State> states = new ArrayList<Trajectory.State>(points.size());
-    double timeSeconds = 0.0;
-    double distanceMeters = 0.0;
-    double velocityMetersPerSecond = 0.0;
-
-    for (int i = 0; i < constrainedStates.size(); i++) {
-      final ConstrainedState state = constrainedStates.get(i);
-
-      // Calculate the change in position between the current state and the previous
-      // state.
-      double ds = state.distanceMeters - distanceMeters;
-
-      // Calculate the acceleration between the current state and the previous
-      // state.
-      double accel = (state.maxVelocityMetersPerSecond * state.maxVelocityMetersPerSecond
-          - velocityMetersPerSecond * velocityMetersPerSecond) / (ds * 2);
-
-      // Calculate dt
-      double dt = 0.0;
-      if (i > 0) {
-        states.get(i - 1).accelerationMetersPerSecondSq = reversed ? -accel : accel;
-        if (Math.abs(accel) > 1E-6) {
-          // v_f = v_0 + a * t
-          dt = (state.maxVelocityMetersPerSecond - velocityMetersPerSecond) / accel;
-        } else if (Math.abs(velocityMetersPerSecond) > 1E-6) {
-          // delta_x = v * t
-          dt = ds / velocityMetersPerSecond;
-        } else {
-          throw new RuntimeException("Something went wrong");
+    @SuppressWarnings({"PMD.ExcessiveMethodLength", "PMD.CyclomaticComplexity",
+        "PMD.NPathComplexity", "PMD.AvoidThrowingRawExceptionTypes"})
+    PackedTrajectory run(double startVelocityMetersPerSecond,
+                         double endVelocityMetersPerSecond,
+                         double maxVelocityMetersPerSecond,
+                         double maxAccelerationMetersPerSecondSq) {
+      // The predecessor of the first point sits on the first point.
+      m_maxVelocity[0] = startVelocityMetersPerSecond;
+      m_minAcceleration[0] = -maxAccelerationMetersPerSecondSq;
+      m_maxAcceleration[0] = maxAccelerationMetersPerSecondSq;
+
+      // Forward pass
+      for (int i = 1; i <= m_size; i++) {
+        final int predecessor = i - 1;
+
+        // Begin constraining based on predecessor.
+        double ds = Math.hypot(m_xs[i - 1] - m_xs[Math.max(predecessor - 1, 0)],
+            m_ys[i - 1] - m_ys[Math.max(predecessor - 1, 0)]);
+        m_distance[i] = m_distance[predecessor] + ds;
+
+        // We may need to iterate to find the maximum end velocity and common
+        // acceleration, since acceleration limits may be a function of velocity.
+        while (true) {
+          // Enforce global max velocity and max reachable velocity by global
+          // acceleration limit. vf = std::sqrt(vi^2 + 2*a*d).
+          m_maxVelocity[i] = Math.min(
+              maxVelocityMetersPerSecond,
+              Math.sqrt(m_maxVelocity[predecessor] * m_maxVelocity[predecessor]
+                  + m_maxAcceleration[predecessor] * ds * 2.0)
+          );
+
+          m_minAcceleration[i] = -maxAccelerationMetersPerSecondSq;
+          m_maxAcceleration[i] = maxAccelerationMetersPerSecondSq;
+
+          // At this point, the constrained state is fully constructed apart from
+          // all the custom-defined user constraints.
+          m_maxVelocity[i] = Math.min(m_maxVelocity[i], m_velocityLimit[i - 1]);
+          for (final TrajectoryConstraint constraint : m_constraints) {
+            m_maxVelocity[i] = Math.min(
+                m_maxVelocity[i],
+                constraint.getMaxVelocityMetersPerSecond(
+                    m_poses[i - 1], m_curvatures[i - 1], m_maxVelocity[i])
+            );
+          }
+
+          // Now enforce all acceleration limits.
+          enforceAccelerationLimits(i);
+
+          if (ds < 1E-6) {
+            break;
+          }
+
+          // If the actual acceleration for this state is higher than the max
+          // acceleration that we applied, then we need to reduce the max
+          // acceleration of the predecessor and try again.
+          double actualAcceleration = (m_maxVelocity[i] * m_maxVelocity[i]
+              - m_maxVelocity[predecessor] * m_maxVelocity[predecessor])
+              / (ds * 2.0);
+
+          // If we violate the max acceleration constraint, let's modify the
+          // predecessor.
+          if (m_maxAcceleration[i] < actualAcceleration - 1E-6) {
+            m_maxAcceleration[predecessor] = m_maxAcceleration[i];
+          } else {
+            // Constrain the predecessor's max acceleration to the current
+            // acceleration.
+            if (actualAcceleration > m_minAcceleration[predecessor]) {
+              m_maxAcceleration[predecessor] = actualAcceleration;
+            }
+            // If the actual acceleration is less than the predecessor's min
+            // acceleration, it will be repaired in the backward pass.
+            break;
+          }
         }
       }
 
-      velocityMetersPerSecond = state.maxVelocityMetersPerSecond;
-      distanceMeters = state.distanceMeters;
+      // The successor of the last point sits on the last point.
+      final int last = m_size + 1;
+      m_distance[last] = m_distance[m_size];
+      m_maxVelocity[last] = endVelocityMetersPerSecond;
+      m_minAcceleration[last] = -maxAccelerationMetersPerSecondSq;
+      m_maxAcceleration[last] = maxAccelerationMetersPerSecondSq;
+
+      // Backward pass
+      for (int i = m_size; i >= 1; i--) {
+        final int successor = i + 1;
+        double ds = m_distance[i] - m_distance[successor]; // negative
+
+        while (true) {
+          // Enforce max velocity limit (reverse)
+          // vf = std::sqrt(vi^2 + 2*a*d), where vi = successor.
+          double newMaxVelocity = Math.sqrt(
+              m_maxVelocity[successor] * m_maxVelocity[successor]
+                  + m_minAcceleration[successor] * ds * 2.0
+          );
 
-      timeSeconds += dt;
+          // No more limits to impose! This state can be finalized.
+          if (newMaxVelocity >= m_maxVelocity[i]) {
+            break;
+          }
 
-      states.add(new Trajectory.State(
-          timeSeconds,
-          reversed ? -velocityMetersPerSecond : velocityMetersPerSecond,
-          reversed ? -accel : accel,
-          state.pose.poseMeters, state.pose.curvatureRadPerMeter
-      ));
-    }
+          m_maxVelocity[i] = newMaxVelocity;
 
-    return new Trajectory(states);
-  }
+          // Check all acceleration constraints with the new max velocity.
+          enforceAccelerationLimits(i);
 
-  private static void enforceAccelerationLimits(boolean reverse,
-                                                List<TrajectoryConstraint> constraints,
-                                                ConstrainedState state) {
+          if (ds > -1E-6) {
+            break;
+          }
 
-    for (final TrajectoryConstraint constraint : constraints) {
-      double factor = reverse ? -1.0 : 1.0;
-      final TrajectoryConstraint.MinMax minMaxAccel = constraint.getMinMaxAccelerationMetersPerSecondSq(
-          state.pose.poseMeters, state.pose.curvatureRadPerMeter,
-          state.maxVelocityMetersPerSecond * factor);
+          // If the actual acceleration for this state is lower than the min
+          // acceleration, then we need to lower the min acceleration of the
+          // successor and try again.
+          double actualAcceleration = (m_maxVelocity[i] * m_maxVelocity[i]
+              - m_maxVelocity[successor] * m_maxVelocity[successor])
+              / (ds * 2.0);
+
+          if (m_minAcceleration[i] > actualAcceleration + 1E-6) {
+            m_minAcceleration[successor] = m_minAcceleration[i];
+          } else {
+            m_minAcceleration[successor] = actualAcceleration;
+            break;
+          }
+        }
+      }
 
-      state.minAccelerationMetersPerSecondSq = Math.max(state.minAccelerationMetersPerSecondSq,
-          reverse ? -minMaxAccel.maxAccelerationMetersPerSecondSq
-              : minMaxAccel.minAccelerationMetersPerSecondSq);
+      // Now we can integrate the constrained states forward in time to obtain our
+      // trajectory states.
+      double[] times = new double[m_size];
+      double[] velocities = new double[m_size];
+      double[] accelerations = new double[m_size];
+      double timeSeconds = 0.0;
+      double distanceMeters = 0.0;
+      double velocityMetersPerSecond = 0.0;
+
+      for (int i = 0; i < m_size; i++) {
+        final int state = i + 1;
+
+        // Calculate the change in position between the current state and the previous
+        // state.
+        double ds = m_distance[state] - distanceMeters;
+
+        // Calculate the acceleration between the current state and the previous
+        // state.
+        double accel = (m_maxVelocity[state] * m_maxVelocity[state]
+            - velocityMetersPerSecond * velocityMetersPerSecond) / (ds * 2);
+
+        // Calculate dt
+        double dt = 0.0;
+        if (i > 0) {
+          accelerations[i - 1] = m_reversed ? -accel : accel;
+          if (Math.abs(accel) > 1E-6) {
+            // v_f = v_0 + a * t
+            dt = (m_maxVelocity[state] - velocityMetersPerSecond) / accel;
+          } else if (Math.abs(velocityMetersPerSecond) > 1E-6) {
+            // delta_x = v * t
+            dt = ds / velocityMetersPerSecond;
+          } else {
+            throw new RuntimeException("Something went wrong");
+          }
+        }
+
+        velocityMetersPerSecond = m_maxVelocity[state];
+        distanceMeters = m_distance[state];
+
+        timeSeconds += dt;
+
+        times[i] = timeSeconds;
+        velocities[i] = m_reversed ? -velocityMetersPerSecond : velocityMetersPerSecond;
+        accelerations[i] = m_reversed ? -accel : accel;
+      }
 
-      state.maxAccelerationMetersPerSecondSq = Math.min(state.maxAccelerationMetersPerSecondSq,
-          reverse ? -minMaxAccel.minAccelerationMetersPerSecondSq
-              : minMaxAccel.maxAccelerationMetersPerSecondSq);
+      return new PackedTrajectory(times, velocities, accelerations,
+          m_xs, m_ys, m_headings, m_curvatures);
     }
 
-  }
+    /**
+     * Narrows the acceleration bounds of the state at the given index.
+     */
+    private void enforceAccelerationLimits(int index) {
+      final int point = index - 1;
+      final double factor = m_reversed ? -1.0 : 1.0;
+
+      for (final TrajectoryConstraint constraint : m_constraints) {
+        final TrajectoryConstraint.MinMax minMaxAccel =
+            constraint.getMinMaxAccelerationMetersPerSecondSq(
+                m_poses[point], m_curvatures[point], m_maxVelocity[index] * factor);
+        narrowAcceleration(index, minMaxAccel.minAccelerationMetersPerSecondSq,
+            minMaxAccel.maxAccelerationMetersPerSecondSq);
+      }
 
-  @SuppressWarnings("MemberName")
-  private static class ConstrainedState {
-    PoseWithCurvature pose;
-    double distanceMeters;
-    double maxVelocityMetersPerSecond;
-    double minAccelerationMetersPerSecondSq;
-    double maxAccelerationMetersPerSecondSq;
-
-    ConstrainedState(PoseWithCurvature pose, double distanceMeters,
-                     double maxVelocityMetersPerSecond,
-                     double minAccelerationMetersPerSecondSq,
-                     double maxAccelerationMetersPerSecondSq) {
-      this.pose = pose;
-      this.distanceMeters = distanceMeters;
-      this.maxVelocityMetersPerSecond = maxVelocityMetersPerSecond;
-      this.minAccelerationMetersPerSecondSq = minAccelerationMetersPerSecondSq;
-      this.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
+      for (final BatchTrajectoryConstraint constraint : m_accelerationConstraints) {
+        m_signedVelocity[point] = m_maxVelocity[index] * factor;
+        m_constraintMinAcceleration[point] = Double.NEGATIVE_INFINITY;
+        m_constraintMaxAcceleration[point] = Double.POSITIVE_INFINITY;
+        constraint.constrainAccelerations(m_xs, m_ys, m_headings, m_curvatures,
+            m_signedVelocity, point, point + 1,
+            m_constraintMinAcceleration, m_constraintMaxAcceleration);
+        narrowAcceleration(index, m_constraintMinAcceleration[point],
+            m_constraintMaxAcceleration[point]);
+      }
     }
 
-    ConstrainedState() {
-      pose = new PoseWithCurvature();
+    private void narrowAcceleration(int index, double minAcceleration, double maxAcceleration) {
+      m_minAcceleration[index] = Math.max(m_minAcceleration[index],
+          m_reversed ? -maxAcceleration : minAcceleration);
+      m_maxAcceleration[index] = Math.min(m_maxAcceleration[index],
+          m_reversed ? -minAcceleration : maxAcceleration);
     }
   }
 }
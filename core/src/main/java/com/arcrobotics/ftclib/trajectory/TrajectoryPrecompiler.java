@@ -0,0 +1,90 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Generates trajectories at build time. Every {@code .path} file in the input
+ * directory is parsed as a {@link TrajectoryDefinition}, generated, and written
+ * to the output directory as a {@code .traj} file with the same name. The
+ * {@code precompile<Variant>Trajectories} tasks of {@code core/trajectories.gradle}
+ * run this on the build machine for every build variant and package the output
+ * as Java resources, which the robot loads with
+ * {@link TrajectoryFile#loadOrGenerate(String, TrajectoryKey,
+ * java.util.function.Supplier)}. An app module such as TeamCode applies the same
+ * script to precompile its own {@code src/main/trajectories}.
+ *
+ * <p>Usage: {@code TrajectoryPrecompiler <input directory> <output directory>}
+ */
+public final class TrajectoryPrecompiler {
+  public static final String kDefinitionExtension = ".path";
+  public static final String kTrajectoryExtension = ".traj";
+
+  /**
+   * Private constructor because this is a utility class.
+   */
+  private TrajectoryPrecompiler() {
+  }
+
+  /**
+   * Precompiles every definition in a directory.
+   *
+   * @param args The input and output directories.
+   * @throws IOException If a definition can not be read or a trajectory can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: TrajectoryPrecompiler <input directory> <output directory>");
+      System.exit(1);
+    }
+    // A path that can not be generated should fail the build, not ship as an empty trajectory.
+    TrajectoryGenerator.setErrorHandler((error, stackTrace) -> {
+      throw new IllegalStateException(error);
+    });
+    int count = precompile(new File(args[0]), new File(args[1]));
+    System.out.println("Precompiled " + count + " trajectories into " + args[1]);
+  }
+
+  /**
+   * Precompiles every definition in a directory. A missing input directory
+   * is treated as an empty one.
+   *
+   * @param inputDirectory  The directory holding the {@code .path} files.
+   * @param outputDirectory The directory to write the {@code .traj} files to.
+   * @return The number of trajectories written.
+   * @throws IOException If a definition can not be read or a trajectory can not be written.
+   */
+  public static int precompile(File inputDirectory, File outputDirectory) throws IOException {
+    File[] definitions = inputDirectory.listFiles(
+        (directory, name) -> name.endsWith(kDefinitionExtension));
+    if (definitions == null || definitions.length == 0) {
+      return 0;
+    }
+    if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+      throw new IOException("Could not create " + outputDirectory);
+    }
+
+    // Sort so that the build output does not depend on the order of the file system.
+    Arrays.sort(definitions);
+    for (File file : definitions) {
+      TrajectoryDefinition definition;
+      try (Reader reader = new FileReader(file)) {
+        definition = TrajectoryDefinition.parse(reader);
+      } catch (IllegalArgumentException e) {
+        throw new IOException(file + ": " + e.getMessage(), e);
+      }
+
+      String name = file.getName();
+      name = name.substring(0, name.length() - kDefinitionExtension.length());
+      // The build machine has cores to spare, and this does not change the result.
+      definition.getConfig().setParallel(true);
+      Trajectory trajectory = definition.generate();
+      TrajectoryFile.write(trajectory, definition.getKey().fingerprint(),
+          new File(outputDirectory, name + kTrajectoryExtension));
+    }
+    return definitions.length;
+  }
+}
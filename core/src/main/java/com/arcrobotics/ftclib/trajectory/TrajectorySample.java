@@ -0,0 +1,78 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+/**
+ * A mutable, primitive version of {@link Trajectory.State}. A sample can be
+ * reused as the output of every {@link TrajectorySampler#sample(double, TrajectorySample)}
+ * call so that following a trajectory does not allocate.
+ */
+@SuppressWarnings("MemberName")
+public class TrajectorySample {
+  // The time elapsed since the beginning of the trajectory.
+  public double timeSeconds;
+
+  // The speed at that point of the trajectory.
+  public double velocityMetersPerSecond;
+
+  // The acceleration at that point of the trajectory.
+  public double accelerationMetersPerSecondSq;
+
+  // The x position at that point of the trajectory.
+  public double xMeters;
+
+  // The y position at that point of the trajectory.
+  public double yMeters;
+
+  // The heading at that point of the trajectory, in radians.
+  public double headingRadians;
+
+  // The curvature at that point of the trajectory.
+  public double curvatureRadPerMeter;
+
+  /**
+   * Copies the values of a state into this sample.
+   *
+   * @param state The state to copy.
+   * @return This sample, for chaining.
+   */
+  public TrajectorySample set(Trajectory.State state) {
+    timeSeconds = state.timeSeconds;
+    velocityMetersPerSecond = state.velocityMetersPerSecond;
+    accelerationMetersPerSecondSq = state.accelerationMetersPerSecondSq;
+    xMeters = state.poseMeters.getX();
+    yMeters = state.poseMeters.getY();
+    headingRadians = state.poseMeters.getHeading();
+    curvatureRadPerMeter = state.curvatureRadPerMeter;
+    return this;
+  }
+
+  /**
+   * Returns the pose of this sample. This allocates a new pose on every call.
+   *
+   * @return The pose at that point of the trajectory.
+   */
+  public Pose2d getPose() {
+    return new Pose2d(xMeters, yMeters, new Rotation2d(headingRadians));
+  }
+
+  /**
+   * Converts this sample to a new {@link Trajectory.State}.
+   *
+   * @return The equivalent state.
+   */
+  public Trajectory.State toState() {
+    return new Trajectory.State(timeSeconds, velocityMetersPerSecond,
+        accelerationMetersPerSecondSq, getPose(), curvatureRadPerMeter);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "TrajectorySample(Sec: %.2f, Vel m/s: %.2f, Accel m/s/s: %.2f, X: %.2f, Y: %.2f, "
+            + "Heading: %.2f, Curvature: %.2f)",
+        timeSeconds, velocityMetersPerSecond, accelerationMetersPerSecondSq,
+        xMeters, yMeters, headingRadians, curvatureRadPerMeter);
+  }
+}
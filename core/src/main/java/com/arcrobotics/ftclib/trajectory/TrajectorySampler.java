@@ -0,0 +1,85 @@
+package com.arcrobotics.ftclib.trajectory;
+
+/**
+ * Samples a {@link Trajectory} without allocating. The sampler remembers the
+ * segment it found last, so sampling with increasing time (as a follower does
+ * every loop) only steps forward a state or two instead of running a binary
+ * search. Sampling backwards, or jumping far ahead, falls back to the same
+ * O(log n) binary search as {@link Trajectory#sample(double)}.
+ *
+ * <p>The sampler reads from a {@link PackedTrajectory}. Other trajectories are
+ * packed once when the sampler is constructed. The interpolation matches
+ * {@link Trajectory#sample(double)}.
+ */
+public class TrajectorySampler {
+  // The number of states to step forward before giving up and binary searching.
+  private static final int kMaxLinearSteps = 8;
+
+  private final PackedTrajectory m_trajectory;
+
+  // The index of the end state of the last sampled segment.
+  private int m_index = 1;
+
+  /**
+   * Constructs a sampler for the given trajectory.
+   *
+   * @param trajectory The trajectory to sample.
+   */
+  public TrajectorySampler(Trajectory trajectory) {
+    m_trajectory = PackedTrajectory.of(trajectory);
+  }
+
+  /**
+   * Moves the cursor back to the start of the trajectory.
+   */
+  public void reset() {
+    m_index = 1;
+  }
+
+  /**
+   * Returns the packed trajectory this sampler reads from.
+   *
+   * @return The packed trajectory.
+   */
+  public PackedTrajectory getTrajectory() {
+    return m_trajectory;
+  }
+
+  /**
+   * Sample the trajectory at a point in time, writing the result into the given sample.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+   * @param output      The sample to write the state into.
+   * @return The output sample, for chaining.
+   */
+  public TrajectorySample sample(double timeSeconds, TrajectorySample output) {
+    if (timeSeconds <= m_trajectory.getTime(0)) {
+      return m_trajectory.copy(0, output);
+    }
+    if (timeSeconds >= m_trajectory.getTotalTimeSeconds()) {
+      return m_trajectory.copy(m_trajectory.size() - 1, output);
+    }
+
+    m_index = findSegment(timeSeconds);
+    return m_trajectory.interpolate(m_index, timeSeconds, output);
+  }
+
+  /**
+   * Returns the index of the first state whose timestamp is at least the given
+   * time, starting from the last segment that was sampled.
+   */
+  private int findSegment(double timeSeconds) {
+    int index = m_index;
+    if (m_trajectory.getTime(index - 1) > timeSeconds) {
+      return m_trajectory.findSegment(timeSeconds);
+    }
+
+    for (int steps = 0; m_trajectory.getTime(index) < timeSeconds; steps++) {
+      if (steps == kMaxLinearSteps) {
+        return m_trajectory.findSegment(timeSeconds);
+      }
+      index++;
+    }
+    return index;
+  }
+}
@@ -0,0 +1,77 @@
+package com.arcrobotics.ftclib.trajectory.constraint;
+
+/**
+ * A {@link TrajectoryConstraint} that can be evaluated on primitive arrays, so that
+ * the {@link com.arcrobotics.ftclib.trajectory.TrajectoryParameterizer} does not
+ * allocate a {@link com.arcrobotics.ftclib.geometry.Pose2d} or a {@link MinMax}
+ * per point.
+ *
+ * <p>The points of the path are passed as parallel arrays of x, y, heading (in
+ * radians) and curvature, with a span {@code [from, to)} to evaluate.
+ *
+ * <p>The velocity limit of a batch constraint may only depend on the pose and
+ * curvature, not on the velocity passed to
+ * {@link #getMaxVelocityMetersPerSecond}. Formally, that method must return the
+ * smaller of the velocity it is given and the limit written by
+ * {@link #constrainVelocities}. The parameterizer can then evaluate the limits of
+ * the whole path once, in a single call, before it starts its passes.
+ * Acceleration limits depend on the velocity found by the passes, so they are
+ * evaluated one point at a time through {@link #constrainAccelerations}.
+ */
+public interface BatchTrajectoryConstraint extends TrajectoryConstraint {
+
+  /**
+   * Lowers each max velocity in the span to the limit of this constraint at that point.
+   *
+   * @param xs            The x positions of the points.
+   * @param ys            The y positions of the points.
+   * @param headings      The headings of the points, in radians.
+   * @param curvatures    The curvatures of the points.
+   * @param from          The first point to evaluate.
+   * @param to            One past the last point to evaluate.
+   * @param maxVelocities The max velocities to lower.
+   */
+  void constrainVelocities(double[] xs, double[] ys, double[] headings, double[] curvatures,
+                           int from, int to, double[] maxVelocities);
+
+  /**
+   * Returns whether the parameterizer may evaluate this constraint in batch. A
+   * constraint that wraps another one returns false when the wrapped constraint
+   * is not a batch constraint; the parameterizer then calls it point by point,
+   * with the velocity found by its passes.
+   *
+   * @return Whether this constraint can be evaluated in batch.
+   */
+  default boolean isBatchable() {
+    return true;
+  }
+
+  /**
+   * Returns whether this constraint limits acceleration at all. The
+   * parameterizer skips {@link #constrainAccelerations} for constraints that don't.
+   *
+   * @return Whether this constraint limits acceleration.
+   */
+  default boolean limitsAcceleration() {
+    return true;
+  }
+
+  /**
+   * Narrows the acceleration bounds of each point in the span to the bounds of
+   * this constraint at the given velocity. The min accelerations are raised and the
+   * max accelerations are lowered, never the other way around.
+   *
+   * @param xs               The x positions of the points.
+   * @param ys               The y positions of the points.
+   * @param headings         The headings of the points, in radians.
+   * @param curvatures       The curvatures of the points.
+   * @param velocities       The velocity at each point.
+   * @param from             The first point to evaluate.
+   * @param to               One past the last point to evaluate.
+   * @param minAccelerations The min accelerations to raise.
+   * @param maxAccelerations The max accelerations to lower.
+   */
+  void constrainAccelerations(double[] xs, double[] ys, double[] headings, double[] curvatures,
+                              double[] velocities, int from, int to,
+                              double[] minAccelerations, double[] maxAccelerations);
+}
@@ -19,7 +19,7 @@ import com.arcrobotics.ftclib.geometry.Pose2d;
  * robot to slow down around tight turns, making it easier to track trajectories
  * with sharp turns.
  */
-public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
+public class CentripetalAccelerationConstraint implements BatchTrajectoryConstraint {
   private final double m_maxCentripetalAccelerationMetersPerSecondSq;
 
   /**
@@ -72,5 +72,44 @@ public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
     return new MinMax();
   }
 
+  @Override
+  public void constrainVelocities(double[] xs, double[] ys, double[] headings,
+                                  double[] curvatures, int from, int to,
+                                  double[] maxVelocities) {
+    for (int i = from; i < to; i++) {
+      maxVelocities[i] = Math.min(maxVelocities[i],
+          Math.sqrt(m_maxCentripetalAccelerationMetersPerSecondSq / Math.abs(curvatures[i])));
+    }
+  }
+
+  @Override
+  public boolean limitsAcceleration() {
+    return false;
+  }
 
+  @Override
+  public void constrainAccelerations(double[] xs, double[] ys, double[] headings,
+                                     double[] curvatures, double[] velocities, int from, int to,
+                                     double[] minAccelerations, double[] maxAccelerations) {
+    // The acceleration of the robot has no impact on the centripetal acceleration
+    // of the robot.
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CentripetalAccelerationConstraint)) {
+      return false;
+    }
+    CentripetalAccelerationConstraint other = (CentripetalAccelerationConstraint) obj;
+    return Double.compare(other.m_maxCentripetalAccelerationMetersPerSecondSq,
+        m_maxCentripetalAccelerationMetersPerSecondSq) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Double.hashCode(m_maxCentripetalAccelerationMetersPerSecondSq);
+  }
 }
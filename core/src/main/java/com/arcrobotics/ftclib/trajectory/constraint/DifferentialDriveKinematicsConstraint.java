@@ -11,6 +11,7 @@ import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveWheelSpeeds;
+import java.util.Objects;
 
 
 /**
@@ -76,4 +77,21 @@ public class DifferentialDriveKinematicsConstraint implements TrajectoryConstrai
     return new MinMax();
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DifferentialDriveKinematicsConstraint)) {
+      return false;
+    }
+    DifferentialDriveKinematicsConstraint other = (DifferentialDriveKinematicsConstraint) obj;
+    return Double.compare(other.m_maxSpeedMetersPerSecond, m_maxSpeedMetersPerSecond) == 0
+        && m_kinematics.equals(other.m_kinematics);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(m_maxSpeedMetersPerSecond, m_kinematics);
+  }
 }
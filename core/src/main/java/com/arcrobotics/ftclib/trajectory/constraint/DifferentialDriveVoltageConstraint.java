@@ -12,6 +12,7 @@ import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveWheelSpeeds;
+import java.util.Objects;
 
 
 /**
@@ -20,7 +21,7 @@ import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveWheel
  * while following the trajectory is never higher than what can be achieved with the given
  * maximum voltage.
  */
-public class DifferentialDriveVoltageConstraint implements TrajectoryConstraint {
+public class DifferentialDriveVoltageConstraint implements BatchTrajectoryConstraint {
   private final SimpleMotorFeedforward m_feedforward;
   private final DifferentialDriveKinematics m_kinematics;
   private final double m_maxVoltage;
@@ -101,5 +102,66 @@ public class DifferentialDriveVoltageConstraint implements TrajectoryConstraint
     return new MinMax(minChassisAcceleration, maxChassisAcceleration);
   }
 
+  @Override
+  public void constrainVelocities(double[] xs, double[] ys, double[] headings,
+                                  double[] curvatures, int from, int to,
+                                  double[] maxVelocities) {
+    // The voltage only limits acceleration.
+  }
+
+  @Override
+  public void constrainAccelerations(double[] xs, double[] ys, double[] headings,
+                                     double[] curvatures, double[] velocities, int from, int to,
+                                     double[] minAccelerations, double[] maxAccelerations) {
+    final double halfTrackWidth = m_kinematics.trackWidthMeters / 2;
+    for (int i = from; i < to; i++) {
+      final double velocity = velocities[i];
+      final double curvature = curvatures[i];
+
+      // The same math as getMinMaxAccelerationMetersPerSecondSq, without the
+      // intermediate ChassisSpeeds, wheel speeds and MinMax.
+      final double leftSpeed = velocity - halfTrackWidth * (velocity * curvature);
+      final double rightSpeed = velocity + halfTrackWidth * (velocity * curvature);
+
+      final double maxWheelAcceleration = m_feedforward.maxAchievableAcceleration(m_maxVoltage,
+          Math.max(leftSpeed, rightSpeed));
+      final double minWheelAcceleration = m_feedforward.minAchievableAcceleration(m_maxVoltage,
+          Math.min(leftSpeed, rightSpeed));
+
+      final double turn = halfTrackWidth * Math.abs(curvature) * Math.signum(velocity);
+      double maxChassisAcceleration = maxWheelAcceleration / (1 + turn);
+      double minChassisAcceleration = minWheelAcceleration / (1 - turn);
+
+      // Negate acceleration of wheel on inside of turn if center of turn is inside of wheelbase
+      if (halfTrackWidth > (1 / Math.abs(curvature))) {
+        if (velocity > 0) {
+          minChassisAcceleration = -minChassisAcceleration;
+        } else {
+          maxChassisAcceleration = -maxChassisAcceleration;
+        }
+      }
+
+      minAccelerations[i] = Math.max(minAccelerations[i], minChassisAcceleration);
+      maxAccelerations[i] = Math.min(maxAccelerations[i], maxChassisAcceleration);
+    }
+  }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DifferentialDriveVoltageConstraint)) {
+      return false;
+    }
+    DifferentialDriveVoltageConstraint other = (DifferentialDriveVoltageConstraint) obj;
+    return Double.compare(other.m_maxVoltage, m_maxVoltage) == 0
+        && m_feedforward.equals(other.m_feedforward)
+        && m_kinematics.equals(other.m_kinematics);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(m_maxVoltage, m_feedforward, m_kinematics);
+  }
 }
@@ -0,0 +1,100 @@
+package com.arcrobotics.ftclib.trajectory.constraint;
+
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+/**
+ * Enforces a particular constraint only within an elliptical region. A circle
+ * around the goal is an ellipse with equal widths.
+ */
+public class EllipticalRegionConstraint extends RegionConstraint {
+  private final Translation2d m_center;
+  private final double m_xWidth;
+  private final double m_yWidth;
+  private final Rotation2d m_rotation;
+
+  // The rotation of the region, and the inverse squares of its semi-axes.
+  private final double m_cos;
+  private final double m_sin;
+  private final double m_invXRadiusSq;
+  private final double m_invYRadiusSq;
+
+  /**
+   * Constructs a new EllipticalRegionConstraint.
+   *
+   * @param center     The center of the ellipse in which to enforce the constraint.
+   * @param xWidth     The width of the ellipse in which to enforce the constraint.
+   * @param yWidth     The height of the ellipse in which to enforce the constraint.
+   * @param rotation   The rotational offset of the ellipse.
+   * @param constraint The constraint to enforce when the robot is within the region.
+   */
+  @SuppressWarnings("ParameterName")
+  public EllipticalRegionConstraint(Translation2d center, double xWidth, double yWidth,
+                                    Rotation2d rotation, TrajectoryConstraint constraint) {
+    super(center.getX() - halfExtentX(xWidth, yWidth, rotation),
+        center.getY() - halfExtentY(xWidth, yWidth, rotation),
+        center.getX() + halfExtentX(xWidth, yWidth, rotation),
+        center.getY() + halfExtentY(xWidth, yWidth, rotation),
+        constraint);
+    m_center = center;
+    m_xWidth = xWidth;
+    m_yWidth = yWidth;
+    m_rotation = rotation;
+
+    m_cos = rotation.getCos();
+    m_sin = rotation.getSin();
+    m_invXRadiusSq = 4 / (xWidth * xWidth);
+    m_invYRadiusSq = 4 / (yWidth * yWidth);
+  }
+
+  /**
+   * Returns half the width of the bounding box of a rotated ellipse.
+   */
+  private static double halfExtentX(double xWidth, double yWidth, Rotation2d rotation) {
+    return Math.hypot(xWidth / 2 * rotation.getCos(), yWidth / 2 * rotation.getSin());
+  }
+
+  /**
+   * Returns half the height of the bounding box of a rotated ellipse.
+   */
+  private static double halfExtentY(double xWidth, double yWidth, Rotation2d rotation) {
+    return Math.hypot(xWidth / 2 * rotation.getSin(), yWidth / 2 * rotation.getCos());
+  }
+
+  @Override
+  protected boolean isInsideShape(double x, double y) {
+    // Rotate the point into the frame of the ellipse, where its axes are x and y.
+    final double dx = x - m_center.getX();
+    final double dy = y - m_center.getY();
+    final double u = dx * m_cos + dy * m_sin;
+    final double v = -dx * m_sin + dy * m_cos;
+    return u * u * m_invXRadiusSq + v * v * m_invYRadiusSq <= 1;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof EllipticalRegionConstraint)) {
+      return false;
+    }
+    EllipticalRegionConstraint other = (EllipticalRegionConstraint) obj;
+    return Double.compare(m_center.getX(), other.m_center.getX()) == 0
+        && Double.compare(m_center.getY(), other.m_center.getY()) == 0
+        && Double.compare(m_xWidth, other.m_xWidth) == 0
+        && Double.compare(m_yWidth, other.m_yWidth) == 0
+        && Double.compare(m_rotation.getRadians(), other.m_rotation.getRadians()) == 0
+        && getConstraint().equals(other.getConstraint());
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Double.hashCode(m_center.getX());
+    hash = hash * 31 + Double.hashCode(m_center.getY());
+    hash = hash * 31 + Double.hashCode(m_xWidth);
+    hash = hash * 31 + Double.hashCode(m_yWidth);
+    hash = hash * 31 + Double.hashCode(m_rotation.getRadians());
+    return hash * 31 + getConstraint().hashCode();
+  }
+}
@@ -0,0 +1,71 @@
+package com.arcrobotics.ftclib.trajectory.constraint;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+/**
+ * Represents a constraint that enforces a max velocity. This can be composed with the
+ * {@link EllipticalRegionConstraint} or {@link RectangularRegionConstraint} to enforce
+ * a max velocity in a region.
+ */
+public class MaxVelocityConstraint implements BatchTrajectoryConstraint {
+  private final double m_maxVelocity;
+
+  /**
+   * Constructs a new MaxVelocityConstraint.
+   *
+   * @param maxVelocityMetersPerSecond The max velocity.
+   */
+  public MaxVelocityConstraint(double maxVelocityMetersPerSecond) {
+    m_maxVelocity = maxVelocityMetersPerSecond;
+  }
+
+  @Override
+  public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                              double velocityMetersPerSecond) {
+    return m_maxVelocity;
+  }
+
+  @Override
+  public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                       double curvatureRadPerMeter,
+                                                       double velocityMetersPerSecond) {
+    return new MinMax();
+  }
+
+  @Override
+  public void constrainVelocities(double[] xs, double[] ys, double[] headings,
+                                  double[] curvatures, int from, int to,
+                                  double[] maxVelocities) {
+    for (int i = from; i < to; i++) {
+      maxVelocities[i] = Math.min(maxVelocities[i], m_maxVelocity);
+    }
+  }
+
+  @Override
+  public boolean limitsAcceleration() {
+    return false;
+  }
+
+  @Override
+  public void constrainAccelerations(double[] xs, double[] ys, double[] headings,
+                                     double[] curvatures, double[] velocities, int from, int to,
+                                     double[] minAccelerations, double[] maxAccelerations) {
+    // A max velocity does not limit acceleration.
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MaxVelocityConstraint)) {
+      return false;
+    }
+    return Double.compare(((MaxVelocityConstraint) obj).m_maxVelocity, m_maxVelocity) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Double.hashCode(m_maxVelocity);
+  }
+}
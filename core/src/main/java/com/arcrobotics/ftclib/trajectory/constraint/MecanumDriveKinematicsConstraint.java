@@ -11,6 +11,7 @@ import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveKinematics;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveWheelSpeeds;
+import java.util.Objects;
 
 
 /**
@@ -19,7 +20,7 @@ import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveWheelSpeed
  * commanded velocities for all 4 wheels of the drivetrain stay below a certain
  * limit.
  */
-public class MecanumDriveKinematicsConstraint implements TrajectoryConstraint {
+public class MecanumDriveKinematicsConstraint implements BatchTrajectoryConstraint {
   private final double m_maxSpeedMetersPerSecond;
   private final MecanumDriveKinematics m_kinematics;
 
@@ -84,4 +85,51 @@ public class MecanumDriveKinematicsConstraint implements TrajectoryConstraint {
     return new MinMax();
   }
 
+  @Override
+  public void constrainVelocities(double[] xs, double[] ys, double[] headings,
+                                  double[] curvatures, int from, int to,
+                                  double[] maxVelocities) {
+    // The wheel speeds scale with the chassis velocity, so the limit is the max
+    // speed divided by the fastest wheel at a chassis velocity of 1.
+    final double[] wheelSpeeds = new double[4];
+    for (int i = from; i < to; i++) {
+      m_kinematics.toWheelSpeeds(Math.cos(headings[i]), Math.sin(headings[i]), curvatures[i],
+          wheelSpeeds);
+      double fastestWheel = Math.max(Math.max(wheelSpeeds[0], wheelSpeeds[1]),
+          Math.max(wheelSpeeds[2], wheelSpeeds[3]));
+      if (fastestWheel > 0) {
+        maxVelocities[i] = Math.min(maxVelocities[i], m_maxSpeedMetersPerSecond / fastestWheel);
+      }
+    }
+  }
+
+  @Override
+  public boolean limitsAcceleration() {
+    return false;
+  }
+
+  @Override
+  public void constrainAccelerations(double[] xs, double[] ys, double[] headings,
+                                     double[] curvatures, double[] velocities, int from, int to,
+                                     double[] minAccelerations, double[] maxAccelerations) {
+    // The wheel speed limit does not limit acceleration.
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MecanumDriveKinematicsConstraint)) {
+      return false;
+    }
+    MecanumDriveKinematicsConstraint other = (MecanumDriveKinematicsConstraint) obj;
+    return Double.compare(other.m_maxSpeedMetersPerSecond, m_maxSpeedMetersPerSecond) == 0
+        && m_kinematics.equals(other.m_kinematics);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(m_maxSpeedMetersPerSecond, m_kinematics);
+  }
 }
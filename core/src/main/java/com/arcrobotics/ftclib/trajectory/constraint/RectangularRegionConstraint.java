@@ -0,0 +1,62 @@
+package com.arcrobotics.ftclib.trajectory.constraint;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+/**
+ * Enforces a particular constraint only within a rectangular region.
+ */
+public class RectangularRegionConstraint extends RegionConstraint {
+  private final Translation2d m_bottomLeftPoint;
+  private final Translation2d m_topRightPoint;
+
+  /**
+   * Constructs a new RectangularRegionConstraint.
+   *
+   * @param bottomLeftPoint The bottom left point of the rectangular region in which to
+   *                        enforce the constraint.
+   * @param topRightPoint   The top right point of the rectangular region in which to enforce
+   *                        the constraint.
+   * @param constraint      The constraint to enforce when the robot is within the region.
+   */
+  public RectangularRegionConstraint(Translation2d bottomLeftPoint, Translation2d topRightPoint,
+                                     TrajectoryConstraint constraint) {
+    super(Math.min(bottomLeftPoint.getX(), topRightPoint.getX()),
+        Math.min(bottomLeftPoint.getY(), topRightPoint.getY()),
+        Math.max(bottomLeftPoint.getX(), topRightPoint.getX()),
+        Math.max(bottomLeftPoint.getY(), topRightPoint.getY()),
+        constraint);
+    m_bottomLeftPoint = bottomLeftPoint;
+    m_topRightPoint = topRightPoint;
+  }
+
+  @Override
+  protected boolean isInsideShape(double x, double y) {
+    // The rectangle is its own bounding box.
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof RectangularRegionConstraint)) {
+      return false;
+    }
+    RectangularRegionConstraint other = (RectangularRegionConstraint) obj;
+    return Double.compare(m_bottomLeftPoint.getX(), other.m_bottomLeftPoint.getX()) == 0
+        && Double.compare(m_bottomLeftPoint.getY(), other.m_bottomLeftPoint.getY()) == 0
+        && Double.compare(m_topRightPoint.getX(), other.m_topRightPoint.getX()) == 0
+        && Double.compare(m_topRightPoint.getY(), other.m_topRightPoint.getY()) == 0
+        && getConstraint().equals(other.getConstraint());
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Double.hashCode(m_bottomLeftPoint.getX());
+    hash = hash * 31 + Double.hashCode(m_bottomLeftPoint.getY());
+    hash = hash * 31 + Double.hashCode(m_topRightPoint.getX());
+    hash = hash * 31 + Double.hashCode(m_topRightPoint.getY());
+    return hash * 31 + getConstraint().hashCode();
+  }
+}
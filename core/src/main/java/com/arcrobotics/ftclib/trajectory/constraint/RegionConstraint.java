@@ -0,0 +1,185 @@
+package com.arcrobotics.ftclib.trajectory.constraint;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import java.util.Objects;
+
+/**
+ * Enforces another constraint only where the robot is inside a region of the
+ * field, for example to slow down near the goal.
+ *
+ * <p>Every region has an axis-aligned bounding box, computed once when it is
+ * constructed. A point outside the box is rejected with four comparisons before
+ * the exact shape is tested, so a region the path never comes near adds almost
+ * nothing to the cost of parameterization.
+ *
+ * <p>If the enforced constraint is a {@link BatchTrajectoryConstraint}, the region
+ * is evaluated in batch too: the points of the path are tested against the region
+ * straight from their arrays, and each run of consecutive points inside it is
+ * passed to the enforced constraint in one call. Otherwise the region is
+ * evaluated point by point, like the constraint it enforces.
+ */
+public abstract class RegionConstraint implements BatchTrajectoryConstraint {
+  private final TrajectoryConstraint m_constraint;
+  private final double m_minX;
+  private final double m_minY;
+  private final double m_maxX;
+  private final double m_maxY;
+
+  /**
+   * Constructs a region constraint.
+   *
+   * @param minX       The smallest x coordinate of the region.
+   * @param minY       The smallest y coordinate of the region.
+   * @param maxX       The largest x coordinate of the region.
+   * @param maxY       The largest y coordinate of the region.
+   * @param constraint The constraint to enforce inside the region.
+   */
+  protected RegionConstraint(double minX, double minY, double maxX, double maxY,
+                             TrajectoryConstraint constraint) {
+    m_minX = minX;
+    m_minY = minY;
+    m_maxX = maxX;
+    m_maxY = maxY;
+    m_constraint = Objects.requireNonNull(constraint);
+  }
+
+  /**
+   * Returns whether a point inside the bounding box of this region is also inside
+   * the region itself.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @return Whether the point is inside the region.
+   */
+  protected abstract boolean isInsideShape(double x, double y);
+
+  /**
+   * Returns whether the specified robot pose is within the region that the constraint
+   * is enforced in.
+   *
+   * @param robotPose The robot pose.
+   * @return Whether the robot pose is within the constraint region.
+   */
+  public boolean isPoseInRegion(Pose2d robotPose) {
+    return isInRegion(robotPose.getX(), robotPose.getY());
+  }
+
+  private boolean isInRegion(double x, double y) {
+    return x >= m_minX && x <= m_maxX && y >= m_minY && y <= m_maxY && isInsideShape(x, y);
+  }
+
+  /**
+   * Returns one past the last point of the run of points inside the region that
+   * starts at the given point, or the point itself if it is outside the region.
+   */
+  private int endOfRun(double[] xs, double[] ys, int start, int to) {
+    int end = start;
+    while (end < to && isInRegion(xs[end], ys[end])) {
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * Returns the constraint enforced inside the region.
+   *
+   * @return The constraint.
+   */
+  public TrajectoryConstraint getConstraint() {
+    return m_constraint;
+  }
+
+  @Override
+  public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                              double velocityMetersPerSecond) {
+    if (isPoseInRegion(poseMeters)) {
+      return m_constraint.getMaxVelocityMetersPerSecond(poseMeters, curvatureRadPerMeter,
+          velocityMetersPerSecond);
+    } else {
+      return Double.POSITIVE_INFINITY;
+    }
+  }
+
+  @Override
+  public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                       double curvatureRadPerMeter,
+                                                       double velocityMetersPerSecond) {
+    if (isPoseInRegion(poseMeters)) {
+      return m_constraint.getMinMaxAccelerationMetersPerSecondSq(poseMeters,
+          curvatureRadPerMeter, velocityMetersPerSecond);
+    } else {
+      return new MinMax();
+    }
+  }
+
+  @Override
+  public boolean isBatchable() {
+    return m_constraint instanceof BatchTrajectoryConstraint
+        && ((BatchTrajectoryConstraint) m_constraint).isBatchable();
+  }
+
+  @Override
+  public void constrainVelocities(double[] xs, double[] ys, double[] headings,
+                                  double[] curvatures, int from, int to,
+                                  double[] maxVelocities) {
+    int start = from;
+    while (start < to) {
+      final int end = endOfRun(xs, ys, start, to);
+      if (end == start) {
+        start++;
+        continue;
+      }
+
+      if (m_constraint instanceof BatchTrajectoryConstraint) {
+        ((BatchTrajectoryConstraint) m_constraint).constrainVelocities(xs, ys, headings,
+            curvatures, start, end, maxVelocities);
+      } else {
+        for (int i = start; i < end; i++) {
+          maxVelocities[i] = Math.min(maxVelocities[i],
+              m_constraint.getMaxVelocityMetersPerSecond(
+                  new Pose2d(xs[i], ys[i], new Rotation2d(headings[i])), curvatures[i],
+                  maxVelocities[i]));
+        }
+      }
+      start = end;
+    }
+  }
+
+  @Override
+  public boolean limitsAcceleration() {
+    return !(m_constraint instanceof BatchTrajectoryConstraint)
+        || ((BatchTrajectoryConstraint) m_constraint).limitsAcceleration();
+  }
+
+  @Override
+  public void constrainAccelerations(double[] xs, double[] ys, double[] headings,
+                                     double[] curvatures, double[] velocities, int from, int to,
+                                     double[] minAccelerations, double[] maxAccelerations) {
+    int start = from;
+    while (start < to) {
+      final int end = endOfRun(xs, ys, start, to);
+      if (end == start) {
+        start++;
+        continue;
+      }
+
+      if (m_constraint instanceof BatchTrajectoryConstraint) {
+        ((BatchTrajectoryConstraint) m_constraint).constrainAccelerations(xs, ys, headings,
+            curvatures, velocities, start, end, minAccelerations, maxAccelerations);
+      } else {
+        for (int i = start; i < end; i++) {
+          MinMax minMax = m_constraint.getMinMaxAccelerationMetersPerSecondSq(
+              new Pose2d(xs[i], ys[i], new Rotation2d(headings[i])), curvatures[i],
+              velocities[i]);
+          minAccelerations[i] = Math.max(minAccelerations[i],
+              minMax.minAccelerationMetersPerSecondSq);
+          maxAccelerations[i] = Math.min(maxAccelerations[i],
+              minMax.maxAccelerationMetersPerSecondSq);
+        }
+      }
+      start = end;
+    }
+  }
+}
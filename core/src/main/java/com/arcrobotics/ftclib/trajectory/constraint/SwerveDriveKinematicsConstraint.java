@@ -11,6 +11,7 @@ import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.SwerveDriveKinematics;
 import com.arcrobotics.ftclib.kinematics.wpilibkinematics.SwerveModuleState;
+import java.util.Objects;
 
 
 /**
@@ -84,4 +85,21 @@ public class SwerveDriveKinematicsConstraint implements TrajectoryConstraint {
     return new MinMax();
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SwerveDriveKinematicsConstraint)) {
+      return false;
+    }
+    SwerveDriveKinematicsConstraint other = (SwerveDriveKinematicsConstraint) obj;
+    return Double.compare(other.m_maxSpeedMetersPerSecond, m_maxSpeedMetersPerSecond) == 0
+        && m_kinematics.equals(other.m_kinematics);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(m_maxSpeedMetersPerSecond, m_kinematics);
+  }
 }
@@ -33,4 +33,17 @@ public final class MathUtils {
     public static double clamp(double value, double low, double high) {
         return Math.max(low, Math.min(value, high));
     }
+
+    /**
+     * Wraps an angle to the range (-pi, pi]. This is the wrapping used by
+     * {@link com.arcrobotics.ftclib.geometry.Rotation2d} and the pure pursuit code.
+     *
+     * @param radians The angle to wrap, in radians.
+     * @return The equivalent angle in (-pi, pi].
+     */
+    public static double normalizeRadians(double radians) {
+        while (radians > Math.PI) radians -= 2 * Math.PI;
+        while (radians <= -Math.PI) radians += 2 * Math.PI;
+        return radians;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.arcrobotics.ftclib.command;
+
+import com.arcrobotics.ftclib.drivebase.MecanumDrive;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.kinematics.Odometry;
+import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.StartWaypoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PurePursuitCommandTest {
+    private static final long kTimeoutMillis = 5000;
+
+    /**
+     * Records the last robot-centric speeds it was given.
+     */
+    private static final class FakeDrive extends MecanumDrive {
+        volatile double m_strafe;
+        volatile double m_forward;
+        volatile int m_commands;
+        volatile boolean m_stopped;
+        volatile Thread m_thread;
+
+        FakeDrive() {
+            super(new Motor(), new Motor(), new Motor(), new Motor());
+        }
+
+        @Override
+        public void driveRobotCentric(double strafeSpeed, double forwardSpeed, double turnSpeed) {
+            m_strafe = strafeSpeed;
+            m_forward = forwardSpeed;
+            m_stopped = false;
+            m_thread = Thread.currentThread();
+            m_commands++;
+        }
+
+        @Override
+        public void stop() {
+            m_strafe = 0;
+            m_forward = 0;
+            m_stopped = true;
+        }
+    }
+
+    /**
+     * Moves the robot a fixed step per update in the direction the drive was told to go.
+     */
+    private static final class FakeOdometry extends Odometry {
+        private final FakeDrive m_drive;
+        Throwable m_error;
+
+        FakeOdometry(FakeDrive drive) {
+            super(new Pose2d(0, 0, new Rotation2d()));
+            m_drive = drive;
+        }
+
+        @Override
+        public void updatePose(Pose2d newPose) {
+            robotPose = newPose;
+        }
+
+        @Override
+        public void updatePose() {
+            if (m_error instanceof Error) {
+                throw (Error) m_error;
+            }
+            if (m_error != null) {
+                throw (RuntimeException) m_error;
+            }
+            robotPose = new Pose2d(robotPose.getTranslation().getX() + 2 * m_drive.m_strafe,
+                    robotPose.getTranslation().getY() + 2 * m_drive.m_forward, robotPose.getRotation());
+        }
+    }
+
+    private static PurePursuitCommand command(FakeDrive drive, OdometrySubsystem odometry) {
+        return new PurePursuitCommand(drive, odometry,
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(50, 0, 0.8, 0.8, 10),
+                new EndWaypoint(100, 0, 0, 0.5, 0.5, 10, 3, 1));
+    }
+
+    @Test
+    void testAsyncFollowerFinishesPath() throws InterruptedException {
+        FakeDrive drive = new FakeDrive();
+        OdometrySubsystem odometry = new OdometrySubsystem(new FakeOdometry(drive));
+        PurePursuitCommand command = command(drive, odometry).enableAsyncFollower(2);
+
+        command.initialize();
+        long deadline = System.currentTimeMillis() + kTimeoutMillis;
+        while (!command.isFinished() && System.currentTimeMillis() < deadline) {
+            command.execute();
+            Thread.sleep(5);
+        }
+        assertTrue(command.isFinished());
+        command.end(false);
+
+        assertEquals(100, odometry.getPose().getTranslation().getX(), 3);
+        assertTrue(drive.m_stopped);
+        assertNotEquals(Thread.currentThread(), drive.m_thread);
+
+        // The follower must not drive once the command has ended.
+        int commands = drive.m_commands;
+        Thread.sleep(20);
+        assertEquals(commands, drive.m_commands);
+    }
+
+    @Test
+    void testAsyncFollowerRethrowsErrors() throws InterruptedException {
+        FakeDrive drive = new FakeDrive();
+        FakeOdometry fakeOdometry = new FakeOdometry(drive);
+        IllegalStateException error = new IllegalStateException("Encoder disconnected");
+        fakeOdometry.m_error = error;
+        PurePursuitCommand command = command(drive, new OdometrySubsystem(fakeOdometry))
+                .enableAsyncFollower(2);
+
+        command.initialize();
+        RuntimeException thrown = null;
+        long deadline = System.currentTimeMillis() + kTimeoutMillis;
+        while (thrown == null && System.currentTimeMillis() < deadline) {
+            assertFalse(command.isFinished());
+            try {
+                command.execute();
+            } catch (RuntimeException e) {
+                thrown = e;
+            }
+            Thread.sleep(5);
+        }
+        command.end(true);
+
+        assertSame(error, thrown);
+        assertTrue(drive.m_stopped);
+    }
+
+    @Test
+    void testAsyncFollowerRethrowsJvmErrors() throws InterruptedException {
+        FakeDrive drive = new FakeDrive();
+        FakeOdometry fakeOdometry = new FakeOdometry(drive);
+        AssertionError error = new AssertionError("Odometry failed");
+        fakeOdometry.m_error = error;
+        PurePursuitCommand command = command(drive, new OdometrySubsystem(fakeOdometry))
+                .enableAsyncFollower(2);
+
+        command.initialize();
+        Error thrown = null;
+        long deadline = System.currentTimeMillis() + kTimeoutMillis;
+        while (thrown == null && System.currentTimeMillis() < deadline) {
+            assertFalse(command.isFinished());
+            try {
+                command.execute();
+            } catch (Error e) {
+                thrown = e;
+            }
+            Thread.sleep(5);
+        }
+        command.end(true);
+
+        assertSame(error, thrown);
+        assertTrue(drive.m_stopped);
+    }
+
+    @Test
+    void testSynchronousFollowerRunsInExecute() {
+        FakeDrive drive = new FakeDrive();
+        OdometrySubsystem odometry = new OdometrySubsystem(new FakeOdometry(drive));
+        PurePursuitCommand command = command(drive, odometry);
+
+        command.initialize();
+        command.execute();
+        assertEquals(1, drive.m_commands);
+        assertSame(Thread.currentThread(), drive.m_thread);
+        assertEquals(1, drive.m_strafe, 1E-9);
+        command.end(false);
+        assertTrue(drive.m_stopped);
+    }
+
+    @Test
+    void testAsyncFollowerPeriodMustBePositive() {
+        FakeDrive drive = new FakeDrive();
+        PurePursuitCommand command = command(drive, new OdometrySubsystem(new FakeOdometry(drive)));
+        assertThrows(IllegalArgumentException.class, () -> command.enableAsyncFollower(0));
+    }
+}
@@ -1,11 +1,14 @@
 package com.arcrobotics.ftclib.controller;
 
 import com.arcrobotics.ftclib.controller.wpilibcontroller.ProfiledPIDController;
+import com.arcrobotics.ftclib.trajectory.SCurveProfile;
 import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
 
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ProfiledPIDControllerTest {
     @Test
@@ -17,4 +20,83 @@ public class ProfiledPIDControllerTest {
 
         assertEquals(0, controller.calculate(20,20), 0.05);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPrecomputedProfileMatchesProfile() {
+        TrapezoidProfile.Constraints constraints = new TrapezoidProfile.Constraints(1.0, 1.0);
+        TrapezoidProfile profile = new TrapezoidProfile(constraints,
+                new TrapezoidProfile.State(2, 0), new TrapezoidProfile.State(0, 0));
+        ProfiledPIDController controller = new ProfiledPIDController(1.0, 0.0, 0.0, constraints);
+        controller.setPrecomputedProfile(true);
+        controller.reset(0);
+
+        double time = 0;
+        TrapezoidProfile.State setpoint = null;
+        for (int i = 0; i < 20; i++) {
+            // The profile advances by the period measured on the previous cycle.
+            time += controller.getPeriod();
+            controller.calculate(0, 2);
+            TrapezoidProfile.State expected = profile.calculate(time);
+            assertEquals(expected.position, controller.getSetpoint().position, 1E-9);
+            assertEquals(expected.velocity, controller.getSetpoint().velocity, 1E-9);
+            if (setpoint != null) {
+                assertSame(setpoint, controller.getSetpoint());
+            }
+            setpoint = controller.getSetpoint();
+        }
+    }
+
+    @Test
+    void testMovingGoalFollowsSCurve() throws InterruptedException {
+        SCurveProfile.Constraints constraints = new SCurveProfile.Constraints(1.5, 2, 8);
+        SCurveProfile profile = new SCurveProfile(constraints, new TrapezoidProfile.State(20, 0));
+        ProfiledPIDController controller = new ProfiledPIDController(1.0, 0.0, 0.0, constraints);
+        controller.reset(0);
+
+        // A goal that moves every cycle, like one read from a supplier, rebuilds
+        // the profile every cycle. It must not restart the acceleration each time.
+        double time = 0;
+        double goal = 20;
+        controller.calculate(0, goal);
+        while (time < 1.2) {
+            Thread.sleep(5);
+            time += controller.getPeriod();
+            goal += 1E-3;
+            controller.calculate(0, goal);
+            SCurveProfile.State expected = profile.calculate(time);
+            assertEquals(expected.position, controller.getSetpoint().position, 1E-6);
+            assertEquals(expected.velocity, controller.getSetpoint().velocity, 1E-6);
+        }
+        assertEquals(1.5, controller.getSetpoint().velocity, 1E-6);
+    }
+
+    @Test
+    void testConstraintsChangedInPlaceRebuildProfile() throws InterruptedException {
+        TrapezoidProfile.Constraints constraints = new TrapezoidProfile.Constraints(1.0, 1.0);
+        ProfiledPIDController controller = new ProfiledPIDController(1.0, 0.0, 0.0, constraints);
+        controller.setPrecomputedProfile(true);
+        controller.reset(0);
+        controller.calculate(0, 10);
+
+        constraints.maxVelocity = 0.2;
+        controller.setConstraints(constraints);
+        double time = 0;
+        while (time < 0.5) {
+            Thread.sleep(5);
+            time += controller.getPeriod();
+            controller.calculate(0, 10);
+            assertTrue(controller.getSetpoint().velocity <= 0.2 + 1E-9);
+        }
+        assertEquals(0.2, controller.getSetpoint().velocity, 1E-9);
+    }
+
+    @Test
+    void testInPlaceCalculateMatches() {
+        TrapezoidProfile profile = new TrapezoidProfile(new TrapezoidProfile.Constraints(1.0, 2.0),
+                new TrapezoidProfile.State(-3, 0.5), new TrapezoidProfile.State(1, 0));
+        TrapezoidProfile.State output = new TrapezoidProfile.State();
+        for (double t = 0; t < profile.totalTime() + 1; t += 0.1) {
+            assertEquals(profile.calculate(t), profile.calculate(t, output));
+        }
+    }
+}
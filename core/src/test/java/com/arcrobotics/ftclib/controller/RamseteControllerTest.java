@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -59,4 +60,32 @@ public class RamseteControllerTest {
                                 - finalRobotPose.getRotation().getRadians(), Math.toRadians(2))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPrimitiveReferenceMatchesPose() {
+        final RamseteController poses = new RamseteController(2.0, 0.7);
+        final RamseteController primitives = new RamseteController(2.0, 0.7);
+        final Pose2d tolerance = new Pose2d(0.5, 0.5, new Rotation2d(0.5));
+        poses.setTolerance(tolerance);
+        primitives.setTolerance(tolerance);
+        final Random random = new Random(28);
+        for (int i = 0; i < 1000; i++) {
+            final Pose2d current = new Pose2d(random.nextDouble() * 4, random.nextDouble() * 4,
+                    new Rotation2d((random.nextDouble() - 0.5) * 2 * Math.PI));
+            final Pose2d reference = new Pose2d(current.getTranslation().getX() + random.nextGaussian() * 0.4,
+                    current.getTranslation().getY() + random.nextGaussian() * 0.4,
+                    new Rotation2d((random.nextDouble() - 0.5) * 2 * Math.PI));
+            final double velocity = random.nextDouble() * 3;
+            final double angularVelocity = random.nextGaussian();
+
+            final ChassisSpeeds expected = poses.calculate(current, reference, velocity, angularVelocity);
+            final ChassisSpeeds actual = primitives.calculate(current, reference.getTranslation().getX(),
+                    reference.getTranslation().getY(), reference.getHeading(), velocity, angularVelocity);
+            assertAll(
+                    () -> assertEquals(expected.vxMetersPerSecond, actual.vxMetersPerSecond, 1E-9),
+                    () -> assertEquals(expected.omegaRadiansPerSecond, actual.omegaRadiansPerSecond, 1E-9),
+                    () -> assertEquals(poses.atReference(), primitives.atReference())
+            );
+        }
+    }
+}
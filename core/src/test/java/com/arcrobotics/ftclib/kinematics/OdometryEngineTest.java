@@ -0,0 +1,80 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Twist2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class OdometryEngineTest {
+    private static final double kEpsilon = 1E-9;
+
+    @Test
+    void testIntegrateMatchesPoseExp() {
+        Pose2d start = new Pose2d(1, 2, new Rotation2d(0.5));
+        OdometryEngine engine = new OdometryEngine(new ThreeWheelOdometryModel(10, 2), start);
+
+        engine.integrate(3, 1, 0.5 + Math.PI / 3);
+        Pose2d expected = start.exp(new Twist2d(3, 1, Math.PI / 3));
+
+        assertAll(
+                () -> assertEquals(expected.getX(), engine.getX(), kEpsilon),
+                () -> assertEquals(expected.getY(), engine.getY(), kEpsilon),
+                () -> assertEquals(expected.getHeading(), engine.getHeading(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testThreeWheelStraightLine() {
+        OdometryEngine engine = new OdometryEngine(new ThreeWheelOdometryModel(10, 2));
+
+        engine.update(5, 5, 0);
+        engine.update(10, 10, 3);
+
+        assertAll(
+                () -> assertEquals(10, engine.getX(), kEpsilon),
+                () -> assertEquals(3, engine.getY(), kEpsilon),
+                () -> assertEquals(0, engine.getHeading(), kEpsilon),
+                () -> assertEquals(2, engine.getUpdateCount())
+        );
+    }
+
+    @Test
+    void testDifferentialGyroHeading() {
+        OdometryEngine engine = new OdometryEngine(new DifferentialOdometryModel());
+
+        engine.update(5.0 / 2.0 * Math.PI, 5.0 / 2.0 * Math.PI, Math.PI / 2.0);
+
+        assertAll(
+                () -> assertEquals(5.0, engine.getX(), kEpsilon),
+                () -> assertEquals(5.0, engine.getY(), kEpsilon),
+                () -> assertEquals(90.0, engine.getPose().getRotation().getDegrees(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testResetZerosModel() {
+        OdometryEngine engine = new OdometryEngine(new DifferentialOdometryModel(12));
+
+        engine.update(20, 20);
+        engine.resetPose(new Pose2d(1, 1, new Rotation2d()));
+        engine.update(4, 4);
+
+        assertAll(
+                () -> assertEquals(5, engine.getX(), kEpsilon),
+                () -> assertEquals(1, engine.getY(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testPoseIsCachedBetweenUpdates() {
+        OdometryEngine engine = new OdometryEngine(new ThreeWheelOdometryModel(10, 2));
+        engine.update(1, 2, 3);
+
+        assertSame(engine.getPose(), engine.getPose());
+    }
+}
@@ -0,0 +1,70 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TwoWheelImuOdometryTest {
+    private static final double kEpsilon = 1E-9;
+
+    @Test
+    void testInterpolatesBetweenSamples() {
+        TwoWheelImuOdometry odometry = new TwoWheelImuOdometry(0, 0);
+
+        odometry.addHeadingSample(0.0, 0.0);
+        odometry.addHeadingSample(0.1, 0.4);
+
+        assertAll(
+                () -> assertEquals(0.1, odometry.getHeadingAt(0.025), kEpsilon),
+                () -> assertEquals(0.4, odometry.getHeadingAt(0.5), kEpsilon),
+                () -> assertEquals(0.0, odometry.getHeadingAt(-1), kEpsilon)
+        );
+    }
+
+    @Test
+    void testInterpolatesAcrossWrap() {
+        TwoWheelImuOdometry odometry = new TwoWheelImuOdometry(0, 0);
+
+        odometry.addHeadingSample(0.0, Math.PI - 0.1);
+        odometry.addHeadingSample(0.1, -Math.PI + 0.1);
+
+        // the first sample is offset to the starting heading of zero
+        assertEquals(0.1, odometry.getHeadingAt(0.05), kEpsilon);
+    }
+
+    @Test
+    void testEncoderUpdatesBetweenImuSamples() {
+        TwoWheelImuOdometry odometry = new TwoWheelImuOdometry(0, 0);
+
+        odometry.addHeadingSample(0.0, 0.0);
+        odometry.update(0.0, 0, 0);
+        odometry.addHeadingSample(1.0, Math.PI / 2);
+
+        // a quarter circle of radius 5, with the encoders read twice per IMU sample
+        odometry.update(0.5, 5.0 / 4.0 * Math.PI, 0);
+        odometry.update(1.0, 5.0 / 2.0 * Math.PI, 0);
+
+        Pose2d pose = odometry.getPose();
+        assertAll(
+                () -> assertEquals(5.0, pose.getX(), kEpsilon),
+                () -> assertEquals(5.0, pose.getY(), kEpsilon),
+                () -> assertEquals(90.0, pose.getRotation().getDegrees(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testHeadingIsOffsetToInitialPose() {
+        TwoWheelImuOdometry odometry = new TwoWheelImuOdometry(
+                new Pose2d(0, 0, new Rotation2d(1.0)), 0, 0);
+
+        odometry.addHeadingSample(0.0, 0.25);
+        odometry.addHeadingSample(0.1, 0.5);
+        odometry.update(0.1, 0, 0);
+
+        assertEquals(1.25, odometry.getPose().getHeading(), kEpsilon);
+    }
+}
@@ -0,0 +1,65 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.StartWaypoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveLookaheadTest {
+    private static final double kEpsilon = 1E-9;
+
+    private static Path cornerPath(double followRadius) {
+        return new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(100, 0, 1, 1, followRadius),
+                new GeneralWaypoint(200, 0),
+                new GeneralWaypoint(200, 100),
+                new EndWaypoint(300, 100, 0, 1, 1, followRadius, 0.8, 1));
+    }
+
+    @Test
+    void testFollowRadius() {
+        AdaptiveLookahead lookahead = new AdaptiveLookahead(5, 30, 0.5, 20);
+
+        assertAll(
+                () -> assertEquals(5, lookahead.getFollowRadius(0, 0), kEpsilon),
+                () -> assertEquals(15, lookahead.getFollowRadius(20, 0), kEpsilon),
+                () -> assertEquals(30, lookahead.getFollowRadius(200, 0), kEpsilon),
+                () -> assertEquals(7.5, lookahead.getFollowRadius(20, 0.05), kEpsilon),
+                () -> assertEquals(5, lookahead.getFollowRadius(20, 1), kEpsilon)
+        );
+    }
+
+    @Test
+    void testUpcomingCurvature() {
+        CompiledPath path = cornerPath(15).compile();
+        double corner = Math.PI / 2 / 100;
+        assertEquals(corner, path.getCurvature(2), kEpsilon);
+        assertEquals(corner, path.getCurvature(3), kEpsilon);
+        assertEquals(0, path.getCurvature(1), kEpsilon);
+
+        double[] upcoming = new AdaptiveLookahead(5, 30, 0.5, 20).setPreviewDistance(150)
+                .upcomingCurvature(path);
+        // The first corner is 200 along the path, out of view of the first segment.
+        assertArrayEquals(new double[] {0, 0, corner, corner, corner}, upcoming, kEpsilon);
+    }
+
+    @Test
+    void testFixedAdaptiveRadiusMatchesWaypointRadius() {
+        // Without gains, the adaptive radius is the min radius everywhere.
+        Path adaptive = cornerPath(50).setAdaptiveLookahead(new AdaptiveLookahead(12, 12, 0, 0));
+        Path fixed = cornerPath(12);
+        adaptive.init();
+        fixed.init();
+        double[][] positions = {{10, 2}, {95, -3}, {190, 5}, {198, 60}, {250, 99}};
+        for (double[] position : positions) {
+            assertArrayEquals(fixed.loop(position[0], position[1], 0),
+                    adaptive.loop(position[0], position[1], 0), kEpsilon);
+        }
+    }
+}
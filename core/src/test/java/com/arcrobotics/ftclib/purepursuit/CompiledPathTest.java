@@ -0,0 +1,97 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.purepursuit.types.WaypointType;
+import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.PointTurnWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.StartWaypoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledPathTest {
+    private static final double kEpsilon = 1E-9;
+
+    private static Path path() {
+        return new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(30, 40, 0.8, 0.8, 20),
+                new PointTurnWaypoint(30, 100, 0.8, 0.8, 10, 2, 0.1),
+                new GeneralWaypoint(60, 100),
+                new EndWaypoint(60, 0, 0, 0.5, 0.5, 30, 0.8, 1));
+    }
+
+    @Test
+    void testSegments() {
+        CompiledPath compiled = path().compile();
+
+        assertAll(
+                () -> assertEquals(5, compiled.size()),
+                () -> assertEquals(30, compiled.getDirectionX(1), kEpsilon),
+                () -> assertEquals(40, compiled.getDirectionY(1), kEpsilon),
+                () -> assertEquals(50, compiled.getSegmentLength(1), kEpsilon),
+                () -> assertEquals(2500, compiled.getSegmentLengthSquared(1), kEpsilon),
+                () -> assertEquals(0, compiled.getDistance(0), kEpsilon),
+                () -> assertEquals(110, compiled.getDistance(2), kEpsilon),
+                () -> assertEquals(240, compiled.getLength(), kEpsilon),
+                () -> assertEquals(20, compiled.getFollowRadius(1), kEpsilon),
+                // The unconfigured waypoint inherits the point turn waypoint's radius.
+                () -> assertEquals(10, compiled.getFollowRadius(3), kEpsilon),
+                () -> assertEquals(WaypointType.START, compiled.getType(0)),
+                () -> assertEquals(WaypointType.POINT_TURN, compiled.getType(2)),
+                () -> assertFalse(compiled.isPointTurn(1)),
+                () -> assertTrue(compiled.isPointTurn(2)),
+                () -> assertTrue(compiled.isPointTurn(4)),
+                () -> assertEquals(-1, compiled.getAwayIndex(0)),
+                () -> assertEquals(0, compiled.getAwayIndex(2)),
+                () -> assertEquals(2, compiled.getAwayIndex(3)),
+                () -> assertEquals(2, compiled.getAwayIndex(4))
+        );
+    }
+
+    @Test
+    void testIntersectionsMatchUtil() {
+        Path path = path();
+        CompiledPath compiled = path.compile();
+        double[] points = new double[4];
+        double[][] centers = {{10, 10}, {30, 60}, {45, 100}, {60, 50}, {200, 200}, {30, 100}};
+        for (double[] center : centers) {
+            for (int i = 1; i < compiled.size(); i++) {
+                List<Translation2d> expected = PurePursuitUtil.lineCircleIntersection(
+                        new Translation2d(center[0], center[1]), path.get(i).getFollowDistance(),
+                        path.get(i - 1).getPose().getTranslation(), path.get(i).getPose().getTranslation());
+                int count = compiled.intersections(i, center[0], center[1], points);
+                assertEquals(expected.size(), count);
+                for (int j = 0; j < count; j++) {
+                    assertEquals(expected.get(j).getX(), points[2 * j], kEpsilon);
+                    assertEquals(expected.get(j).getY(), points[2 * j + 1], kEpsilon);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCompileVerifiesPath() {
+        Path path = new Path(new StartWaypoint(0, 0), new GeneralWaypoint(10, 10, 0.5, 0.5, 5));
+        assertThrows(IllegalStateException.class, path::compile);
+    }
+
+    @Test
+    void testLoopRequiresInitAfterChange() {
+        Path path = path();
+        path.init();
+        path.loop(5, 5, 0);
+        path.add(3, new GeneralWaypoint(45, 100));
+        assertThrows(IllegalStateException.class, () -> path.loop(5, 5, 0));
+        path.init();
+        path.loop(5, 5, 0);
+    }
+}
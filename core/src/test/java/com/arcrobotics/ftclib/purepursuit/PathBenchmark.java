@@ -0,0 +1,41 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Measures the cost of one Path loop on short and long paths, with and without
+ * windowed segment search. Benchmarks are skipped in the normal test run; enable
+ * them with {@code -Dftclib.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "ftclib.benchmark", matches = "true")
+public class PathBenchmark {
+    private static final int kWarmup = 20000;
+    private static final int kRuns = 100000;
+
+    private static double nanosPerLoop(Path path) {
+        path.init();
+        Waypoint waypoint = path.get(5);
+        double x = waypoint.getPose().getX();
+        double y = waypoint.getPose().getY() + 2;
+        double[] output = new double[3];
+        for (int i = 0; i < kWarmup; i++) {
+            path.loop(x, y, 0, output);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < kRuns; i++) {
+            path.loop(x, y, 0, output);
+        }
+        return (System.nanoTime() - start) / (double) kRuns;
+    }
+
+    @Test
+    void benchmarkLoop() {
+        for (int waypoints : new int[] {10, 100, 1000}) {
+            double full = nanosPerLoop(PathTest.longPath(waypoints).disableWindowedSearch());
+            double windowed = nanosPerLoop(PathTest.longPath(waypoints));
+            System.out.printf("Path.loop with %d waypoints: full scan %.0f ns, windowed %.0f ns%n",
+                    waypoints, full, windowed);
+        }
+    }
+}
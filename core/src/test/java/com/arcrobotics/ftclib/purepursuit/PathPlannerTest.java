@@ -0,0 +1,122 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.StartWaypoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathPlannerTest {
+    private static final double kEpsilon = 1E-9;
+
+    private static Path cornerPath() {
+        return new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(100, 0, 1, 1, 15),
+                new GeneralWaypoint(100, 100),
+                new EndWaypoint(200, 100, 0, 1, 1, 15, 0.8, 1));
+    }
+
+    @Test
+    void testInjection() {
+        Path path = new Path(
+                new StartWaypoint(0, 0),
+                new EndWaypoint(0, 95, 0, 1, 1, 15, 0.8, 1));
+        PlannedPath planned = new PathPlanner(10, 50, 20, 30).plan(path.compile());
+
+        // The 95 unit segment is split into ten even steps.
+        assertEquals(11, planned.size());
+        for (int i = 0; i < planned.size(); i++) {
+            assertEquals(0, planned.getX(i), kEpsilon);
+            assertEquals(i * 9.5, planned.getY(i), kEpsilon);
+            assertEquals(i * 9.5, planned.getPathDistance(i), kEpsilon);
+        }
+    }
+
+    @Test
+    void testStraightLineVelocities() {
+        Path path = new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(50, 0, 1, 1, 15),
+                new EndWaypoint(200, 0, 0, 1, 1, 15, 0.8, 1));
+        PlannedPath planned = new PathPlanner(5, 40, 20, 30).setMinVelocity(0).plan(path.compile());
+
+        for (int i = 0; i < planned.size(); i++) {
+            double toEnd = 200 - planned.getPathDistance(i);
+            assertEquals(0, planned.getY(i), kEpsilon);
+            assertEquals(0, planned.getCurvature(i), kEpsilon);
+            // With no corners, the robot only slows down to stop at the end.
+            assertEquals(Math.min(40, Math.sqrt(2 * 20 * toEnd)), planned.getVelocity(i), 1E-6);
+        }
+    }
+
+    @Test
+    void testCurvatureOfCircle() {
+        Path path = new Path(new StartWaypoint(50, 0));
+        for (int i = 1; i < 36; i++) {
+            path.add(new GeneralWaypoint(50 * Math.cos(i * 0.05), 50 * Math.sin(i * 0.05), 1, 1, 15));
+        }
+        path.add(new EndWaypoint(50 * Math.cos(1.8), 50 * Math.sin(1.8), 0, 1, 1, 15, 0.8, 1));
+        // Without smoothing, and with points only at the waypoints, the points lie on the circle.
+        PlannedPath planned = new PathPlanner(10, 40, 20, 30).setSmoothing(0, 1E-3).plan(path.compile());
+
+        assertEquals(37, planned.size());
+        for (int i = 1; i < planned.size() - 1; i++) {
+            assertEquals(1 / 50.0, planned.getCurvature(i), 1E-9);
+        }
+    }
+
+    @Test
+    void testCornerVelocities() {
+        double maxAcceleration = 20;
+        PlannedPath planned = new PathPlanner(2, 40, maxAcceleration, 30).plan(cornerPath().compile());
+
+        double cornerVelocity = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < planned.size(); i++) {
+            if (Math.abs(planned.getPathDistance(i) - 100) < 10) {
+                cornerVelocity = Math.min(cornerVelocity, planned.getVelocity(i));
+            }
+            if (i < planned.size() - 1) {
+                // The robot must always be able to decelerate to the next point.
+                double next = planned.getVelocity(i + 1);
+                double distance = Math.hypot(planned.getX(i + 1) - planned.getX(i),
+                        planned.getY(i + 1) - planned.getY(i));
+                assertTrue(planned.getVelocity(i) <= Math.sqrt(next * next + 2 * maxAcceleration * distance) + kEpsilon);
+            }
+        }
+        // The corner is slower than the straights around it.
+        assertTrue(cornerVelocity < 30);
+        assertEquals(40, planned.getVelocityAt(60), kEpsilon);
+        assertEquals(40, planned.getVelocityAt(150), kEpsilon);
+        // The smoothed path cuts the corner.
+        assertTrue(planned.getVelocityAt(100) < 40);
+    }
+
+    @Test
+    void testFollowerUsesPlan() {
+        Path planned = cornerPath().setVelocityPlanner(new PathPlanner(2, 40, 20, 30));
+        Path unplanned = cornerPath();
+        planned.init();
+        unplanned.init();
+
+        // Far from the corner the robot moves at its configured speed.
+        assertArrayEquals(unplanned.loop(50, 0, 0), planned.loop(50, 0, 0), kEpsilon);
+
+        // Approaching the corner, it is slowed down by the ratio of planned to max velocity. The
+        // follow circle reaches the second segment, so the robot is projected onto the corner.
+        double[] expected = unplanned.loop(95, 0, 0);
+        double[] actual = planned.loop(95, 0, 0);
+        double scale = planned.getPlannedPath().getVelocityAt(100) / 40;
+        assertTrue(scale < 1);
+        assertAll(
+                () -> assertEquals(expected[0] * scale, actual[0], kEpsilon),
+                () -> assertEquals(expected[1] * scale, actual[1], kEpsilon),
+                () -> assertEquals(expected[2], actual[2], kEpsilon)
+        );
+    }
+}
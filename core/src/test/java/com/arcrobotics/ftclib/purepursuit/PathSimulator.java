@@ -0,0 +1,247 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+/**
+ * Follows a {@link Path} with a simulated mecanum robot, without hardware. Each
+ * simulated loop the path is given the robot's pose, possibly delayed and noisy,
+ * and its motor powers move a kinematic model of the robot for one period.
+ *
+ * <p>The model treats the x, y and turn powers as fractions of the robot's max
+ * speed and max turn rate, in the robot's frame, and limits how fast the field
+ * velocity can change. The simulation runs as fast as the JVM allows, so path
+ * features that measure wall-clock time, like timeouts and the speed used by an
+ * {@link AdaptiveLookahead}, do not see simulated time.
+ */
+public class PathSimulator {
+    private double m_period = 0.01;
+    private double m_maxSpeed = 40;
+    private double m_maxAcceleration = 200;
+    private double m_maxTurnRate = Math.PI;
+    private int m_latencyLoops;
+    private double m_positionNoise;
+    private double m_headingNoise;
+    private double m_maxTime = 30;
+    private long m_seed = 50;
+
+    /**
+     * The outcome of a simulated run.
+     */
+    public static final class Result {
+        /** Whether the path finished before the time limit. */
+        public final boolean finished;
+        /** The simulated time until the path finished, or the time limit. */
+        public final double completionTime;
+        /** The largest distance between the true pose and the path. */
+        public final double maxCrossTrackError;
+        /** The root mean square distance between the true pose and the path. */
+        public final double rmsCrossTrackError;
+        /** The distance between the true pose and the last waypoint at the end of the run. */
+        public final double finalError;
+        /** The number of times Path.loop was called. */
+        public final int loops;
+        /** The mean wall-clock time of one Path.loop call. */
+        public final double nanosPerLoop;
+        /** The mean bytes allocated by one Path.loop call, or -1 if the JVM can't tell. */
+        public final double bytesPerLoop;
+
+        Result(boolean finished, double completionTime, double maxCrossTrackError,
+               double rmsCrossTrackError, double finalError, int loops, double nanosPerLoop,
+               double bytesPerLoop) {
+            this.finished = finished;
+            this.completionTime = completionTime;
+            this.maxCrossTrackError = maxCrossTrackError;
+            this.rmsCrossTrackError = rmsCrossTrackError;
+            this.finalError = finalError;
+            this.loops = loops;
+            this.nanosPerLoop = nanosPerLoop;
+            this.bytesPerLoop = bytesPerLoop;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s in %.2f s, cross-track error max %.2f rms %.2f, final error %.2f, "
+                            + "%d loops, %.0f ns and %.1f B per loop",
+                    finished ? "finished" : "not finished", completionTime, maxCrossTrackError,
+                    rmsCrossTrackError, finalError, loops, nanosPerLoop, bytesPerLoop);
+        }
+    }
+
+    /**
+     * Sets the time between loops in seconds. The default is 0.01.
+     */
+    public PathSimulator setPeriod(double seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("The period must be positive.");
+        }
+        m_period = seconds;
+        return this;
+    }
+
+    /**
+     * Sets the limits of the robot model. The defaults are 40 units/s, 200 units/s^2
+     * and pi rad/s.
+     */
+    public PathSimulator setLimits(double maxSpeed, double maxAcceleration, double maxTurnRate) {
+        if (maxSpeed <= 0 || maxAcceleration <= 0 || maxTurnRate <= 0) {
+            throw new IllegalArgumentException("The limits of the robot must be positive.");
+        }
+        m_maxSpeed = maxSpeed;
+        m_maxAcceleration = maxAcceleration;
+        m_maxTurnRate = maxTurnRate;
+        return this;
+    }
+
+    /**
+     * Delays the pose given to the path by a number of loops. The default is none.
+     */
+    public PathSimulator setLatency(int loops) {
+        if (loops < 0) {
+            throw new IllegalArgumentException("The latency cannot be negative.");
+        }
+        m_latencyLoops = loops;
+        return this;
+    }
+
+    /**
+     * Adds gaussian noise with the given standard deviations to the pose given to
+     * the path. The default is none.
+     */
+    public PathSimulator setNoise(double position, double heading, long seed) {
+        if (position < 0 || heading < 0) {
+            throw new IllegalArgumentException("The noise cannot be negative.");
+        }
+        m_positionNoise = position;
+        m_headingNoise = heading;
+        m_seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the simulated time after which a run is stopped. The default is 30 s.
+     */
+    public PathSimulator setMaxTime(double seconds) {
+        m_maxTime = seconds;
+        return this;
+    }
+
+    /**
+     * Initializes the path and follows it from its first waypoint, facing along
+     * the x axis, until it finishes or the time limit is reached.
+     *
+     * @param path The path to follow.
+     * @return The result of the run.
+     */
+    public Result run(Path path) {
+        path.init();
+        CompiledPath compiled = path.compile();
+        Random random = new Random(m_seed);
+
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        long threadId = Thread.currentThread().getId();
+
+        // True poses of the last loops, so that the path can be given a delayed one.
+        int history = m_latencyLoops + 1;
+        double[] xs = new double[history];
+        double[] ys = new double[history];
+        double[] headings = new double[history];
+        double x = compiled.getX(0);
+        double y = compiled.getY(0);
+        double heading = 0;
+        double vx = 0;
+        double vy = 0;
+        for (int i = 0; i < history; i++) {
+            xs[i] = x;
+            ys[i] = y;
+        }
+
+        double[] powers = new double[3];
+        double maxError = 0;
+        double squaredError = 0;
+        long loopNanos = 0;
+        long loopBytes = 0;
+        int loops = 0;
+        boolean finished = false;
+        while (loops * m_period < m_maxTime) {
+            // Give the path the pose from the start of the latency window.
+            int delayed = (loops + 1) % history;
+            double measuredX = xs[delayed] + random.nextGaussian() * m_positionNoise;
+            double measuredY = ys[delayed] + random.nextGaussian() * m_positionNoise;
+            double measuredHeading = headings[delayed] + random.nextGaussian() * m_headingNoise;
+
+            long bytes = threads != null ? threads.getThreadAllocatedBytes(threadId) : 0;
+            long start = System.nanoTime();
+            path.loop(measuredX, measuredY, measuredHeading, powers);
+            loopNanos += System.nanoTime() - start;
+            if (threads != null) {
+                loopBytes += threads.getThreadAllocatedBytes(threadId) - bytes;
+            }
+            loops++;
+            if (path.isFinished()) {
+                finished = true;
+                break;
+            }
+
+            // The path's powers are in the robot's frame, which is the field frame
+            // rotated by minus the heading, and a positive turn power lowers the heading.
+            double cos = Math.cos(-heading);
+            double sin = Math.sin(-heading);
+            double targetVx = (powers[0] * cos - powers[1] * sin) * m_maxSpeed;
+            double targetVy = (powers[0] * sin + powers[1] * cos) * m_maxSpeed;
+            double dvx = targetVx - vx;
+            double dvy = targetVy - vy;
+            double dv = Math.hypot(dvx, dvy);
+            double maxDv = m_maxAcceleration * m_period;
+            if (dv > maxDv) {
+                dvx *= maxDv / dv;
+                dvy *= maxDv / dv;
+            }
+            vx += dvx;
+            vy += dvy;
+            x += vx * m_period;
+            y += vy * m_period;
+            heading = PurePursuitUtil.angleWrap(heading - powers[2] * m_maxTurnRate * m_period);
+
+            int current = loops % history;
+            xs[current] = x;
+            ys[current] = y;
+            headings[current] = heading;
+
+            double error = crossTrackError(compiled, x, y);
+            maxError = Math.max(maxError, error);
+            squaredError += error * error;
+        }
+
+        int last = compiled.size() - 1;
+        return new Result(finished, loops * m_period, maxError, Math.sqrt(squaredError / loops),
+                Math.hypot(x - compiled.getX(last), y - compiled.getY(last)), loops,
+                loopNanos / (double) loops, threads != null ? loopBytes / (double) loops : -1);
+    }
+
+    /**
+     * Returns the distance from a point to the nearest segment of the path.
+     */
+    private static double crossTrackError(CompiledPath path, double x, double y) {
+        double error = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < path.size(); i++) {
+            error = Math.min(error, path.distanceToSegment(i, x, y));
+        }
+        return error;
+    }
+
+    /**
+     * Returns the bean that counts allocated bytes per thread, or null if the JVM
+     * doesn't support it.
+     */
+    static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+                ? threads : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Reports the tracking accuracy and loop cost of simulated runs, with increasing
+ * path length, latency and noise. Benchmarks are skipped in the normal test run;
+ * enable them with {@code -Dftclib.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "ftclib.benchmark", matches = "true")
+public class PathSimulatorBenchmark {
+
+    @Test
+    void benchmarkSimulatedRuns() {
+        // Warm up the JIT so the first reported run isn't dominated by compilation.
+        for (int i = 0; i < 20; i++) {
+            new PathSimulator().run(PathSimulatorTest.cornerPath());
+        }
+
+        System.out.println("Corner path: " + new PathSimulator().run(PathSimulatorTest.cornerPath()));
+        for (int latency : new int[] {3, 10}) {
+            System.out.printf("Corner path, %d loops of latency and noise: %s%n", latency,
+                    new PathSimulator().setLatency(latency).setNoise(0.5, 0.02, 7)
+                            .run(PathSimulatorTest.cornerPath()));
+        }
+        System.out.println("Corner path, velocity planned: " + new PathSimulator()
+                .run(PathSimulatorTest.cornerPath().setVelocityPlanner(new PathPlanner(2, 40, 100, 100))));
+        for (int waypoints : new int[] {10, 100, 1000}) {
+            System.out.printf("%d waypoints: %s%n", waypoints,
+                    new PathSimulator().setMaxTime(200).run(PathTest.longPath(waypoints)));
+        }
+    }
+}
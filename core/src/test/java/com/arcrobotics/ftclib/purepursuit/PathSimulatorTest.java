@@ -0,0 +1,65 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.StartWaypoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathSimulatorTest {
+    private static final double kEpsilon = 1E-9;
+
+    static Path cornerPath() {
+        return new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(50, 0, 0.8, 0.8, 10),
+                new GeneralWaypoint(100, 40, 0.8, 0.8, 10),
+                new EndWaypoint(150, 40, 0, 0.5, 0.5, 10, 0.8, 1));
+    }
+
+    @Test
+    void testFollowsPath() {
+        PathSimulator.Result result = new PathSimulator().run(cornerPath());
+
+        // The path is about 164 units long and the robot moves at most 40 units/s.
+        assertAll(
+                () -> assertTrue(result.finished),
+                () -> assertTrue(result.completionTime > 4 && result.completionTime < 15),
+                () -> assertTrue(result.maxCrossTrackError < 5),
+                () -> assertTrue(result.finalError < 2),
+                () -> assertEquals(result.loops * 0.01, result.completionTime, kEpsilon)
+        );
+    }
+
+    @Test
+    void testLatencyAndNoiseAreReproducible() {
+        PathSimulator simulator = new PathSimulator().setLatency(3).setNoise(0.5, 0.02, 7);
+        PathSimulator.Result first = simulator.run(cornerPath());
+        PathSimulator.Result second = simulator.run(cornerPath());
+
+        assertAll(
+                () -> assertTrue(first.finished),
+                () -> assertTrue(first.maxCrossTrackError < 5),
+                () -> assertEquals(first.loops, second.loops),
+                () -> assertEquals(first.maxCrossTrackError, second.maxCrossTrackError),
+                () -> assertEquals(first.rmsCrossTrackError, second.rmsCrossTrackError),
+                () -> assertEquals(first.finalError, second.finalError)
+        );
+    }
+
+    @Test
+    void testStopsAtTimeLimit() {
+        PathSimulator.Result result = new PathSimulator().setMaxTime(1).run(cornerPath());
+
+        assertAll(
+                () -> assertFalse(result.finished),
+                () -> assertEquals(100, result.loops),
+                () -> assertEquals(1, result.completionTime, kEpsilon)
+        );
+    }
+}
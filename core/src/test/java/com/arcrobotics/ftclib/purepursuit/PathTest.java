@@ -0,0 +1,332 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.purepursuit.actions.TriggeredAction;
+import com.arcrobotics.ftclib.purepursuit.types.PathType;
+import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.PointTurnWaypoint;
+import com.arcrobotics.ftclib.purepursuit.waypoints.StartWaypoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class PathTest {
+
+    private static Path path() {
+        Path path = new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(200, 0, 0.8, 0.8, 30),
+                new PointTurnWaypoint(200, 200, 0.8, 0.8, 30, 2, 0.1),
+                new GeneralWaypoint(0, 200, Math.PI, 0.8, 0.8, 30),
+                new EndWaypoint(0, 400, 0, 0.5, 0.5, 30, 0.8, 1));
+        path.addTriggeredActions(new TriggeredAction() {
+            @Override
+            public boolean isTriggered() {
+                return false;
+            }
+
+            @Override
+            public void doAction(boolean alreadyPerformed) {
+            }
+        });
+        return path;
+    }
+
+    /**
+     * Returns a gently curving path with the given number of waypoints, which never
+     * comes close to itself.
+     */
+    static Path longPath(int waypoints) {
+        Path path = new Path(new StartWaypoint(0, 0));
+        for (int i = 1; i < waypoints - 1; i++) {
+            path.add(new GeneralWaypoint(i * 5, 40 * Math.sin(i * 0.05), 0.8, 0.8, 15));
+        }
+        path.add(new EndWaypoint((waypoints - 1) * 5, 40 * Math.sin((waypoints - 1) * 0.05), 0,
+                0.5, 0.5, 15, 0.8, 1));
+        return path;
+    }
+
+    /**
+     * The motor powers path() gave, before loop could write into an array, for each
+     * path type at the positions in kGoldenPositions, in order.
+     */
+    private static final double[][] kGoldenPositions = {
+            {10, 5}, {100, -3}, {190, 20}, {205, 120}, {150, 198}, {-50, -50}
+    };
+    private static final double[][] kGoldenHeadingControlled = {
+            {0.8823526333469677, 0.11764736665303228, 0.04219258681702348},
+            {-0.8315761155005588, -0.16842388449944115, -0.9363913145741227},
+            {0.03066418409674987, 0.7693358159032502, 0.3898556143085956},
+            {-0.26835363557199216, 0.531646364428008, 0.5190346759146007},
+            {0.7224963241990998, 0.27750367580090013, -0.9045070341448629},
+            {0.322125516728556, 0.677874483271444, 0.19098593171027445}
+    };
+    private static final double[][] kGoldenWaypointOrderingControlled = {
+            {0.8823526333469677, 0.11764736665303228, 0.04219258681702348},
+            {0.7027453401924458, 0.29725465980755417, 0.12737724628439706},
+            {0.03066418409674987, 0.7693358159032502, 0.3898556143085956},
+            {-0.26835363557199216, 0.531646364428008, 0.5190346759146007},
+            {-0.8080090354730554, -0.19199096452694456, -0.9045070341448629},
+            {0.2345640826390986, 0.7654359173609014, 0.19098593171027445}
+    };
+
+    @Test
+    void testLoopMatchesGoldenOutputs() {
+        for (PathType type : PathType.values()) {
+            double[][] golden = type == PathType.HEADING_CONTROLLED
+                    ? kGoldenHeadingControlled : kGoldenWaypointOrderingControlled;
+            // A heading a full turn away must give the same powers.
+            for (double heading : new double[] {0.3, 0.3 + 2 * Math.PI}) {
+                Path allocating = path().setPathType(type);
+                Path reusing = path().setPathType(type);
+                allocating.init();
+                reusing.init();
+                double[] output = new double[3];
+                for (int i = 0; i < kGoldenPositions.length; i++) {
+                    double x = kGoldenPositions[i][0];
+                    double y = kGoldenPositions[i][1];
+                    assertArrayEquals(golden[i], allocating.loop(x, y, heading), 1E-12);
+                    assertSame(output, reusing.loop(x, y, heading, output));
+                    assertArrayEquals(golden[i], output, 1E-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEndWaypointReachedWithUnwrappedHeading() {
+        Path path = new Path(new StartWaypoint(0, 0), new EndWaypoint(100, 0, 0, 0.5, 0.5, 10, 3, 1));
+        path.init();
+        assertArrayEquals(new double[] {0, 0, 0}, path.loop(100, 0, 2 * Math.PI, new double[3]), 1E-12);
+        assertTrue(path.isFinished());
+    }
+
+    @Test
+    void testSteadyStateLoopDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = PathSimulator.allocationCounter();
+        assumeTrue(threads != null);
+        long threadId = Thread.currentThread().getId();
+
+        Path path = path().setVelocityPlanner(new PathPlanner(5, 1, 2, 0.5))
+                .setAdaptiveLookahead(new AdaptiveLookahead(10, 40, 0.5, 20));
+        path.init();
+        double[] output = new double[3];
+        for (int i = 0; i < 20000; i++) {
+            path.loop(100, 5, 0.1, output);
+        }
+
+        // The JIT may allocate once in a while as it recompiles the loop, so measure a few
+        // windows. A loop that allocates does so in every window.
+        long allocated = Long.MAX_VALUE;
+        for (int window = 0; window < 10 && allocated > 0; window++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 1000; i++) {
+                path.loop(100, 5, 0.1, output);
+            }
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    void testWindowedSearchMatchesFullScan() {
+        Path windowed = longPath(150);
+        Path full = longPath(150).disableWindowedSearch();
+        windowed.init();
+        full.init();
+        double[] expected = new double[3];
+        double[] actual = new double[3];
+        for (int i = 0; i < 140; i++) {
+            Waypoint waypoint = windowed.get(i);
+            double x = waypoint.getPose().getX() + 1;
+            double y = waypoint.getPose().getY() + 3;
+            full.loop(x, y, 0.2, expected);
+            windowed.loop(x, y, 0.2, actual);
+            assertArrayEquals(expected, actual, 1E-12);
+        }
+    }
+
+    @Test
+    void testWindowedSearchFallsBackToFullScan() {
+        Path windowed = longPath(150);
+        Path full = longPath(150).disableWindowedSearch();
+        windowed.init();
+        full.init();
+        // Start far along the path, where the window around the first segment finds nothing.
+        Waypoint waypoint = windowed.get(100);
+        double[] expected = full.loop(waypoint.getPose().getX(), waypoint.getPose().getY() - 2, 0);
+        double[] actual = windowed.loop(waypoint.getPose().getX(), waypoint.getPose().getY() - 2, 0);
+        assertArrayEquals(expected, actual, 1E-12);
+    }
+
+    @Test
+    void testWindowedSearchDoesNotSkipAhead() {
+        // The return leg of this path passes within the follow radius of the first leg.
+        Path windowed = new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(100, 0, 0.8, 0.8, 15),
+                new GeneralWaypoint(100, 10, 0.8, 0.8, 15),
+                new EndWaypoint(0, 10, 0, 0.5, 0.5, 15, 0.8, 1));
+        windowed.init();
+        double[] motorPowers = windowed.loop(20, 0, 0);
+        assertArrayEquals(new double[] {1, 0, 0}, motorPowers, 1E-9);
+
+        windowed.disableWindowedSearch();
+        motorPowers = windowed.loop(20, 0, 0);
+        assertNotEquals(0, motorPowers[1], 1E-3);
+    }
+
+    /**
+     * Records when it is checked and performed. It is triggered once the robot passes x.
+     */
+    private static final class RecordingAction extends TriggeredAction {
+        private final String m_name;
+        private final List<String> m_log;
+        private double m_triggerX = Double.NEGATIVE_INFINITY;
+        int m_checks;
+        double m_robotX;
+
+        RecordingAction(String name, List<String> log) {
+            m_name = name;
+            m_log = log;
+        }
+
+        @Override
+        public boolean isTriggered() {
+            m_checks++;
+            return m_robotX >= m_triggerX;
+        }
+
+        @Override
+        public void doAction(boolean alreadyPerformed) {
+            m_log.add(m_name);
+        }
+    }
+
+    @Test
+    void testScheduledActions() {
+        List<String> log = new ArrayList<>();
+        RecordingAction waypoint = new RecordingAction("waypoint", log);
+        RecordingAction early = new RecordingAction("early", log);
+        RecordingAction late = new RecordingAction("late", log);
+        late.m_triggerX = 120;
+        Path path = new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(100, 0, 0.8, 0.8, 15),
+                new EndWaypoint(300, 0, 0, 0.5, 0.5, 15, 0.8, 1))
+                .addTriggeredActionAtWaypoint(waypoint, 1)
+                .addTriggeredAction(late, 60)
+                .addTriggeredAction(early, 25);
+        path.init();
+
+        for (double x = 0; x < 150; x += 10) {
+            waypoint.m_robotX = x;
+            early.m_robotX = x;
+            late.m_robotX = x;
+            path.loop(x, 1, 0);
+            if (x < 20) {
+                assertEquals(0, early.m_checks);
+            }
+            if (x < 100) {
+                assertEquals(0, waypoint.m_checks);
+            }
+        }
+
+        // Each action is performed once, when it becomes eligible and is triggered.
+        assertEquals(Arrays.asList("early", "waypoint", "late"), log);
+        assertEquals(1, early.m_checks);
+        assertEquals(1, waypoint.m_checks);
+        // The late action was eligible from 60, and was checked until it was triggered at 120.
+        assertEquals(7, late.m_checks);
+
+        // Reinitializing the path makes the actions eligible again.
+        path.init();
+        path.loop(30, 1, 0);
+        assertEquals(2, early.m_checks);
+    }
+
+    @Test
+    void testScheduledActionFiresAtItsDistance() {
+        List<String> log = new ArrayList<>();
+        RecordingAction action = new RecordingAction("action", log);
+        // The lookahead point is on the segment after the action long before the robot gets there.
+        Path path = new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(50, 0, 0.8, 0.8, 30),
+                new GeneralWaypoint(100, 0, 0.8, 0.8, 30),
+                new GeneralWaypoint(150, 0, 0.8, 0.8, 30),
+                new EndWaypoint(200, 0, 0, 0.5, 0.5, 30, 0.8, 1))
+                .addTriggeredAction(action, 100);
+        path.init();
+
+        double firedAt = Double.NaN;
+        for (double x = 0; x < 150 && log.isEmpty(); x += 5) {
+            path.loop(x, 1, 0);
+            firedAt = x;
+        }
+        assertEquals(100, firedAt);
+    }
+
+    private static Path straightPath() {
+        return new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(50, 0, 0.8, 0.8, 10),
+                new GeneralWaypoint(100, 0, 0.8, 0.8, 10),
+                new GeneralWaypoint(150, 0, 0.8, 0.8, 10),
+                new EndWaypoint(200, 0, 0, 0.5, 0.5, 10, 0.8, 1));
+    }
+
+    @Test
+    void testProjectionRecoveryRejoinsAhead() {
+        Path retrace = straightPath();
+        Path recovery = straightPath().enableProjectionRecovery();
+        retrace.init();
+        recovery.init();
+        retrace.loop(60, 2, 0);
+        recovery.loop(60, 2, 0);
+
+        // The robot is bumped away from the path, out of reach of the follow circle.
+        double[] backwards = retrace.loop(80, 30, 0);
+        double[] powers = recovery.loop(80, 30, 0);
+
+        // Retrace backs up towards the last intersection, recovery heads for the point
+        // one follow radius ahead of the robot's projection at (80, 0).
+        assertTrue(backwards[0] < 0);
+        assertEquals(Math.atan2(-30, 10), Math.atan2(powers[1], powers[0]), 1E-9);
+    }
+
+    @Test
+    void testProjectionRecoveryStopsAtPointTurns() {
+        Path path = new Path(
+                new StartWaypoint(0, 0),
+                new GeneralWaypoint(50, 0, 0.8, 0.8, 10),
+                new PointTurnWaypoint(100, 0, 0.8, 0.8, 20, 1, 0.1),
+                new EndWaypoint(100, 100, 0, 0.5, 0.5, 10, 0.8, 1))
+                .enableProjectionRecovery();
+        path.init();
+        path.loop(60, 2, 0);
+
+        // The robot is closer to the segment after the point turn, but it has to reach the
+        // point turn first.
+        double[] powers = path.loop(88, 30, 0);
+        assertEquals(Math.atan2(-30, 12), Math.atan2(powers[1], powers[0]), 1E-9);
+    }
+
+    @Test
+    void testProjectionRecoveryWindowMustNotBeNegative() {
+        assertThrows(IllegalArgumentException.class, () -> straightPath().setRecoveryWindow(-1));
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares the time and allocation of the geometry methods of PurePursuitUtil to
+ * their primitive variants. Benchmarks are skipped in the normal test run; enable them with
+ * {@code -Dftclib.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "ftclib.benchmark", matches = "true")
+public class PurePursuitUtilBenchmark {
+    private static final int kPoints = 1024;
+    private static final int kWarmup = 200000;
+    private static final int kRuns = 2000000;
+
+    private final double[] m_x = new double[kPoints];
+    private final double[] m_y = new double[kPoints];
+    private final Translation2d[] m_points = new Translation2d[kPoints];
+
+    // Accumulates results so the JIT cannot drop the calls being measured.
+    private double m_sink;
+
+    public PurePursuitUtilBenchmark() {
+        for (int i = 0; i < kPoints; i++) {
+            m_x[i] = 50 + 40 * Math.cos(i * 0.37);
+            m_y[i] = 50 + 40 * Math.sin(i * 0.61);
+            m_points[i] = new Translation2d(m_x[i], m_y[i]);
+        }
+    }
+
+    /**
+     * Returns the time and, where the JVM can measure it, the bytes allocated per call.
+     */
+    private static String measure(Runnable body) {
+        for (int i = 0; i < kWarmup; i++) {
+            body.run();
+        }
+        com.sun.management.ThreadMXBean threads = PathSimulator.allocationCounter();
+        long threadId = Thread.currentThread().getId();
+        long allocated = threads != null ? threads.getThreadAllocatedBytes(threadId) : -1;
+        long start = System.nanoTime();
+        for (int i = 0; i < kRuns; i++) {
+            body.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (allocated < 0) {
+            return String.format("%.1f ns", elapsed / (double) kRuns);
+        }
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+        return String.format("%.1f ns, %.1f B", elapsed / (double) kRuns, allocated / (double) kRuns);
+    }
+
+    @Test
+    void benchmarkLineCircleIntersection() {
+        final int[] index = new int[1];
+        final Translation2d center = new Translation2d(50, 50);
+        String list = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            m_sink += PurePursuitUtil.lineCircleIntersection(center, 20,
+                    m_points[i], m_points[(i + 1) & (kPoints - 1)]).size();
+        });
+        final double[] intersections = new double[4];
+        String primitive = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            int j = (i + 1) & (kPoints - 1);
+            m_sink += PurePursuitUtil.lineCircleIntersection(50, 50, 20,
+                    m_x[i], m_y[i], m_x[j], m_y[j], intersections);
+        });
+        System.out.printf("lineCircleIntersection: list %s, primitive %s (%.0f)%n",
+                list, primitive, m_sink);
+    }
+
+    @Test
+    void benchmarkMoveToPosition() {
+        final int[] index = new int[1];
+        String allocating = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            m_sink += PurePursuitUtil.moveToPosition(m_x[i], m_y[i], 0.3, 50, 50, 1, false)[0];
+        });
+        final double[] powers = new double[3];
+        String primitive = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            m_sink += PurePursuitUtil.moveToPosition(m_x[i], m_y[i], 0.3, 50, 50, 1, false, powers)[0];
+        });
+        System.out.printf("moveToPosition: allocating %s, into array %s (%.0f)%n",
+                allocating, primitive, m_sink);
+    }
+
+    @Test
+    void benchmarkSegmentKernels() {
+        final int[] index = new int[1];
+        String progress = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            int j = (i + 1) & (kPoints - 1);
+            m_sink += PurePursuitUtil.segmentProgress(50, 50, m_x[i], m_y[i], m_x[j], m_y[j]);
+        });
+        final double[] closest = new double[2];
+        String closestPoint = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            int j = (i + 1) & (kPoints - 1);
+            m_sink += PurePursuitUtil.closestPointOnSegment(50, 50, m_x[i], m_y[i], m_x[j], m_y[j],
+                    closest)[0];
+        });
+        String distance = measure(() -> {
+            int i = index[0]++ & (kPoints - 1);
+            int j = (i + 1) & (kPoints - 1);
+            m_sink += PurePursuitUtil.distanceToSegment(50, 50, m_x[i], m_y[i], m_x[j], m_y[j]);
+        });
+        System.out.printf("segmentProgress %s, closestPointOnSegment %s, "
+                + "distanceToSegment %s (%.0f)%n", progress, closestPoint, distance, m_sink);
+    }
+}
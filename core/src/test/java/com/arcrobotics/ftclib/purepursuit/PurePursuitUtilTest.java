@@ -0,0 +1,118 @@
+package com.arcrobotics.ftclib.purepursuit;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PurePursuitUtilTest {
+    private static final double kEpsilon = 1E-9;
+    private static final int kCases = 10000;
+
+    @Test
+    void testLineCircleIntersectionMatchesList() {
+        Random random = new Random(47);
+        double[] intersections = new double[4];
+        for (int i = 0; i < kCases; i++) {
+            double circleX = random.nextDouble() * 100;
+            double circleY = random.nextDouble() * 100;
+            double radius = 1 + random.nextDouble() * 40;
+            double x1 = random.nextDouble() * 100;
+            double y1 = random.nextDouble() * 100;
+            double x2 = random.nextDouble() * 100;
+            double y2 = random.nextDouble() * 100;
+
+            List<Translation2d> expected = PurePursuitUtil.lineCircleIntersection(
+                    new Translation2d(circleX, circleY), radius,
+                    new Translation2d(x1, y1), new Translation2d(x2, y2));
+            int count = PurePursuitUtil.lineCircleIntersection(circleX, circleY, radius,
+                    x1, y1, x2, y2, intersections);
+
+            assertEquals(expected.size(), count);
+            for (int j = 0; j < count; j++) {
+                assertEquals(expected.get(j).getX(), intersections[2 * j]);
+                assertEquals(expected.get(j).getY(), intersections[2 * j + 1]);
+            }
+        }
+    }
+
+    @Test
+    void testLineCircleIntersectionEdgeCases() {
+        double[] intersections = new double[4];
+        // A horizontal segment tangent to the circle.
+        assertEquals(1, PurePursuitUtil.lineCircleIntersection(0, 0, 1, -2, 1, 2, 1, intersections));
+        assertAll(
+                () -> assertEquals(0, intersections[0], kEpsilon),
+                () -> assertEquals(1, intersections[1], kEpsilon)
+        );
+        // A segment that ends inside the circle only crosses it once.
+        assertEquals(1, PurePursuitUtil.lineCircleIntersection(0, 0, 1, 0, 0, 5, 0, intersections));
+        assertEquals(1, intersections[0], kEpsilon);
+        // A segment that misses the circle.
+        assertEquals(0, PurePursuitUtil.lineCircleIntersection(0, 0, 1, -2, 3, 2, 3, intersections));
+    }
+
+    @Test
+    void testMoveToPositionIntoArrayMatchesMoveToPosition() {
+        Random random = new Random(48);
+        double[] output = new double[3];
+        for (int i = 0; i < kCases; i++) {
+            double cx = random.nextDouble() * 100;
+            double cy = random.nextDouble() * 100;
+            double ca = (random.nextDouble() - 0.5) * 2 * Math.PI;
+            double tx = random.nextDouble() * 100;
+            double ty = random.nextDouble() * 100;
+            double ta = (random.nextDouble() - 0.5) * 2 * Math.PI;
+            boolean turnOnly = i % 10 == 0;
+
+            double[] expected = PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, turnOnly);
+            assertSame(output, PurePursuitUtil.moveToPosition(cx, cy, ca, tx, ty, ta, turnOnly, output));
+            assertArrayEquals(expected, output, 0);
+        }
+    }
+
+    @Test
+    void testSegmentProgress() {
+        assertAll(
+                () -> assertEquals(0.25, PurePursuitUtil.segmentProgress(1, 3, 0, 0, 4, 0), kEpsilon),
+                () -> assertEquals(0, PurePursuitUtil.segmentProgress(-5, 1, 0, 0, 4, 0), kEpsilon),
+                () -> assertEquals(1, PurePursuitUtil.segmentProgress(9, -1, 0, 0, 4, 0), kEpsilon),
+                () -> assertEquals(0.5, PurePursuitUtil.segmentProgress(0, 2, 1, 1, -1, 3), kEpsilon),
+                () -> assertEquals(0, PurePursuitUtil.segmentProgress(3, 3, 1, 1, 1, 1), kEpsilon)
+        );
+    }
+
+    @Test
+    void testClosestPointOnSegmentMatchesSampling() {
+        Random random = new Random(49);
+        double[] closest = new double[2];
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextDouble() * 100;
+            double y = random.nextDouble() * 100;
+            double x1 = random.nextDouble() * 100;
+            double y1 = random.nextDouble() * 100;
+            double x2 = random.nextDouble() * 100;
+            double y2 = random.nextDouble() * 100;
+
+            assertSame(closest, PurePursuitUtil.closestPointOnSegment(x, y, x1, y1, x2, y2, closest));
+            double distance = Math.hypot(x - closest[0], y - closest[1]);
+            assertEquals(distance, PurePursuitUtil.distanceToSegment(x, y, x1, y1, x2, y2), kEpsilon);
+
+            // No point along the segment may be closer than the one found.
+            for (int j = 0; j <= 100; j++) {
+                double t = j / 100.0;
+                double sampleX = x1 + t * (x2 - x1);
+                double sampleY = y1 + t * (y2 - y1);
+                assertTrue(Math.hypot(x - sampleX, y - sampleY) >= distance - kEpsilon);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.arcrobotics.ftclib.spline;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArcLengthTableTest {
+    private static final double kEpsilon = 1E-9;
+
+    /**
+     * Integrates the length of the spline with a fine polyline.
+     */
+    private static double polylineLength(Spline spline, double t1) {
+        final int steps = 200000;
+        double length = 0;
+        Pose2d previous = spline.getPoint(0).poseMeters;
+        for (int i = 1; i <= steps; i++) {
+            Pose2d current = spline.getPoint(t1 * i / steps).poseMeters;
+            length += current.getTranslation().getDistance(previous.getTranslation());
+            previous = current;
+        }
+        return length;
+    }
+
+    @Test
+    void testStraightLine() {
+        // Tangents equal to the chord make the cubic a straight line at constant speed.
+        Spline spline = new CubicHermiteSpline(new double[]{0, 3}, new double[]{3, 3},
+                new double[]{0, 4}, new double[]{4, 4});
+        ArcLengthTable table = spline.getArcLengthTable();
+
+        assertAll(
+                () -> assertEquals(5, table.getLength(), kEpsilon),
+                () -> assertEquals(0.5, table.getT(2.5), kEpsilon),
+                () -> assertEquals(2.5, table.getPoint(2.5).poseMeters.getTranslation()
+                        .getDistance(new Translation2d()), kEpsilon)
+        );
+    }
+
+    @Test
+    void testMatchesPolyline() {
+        Spline[] splines = SplineHelper.getCubicSplinesFromControlVectors(
+                new Spline.ControlVector(new double[]{0, 2}, new double[]{0, 0}),
+                new Translation2d[]{new Translation2d(1, 1)},
+                new Spline.ControlVector(new double[]{2, 0}, new double[]{2, 2}));
+
+        for (Spline spline : splines) {
+            ArcLengthTable table = spline.getArcLengthTable();
+            assertAll(
+                    () -> assertEquals(polylineLength(spline, 1), table.getLength(), 1E-6),
+                    () -> assertEquals(polylineLength(spline, 0.3), table.getDistance(0.3), 1E-6)
+            );
+        }
+    }
+
+    @Test
+    void testDistanceRoundTrip() {
+        Spline[] splines = SplineParameterizerTest.randomSplines(new Random(35), 10);
+        Random random = new Random(5);
+
+        for (Spline spline : splines) {
+            ArcLengthTable table = spline.getArcLengthTable();
+            for (int i = 0; i < 20; i++) {
+                double distance = random.nextDouble() * table.getLength();
+                assertEquals(distance, table.getDistance(table.getT(distance)), 1E-8);
+            }
+            assertAll(
+                    () -> assertEquals(0, table.getT(-1)),
+                    () -> assertEquals(1, table.getT(table.getLength() + 1))
+            );
+        }
+    }
+}
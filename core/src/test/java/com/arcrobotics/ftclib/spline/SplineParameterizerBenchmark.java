@@ -0,0 +1,48 @@
+package com.arcrobotics.ftclib.spline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+
+/**
+ * Compares the parameterizer against the allocating reference implementation.
+ * Benchmarks are skipped in the normal test run; enable them with
+ * {@code -Dftclib.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "ftclib.benchmark", matches = "true")
+public class SplineParameterizerBenchmark {
+    private static final int kWarmup = 20;
+    private static final int kRuns = 50;
+
+    @Test
+    void benchmarkParameterize() {
+        Spline[] splines = SplineParameterizerTest.randomSplines(new Random(34), 20);
+
+        for (int i = 0; i < kWarmup; i++) {
+            for (Spline spline : splines) {
+                SplineParameterizerTest.referenceParameterize(spline);
+                SplineParameterizer.parameterize(spline);
+            }
+        }
+
+        long reference = 0;
+        long current = 0;
+        for (int i = 0; i < kRuns; i++) {
+            long start = System.nanoTime();
+            for (Spline spline : splines) {
+                SplineParameterizerTest.referenceParameterize(spline);
+            }
+            reference += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (Spline spline : splines) {
+                SplineParameterizer.parameterize(spline);
+            }
+            current += System.nanoTime() - start;
+        }
+
+        System.out.printf("SplineParameterizer: reference %.3f ms, current %.3f ms per path (%.1fx)%n",
+                reference / 1E6 / kRuns, current / 1E6 / kRuns, (double) reference / current);
+    }
+}
@@ -0,0 +1,123 @@
+package com.arcrobotics.ftclib.spline;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Twist2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SplineParameterizerTest {
+    private static final double kEpsilon = 1E-9;
+
+    /**
+     * The parameterization as it was written before it was made allocation-free,
+     * evaluating both ends of every interval and testing them with Pose2d.log.
+     * A malformed spline throws an IllegalStateException after as many iterations
+     * as the parameterizer allows.
+     */
+    static List<PoseWithCurvature> referenceParameterize(Spline spline) {
+        List<PoseWithCurvature> points = new ArrayList<>();
+        points.add(spline.getPoint(0));
+
+        ArrayDeque<double[]> stack = new ArrayDeque<>();
+        stack.push(new double[]{0, 1});
+        int iterations = 0;
+        while (!stack.isEmpty()) {
+            double[] current = stack.removeFirst();
+            PoseWithCurvature start = spline.getPoint(current[0]);
+            PoseWithCurvature end = spline.getPoint(current[1]);
+            Twist2d twist = start.poseMeters.log(end.poseMeters);
+            if (Math.abs(twist.dy) > 0.00127 || Math.abs(twist.dx) > 0.127
+                    || Math.abs(twist.dtheta) > 0.0872) {
+                stack.addFirst(new double[]{(current[0] + current[1]) / 2, current[1]});
+                stack.addFirst(new double[]{current[0], (current[0] + current[1]) / 2});
+            } else {
+                points.add(end);
+            }
+
+            if (++iterations >= 5000) {
+                throw new IllegalStateException("Malformed spline");
+            }
+        }
+        return points;
+    }
+
+    static Spline[] randomSplines(Random random, int count) {
+        List<Pose2d> waypoints = new ArrayList<>();
+        for (int i = 0; i <= count; i++) {
+            waypoints.add(new Pose2d(random.nextDouble() * 3, random.nextDouble() * 3,
+                    new Rotation2d(random.nextDouble() * 6 - 3)));
+        }
+        return SplineHelper.getQuinticSplinesFromControlVectors(
+                SplineHelper.getQuinticControlVectorsFromWaypoints(waypoints)
+                        .toArray(new Spline.ControlVector[0]));
+    }
+
+    @Test
+    void testPrimitivePointMatchesGetPoint() {
+        Spline spline = randomSplines(new Random(34), 1)[0];
+        double[] output = new double[5];
+
+        for (double t = 0; t <= 1; t += 0.125) {
+            PoseWithCurvature expected = spline.getPoint(t);
+            spline.getPoint(t, output, 0);
+            assertAll(
+                    () -> assertEquals(expected.poseMeters.getX(), output[0], kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getY(), output[1], kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getHeading(),
+                            new Rotation2d(output[2], output[3]).getRadians(), kEpsilon),
+                    () -> assertEquals(expected.curvatureRadPerMeter, output[4], kEpsilon)
+            );
+        }
+    }
+
+    @Test
+    void testMatchesReference() {
+        Random random = new Random(2020);
+        for (Spline spline : randomSplines(random, 40)) {
+            List<PoseWithCurvature> expected;
+            try {
+                expected = referenceParameterize(spline);
+            } catch (IllegalStateException e) {
+                assertThrows(SplineParameterizer.MalformedSplineException.class,
+                        () -> SplineParameterizer.parameterize(spline));
+                continue;
+            }
+            List<PoseWithCurvature> actual = SplineParameterizer.parameterize(spline);
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                PoseWithCurvature e = expected.get(i);
+                PoseWithCurvature a = actual.get(i);
+                assertAll(
+                        () -> assertEquals(e.poseMeters.getX(), a.poseMeters.getX(), kEpsilon),
+                        () -> assertEquals(e.poseMeters.getY(), a.poseMeters.getY(), kEpsilon),
+                        () -> assertEquals(e.poseMeters.getHeading(), a.poseMeters.getHeading(), kEpsilon)
+                );
+            }
+        }
+    }
+
+    @Test
+    void testMalformedSpline() {
+        // Two points facing each other.
+        Spline[] splines = SplineHelper.getQuinticSplinesFromControlVectors(
+                SplineHelper.getQuinticControlVectorsFromWaypoints(Arrays.asList(
+                        new Pose2d(0, 0, Rotation2d.fromDegrees(0)),
+                        new Pose2d(1, 0, Rotation2d.fromDegrees(180))))
+                        .toArray(new Spline.ControlVector[0]));
+
+        assertThrows(SplineParameterizer.MalformedSplineException.class,
+                () -> SplineParameterizer.parameterize(splines[0]));
+    }
+}
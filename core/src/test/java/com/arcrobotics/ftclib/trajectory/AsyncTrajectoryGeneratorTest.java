@@ -0,0 +1,158 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.trajectory.constraint.CentripetalAccelerationConstraint;
+import com.arcrobotics.ftclib.trajectory.constraint.TrajectoryConstraint;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AsyncTrajectoryGeneratorTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final List<Pose2d> m_waypoints = Arrays.asList(
+            new Pose2d(), new Pose2d(3, 2, Rotation2d.fromDegrees(90)),
+            new Pose2d(0, 4, Rotation2d.fromDegrees(180))
+    );
+
+    private final AsyncTrajectoryGenerator m_generator = new AsyncTrajectoryGenerator(2, 4, 2);
+
+    @AfterEach
+    void shutdown() {
+        m_generator.shutdown();
+    }
+
+    private static TrajectoryConfig config(double maxCentripetal) {
+        return new TrajectoryConfig(2, 1.5)
+                .addConstraint(new CentripetalAccelerationConstraint(maxCentripetal));
+    }
+
+    @Test
+    void testMatchesSynchronousGeneration() {
+        Trajectory expected = TrajectoryGenerator.generateTrajectory(m_waypoints, config(1));
+        Trajectory actual = m_generator.generateTrajectory(m_waypoints, config(1)).join();
+
+        assertAll(
+                () -> assertEquals(expected.getStates().size(), actual.getStates().size()),
+                () -> assertEquals(expected.getTotalTimeSeconds(),
+                        actual.getTotalTimeSeconds(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testEqualInputsShareTheCachedTrajectory() {
+        Trajectory first = m_generator.generateTrajectory(m_waypoints, config(1)).join();
+        Trajectory second = m_generator.generateTrajectory(
+                Arrays.asList(new Pose2d(), new Pose2d(3, 2, Rotation2d.fromDegrees(90)),
+                        new Pose2d(0, 4, Rotation2d.fromDegrees(180))),
+                config(1)).join();
+
+        assertAll(
+                () -> assertSame(first, second),
+                () -> assertEquals(1, m_generator.getCacheSize())
+        );
+    }
+
+    @Test
+    void testConstraintIsPartOfTheKey() {
+        Trajectory loose = m_generator.generateTrajectory(m_waypoints, config(10)).join();
+        Trajectory tight = m_generator.generateTrajectory(m_waypoints, config(0.5)).join();
+
+        assertAll(
+                () -> assertNotSame(loose, tight),
+                () -> assertNotEquals(TrajectoryKey.of(m_waypoints, config(10)),
+                        TrajectoryKey.of(m_waypoints, config(0.5))),
+                () -> assertEquals(TrajectoryKey.of(m_waypoints, config(10)).fingerprint(),
+                        TrajectoryKey.of(m_waypoints, config(10)).fingerprint())
+        );
+    }
+
+    @Test
+    void testFingerprintIgnoresLastBitDifferences() {
+        // Math.toRadians may differ in the last bit between the build machine and the robot.
+        double heading = Rotation2d.fromDegrees(90).getRadians();
+        List<Pose2d> perturbed = Arrays.asList(
+                new Pose2d(), new Pose2d(Math.nextUp(3.0), 2, new Rotation2d(Math.nextUp(heading))),
+                new Pose2d(0, 4, new Rotation2d(Math.nextDown(Math.PI)))
+        );
+
+        assertAll(
+                () -> assertEquals(TrajectoryKey.of(m_waypoints, config(1)).fingerprint(),
+                        TrajectoryKey.of(perturbed, config(1)).fingerprint()),
+                () -> assertNotEquals(TrajectoryKey.of(m_waypoints, config(1)).fingerprint(),
+                        TrajectoryKey.of(perturbed, config(1.5)).fingerprint())
+        );
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        TrajectoryKey first = TrajectoryKey.of(m_waypoints, config(1));
+        TrajectoryKey second = TrajectoryKey.of(m_waypoints, config(2));
+        TrajectoryKey third = TrajectoryKey.of(m_waypoints, config(3));
+
+        m_generator.generateTrajectory(m_waypoints, config(1)).join();
+        m_generator.generateTrajectory(m_waypoints, config(2)).join();
+        m_generator.generateTrajectory(m_waypoints, config(1)).join();
+        m_generator.generateTrajectory(m_waypoints, config(3)).join();
+
+        assertAll(
+                () -> assertEquals(true, m_generator.isCached(first)),
+                () -> assertEquals(false, m_generator.isCached(second)),
+                () -> assertEquals(true, m_generator.isCached(third))
+        );
+    }
+
+    @Test
+    void testGeneratesOnCallerAfterShutdown() {
+        m_generator.shutdown();
+        CompletableFuture<Trajectory> future = m_generator.generateTrajectory(m_waypoints, config(1));
+
+        assertAll(
+                () -> assertEquals(true, future.isDone()),
+                () -> assertEquals(TrajectoryGenerator.generateTrajectory(m_waypoints, config(1))
+                        .getTotalTimeSeconds(), future.join().getTotalTimeSeconds(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testErrorCompletesTheFutureAndIsNotCached() {
+        TrajectoryConstraint failing = new TrajectoryConstraint() {
+            @Override
+            public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                        double velocityMetersPerSecond) {
+                throw new AssertionError("Constraint failed");
+            }
+
+            @Override
+            public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                                double curvatureRadPerMeter,
+                                                                double velocityMetersPerSecond) {
+                return new MinMax();
+            }
+        };
+        TrajectoryConfig config = new TrajectoryConfig(2, 1.5).addConstraint(failing);
+
+        CompletableFuture<Trajectory> future = m_generator.generateTrajectory(m_waypoints, config);
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS));
+
+        assertAll(
+                () -> assertEquals(AssertionError.class, thrown.getCause().getClass()),
+                () -> assertEquals(false, m_generator.isCached(TrajectoryKey.of(m_waypoints, config)))
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedTrajectoryTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final Trajectory m_trajectory = TrajectoryGenerator.generateTrajectory(
+            Arrays.asList(new Pose2d(), new Pose2d(2, 2, Rotation2d.fromDegrees(45)),
+                    new Pose2d(4, -1, Rotation2d.fromDegrees(-90))),
+            new TrajectoryConfig(1.5, 1)
+    );
+
+    @Test
+    void testStatesViewMatchesOriginal() {
+        PackedTrajectory packed = PackedTrajectory.of(m_trajectory);
+        List<Trajectory.State> states = m_trajectory.getStates();
+
+        assertEquals(states.size(), packed.getStates().size());
+        for (int i = 0; i < states.size(); i++) {
+            assertEquals(states.get(i), packed.getStates().get(i));
+        }
+        assertEquals(m_trajectory.getTotalTimeSeconds(), packed.getTotalTimeSeconds());
+    }
+
+    @Test
+    void testSampleMatchesOriginal() {
+        PackedTrajectory packed = PackedTrajectory.of(m_trajectory);
+
+        for (double t = 0; t < m_trajectory.getTotalTimeSeconds(); t += 0.05) {
+            Trajectory.State expected = m_trajectory.sample(t);
+            Trajectory.State actual = packed.sample(t);
+            assertAll(
+                    () -> assertEquals(expected.velocityMetersPerSecond,
+                            actual.velocityMetersPerSecond, kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getX(), actual.poseMeters.getX(), kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getY(), actual.poseMeters.getY(), kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getHeading(),
+                            actual.poseMeters.getHeading(), kEpsilon),
+                    () -> assertEquals(expected.curvatureRadPerMeter,
+                            actual.curvatureRadPerMeter, kEpsilon)
+            );
+        }
+    }
+
+    @Test
+    void testPackingIsOptIn() {
+        PackedTrajectory packed = TrajectoryGenerator.generatePackedTrajectory(
+                Arrays.asList(new Pose2d(), new Pose2d(2, 2, Rotation2d.fromDegrees(45)),
+                        new Pose2d(4, -1, Rotation2d.fromDegrees(-90))),
+                new TrajectoryConfig(1.5, 1)
+        );
+        List<Trajectory.State> states = m_trajectory.getStates();
+
+        assertAll(
+                () -> assertFalse(m_trajectory instanceof PackedTrajectory),
+                () -> assertTrue(states instanceof ArrayList),
+                () -> assertEquals(states, packed.getStates()),
+                () -> assertEquals(states, packed.unpack().getStates())
+        );
+    }
+
+    @Test
+    void testPackingIsIdempotent() {
+        PackedTrajectory packed = PackedTrajectory.of(m_trajectory);
+        assertSame(packed, PackedTrajectory.of(packed));
+    }
+
+    @Test
+    void testMismatchedColumnsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedTrajectory(
+                new double[2], new double[2], new double[2], new double[2],
+                new double[1], new double[2], new double[2]));
+    }
+}
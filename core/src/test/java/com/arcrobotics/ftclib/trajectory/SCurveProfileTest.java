@@ -0,0 +1,133 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SCurveProfileTest {
+    private static final double kEpsilon = 1E-6;
+    private static final double kDt = 1E-3;
+
+    private static final SCurveProfile.Constraints kConstraints =
+            new SCurveProfile.Constraints(1.5, 2.0, 8.0);
+
+    /**
+     * Samples the profile finely and checks that it is continuous and within its
+     * constraints.
+     */
+    private static void assertWithinConstraints(SCurveProfile profile) {
+        SCurveProfile.State previous = profile.calculate(0);
+        for (double t = kDt; t <= profile.totalTime(); t += kDt) {
+            SCurveProfile.State state = profile.calculate(t);
+            assertTrue(Math.abs(state.velocity) <= kConstraints.maxVelocity + kEpsilon);
+            assertTrue(Math.abs(state.acceleration) <= kConstraints.maxAcceleration + kEpsilon);
+            assertTrue(Math.abs(state.acceleration - previous.acceleration)
+                    <= kConstraints.maxJerk * kDt + kEpsilon);
+            assertEquals(previous.velocity, state.velocity,
+                    kConstraints.maxAcceleration * kDt + kEpsilon);
+            assertEquals(previous.position, state.position,
+                    kConstraints.maxVelocity * kDt + kEpsilon);
+            previous = state;
+        }
+    }
+
+    @Test
+    void testReachesGoal() {
+        TrapezoidProfile.State goal = new TrapezoidProfile.State(3, 0);
+        SCurveProfile profile = new SCurveProfile(kConstraints, goal);
+        SCurveProfile.State end = profile.calculate(profile.totalTime() - 1E-9);
+
+        assertWithinConstraints(profile);
+        assertAll(
+                () -> assertEquals(3, end.position, kEpsilon),
+                () -> assertEquals(0, end.velocity, kEpsilon),
+                () -> assertEquals(0, end.acceleration, kEpsilon),
+                () -> assertTrue(profile.isFinished(profile.totalTime())),
+                () -> assertEquals(goal, profile.calculate(profile.totalTime() + 1))
+        );
+    }
+
+    @Test
+    void testShortMoveDoesNotReachMaxVelocity() {
+        SCurveProfile profile = new SCurveProfile(kConstraints, new TrapezoidProfile.State(0.2, 0));
+        double peak = 0;
+        for (double t = 0; t <= profile.totalTime(); t += kDt) {
+            peak = Math.max(peak, profile.calculate(t).velocity);
+        }
+
+        assertWithinConstraints(profile);
+        assertTrue(peak < kConstraints.maxVelocity);
+        assertEquals(0.2, profile.calculate(profile.totalTime() - 1E-9).position, kEpsilon);
+    }
+
+    @Test
+    void testReversed() {
+        SCurveProfile profile = new SCurveProfile(kConstraints,
+                new TrapezoidProfile.State(-2, 0), new TrapezoidProfile.State(1, 0));
+
+        assertWithinConstraints(profile);
+        assertAll(
+                () -> assertTrue(profile.calculate(0.5).velocity < 0),
+                () -> assertEquals(-2, profile.calculate(profile.totalTime() - 1E-9).position,
+                        kEpsilon)
+        );
+    }
+
+    @Test
+    void testNonZeroVelocities() {
+        SCurveProfile profile = new SCurveProfile(kConstraints,
+                new TrapezoidProfile.State(4, 0.5), new TrapezoidProfile.State(0, 1));
+        SCurveProfile.State end = profile.calculate(profile.totalTime() - 1E-9);
+
+        assertWithinConstraints(profile);
+        assertAll(
+                () -> assertEquals(1, profile.calculate(0).velocity, kEpsilon),
+                () -> assertEquals(4, end.position, kEpsilon),
+                () -> assertEquals(0.5, end.velocity, kEpsilon)
+        );
+    }
+
+    @Test
+    void testRebuiltProfileContinues() {
+        TrapezoidProfile.State goal = new TrapezoidProfile.State(3, 0);
+        SCurveProfile profile = new SCurveProfile(kConstraints, goal);
+
+        // Rebuilding from any state, while accelerating or decelerating, keeps the motion.
+        for (double t = 0.05; t < profile.totalTime(); t += 0.1) {
+            SCurveProfile rebuilt = new SCurveProfile(kConstraints, goal, profile.calculate(t));
+            assertEquals(profile.totalTime() - t, rebuilt.totalTime(), kEpsilon);
+            for (double dt = 0; t + dt < profile.totalTime(); dt += 0.05) {
+                SCurveProfile.State expected = profile.calculate(t + dt);
+                SCurveProfile.State actual = rebuilt.calculate(dt);
+                assertEquals(expected.position, actual.position, kEpsilon);
+                assertEquals(expected.velocity, actual.velocity, kEpsilon);
+                assertEquals(expected.acceleration, actual.acceleration, kEpsilon);
+            }
+        }
+    }
+
+    @Test
+    void testTimeLeftUntil() {
+        SCurveProfile profile = new SCurveProfile(kConstraints, new TrapezoidProfile.State(3, 0));
+        for (double t = 0.1; t < profile.totalTime(); t += 0.25) {
+            assertEquals(t, profile.timeLeftUntil(profile.calculate(t).position), kEpsilon);
+        }
+        assertEquals(profile.totalTime(), profile.timeLeftUntil(3), kEpsilon);
+    }
+
+    @Test
+    void testLowerJerkTakesLonger() {
+        TrapezoidProfile.State goal = new TrapezoidProfile.State(3, 0);
+        SCurveProfile sCurve = new SCurveProfile(kConstraints, goal);
+        TrapezoidProfile trapezoid = new TrapezoidProfile(kConstraints, goal);
+        SCurveProfile almostTrapezoid = new SCurveProfile(
+                new SCurveProfile.Constraints(1.5, 2.0, 1E6), goal);
+
+        assertAll(
+                () -> assertTrue(sCurve.totalTime() > trapezoid.totalTime()),
+                () -> assertEquals(trapezoid.totalTime(), almostTrapezoid.totalTime(), 1E-3)
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TrajectoryFileTest {
+    private static final double kEpsilon = 1E-9;
+
+    @TempDir
+    File m_directory;
+
+    private final List<Pose2d> m_waypoints = Arrays.asList(
+            new Pose2d(), new Pose2d(3, 2, Rotation2d.fromDegrees(90)),
+            new Pose2d(0, 4, Rotation2d.fromDegrees(180))
+    );
+
+    @Test
+    void testRoundTrip() throws IOException {
+        PackedTrajectory expected = PackedTrajectory.of(
+                TrajectoryGenerator.generateTrajectory(m_waypoints, new TrajectoryConfig(2, 1.5)));
+        File file = new File(m_directory, "path.traj");
+
+        TrajectoryFile.write(expected, 42, file);
+        PackedTrajectory actual = TrajectoryFile.read(file);
+
+        assertEquals(42, TrajectoryFile.readFingerprint(file));
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final int index = i;
+            assertAll(
+                    () -> assertEquals(expected.getTime(index), actual.getTime(index), kEpsilon),
+                    () -> assertEquals(expected.getVelocity(index), actual.getVelocity(index), kEpsilon),
+                    () -> assertEquals(expected.getAcceleration(index),
+                            actual.getAcceleration(index), kEpsilon),
+                    () -> assertEquals(expected.getX(index), actual.getX(index), kEpsilon),
+                    () -> assertEquals(expected.getY(index), actual.getY(index), kEpsilon),
+                    () -> assertEquals(expected.getHeading(index), actual.getHeading(index), kEpsilon),
+                    () -> assertEquals(expected.getCurvature(index),
+                            actual.getCurvature(index), kEpsilon)
+            );
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        File file = new File(m_directory, "garbage.traj");
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            stream.write(new byte[64]);
+        }
+
+        assertThrows(IOException.class, () -> TrajectoryFile.read(file));
+    }
+
+    @Test
+    void testRegeneratesOnlyWhenInputsChange() throws IOException {
+        File file = new File(m_directory, "auto.traj");
+        AtomicInteger generated = new AtomicInteger();
+        TrajectoryConfig config = new TrajectoryConfig(2, 1.5);
+
+        Trajectory first = TrajectoryFile.loadOrGenerate(file, TrajectoryKey.of(m_waypoints, config),
+                () -> {
+                    generated.incrementAndGet();
+                    return TrajectoryGenerator.generateTrajectory(m_waypoints, config);
+                });
+        Trajectory second = TrajectoryFile.loadOrGenerate(file, TrajectoryKey.of(m_waypoints, config),
+                () -> {
+                    generated.incrementAndGet();
+                    return TrajectoryGenerator.generateTrajectory(m_waypoints, config);
+                });
+        assertEquals(1, generated.get());
+        assertEquals(first.getTotalTimeSeconds(), second.getTotalTimeSeconds(), kEpsilon);
+
+        TrajectoryConfig slower = new TrajectoryConfig(1, 1.5);
+        Trajectory third = TrajectoryFile.loadOrGenerate(file, TrajectoryKey.of(m_waypoints, slower),
+                () -> {
+                    generated.incrementAndGet();
+                    return TrajectoryGenerator.generateTrajectory(m_waypoints, slower);
+                });
+        assertEquals(2, generated.get());
+        assertEquals(third.getTotalTimeSeconds(), TrajectoryFile.read(file).getTotalTimeSeconds(),
+                kEpsilon);
+    }
+}
@@ -0,0 +1,64 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.spline.PoseWithCurvature;
+import com.arcrobotics.ftclib.spline.Spline;
+import com.arcrobotics.ftclib.spline.SplineHelper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryGeneratorTest {
+    private static final double kEpsilon = 1E-9;
+
+    private static List<Pose2d> zigZag(int count) {
+        List<Pose2d> waypoints = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            waypoints.add(new Pose2d(i, i % 2 == 0 ? 0 : 1, Rotation2d.fromDegrees(i % 2 == 0 ? 45 : -45)));
+        }
+        return waypoints;
+    }
+
+    @Test
+    void testParallelSplinePointsMatchSequential() {
+        Spline[] splines = SplineHelper.getQuinticSplinesFromControlVectors(
+                SplineHelper.getQuinticControlVectorsFromWaypoints(zigZag(9))
+                        .toArray(new Spline.ControlVector[0]));
+
+        List<PoseWithCurvature> sequential = TrajectoryGenerator.splinePointsFromSplines(splines);
+        List<PoseWithCurvature> parallel = TrajectoryGenerator.splinePointsFromSplines(splines, true);
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            PoseWithCurvature expected = sequential.get(i);
+            PoseWithCurvature actual = parallel.get(i);
+            assertAll(
+                    () -> assertEquals(expected.poseMeters.getX(), actual.poseMeters.getX(), kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getY(), actual.poseMeters.getY(), kEpsilon),
+                    () -> assertEquals(expected.poseMeters.getHeading(),
+                            actual.poseMeters.getHeading(), kEpsilon),
+                    () -> assertEquals(expected.curvatureRadPerMeter, actual.curvatureRadPerMeter, kEpsilon)
+            );
+        }
+    }
+
+    @Test
+    void testParallelConfigGeneratesTheSameTrajectory() {
+        Trajectory sequential = TrajectoryGenerator.generateTrajectory(zigZag(6),
+                new TrajectoryConfig(2, 1.5));
+        Trajectory parallel = TrajectoryGenerator.generateTrajectory(zigZag(6),
+                new TrajectoryConfig(2, 1.5).setParallel(true));
+
+        assertAll(
+                () -> assertEquals(sequential.getStates().size(), parallel.getStates().size()),
+                () -> assertEquals(sequential.getTotalTimeSeconds(),
+                        parallel.getTotalTimeSeconds(), kEpsilon)
+        );
+    }
+}
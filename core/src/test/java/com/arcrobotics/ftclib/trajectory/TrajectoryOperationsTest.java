@@ -0,0 +1,124 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Transform2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryOperationsTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final Trajectory m_trajectory = TrajectoryGenerator.generateTrajectory(
+            Arrays.asList(new Pose2d(1, 0.5, Rotation2d.fromDegrees(10)),
+                    new Pose2d(2, 2, Rotation2d.fromDegrees(45)),
+                    new Pose2d(4, -1, Rotation2d.fromDegrees(-90))),
+            new TrajectoryConfig(1.5, 1)
+    );
+
+    private static void assertStateEquals(Trajectory.State expected, Trajectory.State actual) {
+        assertAll(
+                () -> assertEquals(expected.timeSeconds, actual.timeSeconds, kEpsilon),
+                () -> assertEquals(expected.velocityMetersPerSecond,
+                        actual.velocityMetersPerSecond, kEpsilon),
+                () -> assertEquals(expected.accelerationMetersPerSecondSq,
+                        actual.accelerationMetersPerSecondSq, kEpsilon),
+                () -> assertEquals(expected.poseMeters.getX(), actual.poseMeters.getX(), kEpsilon),
+                () -> assertEquals(expected.poseMeters.getY(), actual.poseMeters.getY(), kEpsilon),
+                () -> assertEquals(expected.poseMeters.getRotation().getCos(),
+                        actual.poseMeters.getRotation().getCos(), kEpsilon),
+                () -> assertEquals(expected.poseMeters.getRotation().getSin(),
+                        actual.poseMeters.getRotation().getSin(), kEpsilon),
+                () -> assertEquals(expected.curvatureRadPerMeter, actual.curvatureRadPerMeter,
+                        kEpsilon)
+        );
+    }
+
+    @Test
+    void testConcatenate() {
+        Trajectory second = m_trajectory.transformBy(
+                new Transform2d(new Translation2d(3, -1.5), Rotation2d.fromDegrees(-100)));
+        Trajectory joined = m_trajectory.concatenate(second);
+        List<Trajectory.State> first = m_trajectory.getStates();
+        double offset = m_trajectory.getTotalTimeSeconds();
+
+        assertEquals(first.size() + second.getStates().size() - 1, joined.getStates().size());
+        assertEquals(offset + second.getTotalTimeSeconds(), joined.getTotalTimeSeconds(), kEpsilon);
+        // The second trajectory does not start where the first ends, so skip the joint.
+        for (double t = 0.05; t < second.getTotalTimeSeconds(); t += 0.1) {
+            Trajectory.State expected = second.sample(t);
+            expected.timeSeconds += offset;
+            assertStateEquals(expected, joined.sample(t + offset));
+        }
+        assertStateEquals(m_trajectory.sample(1.0), joined.sample(1.0));
+    }
+
+    @Test
+    void testPackedTransformMatchesTransform() {
+        Transform2d transform = new Transform2d(new Translation2d(-1, 2), Rotation2d.fromDegrees(135));
+        List<Trajectory.State> expected = m_trajectory.transformBy(transform).getStates();
+        List<Trajectory.State> actual = PackedTrajectory.of(m_trajectory).transformBy(transform)
+                .getStates();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertStateEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    void testMirror() {
+        Trajectory acrossX = m_trajectory.mirrorAcrossXAxis();
+        Trajectory acrossY = m_trajectory.mirrorAcrossYAxis();
+
+        for (double t = 0; t < m_trajectory.getTotalTimeSeconds(); t += 0.1) {
+            Trajectory.State state = m_trajectory.sample(t);
+            Rotation2d heading = state.poseMeters.getRotation();
+            assertStateEquals(new Trajectory.State(t, state.velocityMetersPerSecond,
+                    state.accelerationMetersPerSecondSq,
+                    new Pose2d(state.poseMeters.getX(), -state.poseMeters.getY(),
+                            new Rotation2d(heading.getCos(), -heading.getSin())),
+                    -state.curvatureRadPerMeter), acrossX.sample(t));
+            assertStateEquals(new Trajectory.State(t, state.velocityMetersPerSecond,
+                    state.accelerationMetersPerSecondSq,
+                    new Pose2d(-state.poseMeters.getX(), state.poseMeters.getY(),
+                            new Rotation2d(-heading.getCos(), heading.getSin())),
+                    -state.curvatureRadPerMeter), acrossY.sample(t));
+        }
+    }
+
+    @Test
+    void testSlice() {
+        double start = 0.75;
+        double end = 2.3;
+        Trajectory slice = m_trajectory.slice(start, end);
+
+        assertAll(
+                () -> assertEquals(end - start, slice.getTotalTimeSeconds(), kEpsilon),
+                () -> assertEquals(0, slice.getStates().get(0).timeSeconds, kEpsilon)
+        );
+        for (double t = 0; t <= end - start; t += 0.05) {
+            Trajectory.State expected = m_trajectory.sample(t + start);
+            expected.timeSeconds = t;
+            assertStateEquals(expected, slice.sample(t));
+        }
+    }
+
+    @Test
+    void testSliceWholeTrajectory() {
+        Trajectory slice = m_trajectory.slice(-1, m_trajectory.getTotalTimeSeconds() + 1);
+        List<Trajectory.State> states = m_trajectory.getStates();
+
+        assertEquals(states.size(), slice.getStates().size());
+        for (int i = 0; i < states.size(); i++) {
+            assertStateEquals(states.get(i), slice.getStates().get(i));
+        }
+    }
+}
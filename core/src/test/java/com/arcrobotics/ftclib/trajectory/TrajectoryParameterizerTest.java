@@ -0,0 +1,157 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.controller.wpilibcontroller.SimpleMotorFeedforward;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveKinematics;
+import com.arcrobotics.ftclib.spline.PoseWithCurvature;
+import com.arcrobotics.ftclib.spline.Spline;
+import com.arcrobotics.ftclib.spline.SplineHelper;
+import com.arcrobotics.ftclib.trajectory.constraint.CentripetalAccelerationConstraint;
+import com.arcrobotics.ftclib.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import com.arcrobotics.ftclib.trajectory.constraint.EllipticalRegionConstraint;
+import com.arcrobotics.ftclib.trajectory.constraint.MecanumDriveKinematicsConstraint;
+import com.arcrobotics.ftclib.trajectory.constraint.RectangularRegionConstraint;
+import com.arcrobotics.ftclib.trajectory.constraint.TrajectoryConstraint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryParameterizerTest {
+    private static final double kEpsilon = 1E-9;
+
+    /**
+     * Hides the batch implementation of a constraint, so that the parameterizer
+     * evaluates it one point at a time.
+     */
+    private static final class PerPointConstraint implements TrajectoryConstraint {
+        private final TrajectoryConstraint m_constraint;
+
+        PerPointConstraint(TrajectoryConstraint constraint) {
+            m_constraint = constraint;
+        }
+
+        @Override
+        public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                    double velocityMetersPerSecond) {
+            return m_constraint.getMaxVelocityMetersPerSecond(poseMeters, curvatureRadPerMeter,
+                    velocityMetersPerSecond);
+        }
+
+        @Override
+        public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                            double curvatureRadPerMeter,
+                                                            double velocityMetersPerSecond) {
+            return m_constraint.getMinMaxAccelerationMetersPerSecondSq(poseMeters,
+                    curvatureRadPerMeter, velocityMetersPerSecond);
+        }
+    }
+
+    private static List<PoseWithCurvature> points() {
+        List<Pose2d> waypoints = Arrays.asList(
+                new Pose2d(0, 0, Rotation2d.fromDegrees(0)),
+                new Pose2d(1.5, 0.8, Rotation2d.fromDegrees(60)),
+                new Pose2d(0.5, 2.0, Rotation2d.fromDegrees(180)),
+                new Pose2d(-1.0, 1.0, Rotation2d.fromDegrees(-90))
+        );
+        Spline[] splines = SplineHelper.getQuinticSplinesFromControlVectors(
+                SplineHelper.getQuinticControlVectorsFromWaypoints(waypoints)
+                        .toArray(new Spline.ControlVector[0]));
+        return TrajectoryGenerator.splinePointsFromSplines(splines);
+    }
+
+    private static void assertSameProfile(Trajectory expected, Trajectory actual) {
+        List<Trajectory.State> expectedStates = expected.getStates();
+        List<Trajectory.State> actualStates = actual.getStates();
+        assertEquals(expectedStates.size(), actualStates.size());
+        for (int i = 0; i < expectedStates.size(); i++) {
+            Trajectory.State expectedState = expectedStates.get(i);
+            Trajectory.State actualState = actualStates.get(i);
+            assertAll(
+                    () -> assertEquals(expectedState.timeSeconds, actualState.timeSeconds, kEpsilon),
+                    () -> assertEquals(expectedState.velocityMetersPerSecond,
+                            actualState.velocityMetersPerSecond, kEpsilon),
+                    () -> assertEquals(expectedState.poseMeters, actualState.poseMeters)
+            );
+        }
+    }
+
+    private static void testBatchMatchesPerPoint(TrajectoryConstraint constraint, boolean reversed) {
+        List<PoseWithCurvature> points = points();
+        Trajectory batch = TrajectoryParameterizer.timeParameterizeTrajectory(points,
+                Arrays.asList(constraint), 0, 0.2, 2, 1.5, reversed);
+        Trajectory perPoint = TrajectoryParameterizer.timeParameterizeTrajectory(points,
+                Arrays.asList(new PerPointConstraint(constraint)), 0, 0.2, 2, 1.5, reversed);
+        assertSameProfile(perPoint, batch);
+    }
+
+    @Test
+    void testCentripetalBatchMatchesPerPoint() {
+        testBatchMatchesPerPoint(new CentripetalAccelerationConstraint(1.0), false);
+    }
+
+    @Test
+    void testMecanumBatchMatchesPerPoint() {
+        MecanumDriveKinematics kinematics = new MecanumDriveKinematics(
+                new Translation2d(0.15, 0.15), new Translation2d(0.15, -0.15),
+                new Translation2d(-0.15, 0.15), new Translation2d(-0.15, -0.15));
+        testBatchMatchesPerPoint(new MecanumDriveKinematicsConstraint(kinematics, 1.2), false);
+    }
+
+    @Test
+    void testVoltageBatchMatchesPerPoint() {
+        DifferentialDriveVoltageConstraint constraint = new DifferentialDriveVoltageConstraint(
+                new SimpleMotorFeedforward(0.5, 2.0, 0.8), new DifferentialDriveKinematics(0.4), 9);
+        testBatchMatchesPerPoint(constraint, false);
+        testBatchMatchesPerPoint(constraint, true);
+    }
+
+    @Test
+    void testRegionBatchMatchesPerPoint() {
+        // The path runs in and out of both regions.
+        DifferentialDriveVoltageConstraint voltage = new DifferentialDriveVoltageConstraint(
+                new SimpleMotorFeedforward(0.5, 2.0, 0.8), new DifferentialDriveKinematics(0.4), 3);
+        RectangularRegionConstraint batchInner = new RectangularRegionConstraint(
+                new Translation2d(0.5, -0.5), new Translation2d(2, 1.5), voltage);
+        EllipticalRegionConstraint perPointInner = new EllipticalRegionConstraint(
+                new Translation2d(0.5, 2), 2, 1, Rotation2d.fromDegrees(20),
+                new PerPointConstraint(new CentripetalAccelerationConstraint(0.3)));
+
+        testBatchMatchesPerPoint(batchInner, false);
+        testBatchMatchesPerPoint(batchInner, true);
+        testBatchMatchesPerPoint(perPointInner, false);
+    }
+
+    @Test
+    void testArraysMatchList() {
+        List<PoseWithCurvature> points = points();
+        List<TrajectoryConstraint> constraints = Arrays.asList(
+                new CentripetalAccelerationConstraint(1.0),
+                new PerPointConstraint(new CentripetalAccelerationConstraint(0.8)));
+
+        double[] xs = new double[points.size()];
+        double[] ys = new double[points.size()];
+        double[] headings = new double[points.size()];
+        double[] curvatures = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            xs[i] = points.get(i).poseMeters.getX();
+            ys[i] = points.get(i).poseMeters.getY();
+            headings[i] = points.get(i).poseMeters.getHeading();
+            curvatures[i] = points.get(i).curvatureRadPerMeter;
+        }
+
+        Trajectory list = TrajectoryParameterizer.timeParameterizeTrajectory(points,
+                new ArrayList<>(constraints), 0, 0, 2, 1.5, false);
+        PackedTrajectory arrays = TrajectoryParameterizer.timeParameterizePackedTrajectory(
+                xs, ys, headings, curvatures, constraints, 0, 0, 2, 1.5, false);
+        assertSameProfile(list, arrays);
+    }
+}
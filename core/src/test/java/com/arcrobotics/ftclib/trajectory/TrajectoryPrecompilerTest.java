@@ -0,0 +1,87 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.trajectory.constraint.CentripetalAccelerationConstraint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TrajectoryPrecompilerTest {
+    private static final double kEpsilon = 1E-9;
+
+    private static final String kDefinition = String.join("\n",
+            "# a test path",
+            "maxVelocity 2",
+            "maxAcceleration 1.5",
+            "centripetalAcceleration 1  # keep it gentle",
+            "",
+            "pose 0 0 0",
+            "pose 3 2 90",
+            "pose 0 4 180");
+
+    @TempDir
+    File m_directory;
+
+    @Test
+    void testDefinitionMatchesCode() throws IOException {
+        TrajectoryDefinition definition = TrajectoryDefinition.parse(new StringReader(kDefinition));
+
+        List<Pose2d> waypoints = Arrays.asList(
+                new Pose2d(), new Pose2d(3, 2, Rotation2d.fromDegrees(90)),
+                new Pose2d(0, 4, Rotation2d.fromDegrees(180))
+        );
+        TrajectoryConfig config = new TrajectoryConfig(2, 1.5)
+                .addConstraint(new CentripetalAccelerationConstraint(1));
+
+        assertEquals(TrajectoryKey.of(waypoints, config), definition.getKey());
+    }
+
+    @Test
+    void testRejectsBadDefinitions() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> TrajectoryDefinition.parse(new StringReader("maxVelocity 2\npose 0 0 0"))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> TrajectoryDefinition.parse(new StringReader(kDefinition + "\nturbo 9"))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> TrajectoryDefinition.parse(new StringReader(kDefinition + "\npose 1 x 0"))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> TrajectoryDefinition.parse(new StringReader(kDefinition + "\nreversed ture")))
+        );
+    }
+
+    @Test
+    void testPrecompile() throws IOException {
+        File input = new File(m_directory, "paths");
+        File output = new File(m_directory, "out");
+        input.mkdirs();
+        try (Writer writer = new FileWriter(new File(input, "red.path"))) {
+            writer.write(kDefinition);
+        }
+
+        assertEquals(1, TrajectoryPrecompiler.precompile(input, output));
+
+        TrajectoryDefinition definition = TrajectoryDefinition.parse(new StringReader(kDefinition));
+        File file = new File(output, "red.traj");
+        Trajectory expected = definition.generate();
+        assertAll(
+                () -> assertEquals(definition.getKey().fingerprint(),
+                        TrajectoryFile.readFingerprint(file)),
+                () -> assertEquals(expected.getTotalTimeSeconds(),
+                        TrajectoryFile.read(file).getTotalTimeSeconds(), kEpsilon)
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectorySamplerTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final Trajectory m_trajectory = TrajectoryGenerator.generateTrajectory(
+            Arrays.asList(new Pose2d(), new Pose2d(3, 2, Rotation2d.fromDegrees(90)),
+                    new Pose2d(0, 4, Rotation2d.fromDegrees(180))),
+            new TrajectoryConfig(2, 1.5)
+    );
+
+    private static void assertSampleEquals(Trajectory.State expected, TrajectorySample actual) {
+        assertAll(
+                () -> assertEquals(expected.timeSeconds, actual.timeSeconds, kEpsilon),
+                () -> assertEquals(expected.velocityMetersPerSecond,
+                        actual.velocityMetersPerSecond, kEpsilon),
+                () -> assertEquals(expected.accelerationMetersPerSecondSq,
+                        actual.accelerationMetersPerSecondSq, kEpsilon),
+                () -> assertEquals(expected.poseMeters.getX(), actual.xMeters, kEpsilon),
+                () -> assertEquals(expected.poseMeters.getY(), actual.yMeters, kEpsilon),
+                () -> assertEquals(expected.poseMeters.getHeading(), actual.headingRadians, kEpsilon),
+                () -> assertEquals(expected.curvatureRadPerMeter,
+                        actual.curvatureRadPerMeter, kEpsilon)
+        );
+    }
+
+    @Test
+    void testSequentialMatchesSample() {
+        TrajectorySampler sampler = new TrajectorySampler(m_trajectory);
+        TrajectorySample sample = new TrajectorySample();
+
+        for (double t = -0.1; t < m_trajectory.getTotalTimeSeconds() + 0.1; t += 0.02) {
+            assertSampleEquals(m_trajectory.sample(t), sampler.sample(t, sample));
+        }
+    }
+
+    @Test
+    void testRandomAccessMatchesSample() {
+        TrajectorySampler sampler = new TrajectorySampler(m_trajectory);
+        TrajectorySample sample = new TrajectorySample();
+        Random random = new Random(2020);
+
+        for (int i = 0; i < 200; i++) {
+            double t = random.nextDouble() * m_trajectory.getTotalTimeSeconds();
+            assertSampleEquals(m_trajectory.sample(t), sampler.sample(t, sample));
+        }
+    }
+
+    @Test
+    void testResampleAfterReset() {
+        TrajectorySampler sampler = new TrajectorySampler(m_trajectory);
+        TrajectorySample sample = new TrajectorySample();
+
+        sampler.sample(m_trajectory.getTotalTimeSeconds() - 0.01, sample);
+        sampler.reset();
+
+        assertSampleEquals(m_trajectory.sample(0.3), sampler.sample(0.3, sample));
+    }
+}
@@ -0,0 +1,146 @@
+package com.arcrobotics.ftclib.trajectory.constraint;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
+import com.arcrobotics.ftclib.trajectory.Trajectory;
+import com.arcrobotics.ftclib.trajectory.TrajectoryConfig;
+import com.arcrobotics.ftclib.trajectory.TrajectoryGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegionConstraintTest {
+    private static final double kEpsilon = 1E-9;
+
+    /**
+     * Counts how often the parameterizer asks it for a limit.
+     */
+    private static final class CountingConstraint implements TrajectoryConstraint {
+        int m_calls;
+
+        @Override
+        public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                    double velocityMetersPerSecond) {
+            m_calls++;
+            return velocityMetersPerSecond;
+        }
+
+        @Override
+        public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                            double curvatureRadPerMeter,
+                                                            double velocityMetersPerSecond) {
+            m_calls++;
+            return new MinMax();
+        }
+    }
+
+    private static Pose2d pose(double x, double y) {
+        return new Pose2d(x, y, new Rotation2d());
+    }
+
+    @Test
+    void testRectangularRegion() {
+        RectangularRegionConstraint region = new RectangularRegionConstraint(
+                new Translation2d(1, 1), new Translation2d(3, 2), new MaxVelocityConstraint(0.5));
+        assertAll(
+                () -> assertTrue(region.isPoseInRegion(pose(2, 1.5))),
+                () -> assertTrue(region.isPoseInRegion(pose(3, 2))),
+                () -> assertFalse(region.isPoseInRegion(pose(0.9, 1.5))),
+                () -> assertFalse(region.isPoseInRegion(pose(2, 2.1)))
+        );
+    }
+
+    @Test
+    void testRotatedEllipticalRegion() {
+        // A 4 by 1 ellipse along the line y = x.
+        EllipticalRegionConstraint region = new EllipticalRegionConstraint(
+                new Translation2d(1, 1), 4, 1, Rotation2d.fromDegrees(45),
+                new MaxVelocityConstraint(0.5));
+        assertAll(
+                () -> assertTrue(region.isPoseInRegion(pose(1, 1))),
+                () -> assertTrue(region.isPoseInRegion(pose(2.3, 2.3))),
+                () -> assertFalse(region.isPoseInRegion(pose(2.5, 2.5))),
+                // Inside the bounding box, but off the minor axis.
+                () -> assertFalse(region.isPoseInRegion(pose(1.5, 0.5))),
+                () -> assertFalse(region.isPoseInRegion(pose(3, -1)))
+        );
+    }
+
+    @Test
+    void testVelocityIsLimitedInsideRegion() {
+        MaxVelocityConstraint maxVelocity = new MaxVelocityConstraint(0.5);
+        EllipticalRegionConstraint region = new EllipticalRegionConstraint(
+                new Translation2d(3, 0), 1, 1, new Rotation2d(), maxVelocity);
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(
+                Arrays.asList(pose(0, 0), pose(3, 0)),
+                new TrajectoryConfig(2, 1.5).addConstraint(region));
+
+        boolean exceeded = false;
+        boolean inside = false;
+        for (Trajectory.State state : trajectory.getStates()) {
+            if (region.isPoseInRegion(state.poseMeters)) {
+                inside = true;
+                assertTrue(Math.abs(state.velocityMetersPerSecond) <= 0.5 + kEpsilon);
+            } else if (Math.abs(state.velocityMetersPerSecond) > 0.5 + kEpsilon) {
+                exceeded = true;
+            }
+        }
+        assertTrue(inside);
+        assertTrue(exceeded);
+    }
+
+    @Test
+    void testVelocityDependentConstraintHoldsInsideRegion() {
+        // The wheel speed limit depends on the velocity it is given, so the region
+        // must pass it the velocity found by the parameterizer.
+        DifferentialDriveKinematicsConstraint wheels = new DifferentialDriveKinematicsConstraint(
+                new DifferentialDriveKinematics(0.5), 1.0);
+        RectangularRegionConstraint region = new RectangularRegionConstraint(
+                new Translation2d(-10, -10), new Translation2d(10, 10), wheels);
+        Pose2d end = new Pose2d(3, 1, new Rotation2d(0.5));
+
+        Trajectory inRegion = TrajectoryGenerator.generateTrajectory(
+                Arrays.asList(pose(0, 0), end), new TrajectoryConfig(2, 2).addConstraint(region));
+        Trajectory everywhere = TrajectoryGenerator.generateTrajectory(
+                Arrays.asList(pose(0, 0), end), new TrajectoryConfig(2, 2).addConstraint(wheels));
+
+        for (Trajectory.State state : inRegion.getStates()) {
+            assertTrue(Math.abs(state.velocityMetersPerSecond) <= 1.0 + kEpsilon);
+        }
+        assertEquals(everywhere.getTotalTimeSeconds(), inRegion.getTotalTimeSeconds(), kEpsilon);
+    }
+
+    @Test
+    void testPointsOutsideBoundingBoxAreCulled() {
+        CountingConstraint counting = new CountingConstraint();
+        RectangularRegionConstraint region = new RectangularRegionConstraint(
+                new Translation2d(10, 10), new Translation2d(11, 11), counting);
+        TrajectoryGenerator.generateTrajectory(Arrays.asList(pose(0, 0), pose(3, 0)),
+                new TrajectoryConfig(2, 1.5).addConstraint(region));
+        assertEquals(0, counting.m_calls);
+    }
+
+    @Test
+    void testEquality() {
+        assertAll(
+                () -> assertEquals(
+                        new EllipticalRegionConstraint(new Translation2d(1, 2), 3, 4,
+                                Rotation2d.fromDegrees(30), new MaxVelocityConstraint(1)),
+                        new EllipticalRegionConstraint(new Translation2d(1, 2), 3, 4,
+                                Rotation2d.fromDegrees(30), new MaxVelocityConstraint(1))),
+                () -> assertEquals(
+                        new RectangularRegionConstraint(new Translation2d(1, 2),
+                                new Translation2d(3, 4), new MaxVelocityConstraint(1)).hashCode(),
+                        new RectangularRegionConstraint(new Translation2d(1, 2),
+                                new Translation2d(3, 4), new MaxVelocityConstraint(1)).hashCode())
+        );
+    }
+}
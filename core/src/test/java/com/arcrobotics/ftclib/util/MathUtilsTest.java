@@ -0,0 +1,29 @@
+package com.arcrobotics.ftclib.util;
+
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.purepursuit.PurePursuitUtil;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MathUtilsTest {
+    private static final double kEpsilon = 1E-9;
+
+    @Test
+    public void normalizeRadians() {
+        assertEquals(0.5, MathUtils.normalizeRadians(0.5 + 4 * Math.PI), kEpsilon);
+        assertEquals(-0.5, MathUtils.normalizeRadians(-0.5 - 4 * Math.PI), kEpsilon);
+        assertEquals(Math.PI, MathUtils.normalizeRadians(Math.PI), 0);
+        assertEquals(Math.PI, MathUtils.normalizeRadians(-Math.PI), 0);
+    }
+
+    @Test
+    public void wrappingIsShared() {
+        for (double angle = -10; angle <= 10; angle += 0.25) {
+            double expected = MathUtils.normalizeRadians(angle);
+            assertEquals(expected, new Rotation2d(angle).getRadians(), 0);
+            assertEquals(expected, PurePursuitUtil.angleWrap(angle), 0);
+        }
+    }
+}